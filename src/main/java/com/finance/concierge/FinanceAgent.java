@@ -23,25 +23,6 @@ public class FinanceAgent {
 
     private static final String CSV_FILE = "expenses.csv";
 
-    // Updated to include ALL 15 categories from database
-    private static final Map<String, Double> BUDGETS = Map.ofEntries(
-        Map.entry("Food", 200.0),
-        Map.entry("Transport", 100.0),
-        Map.entry("Entertainment", 150.0),
-        Map.entry("Bills", 300.0),
-        Map.entry("Shopping", 250.0),
-        Map.entry("Health", 200.0),
-        Map.entry("Education", 150.0),
-        Map.entry("Grocery", 300.0),
-        Map.entry("Investment", 500.0),
-        Map.entry("Insurance", 200.0),
-        Map.entry("Credit Card Bill", 500.0),
-        Map.entry("Social Expense", 150.0),
-        Map.entry("Home Repair", 250.0),      // Added
-        Map.entry("Loan", 400.0),             // Added
-        Map.entry("Other", 100.0)
-    );
-
     // Static holder for Spring-managed service (set via constructor)
     private static FinanceAgentToolService toolService;
 
@@ -73,6 +54,7 @@ public class FinanceAgent {
             .instruction("You are a helpful personal finance concierge. You help users track expenses and monitor their budget. " +
                          "Available categories: Food, Transport, Entertainment, Bills (for utilities/rent), Shopping, Health, Education, Grocery, Investment, Insurance, Credit Card Bill, Social Expense, Home Repair, Loan, Other. " +
                          "Always use the provided tools to log expenses or check status. " +
+                         "For what-if questions about changing spending, use simulateBudget instead of estimating. " +
                          "Map user expenses to the correct category: " +
                          "- Bills: electricity, water, internet, rent, phone, utilities " +
                          "- Credit Card Bill: credit card payments, dues " +
@@ -104,7 +86,8 @@ public class FinanceAgent {
             .tools(
                 FunctionTool.create(FinanceAgent.class, "logExpense"),
                 FunctionTool.create(FinanceAgent.class, "getBudgetStatus"),
-                FunctionTool.create(FinanceAgent.class, "createMonthlyReport")
+                FunctionTool.create(FinanceAgent.class, "createMonthlyReport"),
+                FunctionTool.create(FinanceAgent.class, "simulateBudget")
             )
             .build();
     }
@@ -146,27 +129,25 @@ public class FinanceAgent {
     public static Map<String, String> getBudgetStatus(
         @Schema(name = "category", description = "Category: Food, Transport, Entertainment, Bills, Shopping, Health, Education, Grocery, Investment, Insurance, Credit Card Bill, Social Expense, Home Repair, Loan, or Other") String category
     ) {
-        // Use dynamic budgets from database if available
+        // Budgets live in the database (user budgets over category defaults), so they need the service
         if (toolService != null && getCurrentUserId() != null) {
             return toolService.getBudgetStatus(category, getCurrentUserId());
         }
 
-        // Fallback to static budgets
-        String normalizedCategory = BUDGETS.keySet().stream()
-            .filter(k -> k.equalsIgnoreCase(category))
-            .findFirst()
-            .orElse(category);
+        return Map.of("error", "Budget status is only available for a signed-in user");
+    }
 
-        if (!BUDGETS.containsKey(normalizedCategory)) {
-            return Map.of("error", "No budget defined for category: " + category + ". Available categories: Food, Transport, Entertainment, Bills, Shopping, Health, Education, Grocery, Investment, Insurance, Credit Card Bill, Social Expense, Home Repair, Loan, Other");
+    @Schema(description = "Simulates the rest of this month with one category's spending changed, and reports the chance of going over each budget and when the total budget would be exceeded")
+    public static Map<String, String> simulateBudget(
+        @Schema(name = "category", description = "Category whose spending changes, or empty to keep current habits") String category,
+        @Schema(name = "changePercent", description = "Percentage change of that category's spending, e.g. -20 for a 20% cut") double changePercent
+    ) {
+        // Simulations replay the user's stored history, so they need the service
+        if (toolService != null && getCurrentUserId() != null) {
+            return toolService.simulateBudget(category, changePercent, getCurrentUserId());
         }
 
-        double limit = BUDGETS.get(normalizedCategory);
-        double spent = calculateTotalSpent(normalizedCategory);
-        double remaining = limit - spent;
-
-        return Map.of("result", String.format("You have spent $%.2f out of $%.2f on %s. Remaining: $%.2f.",
-            spent, limit, normalizedCategory, remaining));
+        return Map.of("error", "Budget simulation is only available for a signed-in user");
     }
 
     @Schema(description = "Creates a summary report of all spending")
@@ -206,29 +187,4 @@ public class FinanceAgent {
             
         return Map.of("result", report.toString());
     }
-
-    private static double calculateTotalSpent(String category) {
-        double total = 0;
-        try {
-            File file = new File(CSV_FILE);
-            if (!file.exists()) return 0;
-
-            try (CSVReader reader = new CSVReader(new FileReader(file))) {
-                String[] line;
-                reader.readNext(); // Skip header
-                while ((line = reader.readNext()) != null) {
-                    if (line.length >= 3 && line[1].equalsIgnoreCase(category)) {
-                        try {
-                            total += Double.parseDouble(line[2]);
-                        } catch (NumberFormatException e) {
-                            // ignore
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return total;
-    }
 }
@@ -0,0 +1,53 @@
+package com.finance.concierge.config;
+
+import com.finance.concierge.entity.User;
+import com.finance.concierge.entity.User.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal of an authenticated request, built from the access token's claims
+ * Holds what request handling needs about the caller, so no user row is read per request;
+ * the figures are those of the user when the token was issued
+ */
+public record AuthenticatedUser(Long id, String username, Role role, boolean enabled, boolean accountNonLocked,
+                                String currencyCode) implements UserDetails {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole(), user.isEnabled(),
+                user.isAccountNonLocked(), user.getCurrencyCode());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Never needed once the token is verified
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
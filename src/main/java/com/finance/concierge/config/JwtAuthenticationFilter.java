@@ -1,6 +1,8 @@
 package com.finance.concierge.config;
 
+import com.finance.concierge.entity.User;
 import com.finance.concierge.util.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -56,23 +58,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            // Extract username from token
-            username = jwtUtils.extractUsername(jwt);
+            // Verify the token once; a token seen before comes from the verified cache
+            Claims claims = jwtUtils.verify(jwt);
+            username = claims.getSubject();
 
             // If username is found and user is not yet authenticated
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // Load user details
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Access tokens carry the principal; only tokens without it load the user
+                AuthenticatedUser principal = jwtUtils.principalOf(claims);
+                if (principal == null) {
+                    principal = loadPrincipal(username);
+                }
 
-                // Validate token
-                if (jwtUtils.validateToken(jwt, userDetails)) {
+                // The token is already verified; it only has to name an active user
+                if (principal != null && username.equals(principal.getUsername())
+                        && principal.isEnabled() && principal.isAccountNonLocked()) {
 
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
 
                     // Set authentication details
@@ -92,4 +99,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser loadPrincipal(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return userDetails instanceof User user ? AuthenticatedUser.of(user) : null;
+    }
 }
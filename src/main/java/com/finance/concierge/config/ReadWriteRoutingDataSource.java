@@ -0,0 +1,190 @@
+package com.finance.concierge.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * DataSource that sends read-only transactions to the replica pool and everything else to the primary
+ * The routing decision is made when a connection is first requested, so it must be wrapped in a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for a connection before the
+ * read-only flag of the transaction is published. A read-write transaction pins its user to the
+ * primary only once it sends a statement that modifies data, so one that merely reads does not
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Name of read-only transactions that must still see the primary
+     */
+    public static final String PRIMARY_READ = "primary-read";
+
+    /**
+     * Leading keywords of statements that do not modify data
+     */
+    private static final Pattern READ_STATEMENT = Pattern.compile("(?i)(select|with|show|explain|values|set)\\b");
+
+    private final ReplicationLagGuard lagGuard;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || PRIMARY_READ.equals(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return Route.PRIMARY;
+        }
+        return lagGuard.isPinnedToPrimary(currentUserKey()) ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    /**
+     * New read-only transaction on the primary, for loads whose result is cached and kept current
+     * with later writes: a lagging replica would leave a cache behind for good. Being read-only,
+     * it never pins the user to the primary
+     */
+    public static TransactionTemplate primaryReadTemplate(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        template.setName(PRIMARY_READ);
+        return template;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackWrites(super.getConnection(username, password));
+    }
+
+    /**
+     * Wrap a read-write transaction's connection so its first data-modifying statement records a
+     * write for the user once the transaction commits
+     */
+    private Connection trackWrites(Connection connection) {
+        String userKey = currentUserKey();
+        if (userKey == null || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+
+        WriteTracker tracker = new WriteTracker(userKey);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    // The SQL of prepared and callable statements is known up front
+                    if (method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                        tracker.check(sql);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                        return trackWrites(statement, tracker);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Wrap a plain statement, whose SQL only arrives with each execute or addBatch call
+     */
+    private static Statement trackWrites(Statement statement, WriteTracker tracker) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ((method.getName().startsWith("execute") || method.getName().equals("addBatch"))
+                    && args != null && args.length > 0 && args[0] instanceof String sql) {
+                tracker.check(sql);
+            }
+            return invoke(statement, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Whether a statement can modify data; leading comments, e.g. from Hibernate, are skipped
+     */
+    static boolean modifiesData(String sql) {
+        String statement = sql.stripLeading();
+        while (statement.startsWith("/*")) {
+            int end = statement.indexOf("*/");
+            if (end < 0) {
+                return true;
+            }
+            statement = statement.substring(end + 2).stripLeading();
+        }
+        return !READ_STATEMENT.matcher(statement).lookingAt();
+    }
+
+    /**
+     * Records one write per connection, on commit of the transaction that sent it
+     */
+    private final class WriteTracker {
+
+        private final String userKey;
+        private boolean recorded;
+
+        WriteTracker(String userKey) {
+            this.userKey = userKey;
+        }
+
+        void check(String sql) {
+            if (recorded || !modifiesData(sql) || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            recorded = true;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.recordWrite(userKey);
+                }
+            });
+        }
+    }
+
+    /**
+     * Username of the authenticated caller, or null for anonymous and background work
+     */
+    private static String currentUserKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
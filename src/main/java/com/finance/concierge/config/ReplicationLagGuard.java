@@ -0,0 +1,60 @@
+package com.finance.concierge.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks users who committed a write recently, so their reads stay on the primary
+ * until the replica has had time to catch up (read-your-writes)
+ */
+public class ReplicationLagGuard {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+    private final Clock clock;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReplicationLagGuard(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Pin a user's reads to the primary for the lag window, starting now
+     */
+    public void recordWrite(String userKey) {
+        if (userKey == null || windowMillis <= 0) {
+            return;
+        }
+
+        pinnedUntil.merge(userKey, clock.millis() + windowMillis, Math::max);
+
+        if (pinnedUntil.size() > PRUNE_THRESHOLD) {
+            long now = clock.millis();
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    /**
+     * Whether a user wrote within the lag window and must read from the primary
+     */
+    public boolean isPinnedToPrimary(String userKey) {
+        if (userKey == null) {
+            return false;
+        }
+
+        Long until = pinnedUntil.get(userKey);
+        if (until == null) {
+            return false;
+        }
+        if (until > clock.millis()) {
+            return true;
+        }
+
+        pinnedUntil.remove(userKey, until);
+        return false;
+    }
+}
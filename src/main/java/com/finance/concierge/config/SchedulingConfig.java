@@ -0,0 +1,13 @@
+package com.finance.concierge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs
+ * Jobs default to a disabled cron ("-") and are switched on per environment
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,11 +1,17 @@
 package com.finance.concierge.controller;
 
 import com.finance.concierge.common.ApiResponse;
+import com.finance.concierge.config.AuthenticatedUser;
+import com.finance.concierge.dto.DashboardDeltaDTO;
 import com.finance.concierge.dto.DashboardStatsDTO;
+import com.finance.concierge.dto.ExpensePageDTO;
+import com.finance.concierge.dto.ExpenseRequestDTO;
 import com.finance.concierge.dto.ExpenseResponseDTO;
-import com.finance.concierge.entity.Expense;
-import com.finance.concierge.entity.User;
+import com.finance.concierge.dto.MonthlyComparisonDTO;
 import com.finance.concierge.service.DashboardService;
+import com.finance.concierge.service.DashboardStreamService;
+import com.finance.concierge.service.DataVersionService;
+import com.finance.concierge.service.ExpenseExportService;
 import com.finance.concierge.service.ExpenseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,15 +20,23 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for expense management and analytics
@@ -36,8 +50,16 @@ import java.util.stream.Collectors;
 @SecurityRequirement(name = "Bearer Authentication")
 public class ExpenseController {
 
+    /**
+     * Clients may keep responses but must revalidate them with the ETag
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final ExpenseService expenseService;
     private final DashboardService dashboardService;
+    private final ExpenseExportService expenseExportService;
+    private final DataVersionService dataVersionService;
+    private final DashboardStreamService dashboardStreamService;
 
     /**
      * Get dashboard statistics for current month
@@ -46,13 +68,34 @@ public class ExpenseController {
      */
     @GetMapping("/dashboard")
     @Operation(summary = "Get Dashboard Statistics", description = "Returns comprehensive dashboard data for visualization")
-    public ResponseEntity<ApiResponse<DashboardStatsDTO>> getDashboard(Authentication authentication) {
+    public ResponseEntity<ApiResponse<DashboardStatsDTO>> getDashboard(Authentication authentication, WebRequest webRequest) {
         log.info("Fetching dashboard stats for user: {}", authentication.getName());
 
         Long userId = getUserIdFromAuth(authentication);
+
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
         DashboardStatsDTO stats = dashboardService.getDashboardStats(userId);
 
-        return ResponseEntity.ok(ApiResponse.success(stats, "Dashboard statistics retrieved successfully"));
+        return ResponseEntity.ok().cacheControl(REVALIDATE)
+            .body(ApiResponse.success(stats, "Dashboard statistics retrieved successfully"));
+    }
+
+    /**
+     * Stream dashboard updates as server-sent events
+     * Each event carries the new values of the entries an expense change touched; clients load
+     * the full dashboard once and apply the deltas instead of polling
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Dashboard Updates", description = "Pushes category totals, daily points and budget status as expenses change")
+    public Flux<ServerSentEvent<DashboardDeltaDTO>> streamDashboard(Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Opening dashboard stream for user: {}", userId);
+
+        return dashboardStreamService.subscribe(userId);
     }
 
     /**
@@ -65,15 +108,132 @@ public class ExpenseController {
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @Parameter(description = "End date (YYYY-MM-DD)")
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-        Authentication authentication
+        Authentication authentication,
+        WebRequest webRequest
     ) {
         log.info("Fetching dashboard stats for user: {} from {} to {}",
             authentication.getName(), startDate, endDate);
 
         Long userId = getUserIdFromAuth(authentication);
+
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
         DashboardStatsDTO stats = dashboardService.getDashboardStatsForDateRange(userId, startDate, endDate);
 
-        return ResponseEntity.ok(ApiResponse.success(stats, "Dashboard statistics retrieved successfully"));
+        return ResponseEntity.ok().cacheControl(REVALIDATE)
+            .body(ApiResponse.success(stats, "Dashboard statistics retrieved successfully"));
+    }
+
+    /**
+     * Get expenses one keyset page at a time
+     */
+    @GetMapping
+    @Operation(summary = "List Expenses (Paginated)",
+               description = "Returns expenses newest first, one page at a time. Pass nextCursor from the previous page to continue.")
+    public ResponseEntity<ApiResponse<ExpensePageDTO>> getExpensePage(
+        @Parameter(description = "Opaque cursor from the previous page (omit for the first page)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size (1-100)")
+        @RequestParam(defaultValue = "20") int size,
+        @Parameter(description = "Optional category name filter")
+        @RequestParam(required = false) String category,
+        @Parameter(description = "Optional start date (YYYY-MM-DD)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @Parameter(description = "Optional end date (YYYY-MM-DD)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        Authentication authentication
+    ) {
+        log.info("Fetching expense page for user: {} (category: {}, size: {})",
+            authentication.getName(), category, size);
+
+        Long userId = getUserIdFromAuth(authentication);
+        ExpensePageDTO page = expenseService.getExpensePage(userId, category, startDate, endDate, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(page,
+            "Retrieved " + page.getSize() + " expenses"));
+    }
+
+    /**
+     * Export expenses as a streamed CSV or NDJSON download
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export Expenses",
+               description = "Streams all expenses in the date range as CSV or NDJSON, optionally gzip-compressed")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+        @Parameter(description = "Export format (CSV or NDJSON)")
+        @RequestParam(defaultValue = "CSV") String format,
+        @Parameter(description = "Optional start date (YYYY-MM-DD)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @Parameter(description = "Optional end date (YYYY-MM-DD)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @Parameter(description = "Compress the download with gzip")
+        @RequestParam(defaultValue = "false") boolean gzip,
+        Authentication authentication
+    ) {
+        log.info("Exporting expenses for user: {} as {} (gzip: {})", authentication.getName(), format, gzip);
+
+        Long userId = getUserIdFromAuth(authentication);
+        ExpenseExportService.Format exportFormat = ExpenseExportService.Format.valueOf(format.toUpperCase());
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, 8192, true);
+                expenseExportService.exportExpenses(userId, startDate, endDate, exportFormat, gzipStream);
+                gzipStream.finish();
+            } else {
+                expenseExportService.exportExpenses(userId, startDate, endDate, exportFormat, outputStream);
+            }
+        };
+
+        String fileName = "expenses-" + LocalDate.now() + "." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+            ? MediaType.parseMediaType("application/gzip")
+            : MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8");
+
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
+    /**
+     * Update an expense
+     */
+    @PutMapping("/{expenseId}")
+    @Operation(summary = "Update Expense",
+               description = "Updates amount, category, date, currency or description of an expense; omitted fields are unchanged")
+    public ResponseEntity<ApiResponse<ExpenseResponseDTO>> updateExpense(
+        @Parameter(description = "Expense ID") @PathVariable Long expenseId,
+        @RequestBody ExpenseRequestDTO request,
+        Authentication authentication
+    ) {
+        log.info("Updating expense {} for user: {}", expenseId, authentication.getName());
+
+        Long userId = getUserIdFromAuth(authentication);
+        ExpenseResponseDTO response = expenseService.updateExpense(userId, expenseId, request);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Expense updated successfully"));
+    }
+
+    /**
+     * Delete an expense
+     */
+    @DeleteMapping("/{expenseId}")
+    @Operation(summary = "Delete Expense", description = "Deletes an expense owned by the current user")
+    public ResponseEntity<ApiResponse<Void>> deleteExpense(
+        @Parameter(description = "Expense ID") @PathVariable Long expenseId,
+        Authentication authentication
+    ) {
+        log.info("Deleting expense {} for user: {}", expenseId, authentication.getName());
+
+        Long userId = getUserIdFromAuth(authentication);
+        expenseService.deleteExpense(userId, expenseId);
+
+        return ResponseEntity.ok(ApiResponse.success(null, "Expense deleted successfully"));
     }
 
     /**
@@ -85,11 +245,7 @@ public class ExpenseController {
         log.info("Fetching current month expenses for user: {}", authentication.getName());
 
         Long userId = getUserIdFromAuth(authentication);
-        List<Expense> expenses = expenseService.getCurrentMonthExpenses(userId);
-
-        List<ExpenseResponseDTO> response = expenses.stream()
-            .map(this::toExpenseResponseDTO)
-            .collect(Collectors.toList());
+        List<ExpenseResponseDTO> response = expenseService.getCurrentMonthExpenses(userId);
 
         return ResponseEntity.ok(ApiResponse.success(response,
             "Retrieved " + response.size() + " expenses for current month"));
@@ -108,11 +264,7 @@ public class ExpenseController {
         log.info("Fetching {} expenses for user: {}", categoryName, authentication.getName());
 
         Long userId = getUserIdFromAuth(authentication);
-        List<Expense> expenses = expenseService.getExpensesByCategory(userId, categoryName);
-
-        List<ExpenseResponseDTO> response = expenses.stream()
-            .map(this::toExpenseResponseDTO)
-            .collect(Collectors.toList());
+        List<ExpenseResponseDTO> response = expenseService.getExpensesByCategory(userId, categoryName);
 
         return ResponseEntity.ok(ApiResponse.success(response,
             "Retrieved " + response.size() + " " + categoryName + " expenses"));
@@ -132,11 +284,7 @@ public class ExpenseController {
             authentication.getName(), startDate, endDate);
 
         Long userId = getUserIdFromAuth(authentication);
-        List<Expense> expenses = expenseService.getExpensesByDateRange(userId, startDate, endDate);
-
-        List<ExpenseResponseDTO> response = expenses.stream()
-            .map(this::toExpenseResponseDTO)
-            .collect(Collectors.toList());
+        List<ExpenseResponseDTO> response = expenseService.getExpensesByDateRange(userId, startDate, endDate);
 
         return ResponseEntity.ok(ApiResponse.success(response,
             "Retrieved " + response.size() + " expenses"));
@@ -205,14 +353,21 @@ public class ExpenseController {
     @GetMapping("/breakdown/category")
     @Operation(summary = "Get Category Breakdown", description = "Returns spending breakdown by category (pie chart data)")
     public ResponseEntity<ApiResponse<List<DashboardStatsDTO.CategorySummary>>> getCategoryBreakdown(
-        Authentication authentication
+        Authentication authentication,
+        WebRequest webRequest
     ) {
         log.info("Fetching category breakdown for user: {}", authentication.getName());
 
         Long userId = getUserIdFromAuth(authentication);
-        DashboardStatsDTO stats = dashboardService.getDashboardStats(userId);
 
-        return ResponseEntity.ok(ApiResponse.success(stats.getCategoryBreakdown(),
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
+        List<DashboardStatsDTO.CategorySummary> breakdown = dashboardService.getCategoryBreakdown(userId);
+
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(breakdown,
             "Category breakdown retrieved successfully"));
     }
 
@@ -222,31 +377,72 @@ public class ExpenseController {
     @GetMapping("/trends/daily")
     @Operation(summary = "Get Daily Spending Trend", description = "Returns daily spending for last 30 days (line chart data)")
     public ResponseEntity<ApiResponse<List<DashboardStatsDTO.DailySpending>>> getDailyTrend(
-        Authentication authentication
+        Authentication authentication,
+        WebRequest webRequest
     ) {
         log.info("Fetching daily spending trend for user: {}", authentication.getName());
 
         Long userId = getUserIdFromAuth(authentication);
-        DashboardStatsDTO stats = dashboardService.getDashboardStats(userId);
 
-        return ResponseEntity.ok(ApiResponse.success(stats.getDailySpending(),
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
+        List<DashboardStatsDTO.DailySpending> dailySpending = dashboardService.getDailySpending(userId);
+
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(dailySpending,
             "Daily spending trend retrieved successfully"));
     }
 
+    /**
+     * Get month-by-category spending (for trend charts)
+     */
+    @GetMapping("/trends/monthly")
+    @Operation(summary = "Get Monthly Comparison",
+               description = "Returns spending per category for each of the last N months, with month-over-month changes")
+    public ResponseEntity<ApiResponse<MonthlyComparisonDTO>> getMonthlyComparison(
+        @Parameter(description = "Number of months including the current one (1-120)")
+        @RequestParam(defaultValue = "12") int months,
+        Authentication authentication,
+        WebRequest webRequest
+    ) {
+        log.info("Fetching {}-month comparison for user: {}", months, authentication.getName());
+
+        Long userId = getUserIdFromAuth(authentication);
+
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
+        MonthlyComparisonDTO comparison = dashboardService.getMonthlyComparison(userId, months);
+
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(comparison,
+            "Monthly comparison retrieved successfully"));
+    }
+
     /**
      * Get budget status (for progress bars)
      */
     @GetMapping("/budget/status")
     @Operation(summary = "Get Budget Status", description = "Returns budget usage for all categories (progress bar data)")
     public ResponseEntity<ApiResponse<List<DashboardStatsDTO.BudgetStatus>>> getBudgetStatus(
-        Authentication authentication
+        Authentication authentication,
+        WebRequest webRequest
     ) {
         log.info("Fetching budget status for user: {}", authentication.getName());
 
         Long userId = getUserIdFromAuth(authentication);
-        DashboardStatsDTO stats = dashboardService.getDashboardStats(userId);
 
-        return ResponseEntity.ok(ApiResponse.success(stats.getBudgetStatus(),
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
+        List<DashboardStatsDTO.BudgetStatus> budgetStatus = dashboardService.getBudgetStatus(userId);
+
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(budgetStatus,
             "Budget status retrieved successfully"));
     }
 
@@ -254,28 +450,7 @@ public class ExpenseController {
      * Helper: Extract user ID from authentication
      */
     private Long getUserIdFromAuth(Authentication authentication) {
-        // The principal is the User entity (implements UserDetails)
-        User user = (User) authentication.getPrincipal();
-        return user.getId();
-    }
-
-    /**
-     * Helper: Convert Expense entity to DTO
-     */
-    private ExpenseResponseDTO toExpenseResponseDTO(Expense expense) {
-        return ExpenseResponseDTO.builder()
-            .id(expense.getId())
-            .amount(expense.getAmount())
-            .currency(expense.getCurrency())
-            .categoryName(expense.getCategory().getName())
-            .categoryIcon(expense.getCategory().getIcon())
-            .categoryColor(expense.getCategory().getColor())
-            .description(expense.getDescription())
-            .expenseDate(expense.getExpenseDate())
-            .aiParsed(expense.getAiParsed())
-            .originalMessage(expense.getOriginalMessage())
-            .createdAt(expense.getCreatedAt())
-            .build();
+        // The principal comes from the access token's claims; no user lookup needed
+        return ((AuthenticatedUser) authentication.getPrincipal()).id();
     }
 }
-
@@ -1,9 +1,11 @@
 package com.finance.concierge.controller;
 
+import com.finance.concierge.config.AuthenticatedUser;
 import com.finance.concierge.dto.AnalyticsDTO;
 import com.finance.concierge.entity.User;
 import com.finance.concierge.exception.ForbiddenException;
 import com.finance.concierge.service.AnalyticsService;
+import com.finance.concierge.service.DataVersionService;
 import com.finance.concierge.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,9 +13,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -30,8 +34,14 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class UserAnalyticsController {
 
+    /**
+     * Clients may keep responses but must revalidate them with the ETag
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final AnalyticsService analyticsService;
     private final UserService userService;
+    private final DataVersionService dataVersionService;
 
     /**
      * Get analytics summary for a specific user
@@ -40,7 +50,8 @@ public class UserAnalyticsController {
     @Operation(summary = "Get Analytics Summary", description = "Retrieve analytics summary for a specific user")
     public ResponseEntity<AnalyticsDTO.SummaryDTO> getSummary(
             @Parameter(description = "User ID") @PathVariable Long userId,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            WebRequest webRequest
     ) {
         log.info("Fetching analytics summary for userId: {}, requester: {}",
                 userId, authenticatedUser.getUsername());
@@ -48,12 +59,17 @@ public class UserAnalyticsController {
         // Validate authorization
         validateUserAccess(authenticatedUser, userId);
 
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
         // Validate user exists and get User object
         User targetUser = userService.getUserById(userId);
 
         AnalyticsDTO.SummaryDTO summary = analyticsService.getAnalyticsSummary(targetUser);
 
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(summary);
     }
 
     /**
@@ -65,7 +81,8 @@ public class UserAnalyticsController {
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "Number of days to include in the trend")
             @RequestParam(defaultValue = "10") int days,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            WebRequest webRequest
     ) {
         log.info("Fetching daily trend for userId: {}, days: {}, requester: {}",
                 userId, days, authenticatedUser.getUsername());
@@ -73,12 +90,17 @@ public class UserAnalyticsController {
         // Validate authorization
         validateUserAccess(authenticatedUser, userId);
 
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
         // Validate user exists and get User object
         User targetUser = userService.getUserById(userId);
 
         List<AnalyticsDTO.DailyTrendDTO> trend = analyticsService.getDailyTrend(targetUser, days);
 
-        return ResponseEntity.ok(trend);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(trend);
     }
 
     /**
@@ -90,7 +112,8 @@ public class UserAnalyticsController {
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "Year to fetch data for (defaults to current year)")
             @RequestParam(required = false) Integer year,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            WebRequest webRequest
     ) {
         if (year == null) {
             year = LocalDate.now().getYear();
@@ -102,12 +125,17 @@ public class UserAnalyticsController {
         // Validate authorization
         validateUserAccess(authenticatedUser, userId);
 
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
         // Validate user exists and get User object
         User targetUser = userService.getUserById(userId);
 
         List<AnalyticsDTO.MonthlySpendDTO> monthlySpend = analyticsService.getMonthlySpend(targetUser, year);
 
-        return ResponseEntity.ok(monthlySpend);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(monthlySpend);
     }
 
     /**
@@ -117,7 +145,8 @@ public class UserAnalyticsController {
     @Operation(summary = "Get Spending Forecast", description = "Retrieve spending forecast based on historical data")
     public ResponseEntity<AnalyticsDTO.ForecastDTO> getForecast(
             @Parameter(description = "User ID") @PathVariable Long userId,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            WebRequest webRequest
     ) {
         log.info("Fetching forecast for userId: {}, requester: {}",
                 userId, authenticatedUser.getUsername());
@@ -125,12 +154,55 @@ public class UserAnalyticsController {
         // Validate authorization
         validateUserAccess(authenticatedUser, userId);
 
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
         // Validate user exists and get User object
         User targetUser = userService.getUserById(userId);
 
         AnalyticsDTO.ForecastDTO forecast = analyticsService.getForecast(targetUser);
 
-        return ResponseEntity.ok(forecast);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(forecast);
+    }
+
+    /**
+     * Get summary, trend, monthly spend and forecast for a specific user in one payload
+     */
+    @GetMapping("/overview")
+    @Operation(summary = "Get Analytics Overview",
+               description = "Retrieve summary, daily trend, monthly spending and forecast in one call")
+    public ResponseEntity<AnalyticsDTO.OverviewDTO> getOverview(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Number of days to include in the trend")
+            @RequestParam(defaultValue = "10") int days,
+            @Parameter(description = "Year to fetch monthly data for (defaults to current year)")
+            @RequestParam(required = false) Integer year,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            WebRequest webRequest
+    ) {
+        if (year == null) {
+            year = LocalDate.now().getYear();
+        }
+
+        log.info("Fetching analytics overview for userId: {}, days: {}, year: {}, requester: {}",
+                userId, days, year, authenticatedUser.getUsername());
+
+        // Validate authorization
+        validateUserAccess(authenticatedUser, userId);
+
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
+        // Validate user exists and get User object (once for all sections)
+        User targetUser = userService.getUserById(userId);
+
+        AnalyticsDTO.OverviewDTO overview = analyticsService.getOverview(targetUser, days, year);
+
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(overview);
     }
 
     /**
@@ -141,7 +213,7 @@ public class UserAnalyticsController {
      * 2. Admin users can access any user's data (future feature - currently only USER and PREMIUM roles exist)
      * 3. Otherwise, throw ForbiddenException
      */
-    private void validateUserAccess(User authenticatedUser, Long targetUserId) {
+    private void validateUserAccess(AuthenticatedUser authenticatedUser, Long targetUserId) {
         // Check if user is accessing their own data
         if (authenticatedUser.getId().equals(targetUserId)) {
             log.debug("User {} accessing their own analytics", authenticatedUser.getUsername());
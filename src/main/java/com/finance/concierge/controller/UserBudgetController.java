@@ -1,11 +1,19 @@
 package com.finance.concierge.controller;
 
 import com.finance.concierge.common.ApiResponse;
+import com.finance.concierge.config.AuthenticatedUser;
+import com.finance.concierge.dto.BudgetAlertDTO;
+import com.finance.concierge.dto.BudgetPeriodHistoryDTO;
 import com.finance.concierge.dto.BudgetRequestDTO;
 import com.finance.concierge.dto.BudgetResponseDTO;
-import com.finance.concierge.entity.User;
+import com.finance.concierge.dto.BudgetSimulationDTO;
+import com.finance.concierge.dto.BudgetSimulationRequestDTO;
 import com.finance.concierge.exception.ForbiddenException;
+import com.finance.concierge.service.BudgetAlertService;
+import com.finance.concierge.service.BudgetPeriodService;
 import com.finance.concierge.service.BudgetService;
+import com.finance.concierge.service.BudgetSimulationService;
+import com.finance.concierge.service.DataVersionService;
 import com.finance.concierge.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,9 +22,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -32,8 +42,17 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class UserBudgetController {
 
+    /**
+     * Clients may keep responses but must revalidate them with the ETag
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final BudgetService budgetService;
     private final UserService userService;
+    private final DataVersionService dataVersionService;
+    private final BudgetAlertService budgetAlertService;
+    private final BudgetSimulationService budgetSimulationService;
+    private final BudgetPeriodService budgetPeriodService;
 
     /**
      * Get all budgets for a specific user
@@ -42,9 +61,10 @@ public class UserBudgetController {
     @Operation(summary = "Get All Budgets", description = "Retrieve all budgets for a specific user (category-wise and total)")
     public ResponseEntity<ApiResponse<List<BudgetResponseDTO>>> getAllBudgets(
             @Parameter(description = "User ID") @PathVariable Long userId,
-            @Parameter(description = "Budget period (DAILY, WEEKLY, MONTHLY, YEARLY)")
+            @Parameter(description = "Budget period (DAILY, WEEKLY, MONTHLY, YEARLY, ROLLING, CUSTOM)")
             @RequestParam(defaultValue = "MONTHLY") String period,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser,
+            WebRequest webRequest
     ) {
         log.info("Fetching all budgets for userId: {}, period: {}, requester: {}",
                 userId, period, authenticatedUser.getUsername());
@@ -52,15 +72,88 @@ public class UserBudgetController {
         // Validate authorization
         validateUserAccess(authenticatedUser, userId);
 
+        // Unchanged since the client's copy: answer 304 before any query runs
+        if (webRequest.checkNotModified(dataVersionService.getETag(userId))) {
+            return null;
+        }
+
         // Validate user exists
         userService.getUserById(userId);
 
         List<BudgetResponseDTO> budgets = budgetService.getAllBudgets(userId, period);
 
-        return ResponseEntity.ok(ApiResponse.success(budgets,
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(ApiResponse.success(budgets,
                 "Retrieved " + budgets.size() + " budget(s)"));
     }
 
+    /**
+     * Get a user's recent budget alerts
+     * Alerts are also pushed on the dashboard stream as they are raised
+     */
+    @GetMapping("/alerts")
+    @Operation(summary = "Get Budget Alerts", description = "Retrieve the most recent threshold and over-budget alerts, newest first")
+    public ResponseEntity<ApiResponse<List<BudgetAlertDTO>>> getBudgetAlerts(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Maximum number of alerts (1-100)")
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
+    ) {
+        log.info("Fetching budget alerts for userId: {}, requester: {}", userId, authenticatedUser.getUsername());
+
+        // Validate authorization
+        validateUserAccess(authenticatedUser, userId);
+
+        List<BudgetAlertDTO> alerts = budgetAlertService.getRecentAlerts(userId, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(alerts, "Retrieved " + alerts.size() + " alert(s)"));
+    }
+
+    /**
+     * Get the closed periods of a budget for budget-vs-actual charts
+     * Read from the snapshots the period-close job writes; the current period is not included
+     */
+    @GetMapping("/{budgetId}/history")
+    @Operation(summary = "Get Budget History", description = "Retrieve budget, spend and carry-over of the most recent closed periods of a budget, oldest first")
+    public ResponseEntity<ApiResponse<List<BudgetPeriodHistoryDTO>>> getBudgetHistory(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Budget ID") @PathVariable Long budgetId,
+            @Parameter(description = "Maximum number of periods (1-120)")
+            @RequestParam(defaultValue = "12") int periods,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
+    ) {
+        log.info("Fetching history of budget: {} for userId: {}, requester: {}",
+                budgetId, userId, authenticatedUser.getUsername());
+
+        // Validate authorization
+        validateUserAccess(authenticatedUser, userId);
+
+        List<BudgetPeriodHistoryDTO> history = budgetPeriodService.getHistory(userId, budgetId, periods);
+
+        return ResponseEntity.ok(ApiResponse.success(history, "Retrieved " + history.size() + " period(s)"));
+    }
+
+    /**
+     * Simulate the rest of the month under what-if spending changes and budgets
+     * Nothing is saved; the user's budgets and expenses are only read
+     */
+    @PostMapping("/simulate")
+    @Operation(summary = "Simulate Budgets", description = "Replay spending history under adjusted spending and budgets and return the probability of overspending per category")
+    public ResponseEntity<ApiResponse<BudgetSimulationDTO>> simulateBudgets(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Valid @RequestBody BudgetSimulationRequestDTO request,
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
+    ) {
+        log.info("Simulating budgets for userId: {}, requester: {}", userId, authenticatedUser.getUsername());
+
+        // Validate authorization
+        validateUserAccess(authenticatedUser, userId);
+
+        BudgetSimulationDTO simulation = budgetSimulationService.simulate(userId, request);
+
+        return ResponseEntity.ok(ApiResponse.success(simulation,
+                "Simulated " + simulation.getPaths() + " path(s)"));
+    }
+
     /**
      * Create or update budget for a category
      */
@@ -69,7 +162,7 @@ public class UserBudgetController {
     public ResponseEntity<ApiResponse<BudgetResponseDTO>> setCategoryBudget(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Valid @RequestBody BudgetRequestDTO request,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
     ) {
         log.info("Setting category budget: {} for userId: {}, requester: {}",
                 request.getCategoryName(), userId, authenticatedUser.getUsername());
@@ -94,7 +187,7 @@ public class UserBudgetController {
     public ResponseEntity<ApiResponse<BudgetResponseDTO>> setTotalBudget(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Valid @RequestBody BudgetRequestDTO request,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
     ) {
         log.info("Setting total budget for userId: {}, requester: {}",
                 userId, authenticatedUser.getUsername());
@@ -120,7 +213,7 @@ public class UserBudgetController {
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "Budget ID") @PathVariable Long budgetId,
             @Valid @RequestBody BudgetRequestDTO request,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
     ) {
         log.info("Updating budget: {} for userId: {}, requester: {}",
                 budgetId, userId, authenticatedUser.getUsername());
@@ -146,7 +239,7 @@ public class UserBudgetController {
     public ResponseEntity<ApiResponse<Void>> deleteBudget(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "Budget ID") @PathVariable Long budgetId,
-            @AuthenticationPrincipal User authenticatedUser
+            @AuthenticationPrincipal AuthenticatedUser authenticatedUser
     ) {
         log.info("Deleting budget: {} for userId: {}, requester: {}",
                 budgetId, userId, authenticatedUser.getUsername());
@@ -171,7 +264,7 @@ public class UserBudgetController {
      * 2. Admin users can access any user's data (future feature - currently only USER and PREMIUM roles exist)
      * 3. Otherwise, throw ForbiddenException
      */
-    private void validateUserAccess(User authenticatedUser, Long targetUserId) {
+    private void validateUserAccess(AuthenticatedUser authenticatedUser, Long targetUserId) {
         // Check if user is accessing their own data
         if (authenticatedUser.getId().equals(targetUserId)) {
             log.debug("User {} accessing their own budgets", authenticatedUser.getUsername());
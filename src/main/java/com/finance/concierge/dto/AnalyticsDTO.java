@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public class AnalyticsDTO {
 
@@ -54,10 +55,22 @@ public class AnalyticsDTO {
     public static class ForecastDTO {
         private BigDecimal predictedYearEndSpend;
         private BigDecimal predictedMonthEndSpend;
+        private PredictionIntervalDTO predictedYearEndRange;  // null until the forecasting model has state
+        private PredictionIntervalDTO predictedMonthEndRange;
         private PredictedExpenseDTO nextLikelySpend;
         private String aiAnalysis;
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PredictionIntervalDTO {
+        private BigDecimal lower;
+        private BigDecimal upper;
+        private Integer confidencePercent; // e.g. 80 for the central 80% interval
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -67,4 +80,15 @@ public class AnalyticsDTO {
         private BigDecimal estimatedAmount;
         private String confidence;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OverviewDTO {
+        private SummaryDTO summary;
+        private List<DailyTrendDTO> trend;
+        private List<MonthlySpendDTO> monthlySpend;
+        private ForecastDTO forecast;
+    }
 }
@@ -0,0 +1,30 @@
+package com.finance.concierge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a budget alert
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlertDTO {
+
+    private Long budgetId;
+    private String categoryName; // Null for a total budget
+    private String budgetPeriod;
+    private LocalDate periodStart;
+    private String alertType; // THRESHOLD_CROSSED or OVER_BUDGET
+    private BigDecimal budgetAmount;
+    private BigDecimal spentAmount;
+    private BigDecimal alertThreshold;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.finance.concierge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one closed budget period
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetPeriodHistoryDTO {
+
+    private Long budgetId;
+    private String budgetPeriod;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal budgetAmount;
+    private BigDecimal carriedIn;
+    private BigDecimal spentAmount;
+    private BigDecimal remainingAmount;
+    private BigDecimal carriedOut;
+    private Boolean isOverBudget;
+}
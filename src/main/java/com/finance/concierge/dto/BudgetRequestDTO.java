@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * DTO for setting budget
@@ -28,13 +29,23 @@ public class BudgetRequestDTO {
     @Schema(description = "Budget amount", example = "200.00")
     private BigDecimal budgetAmount;
 
-    @Schema(description = "Budget period (DAILY, WEEKLY, MONTHLY, YEARLY)", example = "MONTHLY", defaultValue = "MONTHLY")
+    @Schema(description = "Budget period (DAILY, WEEKLY, MONTHLY, YEARLY, ROLLING, CUSTOM)", example = "MONTHLY", defaultValue = "MONTHLY")
     @Builder.Default
     private String budgetPeriod = "MONTHLY";
 
+    @Schema(description = "Window length in days; required for ROLLING (last N days) and CUSTOM (N-day cycle)", example = "7")
+    private Integer windowDays;
+
+    @Schema(description = "First day of any one CUSTOM cycle, e.g. a payday", example = "2026-01-09")
+    private LocalDate cycleStartDate;
+
     @Schema(description = "Alert threshold percentage (e.g., 80 for 80%)", example = "80.0")
     private BigDecimal alertThreshold;
 
+    @Schema(description = "Add what a period leaves unused to the next period (not for ROLLING)", example = "false")
+    @Builder.Default
+    private Boolean carryOver = false;
+
     @Schema(description = "Set as total budget (ignores categoryName)", example = "false")
     @Builder.Default
     private Boolean isTotalBudget = false;
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -22,10 +23,16 @@ public class BudgetResponseDTO {
     private String categoryIcon;
     private String categoryColor;
     private BigDecimal budgetAmount;
+    private Boolean carryOver;
+    private BigDecimal carriedIn; // Unused amount of the last period added to this one
     private BigDecimal currentSpending;
     private BigDecimal remaining;
     private Double percentageUsed;
     private String budgetPeriod;
+    private Integer windowDays; // ROLLING and CUSTOM only
+    private LocalDate cycleStartDate; // CUSTOM only
+    private LocalDate windowStart; // Current window the spending covers
+    private LocalDate windowEnd;
     private BigDecimal alertThreshold;
     private Boolean isTotalBudget;
     private Boolean isOverBudget;
@@ -0,0 +1,75 @@
+package com.finance.concierge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the outcome of a budget what-if simulation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetSimulationDTO {
+
+    /**
+     * Number of paths simulated
+     */
+    private Integer paths;
+
+    /**
+     * Days simulated, from tomorrow to the end of the month
+     */
+    private LocalDate simulatedFrom;
+    private LocalDate simulatedTo;
+
+    /**
+     * Outcome per category, highest overspend probability first
+     */
+    private List<CategoryOutcome> categories;
+
+    /**
+     * Outcome over all categories
+     */
+    private TotalOutcome total;
+
+    /**
+     * Simulated month-end spending of one category
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryOutcome {
+        private String categoryName;
+        private BigDecimal budgetLimit; // Null when the category has no budget
+        private BigDecimal spentSoFar;
+        private Double spendingChange; // Percent applied on top of the trend
+        private Double trendFactor; // Recent daily spend relative to the whole history
+        private BigDecimal expectedSpend;
+        private BigDecimal p90Spend;
+        private Double overspendProbability; // Null when the category has no budget
+    }
+
+    /**
+     * Simulated month-end spending over all categories
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TotalOutcome {
+        private BigDecimal budgetLimit; // Null when no total budget is set
+        private BigDecimal spentSoFar;
+        private BigDecimal expectedSpend;
+        private BigDecimal p90Spend;
+        private Double overspendProbability; // Null when no total budget is set
+        private LocalDate likelyOverspendDate; // Day by which half the paths are over, null if they are not
+    }
+}
@@ -0,0 +1,49 @@
+package com.finance.concierge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO for a budget what-if simulation over the rest of the current month
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "What-if changes to replay the user's spending history under")
+public class BudgetSimulationRequestDTO {
+
+    @Schema(description = "Percentage change of spending per category name", example = "{\"Food\": -20}")
+    private Map<String, Double> spendingChanges;
+
+    @Schema(description = "Monthly budget to assume per category name instead of the current one", example = "{\"Food\": 250.00}")
+    private Map<String, BigDecimal> budgetOverrides;
+
+    @DecimalMin(value = "0.01", message = "Total budget must be greater than 0")
+    @Schema(description = "Monthly total budget to assume instead of the current one", example = "2000.00")
+    private BigDecimal totalBudget;
+
+    @Min(value = 100, message = "At least 100 paths are needed")
+    @Max(value = 100000, message = "At most 100000 paths are allowed")
+    @Schema(description = "Number of Monte Carlo paths", example = "10000", defaultValue = "10000")
+    @Builder.Default
+    private Integer paths = 10000;
+
+    @Min(value = 14, message = "At least 14 days of history are needed")
+    @Max(value = 365, message = "At most 365 days of history are used")
+    @Schema(description = "Days of history to draw from", example = "90", defaultValue = "90")
+    @Builder.Default
+    private Integer historyDays = 90;
+
+    @Schema(description = "Random seed, for repeatable results")
+    private Long seed;
+}
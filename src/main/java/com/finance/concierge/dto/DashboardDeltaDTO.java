@@ -0,0 +1,51 @@
+package com.finance.concierge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for one pushed dashboard update
+ * Carries the new values of only the dashboard entries an expense change touched; every value is
+ * absolute, so a client that missed a delta is corrected by the next one that touches the entry
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDeltaDTO {
+
+    /**
+     * Current month total spending, null when the change did not touch the current month
+     */
+    private BigDecimal totalSpentThisMonth;
+
+    /**
+     * Total number of transactions this month, null when the change did not touch the current month
+     */
+    private Integer transactionCount;
+
+    /**
+     * Current-month totals of the touched categories; a category with no spend left has a zero total
+     */
+    private List<DashboardStatsDTO.CategorySummary> categoryTotals;
+
+    /**
+     * Touched days within the dashboard's daily series
+     */
+    private List<DashboardStatsDTO.DailySpending> dailySpending;
+
+    /**
+     * Budget status of the touched categories that have a budget
+     */
+    private List<DashboardStatsDTO.BudgetStatus> budgetStatus;
+
+    /**
+     * Budget alerts raised by the change
+     */
+    private List<BudgetAlertDTO> budgetAlerts;
+}
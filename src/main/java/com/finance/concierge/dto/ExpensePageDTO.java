@@ -0,0 +1,33 @@
+package com.finance.concierge.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a keyset-paginated expense listing
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Keyset-paginated expense page")
+public class ExpensePageDTO {
+
+    @Schema(description = "Expenses on this page, newest first")
+    private List<ExpenseResponseDTO> expenses;
+
+    @Schema(description = "Opaque cursor for the next page, null when there are no more results",
+            example = "MjAyNi0wMS0wNToxMjM")
+    private String nextCursor;
+
+    @Schema(description = "Whether more results exist after this page", example = "true")
+    private Boolean hasMore;
+
+    @Schema(description = "Number of expenses on this page", example = "20")
+    private Integer size;
+}
@@ -0,0 +1,60 @@
+package com.finance.concierge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the month-by-category spending comparison (trend charts)
+ * All lists indexed by month line up with months, oldest first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyComparisonDTO {
+
+    /**
+     * Months covered, as YYYY-MM, oldest first
+     */
+    private List<String> months;
+
+    /**
+     * Total spending per month across all categories
+     */
+    private List<BigDecimal> monthTotals;
+
+    /**
+     * One series per category with spending in the window, largest total first
+     */
+    private List<CategoryTrend> categories;
+
+    /**
+     * Monthly spending of one category
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryTrend {
+        private String categoryName;
+        private String categoryIcon;
+        private String categoryColor;
+        private BigDecimal total;
+        private List<BigDecimal> amounts;
+
+        /**
+         * Change from the previous month in amount
+         */
+        private List<BigDecimal> deltas;
+
+        /**
+         * Change from the previous month in percent
+         */
+        private List<Double> monthOverMonthChange;
+    }
+}
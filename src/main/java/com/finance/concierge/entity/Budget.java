@@ -9,7 +9,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 
 /**
  * Entity for user budget settings
@@ -17,7 +21,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "budgets", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "category_id", "budget_period"})
+    @UniqueConstraint(columnNames = {"user_id", "category_id", "budget_period", "window_days"})
 })
 @Data
 @Builder
@@ -44,6 +48,13 @@ public class Budget {
     @Enumerated(EnumType.STRING)
     private BudgetPeriod budgetPeriod;
 
+    @Column(name = "window_days", nullable = false)
+    @Builder.Default
+    private Integer windowDays = 0; // Length of a ROLLING or CUSTOM window, 0 for calendar periods
+
+    @Column(name = "cycle_start_date")
+    private LocalDate cycleStartDate; // First day of any one CUSTOM cycle
+
     @Column(name = "is_total_budget", nullable = false)
     @Builder.Default
     private Boolean isTotalBudget = false;
@@ -51,6 +62,17 @@ public class Budget {
     @Column(name = "alert_threshold", precision = 5, scale = 2)
     private BigDecimal alertThreshold; // Alert when X% of budget is used
 
+    @Column(name = "carry_over", nullable = false)
+    @Builder.Default
+    private Boolean carryOver = false; // Add what a closed period left unused to the next one
+
+    @Column(name = "carry_in_amount", nullable = false, precision = 10, scale = 2)
+    @Builder.Default
+    private BigDecimal carryInAmount = BigDecimal.ZERO;
+
+    @Column(name = "carry_in_period_start")
+    private LocalDate carryInPeriodStart; // Window the carry-in applies to
+
     @Column(name = "is_active", nullable = false)
     @Builder.Default
     private Boolean isActive = true;
@@ -63,13 +85,99 @@ public class Budget {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * First day of this budget's window containing the given day
+     */
+    public LocalDate windowStart(LocalDate day) {
+        return budgetPeriod.startOf(day, windowDays, cycleStartDate);
+    }
+
+    /**
+     * Last day of this budget's window containing the given day
+     */
+    public LocalDate windowEnd(LocalDate day) {
+        return budgetPeriod.endOf(day, windowDays, cycleStartDate);
+    }
+
+    /**
+     * Budget amount plus whatever was carried into the window containing the given day
+     */
+    public BigDecimal effectiveAmount(LocalDate day) {
+        if (carryInPeriodStart != null && carryInPeriodStart.equals(windowStart(day))) {
+            return budgetAmount.add(carryInAmount);
+        }
+        return budgetAmount;
+    }
+
     /**
      * Budget period enum
+     * Weeks start on Monday; all windows are inclusive day ranges. ROLLING is the last N days
+     * ending on the given day; CUSTOM is a repeating cycle of N days, such as a pay cycle
      */
     public enum BudgetPeriod {
         DAILY,
         WEEKLY,
         MONTHLY,
-        YEARLY
+        YEARLY,
+        ROLLING,
+        CUSTOM;
+
+        /**
+         * Whether the window is fixed by the calendar alone, without a budget's window length
+         */
+        public boolean isCalendar() {
+            return this != ROLLING && this != CUSTOM;
+        }
+
+        /**
+         * First day of the calendar period containing the given day
+         */
+        public LocalDate startOf(LocalDate day) {
+            return switch (this) {
+                case DAILY -> day;
+                case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY -> day.withDayOfMonth(1);
+                case YEARLY -> day.withDayOfYear(1);
+                case ROLLING, CUSTOM -> throw new IllegalStateException(this + " windows depend on the budget");
+            };
+        }
+
+        /**
+         * Last day of the calendar period containing the given day
+         */
+        public LocalDate endOf(LocalDate day) {
+            return switch (this) {
+                case DAILY -> day;
+                case WEEKLY -> startOf(day).plusDays(6);
+                case MONTHLY -> day.with(TemporalAdjusters.lastDayOfMonth());
+                case YEARLY -> day.with(TemporalAdjusters.lastDayOfYear());
+                case ROLLING, CUSTOM -> throw new IllegalStateException(this + " windows depend on the budget");
+            };
+        }
+
+        /**
+         * First day of the window containing the given day
+         *
+         * @param windowDays Window length, used by ROLLING and CUSTOM only
+         * @param cycleStart First day of any one cycle, used by CUSTOM only
+         */
+        public LocalDate startOf(LocalDate day, int windowDays, LocalDate cycleStart) {
+            return switch (this) {
+                case ROLLING -> day.minusDays(windowDays - 1L);
+                case CUSTOM -> day.minusDays(Math.floorMod(ChronoUnit.DAYS.between(cycleStart, day), windowDays));
+                default -> startOf(day);
+            };
+        }
+
+        /**
+         * Last day of the window containing the given day
+         */
+        public LocalDate endOf(LocalDate day, int windowDays, LocalDate cycleStart) {
+            return switch (this) {
+                case ROLLING -> day;
+                case CUSTOM -> startOf(day, windowDays, cycleStart).plusDays(windowDays - 1L);
+                default -> endOf(day);
+            };
+        }
     }
 }
@@ -0,0 +1,72 @@
+package com.finance.concierge.entity;
+
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A budget line crossed by an expense write, recorded once per budget, period and type
+ */
+@Entity
+@Table(name = "budget_alerts", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"budget_id", "period_start", "alert_type"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+
+    @Column(name = "category_id")
+    private Long categoryId; // Null for a total budget
+
+    @Column(name = "budget_period", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private BudgetPeriod budgetPeriod;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "alert_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private AlertType alertType;
+
+    @Column(name = "budget_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal budgetAmount;
+
+    @Column(name = "spent_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal spentAmount; // Period spend right after the crossing write
+
+    @Column(name = "alert_threshold", precision = 5, scale = 2)
+    private BigDecimal alertThreshold;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Alert type enum
+     */
+    public enum AlertType {
+        THRESHOLD_CROSSED, // Spend reached the budget's alert threshold
+        OVER_BUDGET        // Spend went past the budget amount
+    }
+}
@@ -0,0 +1,69 @@
+package com.finance.concierge.entity;
+
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Final figures of one closed period of a budget, written once by the period-close job
+ */
+@Entity
+@Table(name = "budget_period_history", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"budget_id", "period_start"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetPeriodHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+
+    @Column(name = "category_id")
+    private Long categoryId; // Null for a total budget
+
+    @Column(name = "budget_period", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private BudgetPeriod budgetPeriod;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(name = "budget_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal budgetAmount; // As set, without the carry-in
+
+    @Column(name = "carried_in", nullable = false, precision = 10, scale = 2)
+    private BigDecimal carriedIn;
+
+    @Column(name = "spent_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal spentAmount;
+
+    @Column(name = "remaining_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal remainingAmount; // Negative when overspent
+
+    @Column(name = "carried_out", nullable = false, precision = 10, scale = 2)
+    private BigDecimal carriedOut; // Added to the next period
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
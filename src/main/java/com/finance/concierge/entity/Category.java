@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -42,6 +43,9 @@ public class Category {
     @Column(name = "color", length = 20)
     private String color;
 
+    @Column(name = "default_monthly_budget", precision = 10, scale = 2)
+    private BigDecimal defaultMonthlyBudget; // Monthly limit for users without their own budget
+
     @Column(name = "is_active", nullable = false)
     @Builder.Default
     private Boolean isActive = true;
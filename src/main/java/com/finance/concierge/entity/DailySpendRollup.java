@@ -0,0 +1,56 @@
+package com.finance.concierge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-day, per-category spend totals
+ * Maintained incrementally from expense changes; never edited directly
+ */
+@Entity
+@Table(name = "daily_spend_rollup", indexes = {
+    @Index(name = "idx_rollup_user_category_date", columnList = "user_id, category_id, spend_date")
+})
+@IdClass(DailySpendRollup.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySpendRollup {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "spend_date", nullable = false)
+    private LocalDate spendDate;
+
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "total_cents", nullable = false)
+    private Long totalCents;
+
+    @Column(name = "txn_count", nullable = false)
+    private Integer txnCount;
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate spendDate;
+        private Long categoryId;
+    }
+}
@@ -17,11 +17,10 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "expenses", indexes = {
-    @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_category_id", columnList = "category_id"),
-    @Index(name = "idx_expense_date", columnList = "expense_date"),
-    @Index(name = "idx_created_at", columnList = "created_at"),
-    @Index(name = "idx_user_date", columnList = "user_id, expense_date")
+    @Index(name = "idx_expenses_category_id", columnList = "category_id"),
+    @Index(name = "idx_expenses_user_date", columnList = "user_id, expense_date"),
+    @Index(name = "idx_expenses_user_date_category_amount", columnList = "user_id, expense_date, category_id, amount"),
+    @Index(name = "idx_expenses_user_category_date_amount", columnList = "user_id, category_id, expense_date, amount")
 })
 @Data
 @Builder
@@ -37,7 +36,7 @@ public class Expense {
     @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_expense_user"))
     private User user;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false, foreignKey = @ForeignKey(name = "fk_expense_category"))
     private Category category;
 
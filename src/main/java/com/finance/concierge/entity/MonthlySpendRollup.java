@@ -0,0 +1,59 @@
+package com.finance.concierge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+
+/**
+ * Per-user, per-month spend totals
+ * Maintained incrementally alongside the daily rollup; never edited directly
+ */
+@Entity
+@Table(name = "monthly_spend_rollup")
+@IdClass(MonthlySpendRollup.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySpendRollup {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Calendar month as year * 100 + month, e.g. 202603
+     */
+    @Id
+    @Column(name = "month_key", nullable = false)
+    private Integer monthKey;
+
+    @Column(name = "total_cents", nullable = false)
+    private Long totalCents;
+
+    @Column(name = "txn_count", nullable = false)
+    private Integer txnCount;
+
+    /**
+     * Month key of a calendar month
+     */
+    public static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Integer monthKey;
+    }
+}
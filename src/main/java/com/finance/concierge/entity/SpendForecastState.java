@@ -0,0 +1,77 @@
+package com.finance.concierge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Forecasting model state of one user's daily spend in one category
+ * Maintained incrementally from expense changes; see SpendForecastUtil for the model
+ */
+@Entity
+@Table(name = "spend_forecast_state")
+@IdClass(SpendForecastState.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendForecastState {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    /**
+     * Open day of the series; null until the state is first built
+     */
+    @Column(name = "current_day")
+    private LocalDate currentDay;
+
+    @Column(name = "pending_cents", nullable = false)
+    private Long pendingCents;
+
+    @Column(name = "level_cents", nullable = false)
+    private Double levelCents;
+
+    /**
+     * Weekday offsets, encoded by SpendForecastUtil
+     */
+    @Column(name = "seasonal_cents", length = 160)
+    private String seasonalCents;
+
+    @Column(name = "error_variance", nullable = false)
+    private Double errorVariance;
+
+    @Column(name = "ticket_cents", nullable = false)
+    private Double ticketCents;
+
+    @Column(name = "observed_days", nullable = false)
+    private Integer observedDays;
+
+    /**
+     * Earliest day after today with spend left out of the state because it was dated ahead;
+     * the series is rebuilt once that day arrives
+     */
+    @Column(name = "future_spend_day")
+    private LocalDate futureSpendDay;
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long categoryId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.finance.concierge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counter bumped on every change to a user's expenses or budgets
+ */
+@Entity
+@Table(name = "user_data_version")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDataVersion {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,30 @@
+package com.finance.concierge.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-user spend aggregates that would otherwise need a scan of the user's history
+ * Maintained incrementally from expense changes; never edited directly
+ */
+@Entity
+@Table(name = "user_spend_summary")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSpendSummary {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Highest daily totals, encoded by TopDailySpendUtil; null until first computed
+     */
+    @Column(name = "top_daily_totals", length = 512)
+    private String topDailyTotals;
+}
@@ -0,0 +1,44 @@
+package com.finance.concierge.event;
+
+import com.finance.concierge.util.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published inside the writing transaction whenever an expense is created, updated or deleted
+ * Carries the aggregate-relevant fields before and after the change, so listeners can apply
+ * deltas (subtract {@code before}, add {@code after}) without reloading anything
+ *
+ * @param before State before the change, null for a create
+ * @param after  State after the change, null for a delete
+ */
+public record ExpenseChangedEvent(Long userId, Long expenseId, Snapshot before, Snapshot after) {
+
+    /**
+     * The fields of an expense that aggregates depend on
+     *
+     * @param currency ISO 4217 code of the amount
+     */
+    public record Snapshot(Long categoryId, LocalDate expenseDate, BigDecimal amount, String currency) {
+
+        /**
+         * Amount in cents, the unit aggregates hold, after rounding to the currency's minor unit
+         */
+        public long cents() {
+            return Money.of(amount, Money.currencyOf(currency)).toCents();
+        }
+    }
+
+    public static ExpenseChangedEvent created(Long userId, Long expenseId, Snapshot after) {
+        return new ExpenseChangedEvent(userId, expenseId, null, after);
+    }
+
+    public static ExpenseChangedEvent updated(Long userId, Long expenseId, Snapshot before, Snapshot after) {
+        return new ExpenseChangedEvent(userId, expenseId, before, after);
+    }
+
+    public static ExpenseChangedEvent deleted(Long userId, Long expenseId, Snapshot before) {
+        return new ExpenseChangedEvent(userId, expenseId, before, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.finance.concierge.event;
+
+/**
+ * Published once a transaction that changed a user's data has committed, just before the user's
+ * data version advances. Listeners drop their per-user read caches synchronously, so no view is
+ * served under the new version from data cached before the commit
+ *
+ * @param budgetsChanged Whether the user's budgets changed, not only expenses
+ */
+public record UserDataChangedEvent(Long userId, boolean budgetsChanged) {
+}
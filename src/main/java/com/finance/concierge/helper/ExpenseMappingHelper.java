@@ -0,0 +1,33 @@
+package com.finance.concierge.helper;
+
+import com.finance.concierge.dto.ExpenseResponseDTO;
+import com.finance.concierge.repository.projection.ExpenseProjection;
+import com.finance.concierge.service.CategoryService.CategoryInfo;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Helper for mapping expense projections to response DTOs
+ */
+@UtilityClass
+public class ExpenseMappingHelper {
+
+    /**
+     * Convert an expense projection and its resolved category to a response DTO
+     */
+    public static ExpenseResponseDTO toResponseDTO(ExpenseProjection expense, CategoryInfo category) {
+        return ExpenseResponseDTO.builder()
+                .id(expense.id())
+                .categoryId(expense.categoryId())
+                .amount(expense.amount())
+                .currency(expense.currency())
+                .categoryName(category.name())
+                .categoryIcon(category.icon())
+                .categoryColor(category.color())
+                .description(expense.description())
+                .expenseDate(expense.expenseDate())
+                .aiParsed(expense.aiParsed())
+                .originalMessage(expense.originalMessage())
+                .createdAt(expense.createdAt())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.BudgetAlert;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for BudgetAlert entity
+ */
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    /**
+     * Record an alert unless the budget already has one of the type for the period
+     *
+     * @return 1 if the alert was recorded, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO budget_alerts (user_id, budget_id, category_id, budget_period, period_start, " +
+                   "alert_type, budget_amount, spent_amount, alert_threshold) " +
+                   "VALUES (:userId, :budgetId, :categoryId, :period, :periodStart, :alertType, " +
+                   ":budgetAmount, :spentAmount, :alertThreshold)",
+           nativeQuery = true)
+    int insertIfAbsent(
+        @Param("userId") Long userId,
+        @Param("budgetId") Long budgetId,
+        @Param("categoryId") Long categoryId,
+        @Param("period") String period,
+        @Param("periodStart") LocalDate periodStart,
+        @Param("alertType") String alertType,
+        @Param("budgetAmount") BigDecimal budgetAmount,
+        @Param("spentAmount") BigDecimal spentAmount,
+        @Param("alertThreshold") BigDecimal alertThreshold
+    );
+
+    /**
+     * A user's alerts, newest first
+     */
+    List<BudgetAlert> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+}
@@ -0,0 +1,26 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.BudgetPeriodHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for BudgetPeriodHistory entity
+ */
+@Repository
+public interface BudgetPeriodHistoryRepository extends JpaRepository<BudgetPeriodHistory, Long> {
+
+    /**
+     * Latest closed period of a budget
+     */
+    Optional<BudgetPeriodHistory> findFirstByBudgetIdOrderByPeriodStartDesc(Long budgetId);
+
+    /**
+     * Most recent closed periods of a user's budget, newest first
+     */
+    List<BudgetPeriodHistory> findByUserIdAndBudgetIdOrderByPeriodStartDesc(Long userId, Long budgetId, Limit limit);
+}
@@ -17,28 +17,57 @@ import java.util.Optional;
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
     /**
-     * Find all active budgets for a user
+     * Find all active budgets for a user, with their categories
      */
-    List<Budget> findByUserIdAndIsActiveTrue(Long userId);
+    @Query("SELECT b FROM Budget b LEFT JOIN FETCH b.category WHERE b.user.id = :userId AND b.isActive = true")
+    List<Budget> findByUserIdAndIsActiveTrue(@Param("userId") Long userId);
 
     /**
-     * Find budget by user and category
+     * IDs of users with at least one active budget
      */
-    Optional<Budget> findByUserIdAndCategoryIdAndBudgetPeriodAndIsActiveTrue(
+    @Query("SELECT DISTINCT b.user.id FROM Budget b WHERE b.isActive = true ORDER BY b.user.id")
+    List<Long> findUserIdsWithActiveBudgets();
+
+    /**
+     * Find the active budgets of one period for a user, with their categories
+     */
+    @Query("SELECT b FROM Budget b LEFT JOIN FETCH b.category " +
+           "WHERE b.user.id = :userId AND b.isActive = true AND b.budgetPeriod = :period")
+    List<Budget> findActiveByUserIdAndPeriod(@Param("userId") Long userId, @Param("period") BudgetPeriod period);
+
+    /**
+     * Find budget by user and category; the shortest window when the period allows several
+     */
+    Optional<Budget> findFirstByUserIdAndCategoryIdAndBudgetPeriodAndIsActiveTrueOrderByWindowDaysAsc(
         Long userId, Long categoryId, BudgetPeriod period
     );
 
     /**
-     * Find total budget for user
+     * Find total budget for user; the shortest window when the period allows several
      */
-    Optional<Budget> findByUserIdAndIsTotalBudgetTrueAndBudgetPeriodAndIsActiveTrue(
+    Optional<Budget> findFirstByUserIdAndIsTotalBudgetTrueAndBudgetPeriodAndIsActiveTrueOrderByWindowDaysAsc(
         Long userId, BudgetPeriod period
     );
 
+    /**
+     * Find budget by user, category, period and window length (0 for calendar periods)
+     */
+    Optional<Budget> findByUserIdAndCategoryIdAndBudgetPeriodAndWindowDaysAndIsActiveTrue(
+        Long userId, Long categoryId, BudgetPeriod period, Integer windowDays
+    );
+
+    /**
+     * Find total budget by user, period and window length (0 for calendar periods)
+     */
+    Optional<Budget> findByUserIdAndIsTotalBudgetTrueAndBudgetPeriodAndWindowDaysAndIsActiveTrue(
+        Long userId, BudgetPeriod period, Integer windowDays
+    );
+
     /**
      * Find all category budgets for a user (excluding total budget)
      */
-    @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.isTotalBudget = false AND b.isActive = true AND b.budgetPeriod = :period")
+    @Query("SELECT b FROM Budget b JOIN FETCH b.category " +
+           "WHERE b.user.id = :userId AND b.isTotalBudget = false AND b.isActive = true AND b.budgetPeriod = :period")
     List<Budget> findCategoryBudgets(@Param("userId") Long userId, @Param("period") BudgetPeriod period);
 
     /**
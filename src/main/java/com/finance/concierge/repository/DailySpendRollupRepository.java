@@ -0,0 +1,175 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.DailySpendRollup;
+import com.finance.concierge.repository.projection.CategorySpendProjection;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.repository.projection.DailySpendProjection;
+import com.finance.concierge.repository.projection.MonthlyCategorySpendProjection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the daily spend rollup
+ * Reads cost O(days x categories) in the requested range, independent of the number of expenses
+ */
+@Repository
+public interface DailySpendRollupRepository extends JpaRepository<DailySpendRollup, DailySpendRollup.Key> {
+
+    /**
+     * Add a delta to one (user, day, category) cell, creating it if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_spend_rollup (user_id, spend_date, category_id, total_cents, txn_count) " +
+                   "VALUES (:userId, :spendDate, :categoryId, :deltaCents, :deltaCount) " +
+                   "ON DUPLICATE KEY UPDATE total_cents = total_cents + VALUES(total_cents), " +
+                   "txn_count = txn_count + VALUES(txn_count)",
+           nativeQuery = true)
+    void applyDelta(
+        @Param("userId") Long userId,
+        @Param("spendDate") LocalDate spendDate,
+        @Param("categoryId") Long categoryId,
+        @Param("deltaCents") long deltaCents,
+        @Param("deltaCount") int deltaCount
+    );
+
+    /**
+     * Remove a cell whose last expense was deleted or moved away
+     */
+    @Modifying
+    @Query(value = "DELETE FROM daily_spend_rollup WHERE user_id = :userId AND spend_date = :spendDate " +
+                   "AND category_id = :categoryId AND txn_count <= 0",
+           nativeQuery = true)
+    void deleteIfEmpty(
+        @Param("userId") Long userId,
+        @Param("spendDate") LocalDate spendDate,
+        @Param("categoryId") Long categoryId
+    );
+
+    /**
+     * Remove all cells of a user before a rebuild
+     */
+    @Modifying
+    @Query(value = "DELETE FROM daily_spend_rollup WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Recompute all cells of a user from the expenses table
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_spend_rollup (user_id, spend_date, category_id, total_cents, txn_count) " +
+                   "SELECT user_id, expense_date, category_id, SUM(amount) * 100, COUNT(*) FROM expenses " +
+                   "WHERE user_id = :userId GROUP BY user_id, expense_date, category_id",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+    /**
+     * Total spent in cents by user and date range
+     */
+    @Query("SELECT COALESCE(SUM(r.totalCents), 0) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.spendDate >= :startDate AND r.spendDate <= :endDate")
+    Long sumCentsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Total spent in cents by user and category (all time)
+     */
+    @Query("SELECT COALESCE(SUM(r.totalCents), 0) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.categoryId = :categoryId")
+    Long sumCentsByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    /**
+     * First day after the given one with spend in a category, or null if there is none
+     */
+    @Query("SELECT MIN(r.spendDate) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.categoryId = :categoryId AND r.spendDate > :day")
+    LocalDate findFirstSpendDateAfter(
+        @Param("userId") Long userId,
+        @Param("categoryId") Long categoryId,
+        @Param("day") LocalDate day
+    );
+
+    /**
+     * Total spent in cents by user, category and date range
+     */
+    @Query("SELECT COALESCE(SUM(r.totalCents), 0) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.categoryId = :categoryId " +
+           "AND r.spendDate >= :startDate AND r.spendDate <= :endDate")
+    Long sumCentsByUserIdCategoryAndDateRange(
+        @Param("userId") Long userId,
+        @Param("categoryId") Long categoryId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Total spent and transaction count per category for a user and date range
+     */
+    @Query("SELECT new com.finance.concierge.repository.projection.CategorySpendProjection(" +
+           "r.categoryId, SUM(r.totalCents), SUM(r.txnCount)) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.spendDate >= :startDate AND r.spendDate <= :endDate " +
+           "GROUP BY r.categoryId")
+    List<CategorySpendProjection> findCategoryTotalsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Total spent and transaction count per day for a user and date range
+     */
+    @Query("SELECT new com.finance.concierge.repository.projection.DailySpendProjection(" +
+           "r.spendDate, SUM(r.totalCents), SUM(r.txnCount)) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.spendDate >= :startDate AND r.spendDate <= :endDate " +
+           "GROUP BY r.spendDate ORDER BY r.spendDate ASC")
+    List<DailySpendProjection> findDailyTotalsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Raw (day, category) cells for a user and date range, for callers that fold several
+     * aggregates out of one read
+     */
+    @Query("SELECT new com.finance.concierge.repository.projection.DailyCategorySpendProjection(" +
+           "r.spendDate, r.categoryId, r.totalCents, r.txnCount) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.spendDate >= :startDate AND r.spendDate <= :endDate " +
+           "ORDER BY r.spendDate ASC")
+    List<DailyCategorySpendProjection> findCellsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Total spent per calendar month and category for a user and date range
+     */
+    @Query("SELECT new com.finance.concierge.repository.projection.MonthlyCategorySpendProjection(" +
+           "FUNCTION('YEAR', r.spendDate), FUNCTION('MONTH', r.spendDate), r.categoryId, SUM(r.totalCents)) " +
+           "FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId AND r.spendDate >= :startDate AND r.spendDate <= :endDate " +
+           "GROUP BY FUNCTION('YEAR', r.spendDate), FUNCTION('MONTH', r.spendDate), r.categoryId")
+    List<MonthlyCategorySpendProjection> findMonthlyCategoryTotalsByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Days with the highest total spend for a user (all time)
+     */
+    @Query("SELECT new com.finance.concierge.repository.projection.DailySpendProjection(" +
+           "r.spendDate, SUM(r.totalCents), SUM(r.txnCount)) FROM DailySpendRollup r " +
+           "WHERE r.userId = :userId GROUP BY r.spendDate ORDER BY SUM(r.totalCents) DESC, r.spendDate DESC")
+    List<DailySpendProjection> findHighestDailyTotalsByUserId(@Param("userId") Long userId, Limit limit);
+}
@@ -0,0 +1,20 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.repository.projection.ExpenseProjection;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export query of ExpenseRepository, implemented by ExpenseExportRepositoryImpl
+ */
+public interface ExpenseExportRepository {
+
+    /**
+     * Stream expenses by user and date range in chronological order, for exports
+     * Either bound may be null to leave that end of the range open
+     * Rows are streamed from the database rather than buffered; the stream must be consumed and
+     * closed inside a transaction, and no other statement may run on its connection meanwhile
+     */
+    Stream<ExpenseProjection> streamByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate);
+}
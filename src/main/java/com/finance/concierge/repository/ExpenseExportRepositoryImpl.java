@@ -0,0 +1,66 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.repository.projection.ExpenseProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Export query with a fetch size chosen for the database in use
+ * Connector/J buffers a whole result set unless the statement asks for row-by-row streaming
+ * with a fetch size of Integer.MIN_VALUE, so only this statement streams and every other query
+ * keeps its buffered, single round-trip read. Other drivers take a plain batch size
+ */
+class ExpenseExportRepositoryImpl implements ExpenseExportRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Integer fetchSize;
+
+    @Override
+    public Stream<ExpenseProjection> streamByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+        // Only the bounds that are present are rendered, so each variant stays a plain range scan
+        StringBuilder jpql = new StringBuilder(ExpenseRepository.EXPENSE_PROJECTION).append("WHERE e.user.id = :userId ");
+        if (startDate != null) {
+            jpql.append("AND e.expenseDate >= :startDate ");
+        }
+        if (endDate != null) {
+            jpql.append("AND e.expenseDate <= :endDate ");
+        }
+        jpql.append("ORDER BY e.expenseDate ASC, e.id ASC");
+
+        TypedQuery<ExpenseProjection> query = entityManager.createQuery(jpql.toString(), ExpenseProjection.class)
+                .setParameter("userId", userId)
+                .setHint(HINT_FETCH_SIZE, fetchSize())
+                .setHint(HINT_READ_ONLY, true);
+        if (startDate != null) {
+            query.setParameter("startDate", startDate);
+        }
+        if (endDate != null) {
+            query.setParameter("endDate", endDate);
+        }
+        return query.getResultStream();
+    }
+
+    private int fetchSize() {
+        Integer size = fetchSize;
+        if (size == null) {
+            boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof MySQLDialect;
+            size = mysql ? Integer.MIN_VALUE : FETCH_SIZE;
+            fetchSize = size;
+        }
+        return size;
+    }
+}
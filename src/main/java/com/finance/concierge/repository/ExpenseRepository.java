@@ -2,87 +2,126 @@ package com.finance.concierge.repository;
 
 import com.finance.concierge.entity.Expense;
 import com.finance.concierge.entity.User;
+import com.finance.concierge.repository.projection.ExpenseProjection;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Expense entity operations
  */
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+public interface ExpenseRepository extends JpaRepository<Expense, Long>, ExpenseExportRepository {
 
     /**
-     * Find all expenses for a user
+     * Select clause shared by all read-only expense list queries
      */
-    Page<Expense> findByUserOrderByExpenseDateDesc(User user, Pageable pageable);
+    String EXPENSE_PROJECTION = "SELECT new com.finance.concierge.repository.projection.ExpenseProjection(" +
+            "e.id, e.category.id, e.expenseDate, e.amount, e.currency, e.description, " +
+            "e.originalMessage, e.aiParsed, e.createdAt) FROM Expense e ";
 
     /**
-     * Find expenses by user ID
+     * Find all expenses for a user
      */
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId ORDER BY e.expenseDate DESC")
-    Page<Expense> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    Page<Expense> findByUserOrderByExpenseDateDesc(User user, Pageable pageable);
 
     /**
-     * Find expenses by user and category
+     * Find expenses by user ID
+     * Returns a Slice so no COUNT query is issued alongside the page
      */
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.category.name = :categoryName ORDER BY e.expenseDate DESC")
-    List<Expense> findByUserIdAndCategoryName(@Param("userId") Long userId, @Param("categoryName") String categoryName);
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId ORDER BY e.expenseDate DESC, e.id DESC")
+    Slice<Expense> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
-     * Find expenses by user and date range
+     * Find one keyset page of expenses by user and date range, positioned after the given cursor
+     * Ordered by (expense_date DESC, id DESC); the redundant expense_date bound keeps the
+     * predicate a plain range scan on idx_expenses_user_date, so deep pages cost the same as the first.
+     * A null startDate leaves the range open at the bottom
      */
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate ORDER BY e.expenseDate DESC")
-    List<Expense> findByUserIdAndDateRange(
+    @Query(EXPENSE_PROJECTION + "WHERE e.user.id = :userId " +
+           "AND (:startDate IS NULL OR e.expenseDate >= :startDate) AND e.expenseDate <= :endDate " +
+           "AND e.expenseDate <= :cursorDate " +
+           "AND (e.expenseDate < :cursorDate OR e.id < :cursorId) " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseProjection> findPageByUserIdAndDateRange(
         @Param("userId") Long userId,
         @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
+        @Param("endDate") LocalDate endDate,
+        @Param("cursorDate") LocalDate cursorDate,
+        @Param("cursorId") Long cursorId,
+        Limit limit
     );
 
     /**
-     * Find expenses by user and date between (for monthly report)
+     * Find one keyset page of expenses by user, category and date range, positioned after the given cursor
+     * A null startDate leaves the range open at the bottom
      */
-    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate ORDER BY e.expenseDate DESC")
-    List<Expense> findByUserIdAndDateBetween(
+    @Query(EXPENSE_PROJECTION + "WHERE e.user.id = :userId AND e.category.id = :categoryId " +
+           "AND (:startDate IS NULL OR e.expenseDate >= :startDate) AND e.expenseDate <= :endDate " +
+           "AND e.expenseDate <= :cursorDate " +
+           "AND (e.expenseDate < :cursorDate OR e.id < :cursorId) " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseProjection> findPageByUserIdCategoryAndDateRange(
         @Param("userId") Long userId,
+        @Param("categoryId") Long categoryId,
         @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
+        @Param("endDate") LocalDate endDate,
+        @Param("cursorDate") LocalDate cursorDate,
+        @Param("cursorId") Long cursorId,
+        Limit limit
     );
 
     /**
-     * Calculate total amount by user and category
+     * Find expenses by user and category
      */
-    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.category.name = :categoryName")
-    BigDecimal sumAmountByUserIdAndCategoryName(@Param("userId") Long userId, @Param("categoryName") String categoryName);
+    @Query(EXPENSE_PROJECTION + "WHERE e.user.id = :userId AND e.category.id = :categoryId " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseProjection> findByUserIdAndCategoryId(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
 
     /**
-     * Calculate total amount by user and date range
+     * Find expenses by user and date range
      */
-    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate")
-    BigDecimal sumAmountByUserIdAndDateRange(
+    @Query(EXPENSE_PROJECTION + "WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseProjection> findByUserIdAndDateRange(
         @Param("userId") Long userId,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
 
     /**
-     * Calculate total amount by user, category, and date range
+     * Find the most recent expenses for a user
      */
-    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM Expense e WHERE e.user.id = :userId AND e.category.name = :categoryName AND e.expenseDate BETWEEN :startDate AND :endDate")
-    BigDecimal sumAmountByUserIdCategoryAndDateRange(
+    @Query(EXPENSE_PROJECTION + "WHERE e.user.id = :userId ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseProjection> findRecentByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Find the largest expenses for a user and date range
+     */
+    @Query(EXPENSE_PROJECTION + "WHERE e.user.id = :userId AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY e.amount DESC, e.id DESC")
+    List<ExpenseProjection> findTopByUserIdAndDateRange(
         @Param("userId") Long userId,
-        @Param("categoryName") String categoryName,
         @Param("startDate") LocalDate startDate,
-        @Param("endDate") LocalDate endDate
+        @Param("endDate") LocalDate endDate,
+        Limit limit
     );
 
+    /**
+     * Find an expense owned by the given user
+     */
+    @Query("SELECT e FROM Expense e JOIN FETCH e.category WHERE e.id = :id AND e.user.id = :userId")
+    Optional<Expense> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
     /**
      * Find AI-parsed expenses
      */
@@ -93,28 +132,4 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
      * Count expenses by user
      */
     long countByUserId(Long userId);
-
-    /**
-     * Find daily spending
-     */
-    @Query("SELECT e.expenseDate, SUM(e.amount) FROM Expense e WHERE e.user = :user AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate GROUP BY e.expenseDate ORDER BY e.expenseDate ASC")
-    List<Object[]> findDailySpending(@Param("user") User user, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-
-    /**
-     * Find monthly spending
-     */
-    @Query("SELECT FUNCTION('MONTH', e.expenseDate), SUM(e.amount) FROM Expense e WHERE e.user = :user AND FUNCTION('YEAR', e.expenseDate) = :year GROUP BY FUNCTION('MONTH', e.expenseDate) ORDER BY FUNCTION('MONTH', e.expenseDate) ASC")
-    List<Object[]> findMonthlySpending(@Param("user") User user, @Param("year") int year);
-
-    /**
-     * Find total spent in period
-     */
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user = :user AND e.expenseDate >= :startDate AND e.expenseDate <= :endDate")
-    BigDecimal findTotalSpentInPeriod(@Param("user") User user, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-
-    /**
-     * Find highest daily spends
-     */
-    @Query("SELECT e.expenseDate, SUM(e.amount) as total FROM Expense e WHERE e.user = :user GROUP BY e.expenseDate ORDER BY total DESC")
-    List<Object[]> findHighestDailySpends(@Param("user") User user, Pageable pageable);
 }
@@ -0,0 +1,86 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.MonthlySpendRollup;
+import com.finance.concierge.repository.projection.MonthlySpendProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the monthly spend rollup
+ * Month keys are year * 100 + month, so every read is a primary-key range of at most a few rows
+ */
+@Repository
+public interface MonthlySpendRollupRepository extends JpaRepository<MonthlySpendRollup, MonthlySpendRollup.Key> {
+
+    /**
+     * Add a delta to one (user, month) cell, creating it if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_spend_rollup (user_id, month_key, total_cents, txn_count) " +
+                   "VALUES (:userId, :monthKey, :deltaCents, :deltaCount) " +
+                   "ON DUPLICATE KEY UPDATE total_cents = total_cents + VALUES(total_cents), " +
+                   "txn_count = txn_count + VALUES(txn_count)",
+           nativeQuery = true)
+    void applyDelta(
+        @Param("userId") Long userId,
+        @Param("monthKey") int monthKey,
+        @Param("deltaCents") long deltaCents,
+        @Param("deltaCount") int deltaCount
+    );
+
+    /**
+     * Remove a cell whose last expense was deleted or moved away
+     */
+    @Modifying
+    @Query(value = "DELETE FROM monthly_spend_rollup WHERE user_id = :userId AND month_key = :monthKey " +
+                   "AND txn_count <= 0",
+           nativeQuery = true)
+    void deleteIfEmpty(@Param("userId") Long userId, @Param("monthKey") int monthKey);
+
+    /**
+     * Remove all cells of a user before a rebuild
+     */
+    @Modifying
+    @Query(value = "DELETE FROM monthly_spend_rollup WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Recompute all cells of a user from the daily rollup (rebuild that first)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_spend_rollup (user_id, month_key, total_cents, txn_count) " +
+                   "SELECT user_id, YEAR(spend_date) * 100 + MONTH(spend_date), SUM(total_cents), SUM(txn_count) " +
+                   "FROM daily_spend_rollup WHERE user_id = :userId " +
+                   "GROUP BY user_id, YEAR(spend_date) * 100 + MONTH(spend_date)",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+    /**
+     * Total spent in cents by user and month range (inclusive)
+     */
+    @Query("SELECT COALESCE(SUM(m.totalCents), 0) FROM MonthlySpendRollup m " +
+           "WHERE m.userId = :userId AND m.monthKey >= :startMonthKey AND m.monthKey <= :endMonthKey")
+    Long sumCentsByUserIdAndMonthRange(
+        @Param("userId") Long userId,
+        @Param("startMonthKey") int startMonthKey,
+        @Param("endMonthKey") int endMonthKey
+    );
+
+    /**
+     * Total spent per calendar month (1-12) for a user and a month range within one year
+     */
+    @Query("SELECT new com.finance.concierge.repository.projection.MonthlySpendProjection(" +
+           "MOD(m.monthKey, 100), m.totalCents) FROM MonthlySpendRollup m " +
+           "WHERE m.userId = :userId AND m.monthKey >= :startMonthKey AND m.monthKey <= :endMonthKey " +
+           "ORDER BY m.monthKey ASC")
+    List<MonthlySpendProjection> findByUserIdAndMonthRange(
+        @Param("userId") Long userId,
+        @Param("startMonthKey") int startMonthKey,
+        @Param("endMonthKey") int endMonthKey
+    );
+}
@@ -0,0 +1,41 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.SpendForecastState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for spend forecasting state
+ */
+@Repository
+public interface SpendForecastStateRepository extends JpaRepository<SpendForecastState, SpendForecastState.Key> {
+
+    /**
+     * All series of a user, including unbuilt ones waiting for spend dated ahead
+     */
+    List<SpendForecastState> findByUserId(Long userId);
+
+    /**
+     * Create an unbuilt row for the series if it does not exist yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO spend_forecast_state (user_id, category_id) VALUES (:userId, :categoryId) " +
+                   "ON DUPLICATE KEY UPDATE user_id = user_id",
+           nativeQuery = true)
+    void ensureExists(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+
+    /**
+     * Read one series, locking it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SpendForecastState s WHERE s.userId = :userId AND s.categoryId = :categoryId")
+    Optional<SpendForecastState> findForUpdate(@Param("userId") Long userId, @Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,32 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for per-user data versions
+ */
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    /**
+     * Increment the user's version, starting at 1 for a user without a row
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_data_version (user_id, version) VALUES (:userId, 1) " +
+                   "ON DUPLICATE KEY UPDATE version = version + 1",
+           nativeQuery = true)
+    void increment(@Param("userId") Long userId);
+
+    /**
+     * Current version of a user
+     */
+    @Query("SELECT v.version FROM UserDataVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+}
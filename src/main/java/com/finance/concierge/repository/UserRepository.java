@@ -54,6 +54,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.isEnabled = true")
     java.util.List<User> findAllEnabledUsers();
 
+    /**
+     * Find all user IDs
+     */
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    java.util.List<Long> findAllIds();
+
+    /**
+     * Find a user's currency code without loading the user
+     */
+    @Query("SELECT u.currencyCode FROM User u WHERE u.id = :userId")
+    Optional<String> findCurrencyCodeById(@Param("userId") Long userId);
+
     /**
      * Count users by role
      */
@@ -0,0 +1,35 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.UserSpendSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for per-user spend summaries
+ */
+@Repository
+public interface UserSpendSummaryRepository extends JpaRepository<UserSpendSummary, Long> {
+
+    /**
+     * Create the user's summary row if it does not exist yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_spend_summary (user_id) VALUES (:userId) " +
+                   "ON DUPLICATE KEY UPDATE user_id = user_id",
+           nativeQuery = true)
+    void ensureExists(@Param("userId") Long userId);
+
+    /**
+     * Read the user's summary row, locking it until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserSpendSummary s WHERE s.userId = :userId")
+    Optional<UserSpendSummary> findByUserIdForUpdate(@Param("userId") Long userId);
+}
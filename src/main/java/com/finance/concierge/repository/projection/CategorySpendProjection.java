@@ -0,0 +1,7 @@
+package com.finance.concierge.repository.projection;
+
+/**
+ * Total spent (in cents) and transaction count for one category
+ */
+public record CategorySpendProjection(Long categoryId, Long totalCents, Long transactionCount) {
+}
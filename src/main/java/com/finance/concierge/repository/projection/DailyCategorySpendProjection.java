@@ -0,0 +1,9 @@
+package com.finance.concierge.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Total spent (in cents) and transaction count for one category on one day
+ */
+public record DailyCategorySpendProjection(LocalDate date, Long categoryId, Long totalCents, Integer transactionCount) {
+}
@@ -0,0 +1,9 @@
+package com.finance.concierge.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Total spent (in cents) and transaction count for one day
+ */
+public record DailySpendProjection(LocalDate date, Long totalCents, Long transactionCount) {
+}
@@ -0,0 +1,23 @@
+package com.finance.concierge.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an expense row
+ * Selected with a JPQL constructor expression so no managed entity is created;
+ * category metadata is resolved from the in-memory category registry by ID
+ */
+public record ExpenseProjection(
+        Long id,
+        Long categoryId,
+        LocalDate expenseDate,
+        BigDecimal amount,
+        String currency,
+        String description,
+        String originalMessage,
+        Boolean aiParsed,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.finance.concierge.repository.projection;
+
+/**
+ * Total spent (in cents) for one category in one calendar month
+ */
+public record MonthlyCategorySpendProjection(Integer year, Integer month, Long categoryId, Long totalCents) {
+}
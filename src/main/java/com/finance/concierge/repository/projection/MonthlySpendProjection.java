@@ -0,0 +1,7 @@
+package com.finance.concierge.repository.projection;
+
+/**
+ * Total spent (in cents) for one calendar month (1-12)
+ */
+public record MonthlySpendProjection(Integer month, Long totalCents) {
+}
@@ -14,4 +14,10 @@ public interface AnalyticsService {
     AnalyticsDTO.SummaryDTO getAnalyticsSummary(User user);
 
     AnalyticsDTO.ForecastDTO getForecast(User user);
+
+    /**
+     * Get summary, daily trend, monthly spend and forecast in one call
+     * Sections are computed concurrently and sub-queries they share run once
+     */
+    AnalyticsDTO.OverviewDTO getOverview(User user, int trendDays, int year);
 }
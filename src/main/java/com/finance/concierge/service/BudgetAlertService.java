@@ -0,0 +1,19 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.BudgetAlertDTO;
+
+import java.util.List;
+
+/**
+ * Service for budget alerts
+ * Every expense write is checked against the user's budgets as it happens; an alert is
+ * recorded and pushed to the user's dashboard stream the first time in a period that spend
+ * reaches a budget's alert threshold or goes over the budget
+ */
+public interface BudgetAlertService {
+
+    /**
+     * Get a user's most recent alerts, newest first
+     */
+    List<BudgetAlertDTO> getRecentAlerts(Long userId, int limit);
+}
@@ -0,0 +1,27 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.BudgetPeriodHistoryDTO;
+
+import java.util.List;
+
+/**
+ * Service closing budget periods into history snapshots and carrying unused amounts over
+ */
+public interface BudgetPeriodService {
+
+    /**
+     * Snapshot every ended, not yet closed period of the user's budgets
+     * @return Number of periods closed
+     */
+    int closePeriods(Long userId);
+
+    /**
+     * Close ended periods for all users, one transaction per user
+     */
+    void closeAllPeriods();
+
+    /**
+     * Most recent closed periods of a budget, oldest first
+     */
+    List<BudgetPeriodHistoryDTO> getHistory(Long userId, Long budgetId, int periods);
+}
@@ -0,0 +1,19 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.BudgetSimulationDTO;
+import com.finance.concierge.dto.BudgetSimulationRequestDTO;
+
+/**
+ * Service for budget what-if simulations
+ * Replays a user's daily spending history, adjusted by its recent trend and the requested
+ * changes, over the rest of the current month along many random paths
+ */
+public interface BudgetSimulationService {
+
+    /**
+     * Simulate the rest of the current month under the requested changes
+     *
+     * @throws IllegalArgumentException If the request names an unknown category
+     */
+    BudgetSimulationDTO simulate(Long userId, BudgetSimulationRequestDTO request);
+}
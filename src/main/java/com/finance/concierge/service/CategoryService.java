@@ -1,7 +1,11 @@
 package com.finance.concierge.service;
 
 import com.finance.concierge.dto.CategoryResponseDTO;
+
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service interface for Category operations
@@ -13,4 +17,32 @@ public interface CategoryService {
      * Get all active categories (available to all users)
      */
     List<CategoryResponseDTO> getAllCategories();
+
+    /**
+     * Resolve a category by ID from the in-memory registry
+     * Never returns null; unknown IDs resolve to a placeholder
+     */
+    CategoryInfo getCategoryInfo(Long categoryId);
+
+    /**
+     * Resolve a category by name (case-insensitive) from the in-memory registry
+     */
+    Optional<CategoryInfo> findCategoryInfo(String categoryName);
+
+    /**
+     * Default monthly budget by name of every active category that has one, from the in-memory registry
+     */
+    Map<String, BigDecimal> getDefaultMonthlyBudgets();
+
+    /**
+     * Immutable category metadata held by the in-memory registry
+     *
+     * @param defaultMonthlyBudget Monthly limit for users without their own budget, or null
+     */
+    record CategoryInfo(Long id, String name, String icon, String color, boolean active, BigDecimal defaultMonthlyBudget) {
+
+        public CategoryInfo(Long id, String name, String icon, String color, boolean active) {
+            this(id, name, icon, color, active, null);
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.finance.concierge.service;
+
+/**
+ * Service maintaining the daily and monthly spend rollups
+ * The rollup is kept current by applying deltas from expense change events in the writing
+ * transaction; the rebuild methods recompute it from the expenses table for repair
+ */
+public interface DailySpendRollupService {
+
+    /**
+     * Recompute the rollup of one user from their expenses
+     *
+     * @return Number of rollup cells written
+     */
+    int rebuildForUser(Long userId);
+
+    /**
+     * Recompute the rollup of every user, one transaction per user
+     */
+    void rebuildAll();
+}
@@ -1,8 +1,10 @@
 package com.finance.concierge.service;
 
 import com.finance.concierge.dto.DashboardStatsDTO;
+import com.finance.concierge.dto.MonthlyComparisonDTO;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service for generating dashboard statistics and analytics
@@ -17,6 +19,30 @@ public interface DashboardService {
      */
     DashboardStatsDTO getDashboardStats(Long userId);
 
+    /**
+     * Get the current month's spending breakdown by category (pie chart section)
+     *
+     * @param userId The user ID
+     * @return Category summaries, largest first
+     */
+    List<DashboardStatsDTO.CategorySummary> getCategoryBreakdown(Long userId);
+
+    /**
+     * Get daily spending for the last 30 days (line chart section)
+     *
+     * @param userId The user ID
+     * @return One entry per day, oldest first
+     */
+    List<DashboardStatsDTO.DailySpending> getDailySpending(Long userId);
+
+    /**
+     * Get the current month's budget usage for all categories (progress bar section)
+     *
+     * @param userId The user ID
+     * @return Budget status per category, most used first
+     */
+    List<DashboardStatsDTO.BudgetStatus> getBudgetStatus(Long userId);
+
     /**
      * Get dashboard statistics for a specific date range
      *
@@ -28,12 +54,12 @@ public interface DashboardService {
     DashboardStatsDTO getDashboardStatsForDateRange(Long userId, LocalDate startDate, LocalDate endDate);
 
     /**
-     * Get monthly comparison (current month vs previous months)
+     * Get monthly comparison by category (current month and the months before it)
      *
      * @param userId The user ID
-     * @param months Number of months to include
-     * @return Monthly comparison data
+     * @param months Number of months to include, 1 to 120
+     * @return Month-by-category spending with month-over-month changes
      */
-    DashboardStatsDTO.CategorySummary[] getMonthlyComparison(Long userId, int months);
+    MonthlyComparisonDTO getMonthlyComparison(Long userId, int months);
 }
 
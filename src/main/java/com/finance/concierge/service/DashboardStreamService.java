@@ -0,0 +1,29 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.DashboardDeltaDTO;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service for pushing dashboard updates to connected clients
+ * Each committed expense change, whatever path wrote it, is turned into one delta and fanned
+ * out to that user's subscribers. A slow subscriber keeps only its newest deltas
+ */
+public interface DashboardStreamService {
+
+    /**
+     * Subscribe to a user's dashboard deltas, interleaved with keep-alive comments
+     * The subscription ends when the client disconnects
+     */
+    Flux<ServerSentEvent<DashboardDeltaDTO>> subscribe(Long userId);
+
+    /**
+     * Push a delta to every current subscriber of a user; never blocks
+     */
+    void publish(Long userId, DashboardDeltaDTO delta);
+
+    /**
+     * Number of open subscriptions of a user
+     */
+    int getSubscriberCount(Long userId);
+}
@@ -0,0 +1,31 @@
+package com.finance.concierge.service;
+
+/**
+ * Service for per-user data versions
+ * The version increases on every expense or budget change and is served from memory,
+ * so read endpoints can answer conditional requests before running any query
+ */
+public interface DataVersionService {
+
+    /**
+     * Current version of a user's data; 0 if it never changed
+     */
+    long getVersion(Long userId);
+
+    /**
+     * Weak ETag for views of a user's data
+     * Includes today's date, since period-relative views change at midnight without a write
+     */
+    String getETag(Long userId);
+
+    /**
+     * Bump a user's version in the current transaction; readers see it once the transaction commits
+     * On commit a UserDataChangedEvent drops the user's cached views before the new version is visible
+     */
+    void bump(Long userId);
+
+    /**
+     * Bump after a change to the user's budgets; cached budget limits and alert rules are dropped too
+     */
+    void bumpBudgets(Long userId);
+}
@@ -0,0 +1,50 @@
+package com.finance.concierge.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for streaming expense exports
+ */
+public interface ExpenseExportService {
+
+    /**
+     * Stream a user's expenses in the given format
+     * Rows are streamed from the database and written as they arrive,
+     * so memory use does not grow with the number of expenses
+     *
+     * @param userId The user ID
+     * @param startDate Optional inclusive lower date bound
+     * @param endDate Optional inclusive upper date bound
+     * @param format Output format
+     * @param out Destination stream (not closed by this method)
+     * @return Number of rows written
+     */
+    long exportExpenses(Long userId, LocalDate startDate, LocalDate endDate, Format format, OutputStream out)
+            throws IOException;
+
+    /**
+     * Supported export formats
+     */
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        Format(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+}
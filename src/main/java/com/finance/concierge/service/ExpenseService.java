@@ -1,5 +1,8 @@
 package com.finance.concierge.service;
 
+import com.finance.concierge.dto.ExpensePageDTO;
+import com.finance.concierge.dto.ExpenseRequestDTO;
+import com.finance.concierge.dto.ExpenseResponseDTO;
 import com.finance.concierge.dto.ParsedExpenseDTO;
 import com.finance.concierge.entity.Expense;
 
@@ -22,15 +25,39 @@ public interface ExpenseService {
      */
     Expense createExpenseFromMessage(String message, Long userId);
 
+    /**
+     * Update an expense owned by the user; null request fields are left unchanged
+     */
+    ExpenseResponseDTO updateExpense(Long userId, Long expenseId, ExpenseRequestDTO request);
+
+    /**
+     * Delete an expense owned by the user
+     */
+    void deleteExpense(Long userId, Long expenseId);
+
     /**
      * Get user's expenses by category
      */
-    List<Expense> getExpensesByCategory(Long userId, String categoryName);
+    List<ExpenseResponseDTO> getExpensesByCategory(Long userId, String categoryName);
 
     /**
      * Get user's expenses for date range
      */
-    List<Expense> getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate);
+    List<ExpenseResponseDTO> getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Get one keyset page of user's expenses, newest first
+     *
+     * @param userId The user ID
+     * @param categoryName Optional category filter
+     * @param startDate Optional inclusive lower date bound
+     * @param endDate Optional inclusive upper date bound
+     * @param cursor Opaque cursor from the previous page, or null for the first page
+     * @param size Requested page size (clamped to the allowed maximum)
+     * @return The page and the cursor for the next one
+     */
+    ExpensePageDTO getExpensePage(Long userId, String categoryName, LocalDate startDate, LocalDate endDate,
+                                  String cursor, int size);
 
     /**
      * Calculate total spent by category
@@ -50,7 +77,7 @@ public interface ExpenseService {
     /**
      * Get current month expenses
      */
-    List<Expense> getCurrentMonthExpenses(Long userId);
+    List<ExpenseResponseDTO> getCurrentMonthExpenses(Long userId);
 
     /**
      * Get total spent this month
@@ -35,5 +35,15 @@ public interface FinanceAgentToolService {
      * @return Monthly report data
      */
     Map<String, Object> createMonthlyReport(Long userId);
+
+    /**
+     * Simulates the rest of the month with one category's spending changed
+     *
+     * @param category The category to change, or blank for current habits
+     * @param changePercent Percentage change of that category's spending, e.g. -20
+     * @param userId The user ID
+     * @return Overspend probabilities in words
+     */
+    Map<String, String> simulateBudget(String category, double changePercent, Long userId);
 }
 
@@ -0,0 +1,43 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.util.Money;
+
+import java.util.Currency;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service for current-period spend per category, served from an in-memory per-user aggregate
+ * Each budget period window (today, this week, this month, this year) is loaded once from the
+ * rollup, kept current by expense writes and reloaded when the period rolls over
+ */
+public interface PeriodSpendService {
+
+    /**
+     * Get amount spent in the current period
+     *
+     * @param categoryId Category to sum, or null for all categories
+     * @param currency   The user's currency
+     */
+    Money getSpent(Long userId, BudgetPeriod period, Long categoryId, Currency currency);
+
+    /**
+     * Get amount spent in the current period if the user's window is already in memory; never reads the database
+     * For callers inside a write transaction, where a load would need a second connection
+     *
+     * @param categoryId Category to sum, or null for all categories
+     * @param currency   The user's currency
+     */
+    Optional<Money> findCachedSpent(Long userId, BudgetPeriod period, Long categoryId, Currency currency);
+
+    /**
+     * Get amount spent in the current period by category ID; categories without spend are absent
+     */
+    Map<Long, Money> getSpentByCategory(Long userId, BudgetPeriod period, Currency currency);
+
+    /**
+     * Drop everything cached for a user; the next read reloads from the database
+     */
+    void evict(Long userId);
+}
@@ -0,0 +1,41 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.util.SpendForecastUtil.Prediction;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Service for statistical spend forecasts
+ * Keeps exponentially smoothed daily and weekday state per user and category, updated from
+ * every expense change, so forecasts are served from a handful of state rows without reading
+ * the expense history
+ */
+public interface SpendForecastService {
+
+    /**
+     * Expected spend for the rest of the month and year, and the most likely next expense
+     *
+     * @param nextSpend Most likely next expense, or null when no category is expected to see spend
+     */
+    record Outlook(Prediction restOfMonth, Prediction restOfYear, NextSpend nextSpend) {
+    }
+
+    /**
+     * Category with the highest expected spend tomorrow and its typical expense size
+     */
+    record NextSpend(Long categoryId, long ticketCents, String confidence) {
+    }
+
+    /**
+     * Forecast the days after today for a user
+     *
+     * @return The outlook, or empty when the user has no model state yet
+     */
+    Optional<Outlook> getOutlook(Long userId, LocalDate today);
+
+    /**
+     * Rebuild every series of a user from the daily rollup in the current transaction
+     */
+    void rebuildForUser(Long userId);
+}
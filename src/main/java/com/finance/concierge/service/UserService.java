@@ -2,8 +2,15 @@ package com.finance.concierge.service;
 
 import com.finance.concierge.entity.User;
 
+import java.util.Currency;
+
 public interface UserService {
     User updateCurrency(Long userId, String currencyCode);
     User getUserById(Long id);
-}
 
+    /**
+     * Currency a user's amounts are shown in, Money.DEFAULT_CURRENCY if none is set
+     * Read once per user and served from memory until the user changes it
+     */
+    Currency getCurrency(Long userId);
+}
@@ -0,0 +1,37 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.util.Money;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.Optional;
+
+/**
+ * Service for spend over arbitrary day windows, such as rolling and pay-cycle budgets
+ * Each user's daily spend around today is held as running totals per category and overall,
+ * so the spend of any window inside that horizon is the difference of two array entries
+ */
+public interface WindowSpendService {
+
+    /**
+     * Get amount spent between two days, both inclusive
+     *
+     * @param categoryId Category to sum, or null for all categories
+     * @param currency   The user's currency
+     */
+    Money getSpent(Long userId, Long categoryId, LocalDate from, LocalDate to, Currency currency);
+
+    /**
+     * Get amount spent between two days if they lie inside today's in-memory horizon; never reads the database
+     * For callers inside a write transaction, where a load would need a second connection
+     *
+     * @param categoryId Category to sum, or null for all categories
+     * @param currency   The user's currency
+     */
+    Optional<Money> findCachedSpent(Long userId, Long categoryId, LocalDate from, LocalDate to, Currency currency);
+
+    /**
+     * Drop everything cached for a user; the next read reloads from the database
+     */
+    void evict(Long userId);
+}
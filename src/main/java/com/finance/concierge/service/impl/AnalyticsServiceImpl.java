@@ -1,39 +1,70 @@
 package com.finance.concierge.service.impl;
 
 import com.finance.concierge.dto.AnalyticsDTO;
+import com.finance.concierge.entity.MonthlySpendRollup;
 import com.finance.concierge.entity.User;
-import com.finance.concierge.repository.ExpenseRepository;
+import com.finance.concierge.entity.UserSpendSummary;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.MonthlySpendRollupRepository;
+import com.finance.concierge.repository.UserSpendSummaryRepository;
+import com.finance.concierge.repository.projection.DailySpendProjection;
+import com.finance.concierge.repository.projection.MonthlySpendProjection;
 import com.finance.concierge.service.AnalyticsService;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.SpendForecastService;
+import com.finance.concierge.util.Money;
+import com.finance.concierge.util.SpendForecastUtil;
+import com.finance.concierge.util.TopDailySpendUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class AnalyticsServiceImpl implements AnalyticsService {
 
-    private final ExpenseRepository expenseRepository;
+    private final DailySpendRollupRepository rollupRepository;
+    private final MonthlySpendRollupRepository monthlyRollupRepository;
+    private final UserSpendSummaryRepository summaryRepository;
+    private final SpendForecastService spendForecastService;
+    private final CategoryService categoryService;
+    private final PlatformTransactionManager transactionManager;
+    private final Clock clock;
 
     @Override
     public List<AnalyticsDTO.DailyTrendDTO> getDailyTrend(User user, int days) {
-        LocalDate endDate = LocalDate.now();
+        LocalDate endDate = LocalDate.now(clock);
         LocalDate startDate = endDate.minusDays(days - 1); // Include today
 
-        List<Object[]> results = expenseRepository.findDailySpending(user, startDate, endDate);
+        List<DailySpendProjection> results = rollupRepository.findDailyTotalsByUserIdAndDateRange(
+                user.getId(), startDate, endDate);
+        Currency currency = currencyOf(user);
 
         // Convert to Map for easier lookup
         Map<LocalDate, BigDecimal> spendingMap = results.stream()
                 .collect(Collectors.toMap(
-                        obj -> (LocalDate) obj[0],
-                        obj -> (BigDecimal) obj[1]
+                        DailySpendProjection::date,
+                        d -> Money.ofCents(d.totalCents(), currency).toBigDecimal()
                 ));
 
         List<AnalyticsDTO.DailyTrendDTO> trend = new ArrayList<>();
@@ -54,7 +85,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public List<AnalyticsDTO.MonthlySpendDTO> getMonthlySpend(User user, int year) {
-        List<Object[]> results = expenseRepository.findMonthlySpending(user, year);
+        // At most twelve primary-key rows from the monthly rollup
+        List<MonthlySpendProjection> results = monthlyRollupRepository.findByUserIdAndMonthRange(
+                user.getId(), MonthlySpendRollup.monthKey(YearMonth.of(year, 1)),
+                MonthlySpendRollup.monthKey(YearMonth.of(year, 12)));
 
         // Initialize all months with 0
         Map<Integer, BigDecimal> monthlyMap = new HashMap<>();
@@ -63,8 +97,9 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         }
 
         // Fill with actual data
-        for (Object[] result : results) {
-            monthlyMap.put((Integer) result[0], (BigDecimal) result[1]);
+        Currency currency = currencyOf(user);
+        for (MonthlySpendProjection result : results) {
+            monthlyMap.put(result.month(), Money.ofCents(result.totalCents(), currency).toBigDecimal());
         }
 
         List<AnalyticsDTO.MonthlySpendDTO> monthlySpends = new ArrayList<>();
@@ -82,39 +117,107 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
     @Override
     public AnalyticsDTO.SummaryDTO getAnalyticsSummary(User user) {
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
+        return buildSummary(user, today, getTotalSpent(user, today.withDayOfMonth(1), today));
+    }
 
-        // 1. Total Spent Last 10 Days
-        LocalDate last10DaysStart = today.minusDays(9);
-        BigDecimal last10DaysTotal = expenseRepository.findTotalSpentInPeriod(user, last10DaysStart, today);
-        if (last10DaysTotal == null) last10DaysTotal = BigDecimal.ZERO;
+    @Override
+    public AnalyticsDTO.ForecastDTO getForecast(User user) {
+        LocalDate today = LocalDate.now(clock);
+        Money monthToDate = getTotalSpent(user, today.withDayOfMonth(1), today);
+        return buildForecast(user, today, monthToDate, getPriorMonthsOfYear(user, today).plus(monthToDate));
+    }
 
-        // 2. Projected Monthly Spend
-        LocalDate startOfMonth = today.withDayOfMonth(1);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AnalyticsDTO.OverviewDTO getOverview(User user, int trendDays, int year) {
+        LocalDate today = LocalDate.now(clock);
+
+        // Tasks call this class directly, past its proxy, so each opens its own read-only transaction:
+        // that routes it to a replica and keeps its queries on one connection
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Each section and shared sub-query runs on its own virtual thread and borrows its own
+        // connection; the caller's security context goes along, since replica routing is per user.
+        // The executor scope ends only when every task has finished
+        try (ExecutorService executor = new DelegatingSecurityContextExecutorService(
+                Executors.newVirtualThreadPerTaskExecutor())) {
+            // Sub-queries needed by more than one section run once
+            CompletableFuture<Money> monthToDate = CompletableFuture.supplyAsync(
+                    inTransaction(readOnly, () -> getTotalSpent(user, today.withDayOfMonth(1), today)), executor);
+            CompletableFuture<Money> priorMonths = CompletableFuture.supplyAsync(
+                    inTransaction(readOnly, () -> getPriorMonthsOfYear(user, today)), executor);
+
+            CompletableFuture<List<AnalyticsDTO.DailyTrendDTO>> trend = CompletableFuture.supplyAsync(
+                    inTransaction(readOnly, () -> getDailyTrend(user, trendDays)), executor);
+            CompletableFuture<List<AnalyticsDTO.MonthlySpendDTO>> monthlySpend = CompletableFuture.supplyAsync(
+                    inTransaction(readOnly, () -> getMonthlySpend(user, year)), executor);
+            CompletableFuture<AnalyticsDTO.SummaryDTO> summary = monthToDate.thenApplyAsync(
+                    total -> readOnly.execute(status -> buildSummary(user, today, total)), executor);
+            CompletableFuture<AnalyticsDTO.ForecastDTO> forecast = monthToDate.thenCombineAsync(priorMonths,
+                    (monthTotal, priorTotal) -> readOnly.execute(status ->
+                            buildForecast(user, today, monthTotal, priorTotal.plus(monthTotal))),
+                    executor);
+
+            awaitAll(executor, trend, monthlySpend, summary, forecast);
+
+            return AnalyticsDTO.OverviewDTO.builder()
+                    .summary(summary.join())
+                    .trend(trend.join())
+                    .monthlySpend(monthlySpend.join())
+                    .forecast(forecast.join())
+                    .build();
+        }
+    }
 
-        BigDecimal currentMonthTotal = expenseRepository.findTotalSpentInPeriod(user, startOfMonth, today);
-        if (currentMonthTotal == null) currentMonthTotal = BigDecimal.ZERO;
+    private static <T> Supplier<T> inTransaction(TransactionTemplate transaction, Supplier<T> task) {
+        return () -> transaction.execute(status -> task.get());
+    }
 
-        BigDecimal projectedSpend = BigDecimal.ZERO;
-        int daysPassed = today.getDayOfMonth();
-        int totalDaysInMonth = today.lengthOfMonth();
+    /**
+     * Wait for all sections; on the first failure interrupt the rest and rethrow it
+     */
+    private void awaitAll(ExecutorService executor, CompletableFuture<?>... sections) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> section : sections) {
+            section.whenComplete((result, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+        }
 
-        if (daysPassed > 0) {
-            // formula: (total / daysPassed) * totalDays
-            projectedSpend = currentMonthTotal.divide(BigDecimal.valueOf(daysPassed), 2, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(totalDaysInMonth));
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(sections), firstFailure).join();
+        } catch (CompletionException e) {
+            executor.shutdownNow();
+            Throwable cause = e.getCause() instanceof CompletionException nested ? nested.getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
         }
+    }
 
-        // 3. Highest Daily Spend (All time or logical default to query)
-        // Using all time based on repo method prompt
-        List<Object[]> highest = expenseRepository.findHighestDailySpends(user, PageRequest.of(0, 1));
+    private AnalyticsDTO.SummaryDTO buildSummary(User user, LocalDate today, Money currentMonthTotal) {
+        // 1. Total Spent Last 10 Days
+        LocalDate last10DaysStart = today.minusDays(9);
+        Money last10DaysTotal = getTotalSpent(user, last10DaysStart, today);
+
+        // 2. Projected Monthly Spend
+        // formula: total * totalDays / daysPassed
+        Money projectedSpend = currentMonthTotal.prorate(today.lengthOfMonth(), today.getDayOfMonth());
+
+        // 3. Highest Daily Spend (all time)
+        Optional<TopDailySpendUtil.DayTotal> highest = getHighestDailySpend(user);
 
         AnalyticsDTO.HighestDailySpendDTO highestDTO = null;
-        if (!highest.isEmpty()) {
-            Object[] row = highest.get(0);
+        if (highest.isPresent()) {
+            TopDailySpendUtil.DayTotal day = highest.get();
             highestDTO = AnalyticsDTO.HighestDailySpendDTO.builder()
-                    .date(((LocalDate) row[0]).toString())
-                    .amount((BigDecimal) row[1])
+                    .date(day.date().toString())
+                    .amount(Money.ofCents(day.totalCents(), currencyOf(user)).toBigDecimal())
                     .build();
         } else {
              highestDTO = AnalyticsDTO.HighestDailySpendDTO.builder()
@@ -124,88 +227,117 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         }
 
         return AnalyticsDTO.SummaryDTO.builder()
-                .totalSpentLast10Days(last10DaysTotal)
-                .projectedMonthlySpend(projectedSpend)
+                .totalSpentLast10Days(last10DaysTotal.toBigDecimal())
+                .projectedMonthlySpend(projectedSpend.toBigDecimal())
                 .highestDailySpend(highestDTO)
                 .build();
     }
 
-    @Override
-    public AnalyticsDTO.ForecastDTO getForecast(User user) {
-        LocalDate today = LocalDate.now();
-        int year = today.getYear();
-
-        // 1. Month End Forecast
-        LocalDate startOfMonth = today.withDayOfMonth(1);
-        BigDecimal currentMonthTotal = expenseRepository.findTotalSpentInPeriod(user, startOfMonth, today);
-        if (currentMonthTotal == null) currentMonthTotal = BigDecimal.ZERO;
-
-        BigDecimal predictedMonthEnd = BigDecimal.ZERO;
-        int daysPassed = today.getDayOfMonth();
-        int totalDaysInMonth = today.lengthOfMonth();
-
-        if (daysPassed > 0) {
-            predictedMonthEnd = currentMonthTotal.divide(BigDecimal.valueOf(daysPassed), 2, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(totalDaysInMonth));
+    private AnalyticsDTO.ForecastDTO buildForecast(User user, LocalDate today,
+                                                   Money currentMonthTotal, Money currentYearTotal) {
+        Optional<SpendForecastService.Outlook> outlook = spendForecastService.getOutlook(user.getId(), today);
+        Currency currency = currentMonthTotal.currency();
+        String currencyCode = currency.getCurrencyCode();
+
+        // No model state yet (no expense since forecasting was introduced): extrapolate linearly
+        if (outlook.isEmpty()) {
+            BigDecimal predictedMonthEnd = currentMonthTotal
+                    .prorate(today.lengthOfMonth(), today.getDayOfMonth()).toBigDecimal();
+            BigDecimal predictedYearEnd = currentYearTotal
+                    .prorate(today.lengthOfYear(), today.getDayOfYear()).toBigDecimal();
+
+            return AnalyticsDTO.ForecastDTO.builder()
+                    .predictedMonthEndSpend(predictedMonthEnd)
+                    .predictedYearEndSpend(predictedYearEnd)
+                    .aiAnalysis(String.format(
+                            "Based on your spending so far, you are on track to spend %s %s this month and %s %s this year.",
+                            predictedMonthEnd.toPlainString(), currencyCode,
+                            predictedYearEnd.toPlainString(), currencyCode))
+                    .build();
         }
 
-        // 2. Year End Forecast
-        LocalDate startOfYear = LocalDate.of(year, 1, 1);
-        BigDecimal currentYearTotal = expenseRepository.findTotalSpentInPeriod(user, startOfYear, today);
-        if (currentYearTotal == null) currentYearTotal = BigDecimal.ZERO;
-
-        BigDecimal predictedYearEnd = BigDecimal.ZERO;
-        int dayOfYear = today.getDayOfYear();
-        int totalDaysInYear = today.lengthOfYear();
-
-        if (dayOfYear > 0) {
-            predictedYearEnd = currentYearTotal.divide(BigDecimal.valueOf(dayOfYear), 2, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(totalDaysInYear));
+        // Actual spend so far plus the model's expectation for the remaining days
+        SpendForecastService.Outlook model = outlook.get();
+        AnalyticsDTO.PredictionIntervalDTO monthEndRange = toInterval(currentMonthTotal, model.restOfMonth());
+        AnalyticsDTO.PredictionIntervalDTO yearEndRange = toInterval(currentYearTotal, model.restOfYear());
+        BigDecimal predictedMonthEnd = currentMonthTotal.plus(roundedCents(model.restOfMonth().meanCents(), currency)).toBigDecimal();
+        BigDecimal predictedYearEnd = currentYearTotal.plus(roundedCents(model.restOfYear().meanCents(), currency)).toBigDecimal();
+
+        AnalyticsDTO.PredictedExpenseDTO nextLikely = null;
+        if (model.nextSpend() != null) {
+            nextLikely = AnalyticsDTO.PredictedExpenseDTO.builder()
+                    .category(categoryService.getCategoryInfo(model.nextSpend().categoryId()).name())
+                    .estimatedAmount(Money.ofCents(model.nextSpend().ticketCents(), currency).toBigDecimal())
+                    .confidence(model.nextSpend().confidence())
+                    .build();
         }
 
-        // 3. Next Likely Spend
-        // Get last 50 expenses to analyze pattern
-        List<com.finance.concierge.entity.Expense> recentExpenses = expenseRepository.findByUserId(user.getId(), PageRequest.of(0, 50)).getContent();
-
-        AnalyticsDTO.PredictedExpenseDTO nextLikely = predictNextExpense(recentExpenses);
-
-        String analysis = String.format("Based on your spending habits, you are on track to spend $%s this month and $%s this year. Your most frequent expense category is %s.",
-                predictedMonthEnd.toPlainString(),
-                predictedYearEnd.toPlainString(),
+        String analysis = String.format("Based on your spending habits, you are on track to spend %s %s this month " +
+                        "(likely between %s and %s) and %s %s this year. Your next expense is most likely %s.",
+                predictedMonthEnd.toPlainString(), currencyCode,
+                monthEndRange.getLower().toPlainString(),
+                monthEndRange.getUpper().toPlainString(),
+                predictedYearEnd.toPlainString(), currencyCode,
                 nextLikely != null ? nextLikely.getCategory() : "Unknown");
 
         return AnalyticsDTO.ForecastDTO.builder()
                 .predictedMonthEndSpend(predictedMonthEnd)
                 .predictedYearEndSpend(predictedYearEnd)
+                .predictedMonthEndRange(monthEndRange)
+                .predictedYearEndRange(yearEndRange)
                 .nextLikelySpend(nextLikely)
                 .aiAnalysis(analysis)
                 .build();
     }
 
-    private AnalyticsDTO.PredictedExpenseDTO predictNextExpense(List<com.finance.concierge.entity.Expense> expenses) {
-        if (expenses.isEmpty()) return null;
-
-        // Group by category and count freq
-        Map<String, Long> categoryFreq = expenses.stream()
-                .collect(Collectors.groupingBy(e -> e.getCategory().getName(), Collectors.counting()));
-
-        // Find most frequent
-        String topCategory = categoryFreq.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("General");
-
-        // Avg amount for this category
-        double avgAmount = expenses.stream()
-                .filter(e -> e.getCategory().getName().equals(topCategory))
-                .mapToDouble(e -> e.getAmount().doubleValue())
-                .average()
-                .orElse(0.0);
-
-        return AnalyticsDTO.PredictedExpenseDTO.builder()
-                .category(topCategory)
-                .estimatedAmount(BigDecimal.valueOf(avgAmount).setScale(2, RoundingMode.HALF_UP))
-                .confidence("High")
+    private AnalyticsDTO.PredictionIntervalDTO toInterval(Money actual, SpendForecastUtil.Prediction remaining) {
+        return AnalyticsDTO.PredictionIntervalDTO.builder()
+                .lower(actual.plus(roundedCents(remaining.lowerCents(), actual.currency())).toBigDecimal())
+                .upper(actual.plus(roundedCents(remaining.upperCents(), actual.currency())).toBigDecimal())
+                .confidencePercent(SpendForecastUtil.INTERVAL_PERCENT)
                 .build();
     }
+
+    private static Money roundedCents(double cents, Currency currency) {
+        return Money.ofCents(Math.round(cents), currency);
+    }
+
+    private static Currency currencyOf(User user) {
+        return Money.currencyOf(user.getCurrencyCode());
+    }
+
+    private Money getTotalSpent(User user, LocalDate startDate, LocalDate endDate) {
+        return Money.ofCents(rollupRepository.sumCentsByUserIdAndDateRange(user.getId(), startDate, endDate),
+                currencyOf(user));
+    }
+
+    /**
+     * Highest daily total from the user's maintained summary row
+     * Falls back to the rollup for users whose list has not been computed since the upgrade
+     */
+    private Optional<TopDailySpendUtil.DayTotal> getHighestDailySpend(User user) {
+        Optional<String> topDays = summaryRepository.findById(user.getId())
+                .map(UserSpendSummary::getTopDailyTotals);
+        if (topDays.isPresent()) {
+            return TopDailySpendUtil.decode(topDays.get()).stream().findFirst();
+        }
+
+        return rollupRepository.findHighestDailyTotalsByUserId(user.getId(), Limit.of(1)).stream()
+                .findFirst()
+                .map(day -> new TopDailySpendUtil.DayTotal(day.date(), day.totalCents()));
+    }
+
+    /**
+     * Total of the completed months of the current year, read from the monthly rollup
+     * The current month comes from the daily rollup so entries dated after today stay out
+     */
+    private Money getPriorMonthsOfYear(User user, LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        if (current.getMonthValue() == 1) {
+            return Money.zero(currencyOf(user));
+        }
+        return Money.ofCents(monthlyRollupRepository.sumCentsByUserIdAndMonthRange(user.getId(),
+                MonthlySpendRollup.monthKey(current.withMonth(1)),
+                MonthlySpendRollup.monthKey(current.minusMonths(1))), currencyOf(user));
+    }
 }
@@ -163,6 +163,11 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new AuthenticationException("User not found"));
 
+        // Access tokens carry the account state, so a disabled or locked user must not get new ones
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            throw new AuthenticationException("Account is disabled or locked");
+        }
+
         // Generate new tokens
         String newAccessToken = jwtUtils.generateToken(user);
         String newRefreshToken = jwtUtils.generateRefreshToken(user);
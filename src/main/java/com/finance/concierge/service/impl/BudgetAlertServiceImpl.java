@@ -0,0 +1,353 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.dto.BudgetAlertDTO;
+import com.finance.concierge.dto.DashboardDeltaDTO;
+import com.finance.concierge.entity.Budget;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.entity.BudgetAlert;
+import com.finance.concierge.entity.BudgetAlert.AlertType;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.UserDataChangedEvent;
+import com.finance.concierge.repository.BudgetAlertRepository;
+import com.finance.concierge.repository.BudgetRepository;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.service.BudgetAlertService;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.DashboardStreamService;
+import com.finance.concierge.service.PeriodSpendService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.service.WindowSpendService;
+import com.finance.concierge.util.Money;
+import com.finance.concierge.util.UserCacheUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BudgetAlertService
+ * A user's active budgets are cached as plain rules. On each expense write only the budgets whose
+ * current window and category the change touches are checked, against the committed spend cached by
+ * PeriodSpendService (or WindowSpendService for rolling and pay-cycle windows) plus what the
+ * writing transaction has added so far, so a write costs a few map lookups. When nothing is cached the
+ * rollup is summed in the writing transaction itself rather than loaded on a second connection.
+ * Alerts are inserted in the writing transaction; the table's unique key keeps them to one per
+ * budget, period and type, and an in-memory note of raised alerts spares the insert on later writes
+ * of the period
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetAlertServiceImpl implements BudgetAlertService {
+
+    private static final int MAX_ALERTS = 100;
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository alertRepository;
+    private final DailySpendRollupRepository rollupRepository;
+    private final PeriodSpendService periodSpendService;
+    private final WindowSpendService windowSpendService;
+    private final CategoryService categoryService;
+    private final UserService userService;
+    private final DashboardStreamService dashboardStreamService;
+    private final Clock clock;
+
+    private final Map<Long, UserEntry> users = UserCacheUtil.newCache();
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetAlertDTO> getRecentAlerts(Long userId, int limit) {
+        return alertRepository.findByUserIdOrderByIdDesc(userId, Limit.of(Math.max(1, Math.min(limit, MAX_ALERTS))))
+            .stream()
+            .map(this::toDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Drop the user's cached budgets once a budget change has committed
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (!event.budgetsChanged()) {
+            return;
+        }
+        UserEntry user = users.get(event.userId());
+        if (user != null) {
+            synchronized (user) {
+                user.budgets = null;
+                user.generation.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Check the budgets an expense change touches and record any line it crosses
+     * Runs after the rollup listener, so a rollup sum in this transaction includes the change
+     */
+    @EventListener
+    @Order(DailySpendRollupServiceImpl.LISTENER_ORDER + 1)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        Long userId = event.userId();
+        UserBudgets budgets = budgets(userId);
+        if (budgets.rules().isEmpty()) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        TransactionAlerts transaction = transactionAlerts();
+
+        for (BudgetRule rule : budgets.rules()) {
+            long deltaCents = rule.deltaCents(event, today);
+            if (deltaCents == 0) {
+                continue;
+            }
+
+            long pendingCents = transaction.pendingCents.merge(rule.budgetId(), deltaCents, Long::sum);
+            if (deltaCents < 0) {
+                continue;
+            }
+
+            LocalDate periodStart = rule.startOf(today);
+            LocalDate periodEnd = rule.endOf(today);
+            Optional<Money> committed = rule.period().isCalendar()
+                ? periodSpendService.findCachedSpent(userId, rule.period(), rule.categoryId(), budgets.currency())
+                : windowSpendService.findCachedSpent(userId, rule.categoryId(), periodStart, periodEnd, budgets.currency());
+            // On a miss, sum the rollup on this transaction's connection, where it already includes the pending spend
+            Money spent = committed.isPresent()
+                ? committed.get().plus(Money.ofCents(pendingCents, budgets.currency()))
+                : spentInTransaction(userId, rule.categoryId(), periodStart, periodEnd, budgets.currency());
+            Money limit = rule.limitFor(periodStart);
+
+            if (rule.alertThreshold() != null
+                && spent.percentOf(limit) >= rule.alertThreshold().doubleValue()) {
+                raise(userId, budgets, rule, AlertType.THRESHOLD_CROSSED, periodStart, limit, spent, transaction);
+            }
+            if (spent.isGreaterThan(limit)) {
+                raise(userId, budgets, rule, AlertType.OVER_BUDGET, periodStart, limit, spent, transaction);
+            }
+        }
+    }
+
+    private void raise(Long userId, UserBudgets budgets, BudgetRule rule, AlertType type, LocalDate periodStart,
+                       Money limit, Money spent, TransactionAlerts transaction) {
+        AlertSlot slot = new AlertSlot(rule.budgetId(), type);
+        if (periodStart.equals(budgets.raisedFor().get(slot)) || transaction.isRaised(slot, periodStart)) {
+            return;
+        }
+
+        int inserted = alertRepository.insertIfAbsent(userId, rule.budgetId(), rule.categoryId(), rule.period().name(),
+            periodStart, type.name(), limit.toBigDecimal(), spent.toBigDecimal(), rule.alertThreshold());
+
+        BudgetAlertDTO alert = null;
+        if (inserted == 1) {
+            log.info("Budget {} of user {}: {} for period starting {}", rule.budgetId(), userId, type, periodStart);
+            alert = BudgetAlertDTO.builder()
+                .budgetId(rule.budgetId())
+                .categoryName(rule.categoryName())
+                .budgetPeriod(rule.period().name())
+                .periodStart(periodStart)
+                .alertType(type.name())
+                .budgetAmount(limit.toBigDecimal())
+                .spentAmount(spent.toBigDecimal())
+                .alertThreshold(rule.alertThreshold())
+                .createdAt(LocalDateTime.now(clock))
+                .build();
+        }
+        // Already recorded by another write: remember it, but it was pushed back then
+        transaction.raised.add(new Raised(userId, budgets, slot, periodStart, alert));
+    }
+
+    private Money spentInTransaction(Long userId, Long categoryId, LocalDate from, LocalDate to, Currency currency) {
+        Long cents = categoryId == null
+            ? rollupRepository.sumCentsByUserIdAndDateRange(userId, from, to)
+            : rollupRepository.sumCentsByUserIdCategoryAndDateRange(userId, categoryId, from, to);
+        return Money.ofCents(cents, currency);
+    }
+
+    /**
+     * The user's cached budgets, loaded on a miss; a load that overlapped a budget change is used but not cached
+     */
+    private UserBudgets budgets(Long userId) {
+        UserEntry user = users.computeIfAbsent(userId, id -> new UserEntry());
+        UserBudgets cached = user.budgets;
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = user.generation.get();
+        UserBudgets loaded = loadBudgets(userId);
+        synchronized (user) {
+            if (user.generation.get() != generation) {
+                return loaded;
+            }
+            if (user.budgets == null) {
+                user.budgets = loaded;
+            }
+            return user.budgets;
+        }
+    }
+
+    private UserBudgets loadBudgets(Long userId) {
+        Currency currency = userService.getCurrency(userId);
+        List<BudgetRule> rules = budgetRepository.findByUserIdAndIsActiveTrue(userId).stream()
+            .map(budget -> BudgetRule.of(budget, currency))
+            .toList();
+        return new UserBudgets(currency, rules, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * The current transaction's alert bookkeeping, created and registered on first use
+     */
+    private TransactionAlerts transactionAlerts() {
+        TransactionAlerts transaction = (TransactionAlerts) TransactionSynchronizationManager.getResource(this);
+        if (transaction == null) {
+            transaction = new TransactionAlerts();
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+        return transaction;
+    }
+
+    private BudgetAlertDTO toDTO(BudgetAlert alert) {
+        return BudgetAlertDTO.builder()
+            .budgetId(alert.getBudgetId())
+            .categoryName(alert.getCategoryId() != null ? categoryService.getCategoryInfo(alert.getCategoryId()).name() : null)
+            .budgetPeriod(alert.getBudgetPeriod().name())
+            .periodStart(alert.getPeriodStart())
+            .alertType(alert.getAlertType().name())
+            .budgetAmount(alert.getBudgetAmount())
+            .spentAmount(alert.getSpentAmount())
+            .alertThreshold(alert.getAlertThreshold())
+            .createdAt(alert.getCreatedAt())
+            .build();
+    }
+
+    /**
+     * Spend added by the transaction per budget, and the alerts it raised
+     * Raised alerts are noted in memory and pushed only once the transaction commits
+     */
+    private final class TransactionAlerts implements TransactionSynchronization {
+
+        private final Map<Long, Long> pendingCents = new HashMap<>();
+        private final List<Raised> raised = new ArrayList<>();
+
+        boolean isRaised(AlertSlot slot, LocalDate periodStart) {
+            return raised.stream().anyMatch(r -> r.slot().equals(slot) && r.periodStart().equals(periodStart));
+        }
+
+        @Override
+        public void afterCommit() {
+            Map<Long, List<BudgetAlertDTO>> recorded = new LinkedHashMap<>();
+            for (Raised r : raised) {
+                r.budgets().raisedFor().put(r.slot(), r.periodStart());
+                if (r.alert() != null) {
+                    recorded.computeIfAbsent(r.userId(), id -> new ArrayList<>()).add(r.alert());
+                }
+            }
+            recorded.forEach((userId, alerts) ->
+                dashboardStreamService.publish(userId, DashboardDeltaDTO.builder().budgetAlerts(alerts).build()));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(BudgetAlertServiceImpl.this);
+        }
+    }
+
+    /**
+     * Cached budgets of one user in the user's currency, and the period each alert slot last fired in
+     */
+    private record UserBudgets(Currency currency, List<BudgetRule> rules, Map<AlertSlot, LocalDate> raisedFor) {
+    }
+
+    /**
+     * Cache entry of one user and the count of evictions, so a load that overlapped one is not installed
+     */
+    private static final class UserEntry {
+        private volatile UserBudgets budgets;
+        private final AtomicLong generation = new AtomicLong();
+    }
+
+    private record AlertSlot(Long budgetId, AlertType type) {
+    }
+
+    /**
+     * An alert raised by the transaction; alert is null when an earlier write had already recorded it
+     */
+    private record Raised(Long userId, UserBudgets budgets, AlertSlot slot, LocalDate periodStart, BudgetAlertDTO alert) {
+    }
+
+    /**
+     * The fields of a budget its alerts depend on
+     *
+     * @param categoryId   Null for a total budget, which covers every category
+     * @param carryInStart First day of the period the carry-in adds to, or null for none
+     */
+    private record BudgetRule(Long budgetId, Long categoryId, String categoryName, BudgetPeriod period,
+                              int windowDays, LocalDate cycleStart, Money limit,
+                              Money carryIn, LocalDate carryInStart, BigDecimal alertThreshold) {
+
+        static BudgetRule of(Budget budget, Currency currency) {
+            boolean total = budget.getIsTotalBudget() || budget.getCategory() == null;
+            return new BudgetRule(budget.getId(),
+                total ? null : budget.getCategory().getId(),
+                total ? null : budget.getCategory().getName(),
+                budget.getBudgetPeriod(), budget.getWindowDays(), budget.getCycleStartDate(),
+                Money.of(budget.getBudgetAmount(), currency), Money.of(budget.getCarryInAmount(), currency),
+                budget.getCarryInPeriodStart(),
+                budget.getAlertThreshold());
+        }
+
+        /**
+         * Limit of the period starting on the given day, with any amount carried into it
+         */
+        Money limitFor(LocalDate periodStart) {
+            return periodStart.equals(carryInStart) ? limit.plus(carryIn) : limit;
+        }
+
+        /**
+         * First day of the window containing the given day; a rolling window moves daily, so its
+         * alerts can fire again on a later day the budget is still exceeded
+         */
+        LocalDate startOf(LocalDate day) {
+            return period.startOf(day, windowDays, cycleStart);
+        }
+
+        LocalDate endOf(LocalDate day) {
+            return period.endOf(day, windowDays, cycleStart);
+        }
+
+        /**
+         * Change in this budget's current-period spend caused by the event, in cents
+         */
+        long deltaCents(ExpenseChangedEvent event, LocalDate today) {
+            return cents(event.after(), today) - cents(event.before(), today);
+        }
+
+        private long cents(ExpenseChangedEvent.Snapshot snapshot, LocalDate today) {
+            if (snapshot == null
+                || (categoryId != null && !categoryId.equals(snapshot.categoryId()))
+                || snapshot.expenseDate().isBefore(startOf(today))
+                || snapshot.expenseDate().isAfter(endOf(today))) {
+                return 0;
+            }
+            return snapshot.cents();
+        }
+    }
+}
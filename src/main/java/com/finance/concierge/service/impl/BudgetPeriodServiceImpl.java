@@ -0,0 +1,178 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.dto.BudgetPeriodHistoryDTO;
+import com.finance.concierge.entity.Budget;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.entity.BudgetPeriodHistory;
+import com.finance.concierge.repository.BudgetPeriodHistoryRepository;
+import com.finance.concierge.repository.BudgetRepository;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.service.BudgetPeriodService;
+import com.finance.concierge.service.DataVersionService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.util.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of BudgetPeriodService
+ * Each ended period of a budget is summed from the daily rollup once, when it is closed, and kept
+ * as a history row; charts of past periods read those rows back instead of summing expenses again.
+ * The amount a carry-over budget leaves unused is stored on the budget for the period that follows
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetPeriodServiceImpl implements BudgetPeriodService {
+
+    /**
+     * Periods closed per budget and run; a long backlog, e.g. of a daily budget, is worked off
+     * over several runs
+     */
+    private static final int MAX_PERIODS_PER_RUN = 62;
+
+    private static final int MAX_HISTORY = 120;
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetPeriodHistoryRepository historyRepository;
+    private final DailySpendRollupRepository rollupRepository;
+    private final DataVersionService dataVersionService;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+    private final Clock clock;
+
+    @Override
+    @Transactional
+    public int closePeriods(Long userId) {
+        LocalDate today = LocalDate.now(clock);
+        Currency currency = userService.getCurrency(userId);
+        int closed = 0;
+
+        for (Budget budget : budgetRepository.findByUserIdAndIsActiveTrue(userId)) {
+            // A rolling window moves every day and never ends
+            if (budget.getBudgetPeriod() == BudgetPeriod.ROLLING) {
+                continue;
+            }
+            closed += close(userId, budget, today, currency);
+        }
+
+        if (closed > 0) {
+            dataVersionService.bumpBudgets(userId);
+        }
+        return closed;
+    }
+
+    @Override
+    @Scheduled(cron = "${app.budget.period-close-cron:-}")
+    public void closeAllPeriods() {
+        List<Long> userIds = budgetRepository.findUserIdsWithActiveBudgets();
+        log.info("Closing ended budget periods for {} users", userIds.size());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long periods = 0;
+        for (Long userId : userIds) {
+            try {
+                Integer closed = transactionTemplate.execute(status -> closePeriods(userId));
+                periods += closed != null ? closed : 0;
+            } catch (RuntimeException e) {
+                // Typically another instance closing the same periods; the next run retries
+                log.warn("Closing budget periods failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+
+        log.info("Budget periods closed: {}", periods);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BudgetPeriodHistoryDTO> getHistory(Long userId, Long budgetId, int periods) {
+        List<BudgetPeriodHistoryDTO> history = new ArrayList<>(historyRepository
+            .findByUserIdAndBudgetIdOrderByPeriodStartDesc(userId, budgetId, Limit.of(Math.max(1, Math.min(periods, MAX_HISTORY))))
+            .stream()
+            .map(this::toDTO)
+            .toList());
+        Collections.reverse(history);
+        return history;
+    }
+
+    /**
+     * Close the budget's ended periods after its last snapshot, or from the period it was created in
+     */
+    private int close(Long userId, Budget budget, LocalDate today, Currency currency) {
+        Optional<BudgetPeriodHistory> last = historyRepository.findFirstByBudgetIdOrderByPeriodStartDesc(budget.getId());
+        LocalDate start = last.map(h -> h.getPeriodEnd().plusDays(1))
+            .orElseGet(() -> budget.windowStart(budget.getCreatedAt() != null ? budget.getCreatedAt().toLocalDate() : today));
+        LocalDate end = budget.windowEnd(start);
+
+        Long categoryId = budget.getIsTotalBudget() ? null : budget.getCategory().getId();
+        Money zero = Money.zero(currency);
+        Money amount = Money.of(budget.getBudgetAmount(), currency);
+        Money carryIn = start.equals(budget.getCarryInPeriodStart()) ? Money.of(budget.getCarryInAmount(), currency) : zero;
+
+        int closed = 0;
+        while (end.isBefore(today) && closed < MAX_PERIODS_PER_RUN) {
+            Money spent = Money.ofCents(categoryId == null
+                ? rollupRepository.sumCentsByUserIdAndDateRange(userId, start, end)
+                : rollupRepository.sumCentsByUserIdCategoryAndDateRange(userId, categoryId, start, end), currency);
+            Money remaining = amount.plus(carryIn).minus(spent);
+            Money carryOut = budget.getCarryOver() && remaining.isGreaterThan(zero) ? remaining : zero;
+
+            historyRepository.save(BudgetPeriodHistory.builder()
+                .userId(userId)
+                .budgetId(budget.getId())
+                .categoryId(categoryId)
+                .budgetPeriod(budget.getBudgetPeriod())
+                .periodStart(start)
+                .periodEnd(end)
+                .budgetAmount(budget.getBudgetAmount())
+                .carriedIn(carryIn.toBigDecimal())
+                .spentAmount(spent.toBigDecimal())
+                .remainingAmount(remaining.toBigDecimal())
+                .carriedOut(carryOut.toBigDecimal())
+                .build());
+
+            carryIn = carryOut;
+            start = end.plusDays(1);
+            end = budget.windowEnd(start);
+            closed++;
+        }
+
+        if (closed > 0) {
+            budget.setCarryInAmount(carryIn.toBigDecimal());
+            budget.setCarryInPeriodStart(carryIn.isZero() ? null : start);
+            budgetRepository.save(budget);
+            log.debug("Budget {} of user {}: closed {} periods, {} carried into {}", budget.getId(), userId, closed,
+                carryIn, start);
+        }
+        return closed;
+    }
+
+    private BudgetPeriodHistoryDTO toDTO(BudgetPeriodHistory history) {
+        return BudgetPeriodHistoryDTO.builder()
+            .budgetId(history.getBudgetId())
+            .budgetPeriod(history.getBudgetPeriod().name())
+            .periodStart(history.getPeriodStart())
+            .periodEnd(history.getPeriodEnd())
+            .budgetAmount(history.getBudgetAmount())
+            .carriedIn(history.getCarriedIn())
+            .spentAmount(history.getSpentAmount())
+            .remainingAmount(history.getRemainingAmount())
+            .carriedOut(history.getCarriedOut())
+            .isOverBudget(history.getRemainingAmount().signum() < 0)
+            .build();
+    }
+}
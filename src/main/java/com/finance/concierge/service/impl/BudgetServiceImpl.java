@@ -1,29 +1,41 @@
 package com.finance.concierge.service.impl;
 
+import com.finance.concierge.config.ReadWriteRoutingDataSource;
 import com.finance.concierge.dto.BudgetRequestDTO;
 import com.finance.concierge.dto.BudgetResponseDTO;
 import com.finance.concierge.entity.Budget;
 import com.finance.concierge.entity.Budget.BudgetPeriod;
 import com.finance.concierge.entity.Category;
 import com.finance.concierge.entity.User;
+import com.finance.concierge.event.UserDataChangedEvent;
 import com.finance.concierge.repository.BudgetRepository;
 import com.finance.concierge.repository.CategoryRepository;
 import com.finance.concierge.repository.UserRepository;
 import com.finance.concierge.service.BudgetService;
-import com.finance.concierge.service.ExpenseService;
-import lombok.RequiredArgsConstructor;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.DataVersionService;
+import com.finance.concierge.service.PeriodSpendService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.service.WindowSpendService;
+import com.finance.concierge.util.Money;
+import com.finance.concierge.util.UserCacheUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.temporal.TemporalAdjusters;
+import java.util.Currency;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -31,13 +43,46 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class BudgetServiceImpl implements BudgetService {
 
+    /**
+     * Listener order of the limits eviction; caches built from the limits are dropped after it
+     */
+    public static final int LIMITS_EVICTION_ORDER = 0;
+
+    private static final int MAX_WINDOW_DAYS = 366;
+
     private final BudgetRepository budgetRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
-    private final ExpenseService expenseService;
+    private final PeriodSpendService periodSpendService;
+    private final DataVersionService dataVersionService;
+    private final CategoryService categoryService;
+    private final WindowSpendService windowSpendService;
+    private final UserService userService;
+    private final Clock clock;
+    private final TransactionTemplate loadTransaction;
+
+    // Immutable monthly limits per user for one month; dropped when a budget change or period close commits
+    private final Map<Long, UserLimits> budgetLimits = UserCacheUtil.newCache();
+
+    public BudgetServiceImpl(BudgetRepository budgetRepository, CategoryRepository categoryRepository,
+                             UserRepository userRepository, PeriodSpendService periodSpendService,
+                             DataVersionService dataVersionService, CategoryService categoryService,
+                             WindowSpendService windowSpendService, UserService userService, Clock clock,
+                             PlatformTransactionManager transactionManager) {
+        this.budgetRepository = budgetRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.periodSpendService = periodSpendService;
+        this.dataVersionService = dataVersionService;
+        this.categoryService = categoryService;
+        this.windowSpendService = windowSpendService;
+        this.userService = userService;
+        this.clock = clock;
+        // Limits are cached across requests, so they are never read from a lagging replica
+        this.loadTransaction = ReadWriteRoutingDataSource.primaryReadTemplate(transactionManager);
+    }
 
     @Override
     @Transactional
@@ -54,14 +99,16 @@ public class BudgetServiceImpl implements BudgetService {
             .orElseThrow(() -> new IllegalArgumentException("Category not found: " + request.getCategoryName()));
 
         BudgetPeriod period = BudgetPeriod.valueOf(request.getBudgetPeriod().toUpperCase());
+        int windowDays = windowDays(period, request);
 
         // Check if budget already exists
-        Budget budget = budgetRepository.findByUserIdAndCategoryIdAndBudgetPeriodAndIsActiveTrue(
-            userId, category.getId(), period
+        Budget budget = budgetRepository.findByUserIdAndCategoryIdAndBudgetPeriodAndWindowDaysAndIsActiveTrue(
+            userId, category.getId(), period, windowDays
         ).orElse(Budget.builder()
             .user(user)
             .category(category)
             .budgetPeriod(period)
+            .windowDays(windowDays)
             .isTotalBudget(false)
             .isActive(true)
             .build());
@@ -69,8 +116,11 @@ public class BudgetServiceImpl implements BudgetService {
         // Update budget
         budget.setBudgetAmount(request.getBudgetAmount());
         budget.setAlertThreshold(request.getAlertThreshold());
+        budget.setCycleStartDate(period == BudgetPeriod.CUSTOM ? request.getCycleStartDate() : null);
+        setCarryOver(budget, request);
 
         Budget saved = budgetRepository.save(budget);
+        dataVersionService.bumpBudgets(userId);
         log.info("Budget saved with ID: {}", saved.getId());
 
         return toBudgetResponseDTO(saved, userId);
@@ -85,22 +135,27 @@ public class BudgetServiceImpl implements BudgetService {
             .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
 
         BudgetPeriod period = BudgetPeriod.valueOf(request.getBudgetPeriod().toUpperCase());
+        int windowDays = windowDays(period, request);
 
         // Check if total budget already exists
-        Budget budget = budgetRepository.findByUserIdAndIsTotalBudgetTrueAndBudgetPeriodAndIsActiveTrue(
-            userId, period
+        Budget budget = budgetRepository.findByUserIdAndIsTotalBudgetTrueAndBudgetPeriodAndWindowDaysAndIsActiveTrue(
+            userId, period, windowDays
         ).orElse(Budget.builder()
             .user(user)
             .category(null)
             .budgetPeriod(period)
+            .windowDays(windowDays)
             .isTotalBudget(true)
             .isActive(true)
             .build());
 
         budget.setBudgetAmount(request.getBudgetAmount());
         budget.setAlertThreshold(request.getAlertThreshold());
+        budget.setCycleStartDate(period == BudgetPeriod.CUSTOM ? request.getCycleStartDate() : null);
+        setCarryOver(budget, request);
 
         Budget saved = budgetRepository.save(budget);
+        dataVersionService.bumpBudgets(userId);
         log.info("Total budget saved with ID: {}", saved.getId());
 
         return toBudgetResponseDTO(saved, userId);
@@ -111,10 +166,12 @@ public class BudgetServiceImpl implements BudgetService {
         log.info("Fetching all budgets for user: {}, period: {}", userId, periodStr);
 
         BudgetPeriod period = BudgetPeriod.valueOf(periodStr.toUpperCase());
-        List<Budget> budgets = budgetRepository.findByUserIdAndIsActiveTrue(userId);
+
+        // One query for the budgets and their categories; spend comes from the per-period aggregate,
+        // which costs at most one grouped query for the whole list
+        List<Budget> budgets = budgetRepository.findActiveByUserIdAndPeriod(userId, period);
 
         return budgets.stream()
-            .filter(b -> b.getBudgetPeriod() == period)
             .map(b -> toBudgetResponseDTO(b, userId))
             .collect(Collectors.toList());
     }
@@ -128,7 +185,7 @@ public class BudgetServiceImpl implements BudgetService {
 
         BudgetPeriod period = BudgetPeriod.valueOf(periodStr.toUpperCase());
 
-        Budget budget = budgetRepository.findByUserIdAndCategoryIdAndBudgetPeriodAndIsActiveTrue(
+        Budget budget = budgetRepository.findFirstByUserIdAndCategoryIdAndBudgetPeriodAndIsActiveTrueOrderByWindowDaysAsc(
             userId, category.getId(), period
         ).orElseThrow(() -> new IllegalArgumentException(
             "No budget found for category: " + categoryName));
@@ -142,7 +199,7 @@ public class BudgetServiceImpl implements BudgetService {
 
         BudgetPeriod period = BudgetPeriod.valueOf(periodStr.toUpperCase());
 
-        Budget budget = budgetRepository.findByUserIdAndIsTotalBudgetTrueAndBudgetPeriodAndIsActiveTrue(
+        Budget budget = budgetRepository.findFirstByUserIdAndIsTotalBudgetTrueAndBudgetPeriodAndIsActiveTrueOrderByWindowDaysAsc(
             userId, period
         ).orElseThrow(() -> new IllegalArgumentException("No total budget set"));
 
@@ -162,26 +219,31 @@ public class BudgetServiceImpl implements BudgetService {
         }
 
         budgetRepository.delete(budget);
+        dataVersionService.bumpBudgets(userId);
         log.info("Budget deleted successfully");
     }
 
     @Override
     public Map<String, Double> getBudgetLimitsMap(Long userId) {
-        log.debug("Getting budget limits map for user: {}", userId);
+        // Carry-in belongs to one month, so limits cached in an earlier month are reloaded
+        YearMonth month = YearMonth.now(clock);
+        UserLimits user = budgetLimits.computeIfAbsent(userId, id -> new UserLimits());
+        MonthlyLimits cached = user.limits;
+        if (cached != null && cached.month().equals(month)) {
+            return cached.byCategory();
+        }
 
-        List<Budget> budgets = budgetRepository.findCategoryBudgets(userId, BudgetPeriod.MONTHLY);
+        long generation = user.generation.get();
+        MonthlyLimits loaded = new MonthlyLimits(month,
+            loadTransaction.execute(status -> loadBudgetLimits(userId, month.atDay(1))));
 
-        Map<String, Double> budgetMap = new HashMap<>();
-        for (Budget budget : budgets) {
-            if (budget.getCategory() != null) {
-                budgetMap.put(budget.getCategory().getName(), budget.getBudgetAmount().doubleValue());
+        // A budget change committed while loading may not be in what was read; leave it for the next caller
+        synchronized (user) {
+            if (user.generation.get() == generation) {
+                user.limits = loaded;
             }
         }
-
-        // Add default budgets for categories without custom budgets
-        addDefaultBudgets(budgetMap);
-
-        return budgetMap;
+        return loaded.byCategory();
     }
 
     @Override
@@ -208,29 +270,21 @@ public class BudgetServiceImpl implements BudgetService {
      * Convert Budget entity to DTO with current spending
      */
     private BudgetResponseDTO toBudgetResponseDTO(Budget budget, Long userId) {
-        LocalDate[] dateRange = getDateRangeForPeriod(budget.getBudgetPeriod());
-        LocalDate startDate = dateRange[0];
-        LocalDate endDate = dateRange[1];
-
-        BigDecimal currentSpending;
-
-        if (budget.getIsTotalBudget()) {
-            // Total spending across all categories
-            currentSpending = expenseService.getTotalSpentInDateRange(userId, startDate, endDate);
-        } else {
-            // Spending for specific category
-            currentSpending = expenseService.getTotalSpentByCategoryInDateRange(
-                userId, budget.getCategory().getName(), startDate, endDate
-            );
-        }
+        LocalDate today = LocalDate.now(clock);
+        Long categoryId = budget.getIsTotalBudget() ? null : budget.getCategory().getId();
+        Currency currency = userService.getCurrency(userId);
 
-        BigDecimal remaining = budget.getBudgetAmount().subtract(currentSpending);
+        // Current-window spending from memory (all categories for a total budget): calendar periods
+        // from the per-period aggregate, rolling and pay-cycle windows from the daily prefix sums
+        Money spent = budget.getBudgetPeriod().isCalendar()
+            ? periodSpendService.getSpent(userId, budget.getBudgetPeriod(), categoryId, currency)
+            : windowSpendService.getSpent(userId, categoryId, budget.windowStart(today), budget.windowEnd(today), currency);
+        BigDecimal carriedIn = budget.effectiveAmount(today).subtract(budget.getBudgetAmount());
+        Money limit = Money.of(budget.getBudgetAmount(), currency).plus(Money.of(carriedIn, currency));
 
-        Double percentageUsed = budget.getBudgetAmount().compareTo(BigDecimal.ZERO) == 0 ? 0.0 :
-            currentSpending.divide(budget.getBudgetAmount(), 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(100)).doubleValue();
+        Double percentageUsed = spent.percentOf(limit);
 
-        boolean isOverBudget = currentSpending.compareTo(budget.getBudgetAmount()) > 0;
+        boolean isOverBudget = spent.isGreaterThan(limit);
         boolean isNearLimit = budget.getAlertThreshold() != null &&
             percentageUsed >= budget.getAlertThreshold().doubleValue();
 
@@ -240,10 +294,16 @@ public class BudgetServiceImpl implements BudgetService {
             .categoryIcon(budget.getCategory() != null ? budget.getCategory().getIcon() : "💰")
             .categoryColor(budget.getCategory() != null ? budget.getCategory().getColor() : "#4ECDC4")
             .budgetAmount(budget.getBudgetAmount())
-            .currentSpending(currentSpending)
-            .remaining(remaining)
+            .carryOver(budget.getCarryOver())
+            .carriedIn(carriedIn)
+            .currentSpending(spent.toBigDecimal())
+            .remaining(limit.minus(spent).toBigDecimal())
             .percentageUsed(percentageUsed)
             .budgetPeriod(budget.getBudgetPeriod().name())
+            .windowDays(budget.getBudgetPeriod().isCalendar() ? null : budget.getWindowDays())
+            .cycleStartDate(budget.getCycleStartDate())
+            .windowStart(budget.windowStart(today))
+            .windowEnd(budget.windowEnd(today))
             .alertThreshold(budget.getAlertThreshold())
             .isTotalBudget(budget.getIsTotalBudget())
             .isOverBudget(isOverBudget)
@@ -254,58 +314,85 @@ public class BudgetServiceImpl implements BudgetService {
     }
 
     /**
-     * Get date range for budget period
+     * Window length of a request: required for ROLLING and CUSTOM, always 0 for calendar periods
      */
-    private LocalDate[] getDateRangeForPeriod(BudgetPeriod period) {
-        LocalDate today = LocalDate.now();
-        LocalDate startDate;
-        LocalDate endDate;
-
-        switch (period) {
-            case DAILY:
-                startDate = today;
-                endDate = today;
-                break;
-            case WEEKLY:
-                startDate = today.with(TemporalAdjusters.previousOrSame(java.time.DayOfWeek.MONDAY));
-                endDate = startDate.plusDays(6);
-                break;
-            case MONTHLY:
-                startDate = YearMonth.now().atDay(1);
-                endDate = YearMonth.now().atEndOfMonth();
-                break;
-            case YEARLY:
-                startDate = LocalDate.of(today.getYear(), 1, 1);
-                endDate = LocalDate.of(today.getYear(), 12, 31);
-                break;
-            default:
-                startDate = YearMonth.now().atDay(1);
-                endDate = YearMonth.now().atEndOfMonth();
+    private static int windowDays(BudgetPeriod period, BudgetRequestDTO request) {
+        if (period.isCalendar()) {
+            return 0;
         }
 
-        return new LocalDate[]{startDate, endDate};
+        Integer days = request.getWindowDays();
+        if (days == null || days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException(period + " budgets need windowDays between 1 and " + MAX_WINDOW_DAYS);
+        }
+        if (period == BudgetPeriod.CUSTOM && request.getCycleStartDate() == null) {
+            throw new IllegalArgumentException("CUSTOM budgets need a cycleStartDate");
+        }
+        return days;
     }
 
     /**
-     * Add default budgets for categories without custom budgets
+     * Carry-over needs periods that close, so a rolling window cannot have it; turning it off
+     * drops whatever was already carried in
      */
-    private void addDefaultBudgets(Map<String, Double> budgetMap) {
-        Map<String, Double> defaults = Map.of(
-            "Food", 200.0,
-            "Transport", 100.0,
-            "Entertainment", 150.0,
-            "Bills", 300.0,
-            "Shopping", 250.0,
-            "Health", 200.0,
-            "Education", 150.0,
-            "Other", 100.0
-        );
-
-        defaults.forEach((category, amount) -> {
-            if (!budgetMap.containsKey(category)) {
-                budgetMap.put(category, amount);
+    private static void setCarryOver(Budget budget, BudgetRequestDTO request) {
+        boolean carryOver = Boolean.TRUE.equals(request.getCarryOver());
+        if (carryOver && budget.getBudgetPeriod() == BudgetPeriod.ROLLING) {
+            throw new IllegalArgumentException("ROLLING budgets cannot carry over unused amounts");
+        }
+
+        budget.setCarryOver(carryOver);
+        if (!carryOver) {
+            budget.setCarryInAmount(BigDecimal.ZERO);
+            budget.setCarryInPeriodStart(null);
+        }
+    }
+
+    /**
+     * Monthly limit per category name: the user's category budgets, with this month's carry-in, over the categories' defaults
+     */
+    private Map<String, Double> loadBudgetLimits(Long userId, LocalDate monthStart) {
+        log.debug("Loading budget limits for user: {}", userId);
+
+        Map<String, Double> limits = new HashMap<>();
+        categoryService.getDefaultMonthlyBudgets().forEach((category, amount) ->
+            limits.put(category, amount.doubleValue()));
+
+        for (Budget budget : budgetRepository.findCategoryBudgets(userId, BudgetPeriod.MONTHLY)) {
+            limits.put(budget.getCategory().getName(), budget.effectiveAmount(monthStart).doubleValue());
+        }
+        return Map.copyOf(limits);
+    }
+
+    /**
+     * Drop the user's cached limits once a budget change or a period close has committed
+     */
+    @EventListener
+    @Order(LIMITS_EVICTION_ORDER)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (!event.budgetsChanged()) {
+            return;
+        }
+        UserLimits user = budgetLimits.get(event.userId());
+        if (user != null) {
+            synchronized (user) {
+                user.limits = null;
+                user.generation.incrementAndGet();
             }
-        });
+        }
+    }
+
+    /**
+     * Category limits of one calendar month
+     */
+    private record MonthlyLimits(YearMonth month, Map<String, Double> byCategory) {
     }
-}
 
+    /**
+     * Cached limits of one user and the count of evictions, so a load that overlapped one is not installed
+     */
+    private static final class UserLimits {
+        private volatile MonthlyLimits limits;
+        private final AtomicLong generation = new AtomicLong();
+    }
+}
@@ -0,0 +1,219 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.dto.BudgetResponseDTO;
+import com.finance.concierge.dto.BudgetSimulationDTO;
+import com.finance.concierge.dto.BudgetSimulationRequestDTO;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.service.BudgetService;
+import com.finance.concierge.service.BudgetSimulationService;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.PeriodSpendService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.util.BudgetSimulationUtil;
+import com.finance.concierge.util.BudgetSimulationUtil.Model;
+import com.finance.concierge.util.BudgetSimulationUtil.Outcome;
+import com.finance.concierge.util.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implementation of BudgetSimulationService
+ * Budgets come from BudgetService (the user's monthly budgets over the category defaults),
+ * month-to-date spend from PeriodSpendService and the history from the daily rollup in one read.
+ * Paths run on a dedicated fork-join pool so a large simulation cannot starve the common pool
+ */
+@Slf4j
+@Service
+public class BudgetSimulationServiceImpl implements BudgetSimulationService {
+
+    private static final int DEFAULT_PATHS = 10_000;
+    private static final int DEFAULT_HISTORY_DAYS = 90;
+    private static final int TREND_DAYS = 28;
+    private static final double MIN_TREND = 0.5;
+    private static final double MAX_TREND = 2.0;
+    private static final int P90 = 90;
+
+    private final BudgetService budgetService;
+    private final CategoryService categoryService;
+    private final PeriodSpendService periodSpendService;
+    private final UserService userService;
+    private final DailySpendRollupRepository rollupRepository;
+    private final Clock clock;
+    private final ForkJoinPool pool;
+
+    public BudgetSimulationServiceImpl(BudgetService budgetService, CategoryService categoryService,
+                                       PeriodSpendService periodSpendService, UserService userService,
+                                       DailySpendRollupRepository rollupRepository, Clock clock,
+                                       @Value("${app.budget.simulation.parallelism:0}") int parallelism) {
+        this.budgetService = budgetService;
+        this.categoryService = categoryService;
+        this.periodSpendService = periodSpendService;
+        this.userService = userService;
+        this.rollupRepository = rollupRepository;
+        this.clock = clock;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BudgetSimulationDTO simulate(Long userId, BudgetSimulationRequestDTO request) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate monthEnd = BudgetPeriod.MONTHLY.endOf(today);
+        int days = (int) ChronoUnit.DAYS.between(today, monthEnd);
+        int paths = request.getPaths() != null ? request.getPaths() : DEFAULT_PATHS;
+        int historyDays = request.getHistoryDays() != null ? request.getHistoryDays() : DEFAULT_HISTORY_DAYS;
+        LocalDate historyStart = today.minusDays(historyDays);
+        Currency currency = userService.getCurrency(userId);
+
+        Map<Long, BigDecimal> limits = categoryLimits(userId, request);
+        Map<Long, Double> changes = new HashMap<>();
+        Optional.ofNullable(request.getSpendingChanges()).orElse(Map.of())
+            .forEach((name, percent) -> changes.put(categoryId(name), percent));
+
+        Map<Long, Money> spentSoFar = periodSpendService.getSpentByCategory(userId, BudgetPeriod.MONTHLY, currency);
+        List<DailyCategorySpendProjection> cells =
+            rollupRepository.findCellsByUserIdAndDateRange(userId, historyStart, today.minusDays(1));
+
+        // One column per category with a budget, spend this month or spend in the history
+        SortedSet<Long> categoryIds = new TreeSet<>(limits.keySet());
+        categoryIds.addAll(spentSoFar.keySet());
+        cells.forEach(cell -> categoryIds.add(cell.categoryId()));
+        Long[] columns = categoryIds.toArray(Long[]::new);
+        Map<Long, Integer> columnOf = new HashMap<>();
+        for (int c = 0; c < columns.length; c++) {
+            columnOf.put(columns[c], c);
+        }
+
+        long[][] history = new long[historyDays][columns.length];
+        for (DailyCategorySpendProjection cell : cells) {
+            history[(int) ChronoUnit.DAYS.between(historyStart, cell.date())][columnOf.get(cell.categoryId())]
+                += cell.totalCents();
+        }
+
+        double[] trends = trends(history, columns.length);
+        double[] multipliers = new double[columns.length];
+        long[] startCents = new long[columns.length];
+        long[] limitCents = new long[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            double change = changes.getOrDefault(columns[c], 0.0);
+            multipliers[c] = Math.max(0.0, trends[c] * (1 + change / 100));
+            startCents[c] = spentSoFar.getOrDefault(columns[c], Money.zero(currency)).toCents();
+            BigDecimal limit = limits.get(columns[c]);
+            limitCents[c] = Money.of(limit, currency).toCents();
+        }
+
+        BigDecimal totalLimit = totalLimit(userId, request);
+        Model model = new Model(history, multipliers, startCents, limitCents,
+            Money.of(totalLimit, currency).toCents(), days);
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+        long started = System.nanoTime();
+        Outcome outcome = BudgetSimulationUtil.simulate(model, paths, seed, pool);
+        log.info("Simulated {} paths over {} days and {} categories for user {} in {} ms",
+            paths, days, columns.length, userId, (System.nanoTime() - started) / 1_000_000);
+
+        List<BudgetSimulationDTO.CategoryOutcome> categories = new ArrayList<>();
+        for (int c = 0; c < columns.length; c++) {
+            long[] finals = outcome.finalCents()[c];
+            categories.add(BudgetSimulationDTO.CategoryOutcome.builder()
+                .categoryName(categoryService.getCategoryInfo(columns[c]).name())
+                .budgetLimit(limits.get(columns[c]))
+                .spentSoFar(Money.ofCents(startCents[c], currency).toBigDecimal())
+                .spendingChange(changes.getOrDefault(columns[c], 0.0))
+                .trendFactor(trends[c])
+                .expectedSpend(Money.ofCents(Outcome.mean(finals), currency).toBigDecimal())
+                .p90Spend(Money.ofCents(Outcome.percentile(finals, P90), currency).toBigDecimal())
+                .overspendProbability(limitCents[c] > 0 ? Outcome.overProbability(finals, limitCents[c]) : null)
+                .build());
+        }
+        categories.sort(Comparator.comparing(BudgetSimulationDTO.CategoryOutcome::getOverspendProbability,
+                Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+            .thenComparing(BudgetSimulationDTO.CategoryOutcome::getExpectedSpend, Comparator.<BigDecimal>reverseOrder()));
+
+        int overspendDay = outcome.dayReachedBy(0.5);
+        BudgetSimulationDTO.TotalOutcome total = BudgetSimulationDTO.TotalOutcome.builder()
+            .budgetLimit(totalLimit)
+            .spentSoFar(Money.ofCents(Arrays.stream(startCents).sum(), currency).toBigDecimal())
+            .expectedSpend(Money.ofCents(Outcome.mean(outcome.totalCents()), currency).toBigDecimal())
+            .p90Spend(Money.ofCents(Outcome.percentile(outcome.totalCents(), P90), currency).toBigDecimal())
+            .overspendProbability(model.totalLimitCents() > 0
+                ? Outcome.overProbability(outcome.totalCents(), model.totalLimitCents()) : null)
+            .likelyOverspendDate(model.totalLimitCents() > 0 && overspendDay >= 0 ? today.plusDays(overspendDay + 1L) : null)
+            .build();
+
+        return BudgetSimulationDTO.builder()
+            .paths(paths)
+            .simulatedFrom(today.plusDays(1))
+            .simulatedTo(monthEnd)
+            .categories(categories)
+            .total(total)
+            .build();
+    }
+
+    /**
+     * Monthly budget per category ID: the user's limits, then the request's overrides
+     */
+    private Map<Long, BigDecimal> categoryLimits(Long userId, BudgetSimulationRequestDTO request) {
+        Map<Long, BigDecimal> limits = new HashMap<>();
+        budgetService.getBudgetLimitsMap(userId).forEach((name, amount) ->
+            categoryService.findCategoryInfo(name).ifPresent(info -> limits.put(info.id(), BigDecimal.valueOf(amount))));
+        Optional.ofNullable(request.getBudgetOverrides()).orElse(Map.of())
+            .forEach((name, amount) -> limits.put(categoryId(name), amount));
+        return limits;
+    }
+
+    /**
+     * Monthly total budget: the request's override, else the user's total with this month's carry-in
+     */
+    private BigDecimal totalLimit(Long userId, BudgetSimulationRequestDTO request) {
+        if (request.getTotalBudget() != null) {
+            return request.getTotalBudget();
+        }
+        try {
+            BudgetResponseDTO total = budgetService.getTotalBudget(userId, BudgetPeriod.MONTHLY.name());
+            return total.getCarriedIn() != null ? total.getBudgetAmount().add(total.getCarriedIn()) : total.getBudgetAmount();
+        } catch (IllegalArgumentException e) {
+            return null; // No total budget set
+        }
+    }
+
+    private Long categoryId(String name) {
+        return categoryService.findCategoryInfo(name)
+            .map(CategoryService.CategoryInfo::id)
+            .orElseThrow(() -> new IllegalArgumentException("Category not found: " + name));
+    }
+
+    /**
+     * Recent daily spend of each category relative to its whole history, bounded so a quiet or
+     * busy few weeks cannot halve or more than double the projection
+     */
+    private static double[] trends(long[][] history, int categories) {
+        int recentDays = Math.min(TREND_DAYS, history.length);
+        double[] trends = new double[categories];
+        for (int c = 0; c < categories; c++) {
+            long all = 0;
+            long recent = 0;
+            for (int day = 0; day < history.length; day++) {
+                all += history[day][c];
+                if (day >= history.length - recentDays) {
+                    recent += history[day][c];
+                }
+            }
+            trends[c] = all <= 0 ? 1.0 : Math.max(MIN_TREND, Math.min(MAX_TREND,
+                (recent / (double) recentDays) / (all / (double) history.length)));
+        }
+        return trends;
+    }
+}
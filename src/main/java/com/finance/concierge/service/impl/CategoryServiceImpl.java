@@ -9,7 +9,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +28,9 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
 
+    // Categories only change through migrations, so one snapshot serves the whole process
+    private volatile Registry registry;
+
     @Override
     @Transactional(readOnly = true)
     public List<CategoryResponseDTO> getAllCategories() {
@@ -33,6 +41,67 @@ public class CategoryServiceImpl implements CategoryService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CategoryInfo getCategoryInfo(Long categoryId) {
+        CategoryInfo info = registry().byId().get(categoryId);
+        if (info == null) {
+            log.warn("Category {} not found in registry", categoryId);
+            return new CategoryInfo(categoryId, "Other", "📦", "#95A5A6", false);
+        }
+        return info;
+    }
+
+    @Override
+    public Optional<CategoryInfo> findCategoryInfo(String categoryName) {
+        if (categoryName == null || categoryName.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(registry().byName().get(categoryName.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getDefaultMonthlyBudgets() {
+        return registry().defaultMonthlyBudgets();
+    }
+
+    /**
+     * Get the registry snapshot, loading it on first use
+     */
+    private Registry registry() {
+        Registry current = registry;
+        if (current == null) {
+            synchronized (this) {
+                current = registry;
+                if (current == null) {
+                    current = loadRegistry();
+                    registry = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Registry loadRegistry() {
+        List<Category> categories = categoryRepository.findAll();
+
+        Map<Long, CategoryInfo> byId = new HashMap<>();
+        Map<String, CategoryInfo> byName = new HashMap<>();
+        Map<String, BigDecimal> defaultMonthlyBudgets = new HashMap<>();
+        for (Category category : categories) {
+            CategoryInfo info = new CategoryInfo(category.getId(), category.getName(),
+                    category.getIcon(), category.getColor(), Boolean.TRUE.equals(category.getIsActive()),
+                    category.getDefaultMonthlyBudget());
+            byId.put(info.id(), info);
+            byName.put(info.name().toLowerCase(Locale.ROOT), info);
+            if (info.active() && info.defaultMonthlyBudget() != null) {
+                defaultMonthlyBudgets.put(info.name(), info.defaultMonthlyBudget());
+            }
+        }
+
+        log.info("Loaded {} categories into registry", byId.size());
+        return new Registry(Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(defaultMonthlyBudgets));
+    }
+
     private CategoryResponseDTO mapToDTO(Category category) {
         return CategoryResponseDTO.builder()
                 .id(category.getId())
@@ -42,4 +111,8 @@ public class CategoryServiceImpl implements CategoryService {
                 .color(category.getColor())
                 .build();
     }
+
+    private record Registry(Map<Long, CategoryInfo> byId, Map<String, CategoryInfo> byName,
+                            Map<String, BigDecimal> defaultMonthlyBudgets) {
+    }
 }
@@ -0,0 +1,174 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.entity.MonthlySpendRollup;
+import com.finance.concierge.entity.UserSpendSummary;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.MonthlySpendRollupRepository;
+import com.finance.concierge.repository.UserRepository;
+import com.finance.concierge.repository.UserSpendSummaryRepository;
+import com.finance.concierge.service.DailySpendRollupService;
+import com.finance.concierge.service.PeriodSpendService;
+import com.finance.concierge.service.SpendForecastService;
+import com.finance.concierge.util.TopDailySpendUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of DailySpendRollupService
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailySpendRollupServiceImpl implements DailySpendRollupService {
+
+    /**
+     * Listener order of the rollup update; listeners that read the rollup run after it
+     */
+    public static final int LISTENER_ORDER = 0;
+
+    private final DailySpendRollupRepository rollupRepository;
+    private final MonthlySpendRollupRepository monthlyRollupRepository;
+    private final UserSpendSummaryRepository summaryRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final PeriodSpendService periodSpendService;
+    private final SpendForecastService spendForecastService;
+
+    /**
+     * Apply an expense change to the rollup in the same transaction as the change itself
+     */
+    @EventListener
+    @Order(LISTENER_ORDER)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        Set<LocalDate> touchedDays = new LinkedHashSet<>();
+        if (event.before() != null) {
+            apply(event.userId(), event.before(), -1);
+            touchedDays.add(event.before().expenseDate());
+        }
+        if (event.after() != null) {
+            apply(event.userId(), event.after(), 1);
+            touchedDays.add(event.after().expenseDate());
+        }
+        updateTopDays(event.userId(), touchedDays);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildForUser(Long userId) {
+        return rebuild(userId);
+    }
+
+    @Override
+    @Scheduled(cron = "${app.rollup.rebuild-cron:-}")
+    public void rebuildAll() {
+        List<Long> userIds = userRepository.findAllIds();
+        log.info("Rebuilding daily spend rollup for {} users", userIds.size());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long cells = 0;
+        for (Long userId : userIds) {
+            Integer written = transactionTemplate.execute(status -> rebuild(userId));
+            cells += written != null ? written : 0;
+        }
+
+        log.info("Daily spend rollup rebuilt: {} cells", cells);
+    }
+
+    private void apply(Long userId, ExpenseChangedEvent.Snapshot snapshot, int sign) {
+        long deltaCents = sign * snapshot.cents();
+        int monthKey = MonthlySpendRollup.monthKey(YearMonth.from(snapshot.expenseDate()));
+
+        rollupRepository.applyDelta(userId, snapshot.expenseDate(), snapshot.categoryId(), deltaCents, sign);
+        monthlyRollupRepository.applyDelta(userId, monthKey, deltaCents, sign);
+
+        if (sign < 0) {
+            rollupRepository.deleteIfEmpty(userId, snapshot.expenseDate(), snapshot.categoryId());
+            monthlyRollupRepository.deleteIfEmpty(userId, monthKey);
+        }
+    }
+
+    /**
+     * Fold the new totals of the touched days into the user's highest-days list
+     * Only those days are re-read from the rollup; the full list is recomputed only when
+     * a listed day drops far enough that an unlisted day could overtake it
+     */
+    private void updateTopDays(Long userId, Set<LocalDate> days) {
+        summaryRepository.ensureExists(userId);
+        UserSpendSummary summary = summaryRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Spend summary missing for user: " + userId));
+
+        Optional<List<TopDailySpendUtil.DayTotal>> top = Optional.ofNullable(summary.getTopDailyTotals())
+                .map(TopDailySpendUtil::decode);
+        for (LocalDate day : days) {
+            if (top.isEmpty()) {
+                break;
+            }
+            long dayCents = rollupRepository.sumCentsByUserIdAndDateRange(userId, day, day);
+            top = TopDailySpendUtil.update(top.get(), day, dayCents);
+        }
+
+        List<TopDailySpendUtil.DayTotal> updated = top.orElseGet(() -> loadTopDays(userId));
+        summary.setTopDailyTotals(TopDailySpendUtil.encode(updated));
+    }
+
+    private List<TopDailySpendUtil.DayTotal> loadTopDays(Long userId) {
+        return TopDailySpendUtil.fromProjections(rollupRepository.findHighestDailyTotalsByUserId(
+                userId, Limit.of(TopDailySpendUtil.CAPACITY)));
+    }
+
+    /**
+     * Drop the user's cached period spend once the rebuilt rollup is visible
+     */
+    private void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            periodSpendService.evict(userId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                periodSpendService.evict(userId);
+            }
+        });
+    }
+
+    private int rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        int cells = rollupRepository.rebuildForUser(userId);
+
+        // Monthly totals derive from the freshly rebuilt daily cells
+        monthlyRollupRepository.deleteByUserId(userId);
+        monthlyRollupRepository.rebuildForUser(userId);
+
+        summaryRepository.ensureExists(userId);
+        summaryRepository.findByUserIdForUpdate(userId).ifPresent(summary ->
+                summary.setTopDailyTotals(TopDailySpendUtil.encode(loadTopDays(userId))));
+
+        // Forecast series are built from the daily cells too
+        spendForecastService.rebuildForUser(userId);
+        log.debug("Rebuilt {} rollup cells for user {}", cells, userId);
+        evictAfterCommit(userId);
+        return cells;
+    }
+}
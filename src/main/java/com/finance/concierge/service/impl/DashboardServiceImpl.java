@@ -2,21 +2,41 @@ package com.finance.concierge.service.impl;
 
 import com.finance.concierge.dto.DashboardStatsDTO;
 import com.finance.concierge.dto.ExpenseResponseDTO;
-import com.finance.concierge.entity.Category;
-import com.finance.concierge.entity.Expense;
-import com.finance.concierge.repository.CategoryRepository;
+import com.finance.concierge.dto.MonthlyComparisonDTO;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.event.UserDataChangedEvent;
+import com.finance.concierge.helper.ExpenseMappingHelper;
+import com.finance.concierge.repository.DailySpendRollupRepository;
 import com.finance.concierge.repository.ExpenseRepository;
+import com.finance.concierge.repository.projection.CategorySpendProjection;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.repository.projection.ExpenseProjection;
 import com.finance.concierge.service.BudgetService;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.CategoryService.CategoryInfo;
 import com.finance.concierge.service.DashboardService;
+import com.finance.concierge.service.PeriodSpendService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.util.Money;
+import com.finance.concierge.util.SpendMatrixUtil;
+import com.finance.concierge.util.UserCacheUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -28,161 +48,336 @@ import java.util.stream.Collectors;
 public class DashboardServiceImpl implements DashboardService {
 
     private final ExpenseRepository expenseRepository;
-    private final CategoryRepository categoryRepository;
+    private final DailySpendRollupRepository rollupRepository;
+    private final CategoryService categoryService;
     private final BudgetService budgetService;
+    private final PeriodSpendService periodSpendService;
+    private final UserService userService;
 
-    /**
-     * Get default budget limits (fallback)
-     */
-    private Map<String, Double> getDefaultBudgetLimits() {
-        return Map.of(
-            "Food", 200.0,
-            "Transport", 100.0,
-            "Entertainment", 150.0,
-            "Bills", 300.0,
-            "Shopping", 250.0,
-            "Health", 200.0,
-            "Education", 150.0,
-            "Other", 100.0
-        );
-    }
+    private final Clock clock;
+
+    @Value("${app.dashboard.memo-ttl:PT3S}")
+    private Duration memoTtl;
+
+    private final Map<Long, Memo> snapshots = UserCacheUtil.newCache();
+
+    private static final int TOP_EXPENSES = 5;
+    static final int DAILY_SERIES_DAYS = 30;
+    private static final int MAX_COMPARISON_MONTHS = 120;
 
     @Override
+    @Transactional(readOnly = true)
     public DashboardStatsDTO getDashboardStats(Long userId) {
         log.info("Generating dashboard stats for user: {}", userId);
 
-        LocalDate startOfMonth = YearMonth.now().atDay(1);
-        LocalDate endOfMonth = YearMonth.now().atEndOfMonth();
-
-        LocalDate startOfLastMonth = YearMonth.now().minusMonths(1).atDay(1);
-        LocalDate endOfLastMonth = YearMonth.now().minusMonths(1).atEndOfMonth();
+        Snapshot snapshot = snapshot(userId);
+        YearMonth thisMonth = YearMonth.from(snapshot.today());
+        YearMonth lastMonth = thisMonth.minusMonths(1);
 
-        // Get current month expenses
-        List<Expense> currentMonthExpenses = expenseRepository.findByUserIdAndDateBetween(
-            userId, startOfMonth, endOfMonth
-        );
-
-        // Get last month expenses
-        List<Expense> lastMonthExpenses = expenseRepository.findByUserIdAndDateBetween(
-            userId, startOfLastMonth, endOfLastMonth
-        );
+        List<CategorySpendProjection> currentMonthTotals = currentMonthTotals(snapshot);
 
         // Calculate totals
-        BigDecimal totalThisMonth = calculateTotal(currentMonthExpenses);
-        BigDecimal totalLastMonth = calculateTotal(lastMonthExpenses);
+        Currency currency = snapshot.currency();
+        Money totalThisMonth = Money.ofCents(sumCents(currentMonthTotals), currency);
+        Money totalLastMonth = Money.ofCents(
+            sumCents(snapshot.cells(), lastMonth.atDay(1), lastMonth.atEndOfMonth()), currency);
 
         // Calculate month-over-month change
         Double monthOverMonthChange = calculatePercentageChange(totalLastMonth, totalThisMonth);
 
-        // Generate category breakdown
-        List<DashboardStatsDTO.CategorySummary> categoryBreakdown =
-            generateCategoryBreakdown(currentMonthExpenses, totalThisMonth);
-
-        // Generate daily spending (last 30 days)
-        List<DashboardStatsDTO.DailySpending> dailySpending =
-            generateDailySpending(userId, LocalDate.now().minusDays(30), LocalDate.now());
-
         // Get top 5 expenses
-        List<ExpenseResponseDTO> topExpenses = currentMonthExpenses.stream()
-            .sorted(Comparator.comparing(Expense::getAmount).reversed())
-            .limit(5)
-            .map(this::toExpenseResponseDTO)
-            .collect(Collectors.toList());
-
-        // Generate budget status
-        List<DashboardStatsDTO.BudgetStatus> budgetStatus =
-            generateBudgetStatus(currentMonthExpenses);
+        List<ExpenseResponseDTO> topExpenses = getTopExpenses(userId, thisMonth.atDay(1), thisMonth.atEndOfMonth());
 
         return DashboardStatsDTO.builder()
-            .totalSpentThisMonth(totalThisMonth)
-            .totalSpentLastMonth(totalLastMonth)
+            .totalSpentThisMonth(totalThisMonth.toBigDecimal())
+            .totalSpentLastMonth(totalLastMonth.toBigDecimal())
             .monthOverMonthChange(monthOverMonthChange)
-            .transactionCount(currentMonthExpenses.size())
-            .categoryBreakdown(categoryBreakdown)
-            .dailySpending(dailySpending)
+            .transactionCount(countTransactions(currentMonthTotals))
+            .categoryBreakdown(generateCategoryBreakdown(currentMonthTotals, totalThisMonth))
+            .dailySpending(dailySpending(snapshot))
             .topExpenses(topExpenses)
-            .budgetStatus(budgetStatus)
+            .budgetStatus(generateBudgetStatus(userId, snapshot))
             .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<DashboardStatsDTO.CategorySummary> getCategoryBreakdown(Long userId) {
+        Snapshot snapshot = snapshot(userId);
+        List<CategorySpendProjection> currentMonthTotals = currentMonthTotals(snapshot);
+
+        return generateCategoryBreakdown(currentMonthTotals, Money.ofCents(sumCents(currentMonthTotals), snapshot.currency()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DashboardStatsDTO.DailySpending> getDailySpending(Long userId) {
+        return dailySpending(snapshot(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DashboardStatsDTO.BudgetStatus> getBudgetStatus(Long userId) {
+        return generateBudgetStatus(userId, snapshot(userId));
+    }
+
+    /**
+     * Drop a user's memoized dashboard inputs once a change is committed
+     * Runs after the limits eviction, so a reload cannot pick up the old budget limits
+     */
+    @EventListener
+    @Order(BudgetServiceImpl.LIMITS_EVICTION_ORDER + 1)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        snapshots.remove(event.userId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public DashboardStatsDTO getDashboardStatsForDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
         log.info("Generating dashboard stats for user: {} from {} to {}", userId, startDate, endDate);
 
-        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-        BigDecimal total = calculateTotal(expenses);
+        List<DailyCategorySpendProjection> cells = rollupRepository
+            .findCellsByUserIdAndDateRange(userId, startDate, endDate);
+        List<CategorySpendProjection> categoryTotals = totalsByCategory(cells, startDate, endDate);
+        Currency currency = userService.getCurrency(userId);
+        Money total = Money.ofCents(sumCents(categoryTotals), currency);
 
         return DashboardStatsDTO.builder()
-            .totalSpentThisMonth(total)
-            .transactionCount(expenses.size())
-            .categoryBreakdown(generateCategoryBreakdown(expenses, total))
-            .dailySpending(generateDailySpending(userId, startDate, endDate))
-            .topExpenses(expenses.stream()
-                .sorted(Comparator.comparing(Expense::getAmount).reversed())
-                .limit(5)
-                .map(this::toExpenseResponseDTO)
-                .collect(Collectors.toList()))
+            .totalSpentThisMonth(total.toBigDecimal())
+            .transactionCount(countTransactions(categoryTotals))
+            .categoryBreakdown(generateCategoryBreakdown(categoryTotals, total))
+            .dailySpending(generateDailySpending(cells, startDate, endDate, currency))
+            .topExpenses(getTopExpenses(userId, startDate, endDate))
             .build();
     }
 
     @Override
-    public DashboardStatsDTO.CategorySummary[] getMonthlyComparison(Long userId, int months) {
-        // Implementation for monthly comparison
-        return new DashboardStatsDTO.CategorySummary[0];
+    @Transactional(readOnly = true)
+    public MonthlyComparisonDTO getMonthlyComparison(Long userId, int months) {
+        if (months < 1 || months > MAX_COMPARISON_MONTHS) {
+            throw new IllegalArgumentException("Months must be between 1 and " + MAX_COMPARISON_MONTHS);
+        }
+        log.info("Generating {}-month comparison for user: {}", months, userId);
+
+        // One extra leading month so the first requested month has a month-over-month change too
+        YearMonth lastMonth = YearMonth.now(clock);
+        YearMonth firstMonth = lastMonth.minusMonths(months);
+        Currency currency = userService.getCurrency(userId);
+
+        SpendMatrixUtil.Matrix matrix = SpendMatrixUtil.build(firstMonth, months + 1,
+            rollupRepository.findMonthlyCategoryTotalsByUserIdAndDateRange(
+                userId, firstMonth.atDay(1), lastMonth.atEndOfMonth()));
+        long[][] cents = matrix.cents();
+        long[][] deltas = SpendMatrixUtil.monthOverMonthDeltas(cents);
+        long[] monthTotals = SpendMatrixUtil.monthTotals(cents);
+        long[] categoryTotals = SpendMatrixUtil.categoryTotals(cents, matrix.categoryIds().length);
+
+        List<String> monthLabels = new ArrayList<>(months);
+        List<BigDecimal> totals = new ArrayList<>(months);
+        for (int month = 1; month <= months; month++) {
+            monthLabels.add(matrix.month(month).toString());
+            totals.add(Money.ofCents(monthTotals[month], currency).toBigDecimal());
+        }
+
+        List<MonthlyComparisonDTO.CategoryTrend> categories = new ArrayList<>(matrix.categoryIds().length);
+        for (int category = 0; category < matrix.categoryIds().length; category++) {
+            if (allZero(cents, category)) {
+                continue; // Only spent in the leading month
+            }
+            CategoryInfo info = categoryService.getCategoryInfo(matrix.categoryIds()[category]);
+
+            List<BigDecimal> amounts = new ArrayList<>(months);
+            List<BigDecimal> changes = new ArrayList<>(months);
+            List<Double> percentages = new ArrayList<>(months);
+            for (int month = 1; month <= months; month++) {
+                Money amount = Money.ofCents(cents[month][category], currency);
+                amounts.add(amount.toBigDecimal());
+                changes.add(Money.ofCents(deltas[month][category], currency).toBigDecimal());
+                percentages.add(calculatePercentageChange(Money.ofCents(cents[month - 1][category], currency), amount));
+            }
+
+            categories.add(MonthlyComparisonDTO.CategoryTrend.builder()
+                .categoryName(info.name())
+                .categoryIcon(info.icon())
+                .categoryColor(info.color())
+                .total(Money.ofCents(categoryTotals[category] - cents[0][category], currency).toBigDecimal())
+                .amounts(amounts)
+                .deltas(changes)
+                .monthOverMonthChange(percentages)
+                .build());
+        }
+        categories.sort(Comparator.comparing(MonthlyComparisonDTO.CategoryTrend::getTotal).reversed());
+
+        return MonthlyComparisonDTO.builder()
+            .months(monthLabels)
+            .monthTotals(totals)
+            .categories(categories)
+            .build();
     }
 
     /**
-     * Calculate total amount from expense list
+     * Whether a category column has no spend in any requested month (row 0 is the leading month)
      */
-    private BigDecimal calculateTotal(List<Expense> expenses) {
-        return expenses.stream()
-            .map(Expense::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private boolean allZero(long[][] cents, int category) {
+        for (int month = 1; month < cents.length; month++) {
+            if (cents[month][category] != 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Calculate percentage change between two values
+     * Memoized dashboard inputs for a user; concurrent section requests of one page load
+     * share a single load, which is reused until the TTL expires or the day changes
      */
-    private Double calculatePercentageChange(BigDecimal oldValue, BigDecimal newValue) {
-        if (oldValue.compareTo(BigDecimal.ZERO) == 0) {
-            return newValue.compareTo(BigDecimal.ZERO) == 0 ? 0.0 : 100.0;
+    private Snapshot snapshot(Long userId) {
+        long now = clock.millis();
+        LocalDate today = LocalDate.now(clock);
+
+        while (true) {
+            Memo memo = snapshots.get(userId);
+            if (memo != null && memo.expiresAtMillis() > now && memo.today().equals(today)) {
+                return memo.snapshot().join();
+            }
+
+            Memo fresh = new Memo(today, now + memoTtl.toMillis(), new CompletableFuture<>());
+            boolean installed = memo == null
+                ? snapshots.putIfAbsent(userId, fresh) == null
+                : snapshots.replace(userId, memo, fresh);
+            if (!installed) {
+                continue;
+            }
+
+            try {
+                fresh.snapshot().complete(loadSnapshot(userId, today));
+            } catch (RuntimeException e) {
+                snapshots.remove(userId, fresh);
+                fresh.snapshot().completeExceptionally(e);
+                throw e;
+            }
+            return fresh.snapshot().join();
         }
+    }
 
-        BigDecimal change = newValue.subtract(oldValue);
-        BigDecimal percentageChange = change.divide(oldValue, 4, RoundingMode.HALF_UP)
-            .multiply(BigDecimal.valueOf(100));
+    /**
+     * Load the rollup cells every current-dashboard section needs, plus the budget limits and currency
+     */
+    private Snapshot loadSnapshot(Long userId, LocalDate today) {
+        LocalDate startOfLastMonth = YearMonth.from(today).minusMonths(1).atDay(1);
+        LocalDate startOfDailySeries = today.minusDays(DAILY_SERIES_DAYS);
+
+        // One rollup read covers this month, last month and the 30-day series
+        LocalDate rangeStart = startOfDailySeries.isBefore(startOfLastMonth) ? startOfDailySeries : startOfLastMonth;
+        List<DailyCategorySpendProjection> cells = rollupRepository
+            .findCellsByUserIdAndDateRange(userId, rangeStart, YearMonth.from(today).atEndOfMonth());
 
-        return percentageChange.doubleValue();
+        return new Snapshot(today, cells, budgetService.getBudgetLimitsMap(userId), userService.getCurrency(userId));
     }
 
     /**
-     * Generate category breakdown for pie chart
+     * Current-month per-category totals of a snapshot
      */
-    private List<DashboardStatsDTO.CategorySummary> generateCategoryBreakdown(
-        List<Expense> expenses, BigDecimal total
+    private List<CategorySpendProjection> currentMonthTotals(Snapshot snapshot) {
+        YearMonth thisMonth = YearMonth.from(snapshot.today());
+        return totalsByCategory(snapshot.cells(), thisMonth.atDay(1), thisMonth.atEndOfMonth());
+    }
+
+    /**
+     * Daily series for the last 30 days of a snapshot
+     */
+    private List<DashboardStatsDTO.DailySpending> dailySpending(Snapshot snapshot) {
+        return generateDailySpending(snapshot.cells(), snapshot.today().minusDays(DAILY_SERIES_DAYS), snapshot.today(),
+            snapshot.currency());
+    }
+
+    /**
+     * Fold rollup cells within a date range into per-category totals
+     */
+    private List<CategorySpendProjection> totalsByCategory(
+        List<DailyCategorySpendProjection> cells, LocalDate startDate, LocalDate endDate
     ) {
-        Map<String, List<Expense>> expensesByCategory = expenses.stream()
-            .collect(Collectors.groupingBy(e -> e.getCategory().getName()));
+        Map<Long, long[]> totals = new HashMap<>();
+        for (DailyCategorySpendProjection cell : cells) {
+            if (!cell.date().isBefore(startDate) && !cell.date().isAfter(endDate)) {
+                long[] total = totals.computeIfAbsent(cell.categoryId(), id -> new long[2]);
+                total[0] += cell.totalCents();
+                total[1] += cell.transactionCount();
+            }
+        }
 
-        return expensesByCategory.entrySet().stream()
-            .map(entry -> {
-                String categoryName = entry.getKey();
-                List<Expense> categoryExpenses = entry.getValue();
-                BigDecimal categoryTotal = calculateTotal(categoryExpenses);
+        List<CategorySpendProjection> categoryTotals = new ArrayList<>(totals.size());
+        totals.forEach((categoryId, total) ->
+            categoryTotals.add(new CategorySpendProjection(categoryId, total[0], total[1])));
+        return categoryTotals;
+    }
+
+    /**
+     * Sum rollup cells within a date range in cents
+     */
+    private long sumCents(List<DailyCategorySpendProjection> cells, LocalDate startDate, LocalDate endDate) {
+        long cents = 0;
+        for (DailyCategorySpendProjection cell : cells) {
+            if (!cell.date().isBefore(startDate) && !cell.date().isAfter(endDate)) {
+                cents += cell.totalCents();
+            }
+        }
+        return cents;
+    }
+
+    /**
+     * Sum category totals in cents
+     */
+    private long sumCents(List<CategorySpendProjection> categoryTotals) {
+        return categoryTotals.stream().mapToLong(CategorySpendProjection::totalCents).sum();
+    }
+
+    /**
+     * Sum transaction counts of category totals
+     */
+    private int countTransactions(List<CategorySpendProjection> categoryTotals) {
+        return (int) categoryTotals.stream().mapToLong(CategorySpendProjection::transactionCount).sum();
+    }
+
+    /**
+     * Get the five largest expenses in a date range
+     */
+    private List<ExpenseResponseDTO> getTopExpenses(Long userId, LocalDate startDate, LocalDate endDate) {
+        return expenseRepository.findTopByUserIdAndDateRange(userId, startDate, endDate, Limit.of(TOP_EXPENSES))
+            .stream()
+            .map(this::toExpenseResponseDTO)
+            .collect(Collectors.toList());
+    }
 
-                Category category = categoryExpenses.get(0).getCategory();
+    /**
+     * Calculate percentage change between two values
+     */
+    private Double calculatePercentageChange(Money oldValue, Money newValue) {
+        if (oldValue.isZero()) {
+            return newValue.isZero() ? 0.0 : 100.0;
+        }
+
+        return newValue.minus(oldValue).percentOf(oldValue);
+    }
 
-                Double percentage = total.compareTo(BigDecimal.ZERO) == 0 ? 0.0 :
-                    categoryTotal.divide(total, 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100)).doubleValue();
+    /**
+     * Generate category breakdown for pie chart
+     */
+    private List<DashboardStatsDTO.CategorySummary> generateCategoryBreakdown(
+        List<CategorySpendProjection> categoryTotals, Money total
+    ) {
+        return categoryTotals.stream()
+            .map(categoryTotal -> {
+                CategoryInfo category = categoryService.getCategoryInfo(categoryTotal.categoryId());
+                Money amount = Money.ofCents(categoryTotal.totalCents(), total.currency());
 
                 return DashboardStatsDTO.CategorySummary.builder()
-                    .categoryName(categoryName)
-                    .categoryIcon(category.getIcon())
-                    .categoryColor(category.getColor())
-                    .totalAmount(categoryTotal)
-                    .transactionCount(categoryExpenses.size())
-                    .percentage(percentage)
+                    .categoryName(category.name())
+                    .categoryIcon(category.icon())
+                    .categoryColor(category.color())
+                    .totalAmount(amount.toBigDecimal())
+                    .transactionCount(categoryTotal.transactionCount().intValue())
+                    .percentage(amount.percentOf(total))
                     .build();
             })
             .sorted(Comparator.comparing(DashboardStatsDTO.CategorySummary::getTotalAmount).reversed())
@@ -193,23 +388,27 @@ public class DashboardServiceImpl implements DashboardService {
      * Generate daily spending data for line chart
      */
     private List<DashboardStatsDTO.DailySpending> generateDailySpending(
-        Long userId, LocalDate startDate, LocalDate endDate
+        List<DailyCategorySpendProjection> cells, LocalDate startDate, LocalDate endDate, Currency currency
     ) {
-        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
-
-        Map<LocalDate, List<Expense>> expensesByDate = expenses.stream()
-            .collect(Collectors.groupingBy(Expense::getExpenseDate));
-
-        List<DashboardStatsDTO.DailySpending> dailySpending = new ArrayList<>();
+        int days = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, endDate) + 1);
+        long[] cents = new long[days];
+        int[] counts = new int[days];
+
+        for (DailyCategorySpendProjection cell : cells) {
+            if (!cell.date().isBefore(startDate) && !cell.date().isAfter(endDate)) {
+                int day = (int) ChronoUnit.DAYS.between(startDate, cell.date());
+                cents[day] += cell.totalCents();
+                counts[day] += cell.transactionCount();
+            }
+        }
 
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            List<Expense> dayExpenses = expensesByDate.getOrDefault(date, Collections.emptyList());
-            BigDecimal dayTotal = calculateTotal(dayExpenses);
+        List<DashboardStatsDTO.DailySpending> dailySpending = new ArrayList<>(days);
 
+        for (int day = 0; day < days; day++) {
             dailySpending.add(DashboardStatsDTO.DailySpending.builder()
-                .date(date.toString())
-                .amount(dayTotal)
-                .transactionCount(dayExpenses.size())
+                .date(startDate.plusDays(day).toString())
+                .amount(Money.ofCents(cents[day], currency).toBigDecimal())
+                .transactionCount(counts[day])
                 .build());
         }
 
@@ -219,41 +418,33 @@ public class DashboardServiceImpl implements DashboardService {
     /**
      * Generate budget status for all categories
      */
-    private List<DashboardStatsDTO.BudgetStatus> generateBudgetStatus(List<Expense> expenses) {
-        Map<String, BigDecimal> spentByCategory = expenses.stream()
-            .collect(Collectors.groupingBy(
-                e -> e.getCategory().getName(),
-                Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-            ));
-
-        // Get dynamic budget limits from BudgetService
-        Long userId = expenses.isEmpty() ? null : expenses.get(0).getUser().getId();
-        Map<String, Double> budgetLimits = userId != null ?
-            budgetService.getBudgetLimitsMap(userId) :
-            getDefaultBudgetLimits();
-
-        return budgetLimits.entrySet().stream()
+    private List<DashboardStatsDTO.BudgetStatus> generateBudgetStatus(Long userId, Snapshot snapshot) {
+        Currency currency = snapshot.currency();
+
+        // Current-month spend from the in-memory aggregate
+        Map<String, Money> spentByCategory = new HashMap<>();
+        periodSpendService.getSpentByCategory(userId, BudgetPeriod.MONTHLY, currency).forEach((categoryId, spent) ->
+            spentByCategory.merge(categoryService.getCategoryInfo(categoryId).name(), spent, Money::plus));
+
+        return snapshot.budgetLimits().entrySet().stream()
             .map(entry -> {
                 String categoryName = entry.getKey();
-                BigDecimal budgetLimit = BigDecimal.valueOf(entry.getValue());
-                BigDecimal spent = spentByCategory.getOrDefault(categoryName, BigDecimal.ZERO);
-                BigDecimal remaining = budgetLimit.subtract(spent);
-
-                Double percentageUsed = budgetLimit.compareTo(BigDecimal.ZERO) == 0 ? 0.0 :
-                    spent.divide(budgetLimit, 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100)).doubleValue();
+                Money budgetLimit = Money.of(BigDecimal.valueOf(entry.getValue()), currency);
+                Money spent = spentByCategory.getOrDefault(categoryName, Money.zero(currency));
 
-                // Get category icon from database
-                String icon = getCategoryIcon(categoryName);
+                // Get category icon from the in-memory registry
+                String icon = categoryService.findCategoryInfo(categoryName)
+                    .map(CategoryInfo::icon)
+                    .orElse("📦");
 
                 return DashboardStatsDTO.BudgetStatus.builder()
                     .categoryName(categoryName)
                     .categoryIcon(icon)
-                    .budgetLimit(budgetLimit)
-                    .spent(spent)
-                    .remaining(remaining)
-                    .percentageUsed(percentageUsed)
-                    .isOverBudget(spent.compareTo(budgetLimit) > 0)
+                    .budgetLimit(budgetLimit.toBigDecimal())
+                    .spent(spent.toBigDecimal())
+                    .remaining(budgetLimit.minus(spent).toBigDecimal())
+                    .percentageUsed(spent.percentOf(budgetLimit))
+                    .isOverBudget(spent.isGreaterThan(budgetLimit))
                     .build();
             })
             .sorted(Comparator.comparing(DashboardStatsDTO.BudgetStatus::getPercentageUsed).reversed())
@@ -261,27 +452,22 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     /**
-     * Get category icon from database
+     * Convert expense projection to DTO
      */
-    private String getCategoryIcon(String categoryName) {
-        return categoryRepository.findByName(categoryName)
-            .map(Category::getIcon)
-            .orElse("📦");
+    private ExpenseResponseDTO toExpenseResponseDTO(ExpenseProjection expense) {
+        return ExpenseMappingHelper.toResponseDTO(expense, categoryService.getCategoryInfo(expense.categoryId()));
     }
 
     /**
-     * Convert Expense entity to DTO
+     * Rollup cells, budget limits and the user's currency shared by all current-dashboard sections
      */
-    private ExpenseResponseDTO toExpenseResponseDTO(Expense expense) {
-        return ExpenseResponseDTO.builder()
-            .id(expense.getId())
-            .amount(expense.getAmount())
-            .currency(expense.getCurrency())
-            .categoryName(expense.getCategory().getName())
-            .categoryIcon(expense.getCategory().getIcon())
-            .description(expense.getDescription())
-            .expenseDate(expense.getExpenseDate())
-            .build();
+    private record Snapshot(LocalDate today, List<DailyCategorySpendProjection> cells, Map<String, Double> budgetLimits,
+                            Currency currency) {
     }
-}
 
+    /**
+     * A snapshot being loaded or loaded, with the day and time it is valid for
+     */
+    private record Memo(LocalDate today, long expiresAtMillis, CompletableFuture<Snapshot> snapshot) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.config.ReadWriteRoutingDataSource;
+import com.finance.concierge.dto.DashboardDeltaDTO;
+import com.finance.concierge.dto.DashboardStatsDTO;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.CategorySpendProjection;
+import com.finance.concierge.repository.projection.DailySpendProjection;
+import com.finance.concierge.service.BudgetService;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.CategoryService.CategoryInfo;
+import com.finance.concierge.service.DashboardStreamService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.util.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of DashboardStreamService
+ * Subscribers are kept per user in concurrent sets, so publishing is a lock-free walk over the
+ * user's sinks. Every subscriber has its own bounded buffer that drops the oldest delta when the
+ * client falls behind. Deltas are built once per committed change, and only when the user has
+ * a subscriber
+ */
+@Slf4j
+@Service
+public class DashboardStreamServiceImpl implements DashboardStreamService {
+
+    private final DailySpendRollupRepository rollupRepository;
+    private final CategoryService categoryService;
+    private final BudgetService budgetService;
+    private final UserService userService;
+    private final Clock clock;
+    private final TransactionTemplate readTransaction;
+
+    @Value("${app.dashboard.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${app.dashboard.stream.heartbeat:PT25S}")
+    private Duration heartbeat;
+
+    private final Map<Long, Set<FluxSink<DashboardDeltaDTO>>> subscribers = new ConcurrentHashMap<>();
+
+    public DashboardStreamServiceImpl(DailySpendRollupRepository rollupRepository, CategoryService categoryService,
+                                      BudgetService budgetService, UserService userService, Clock clock,
+                                      PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.categoryService = categoryService;
+        this.budgetService = budgetService;
+        this.userService = userService;
+        this.clock = clock;
+        // Runs after the writer's commit, so it needs its own transaction on the primary
+        this.readTransaction = ReadWriteRoutingDataSource.primaryReadTemplate(transactionManager);
+    }
+
+    @Override
+    public Flux<ServerSentEvent<DashboardDeltaDTO>> subscribe(Long userId) {
+        Flux<ServerSentEvent<DashboardDeltaDTO>> deltas = Flux.<DashboardDeltaDTO>create(sink -> {
+                register(userId, sink);
+                sink.onDispose(() -> unregister(userId, sink));
+            })
+            .onBackpressureBuffer(bufferSize,
+                dropped -> log.debug("Dropped a dashboard delta for a slow subscriber of user {}", userId),
+                BufferOverflowStrategy.DROP_OLDEST)
+            .map(delta -> ServerSentEvent.builder(delta).event("delta").build());
+
+        // Keeps idle connections open through proxies; a tick nobody has asked for is skipped
+        Flux<ServerSentEvent<DashboardDeltaDTO>> keepAlive = Flux.interval(heartbeat)
+            .onBackpressureDrop()
+            .map(tick -> ServerSentEvent.<DashboardDeltaDTO>builder().comment("keep-alive").build());
+
+        // Prefetch of one, so deltas wait in the bounded buffer rather than in the merge
+        return Flux.merge(1, deltas, keepAlive);
+    }
+
+    @Override
+    public void publish(Long userId, DashboardDeltaDTO delta) {
+        Set<FluxSink<DashboardDeltaDTO>> sinks = subscribers.get(userId);
+        if (sinks != null) {
+            sinks.forEach(sink -> sink.next(delta));
+        }
+    }
+
+    @Override
+    public int getSubscriberCount(Long userId) {
+        Set<FluxSink<DashboardDeltaDTO>> sinks = subscribers.get(userId);
+        return sinks == null ? 0 : sinks.size();
+    }
+
+    /**
+     * Push the dashboard entries a committed expense change touched
+     * Covers every write path, since they all publish ExpenseChangedEvent
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        if (getSubscriberCount(event.userId()) == 0) {
+            return;
+        }
+
+        try {
+            DashboardDeltaDTO delta = readTransaction.execute(status -> buildDelta(event));
+            if (delta != null) {
+                publish(event.userId(), delta);
+            }
+        } catch (RuntimeException e) {
+            // The write is committed either way; the client catches up on its next full load
+            log.warn("Could not build dashboard delta for user {}", event.userId(), e);
+        }
+    }
+
+    /**
+     * Read the new values of the touched categories and days, or null when the change lies
+     * outside everything the dashboard shows
+     */
+    private DashboardDeltaDTO buildDelta(ExpenseChangedEvent event) {
+        Long userId = event.userId();
+        LocalDate today = LocalDate.now(clock);
+        YearMonth thisMonth = YearMonth.from(today);
+        LocalDate seriesStart = today.minusDays(DashboardServiceImpl.DAILY_SERIES_DAYS);
+
+        Set<Long> categories = new LinkedHashSet<>();
+        SortedSet<LocalDate> days = new TreeSet<>();
+        Stream.of(event.before(), event.after()).filter(Objects::nonNull).forEach(snapshot -> {
+            LocalDate date = snapshot.expenseDate();
+            if (YearMonth.from(date).equals(thisMonth)) {
+                categories.add(snapshot.categoryId());
+            }
+            if (!date.isBefore(seriesStart) && !date.isAfter(today)) {
+                days.add(date);
+            }
+        });
+        if (categories.isEmpty() && days.isEmpty()) {
+            return null;
+        }
+
+        Currency currency = userService.getCurrency(userId);
+        DashboardDeltaDTO.DashboardDeltaDTOBuilder delta = DashboardDeltaDTO.builder()
+            .categoryTotals(List.of())
+            .dailySpending(dailySpending(userId, days, currency))
+            .budgetStatus(List.of());
+
+        if (!categories.isEmpty()) {
+            Map<Long, CategorySpendProjection> monthTotals = rollupRepository
+                .findCategoryTotalsByUserIdAndDateRange(userId, thisMonth.atDay(1), thisMonth.atEndOfMonth())
+                .stream()
+                .collect(Collectors.toMap(CategorySpendProjection::categoryId, Function.identity()));
+            Money total = Money.ofCents(
+                monthTotals.values().stream().mapToLong(CategorySpendProjection::totalCents).sum(), currency);
+
+            delta.totalSpentThisMonth(total.toBigDecimal())
+                .transactionCount((int) monthTotals.values().stream().mapToLong(CategorySpendProjection::transactionCount).sum())
+                .categoryTotals(categoryTotals(categories, monthTotals, total))
+                .budgetStatus(budgetStatus(userId, categories, monthTotals, currency));
+        }
+        return delta.build();
+    }
+
+    private List<DashboardStatsDTO.DailySpending> dailySpending(Long userId, SortedSet<LocalDate> days,
+                                                                Currency currency) {
+        if (days.isEmpty()) {
+            return List.of();
+        }
+
+        Map<LocalDate, DailySpendProjection> totals = rollupRepository
+            .findDailyTotalsByUserIdAndDateRange(userId, days.first(), days.last())
+            .stream()
+            .collect(Collectors.toMap(DailySpendProjection::date, Function.identity()));
+
+        return days.stream()
+            .map(day -> {
+                DailySpendProjection total = totals.get(day);
+                return DashboardStatsDTO.DailySpending.builder()
+                    .date(day.toString())
+                    .amount(Money.ofCents(total == null ? 0 : total.totalCents(), currency).toBigDecimal())
+                    .transactionCount(total == null ? 0 : total.transactionCount().intValue())
+                    .build();
+            })
+            .collect(Collectors.toList());
+    }
+
+    private List<DashboardStatsDTO.CategorySummary> categoryTotals(
+        Set<Long> categories, Map<Long, CategorySpendProjection> monthTotals, Money total
+    ) {
+        return categories.stream()
+            .map(categoryId -> {
+                CategoryInfo category = categoryService.getCategoryInfo(categoryId);
+                CategorySpendProjection categoryTotal = monthTotals.get(categoryId);
+                Money amount = Money.ofCents(categoryTotal == null ? 0 : categoryTotal.totalCents(), total.currency());
+
+                return DashboardStatsDTO.CategorySummary.builder()
+                    .categoryName(category.name())
+                    .categoryIcon(category.icon())
+                    .categoryColor(category.color())
+                    .totalAmount(amount.toBigDecimal())
+                    .transactionCount(categoryTotal == null ? 0 : categoryTotal.transactionCount().intValue())
+                    .percentage(amount.percentOf(total))
+                    .build();
+            })
+            .collect(Collectors.toList());
+    }
+
+    private List<DashboardStatsDTO.BudgetStatus> budgetStatus(
+        Long userId, Set<Long> categories, Map<Long, CategorySpendProjection> monthTotals, Currency currency
+    ) {
+        Map<String, Double> budgetLimits = budgetService.getBudgetLimitsMap(userId);
+        List<DashboardStatsDTO.BudgetStatus> statuses = new ArrayList<>();
+
+        for (Long categoryId : categories) {
+            CategoryInfo category = categoryService.getCategoryInfo(categoryId);
+            Double limit = budgetLimits.get(category.name());
+            if (limit == null) {
+                continue;
+            }
+
+            Money budgetLimit = Money.of(BigDecimal.valueOf(limit), currency);
+            CategorySpendProjection categoryTotal = monthTotals.get(categoryId);
+            Money spent = Money.ofCents(categoryTotal == null ? 0 : categoryTotal.totalCents(), currency);
+
+            statuses.add(DashboardStatsDTO.BudgetStatus.builder()
+                .categoryName(category.name())
+                .categoryIcon(category.icon())
+                .budgetLimit(budgetLimit.toBigDecimal())
+                .spent(spent.toBigDecimal())
+                .remaining(budgetLimit.minus(spent).toBigDecimal())
+                .percentageUsed(spent.percentOf(budgetLimit))
+                .isOverBudget(spent.isGreaterThan(budgetLimit))
+                .build());
+        }
+        return statuses;
+    }
+
+    private void register(Long userId, FluxSink<DashboardDeltaDTO> sink) {
+        subscribers.compute(userId, (id, sinks) -> {
+            Set<FluxSink<DashboardDeltaDTO>> userSinks = sinks != null ? sinks : ConcurrentHashMap.newKeySet();
+            userSinks.add(sink);
+            return userSinks;
+        });
+        log.debug("Dashboard stream opened for user {}", userId);
+    }
+
+    private void unregister(Long userId, FluxSink<DashboardDeltaDTO> sink) {
+        // Removing the emptied set under the same per-key lock keeps a concurrent register from losing its sink
+        subscribers.computeIfPresent(userId, (id, sinks) -> {
+            sinks.remove(sink);
+            return sinks.isEmpty() ? null : sinks;
+        });
+        log.debug("Dashboard stream closed for user {}", userId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.UserDataChangedEvent;
+import com.finance.concierge.repository.UserDataVersionRepository;
+import com.finance.concierge.service.DataVersionService;
+import com.finance.concierge.util.UserCacheUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Implementation of DataVersionService
+ * Versions live in memory; the database copy is read once per user after a restart and
+ * written on every bump. Memory only ever moves forward (max of the known and committed value),
+ * and only after every per-user cache has dropped what the commit made stale
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final UserDataVersionRepository versionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    private final Map<Long, Long> versions = UserCacheUtil.newCache();
+
+    @Override
+    public long getVersion(Long userId) {
+        return versions.computeIfAbsent(userId, id -> versionRepository.findVersionByUserId(id).orElse(0L));
+    }
+
+    @Override
+    public String getETag(Long userId) {
+        return "W/\"" + getVersion(userId) + "-" + LocalDate.now(clock) + "\"";
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId) {
+        bump(userId, false);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpBudgets(Long userId) {
+        bump(userId, true);
+    }
+
+    private void bump(Long userId, boolean budgetsChanged) {
+        versionRepository.increment(userId);
+        long version = versionRepository.findVersionByUserId(userId).orElseThrow();
+        log.debug("Data version of user {} is now {}", userId, version);
+
+        // Publishing before commit would let a reader cache old data under the new ETag
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Caches first: once the version moves, a reader must not find anything from before the commit
+                eventPublisher.publishEvent(new UserDataChangedEvent(userId, budgetsChanged));
+                versions.merge(userId, version, Math::max);
+            }
+        });
+    }
+
+    /**
+     * Every expense create, update and delete changes what the user's views show
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        bump(event.userId());
+    }
+}
@@ -0,0 +1,119 @@
+package com.finance.concierge.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.concierge.repository.ExpenseRepository;
+import com.finance.concierge.repository.projection.ExpenseProjection;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.ExpenseExportService;
+import com.opencsv.CSVWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ExpenseExportService
+ * Streams rows straight from the database to the response without materializing them
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseExportServiceImpl implements ExpenseExportService {
+
+    private final ExpenseRepository expenseRepository;
+    private final CategoryService categoryService;
+    private final ObjectMapper objectMapper;
+
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+    private static final String[] CSV_HEADER = {"Id", "Date", "Category", "Amount", "Currency", "Description"};
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportExpenses(Long userId, LocalDate startDate, LocalDate endDate, Format format, OutputStream out)
+            throws IOException {
+        log.info("Exporting expenses for user {} from {} to {} as {}", userId, startDate, endDate, format);
+
+        // Category names come from the in-memory registry; load it now, since no other query can run
+        // on the connection while the rows stream
+        categoryService.getDefaultMonthlyBudgets();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+
+        long rowCount;
+        try (Stream<ExpenseProjection> rows = expenseRepository.streamByUserIdAndDateRange(userId, startDate, endDate)) {
+            rowCount = switch (format) {
+                case CSV -> writeCsv(rows.iterator(), writer);
+                case NDJSON -> writeNdjson(rows.iterator(), writer);
+            };
+        }
+        writer.flush();
+
+        log.info("Exported {} expenses for user {}", rowCount, userId);
+        return rowCount;
+    }
+
+    /**
+     * Write rows as CSV, flushing the header first so the client sees bytes immediately
+     */
+    private long writeCsv(Iterator<ExpenseProjection> rows, Writer writer) throws IOException {
+        CSVWriter csvWriter = new CSVWriter(writer);
+        csvWriter.writeNext(CSV_HEADER);
+        csvWriter.flush();
+
+        long count = 0;
+        String[] line = new String[CSV_HEADER.length];
+        while (rows.hasNext()) {
+            ExpenseProjection row = rows.next();
+            line[0] = String.valueOf(row.id());
+            line[1] = row.expenseDate().toString();
+            line[2] = categoryService.getCategoryInfo(row.categoryId()).name();
+            line[3] = row.amount().toPlainString();
+            line[4] = row.currency();
+            line[5] = row.description();
+            csvWriter.writeNext(line);
+            count++;
+        }
+        csvWriter.flush();
+        return count;
+    }
+
+    /**
+     * Write rows as newline-delimited JSON objects through a single reusable generator
+     */
+    private long writeNdjson(Iterator<ExpenseProjection> rows, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Records are separated by explicit newlines, not Jackson's default root separator
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                ExpenseProjection row = rows.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.id());
+                generator.writeStringField("date", row.expenseDate().toString());
+                generator.writeStringField("category", categoryService.getCategoryInfo(row.categoryId()).name());
+                generator.writeNumberField("amount", row.amount());
+                generator.writeStringField("currency", row.currency());
+                generator.writeStringField("description", row.description());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (count == 0) {
+                    generator.flush();
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -1,17 +1,31 @@
 package com.finance.concierge.service.impl;
 
+import com.finance.concierge.dto.ExpensePageDTO;
+import com.finance.concierge.dto.ExpenseRequestDTO;
+import com.finance.concierge.dto.ExpenseResponseDTO;
 import com.finance.concierge.dto.ParsedExpenseDTO;
 import com.finance.concierge.entity.Category;
 import com.finance.concierge.entity.Expense;
 import com.finance.concierge.entity.User;
+import com.finance.concierge.event.ExpenseChangedEvent;
 import com.finance.concierge.exception.ResourceNotFoundException;
+import com.finance.concierge.helper.ExpenseMappingHelper;
 import com.finance.concierge.repository.CategoryRepository;
+import com.finance.concierge.repository.DailySpendRollupRepository;
 import com.finance.concierge.repository.ExpenseRepository;
 import com.finance.concierge.repository.UserRepository;
+import com.finance.concierge.repository.projection.ExpenseProjection;
+import com.finance.concierge.service.CategoryService;
+import com.finance.concierge.service.CategoryService.CategoryInfo;
 import com.finance.concierge.service.ExpenseAIParserService;
 import com.finance.concierge.service.ExpenseService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.util.ExpenseCursorUtil;
+import com.finance.concierge.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +33,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of ExpenseService
@@ -33,6 +49,14 @@ public class ExpenseServiceImpl implements ExpenseService {
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final ExpenseAIParserService aiParserService;
+    private final CategoryService categoryService;
+    private final DailySpendRollupRepository rollupRepository;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Largest value a DATE column holds, so an open-ended page starts after every expense
+    private static final LocalDate MAX_EXPENSE_DATE = LocalDate.of(9999, 12, 31);
 
     @Override
     @Transactional
@@ -60,7 +84,9 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .user(user)
                 .category(category)
                 .amount(parsedData.getAmount())
-                .currency(parsedData.getCurrency() != null ? parsedData.getCurrency() : "USD")
+                .currency(parsedData.getCurrency() != null
+                        ? parsedData.getCurrency()
+                        : Money.currencyOf(user.getCurrencyCode()).getCurrencyCode())
                 .description(parsedData.getDescription())
                 .expenseDate(LocalDate.now())
                 .aiParsed(true)
@@ -68,6 +94,7 @@ public class ExpenseServiceImpl implements ExpenseService {
                 .build();
 
         Expense saved = expenseRepository.save(expense);
+        eventPublisher.publishEvent(ExpenseChangedEvent.created(userId, saved.getId(), snapshotOf(saved)));
         log.info("Expense created successfully with ID: {}", saved.getId());
 
         return saved;
@@ -94,29 +121,144 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
 
     @Override
-    public List<Expense> getExpensesByCategory(Long userId, String categoryName) {
+    @Transactional
+    public ExpenseResponseDTO updateExpense(Long userId, Long expenseId, ExpenseRequestDTO request) {
+        log.info("Updating expense {} for user {}", expenseId, userId);
+
+        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId));
+        ExpenseChangedEvent.Snapshot before = snapshotOf(expense);
+
+        if (request.getCategoryId() != null || request.getCategoryName() != null) {
+            Category category = request.getCategoryId() != null
+                    ? categoryRepository.findById(request.getCategoryId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + request.getCategoryId()))
+                    : categoryRepository.findByNameIgnoreCase(request.getCategoryName())
+                        .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + request.getCategoryName()));
+            if (!category.getIsActive()) {
+                throw new IllegalArgumentException("Category is not active: " + category.getName());
+            }
+            expense.setCategory(category);
+        }
+        if (request.getAmount() != null) {
+            if (request.getAmount().signum() <= 0) {
+                throw new IllegalArgumentException("Amount must be positive");
+            }
+            expense.setAmount(request.getAmount());
+        }
+        if (request.getCurrency() != null) {
+            expense.setCurrency(request.getCurrency());
+        }
+        if (request.getDescription() != null) {
+            expense.setDescription(request.getDescription());
+        }
+        if (request.getExpenseDate() != null) {
+            expense.setExpenseDate(request.getExpenseDate());
+        }
+
+        Expense saved = expenseRepository.save(expense);
+        ExpenseChangedEvent.Snapshot after = snapshotOf(saved);
+        if (!before.equals(after)) {
+            eventPublisher.publishEvent(ExpenseChangedEvent.updated(userId, saved.getId(), before, after));
+        }
+
+        return ExpenseMappingHelper.toResponseDTO(saved, categoryService.getCategoryInfo(after.categoryId()));
+    }
+
+    @Override
+    @Transactional
+    public void deleteExpense(Long userId, Long expenseId) {
+        log.info("Deleting expense {} for user {}", expenseId, userId);
+
+        Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + expenseId));
+
+        expenseRepository.delete(expense);
+        eventPublisher.publishEvent(ExpenseChangedEvent.deleted(userId, expenseId, snapshotOf(expense)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExpenseResponseDTO> getExpensesByCategory(Long userId, String categoryName) {
         log.debug("Getting expenses for user {} and category {}", userId, categoryName);
-        return expenseRepository.findByUserIdAndCategoryName(userId, categoryName);
+
+        CategoryInfo category = categoryService.findCategoryInfo(categoryName).orElse(null);
+        if (category == null) {
+            return List.of();
+        }
+        return toResponseDTOs(expenseRepository.findByUserIdAndCategoryId(userId, category.id()));
     }
 
     @Override
-    public List<Expense> getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public List<ExpenseResponseDTO> getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
         log.debug("Getting expenses for user {} between {} and {}", userId, startDate, endDate);
-        return expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate);
+        return toResponseDTOs(expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpensePageDTO getExpensePage(Long userId, String categoryName, LocalDate startDate, LocalDate endDate,
+                                         String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDate to = endDate != null ? endDate : MAX_EXPENSE_DATE;
+
+        // First page starts just after the newest possible position
+        LocalDate cursorDate = to;
+        Long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            ExpenseCursorUtil.Position position = ExpenseCursorUtil.decode(cursor);
+            cursorDate = position.expenseDate();
+            cursorId = position.id();
+        }
+
+        log.debug("Getting expense page for user {} (category: {}, {} to {}, after {}:{}, size {})",
+                userId, categoryName, startDate, to, cursorDate, cursorId, pageSize);
+
+        // Fetch one extra row to learn whether another page exists without running a COUNT
+        Limit limit = Limit.of(pageSize + 1);
+        List<ExpenseProjection> rows;
+        if (categoryName != null && !categoryName.isBlank()) {
+            CategoryInfo category = categoryService.findCategoryInfo(categoryName)
+                    .orElseThrow(() -> new ResourceNotFoundException("Category not found: " + categoryName));
+            rows = expenseRepository.findPageByUserIdCategoryAndDateRange(
+                    userId, category.id(), startDate, to, cursorDate, cursorId, limit);
+        } else {
+            rows = expenseRepository.findPageByUserIdAndDateRange(userId, startDate, to, cursorDate, cursorId, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ExpenseProjection> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ExpenseProjection last = page.get(page.size() - 1);
+            nextCursor = ExpenseCursorUtil.encode(last.expenseDate(), last.id());
+        }
+
+        return ExpensePageDTO.builder()
+                .expenses(toResponseDTOs(page))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(page.size())
+                .build();
     }
 
     @Override
     public BigDecimal getTotalSpentByCategory(Long userId, String categoryName) {
         log.debug("Calculating total spent for user {} in category {}", userId, categoryName);
-        BigDecimal total = expenseRepository.sumAmountByUserIdAndCategoryName(userId, categoryName);
-        return total != null ? total : BigDecimal.ZERO;
+        Optional<CategoryInfo> category = categoryService.findCategoryInfo(categoryName);
+        if (category.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        return toAmount(userId, rollupRepository.sumCentsByUserIdAndCategoryId(userId, category.get().id()));
     }
 
     @Override
     public BigDecimal getTotalSpentInDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
         log.debug("Calculating total spent for user {} between {} and {}", userId, startDate, endDate);
-        BigDecimal total = expenseRepository.sumAmountByUserIdAndDateRange(userId, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        return toAmount(userId, rollupRepository.sumCentsByUserIdAndDateRange(userId, startDate, endDate));
     }
 
     @Override
@@ -124,13 +266,17 @@ public class ExpenseServiceImpl implements ExpenseService {
                                                          LocalDate startDate, LocalDate endDate) {
         log.debug("Calculating total spent for user {} in category {} between {} and {}",
                 userId, categoryName, startDate, endDate);
-        BigDecimal total = expenseRepository.sumAmountByUserIdCategoryAndDateRange(
-                userId, categoryName, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        Optional<CategoryInfo> category = categoryService.findCategoryInfo(categoryName);
+        if (category.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        return toAmount(userId, rollupRepository.sumCentsByUserIdCategoryAndDateRange(
+                userId, category.get().id(), startDate, endDate));
     }
 
     @Override
-    public List<Expense> getCurrentMonthExpenses(Long userId) {
+    public List<ExpenseResponseDTO> getCurrentMonthExpenses(Long userId) {
         YearMonth currentMonth = YearMonth.now();
         LocalDate startDate = currentMonth.atDay(1);
         LocalDate endDate = currentMonth.atEndOfMonth();
@@ -147,5 +293,28 @@ public class ExpenseServiceImpl implements ExpenseService {
 
         return getTotalSpentInDateRange(userId, startDate, endDate);
     }
-}
 
+    /**
+     * Capture the aggregate-relevant fields of an expense
+     */
+    private ExpenseChangedEvent.Snapshot snapshotOf(Expense expense) {
+        return new ExpenseChangedEvent.Snapshot(
+                expense.getCategory().getId(), expense.getExpenseDate(), expense.getAmount(), expense.getCurrency());
+    }
+
+    /**
+     * Rollup cents as an amount in the user's currency
+     */
+    private BigDecimal toAmount(Long userId, long cents) {
+        return Money.ofCents(cents, userService.getCurrency(userId)).toBigDecimal();
+    }
+
+    /**
+     * Convert expense projections to DTOs, resolving categories from the registry
+     */
+    private List<ExpenseResponseDTO> toResponseDTOs(List<ExpenseProjection> expenses) {
+        return expenses.stream()
+                .map(e -> ExpenseMappingHelper.toResponseDTO(e, categoryService.getCategoryInfo(e.categoryId())))
+                .collect(Collectors.toList());
+    }
+}
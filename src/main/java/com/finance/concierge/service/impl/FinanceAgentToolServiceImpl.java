@@ -1,11 +1,20 @@
 package com.finance.concierge.service.impl;
 
+import com.finance.concierge.dto.BudgetSimulationDTO;
+import com.finance.concierge.dto.BudgetSimulationRequestDTO;
 import com.finance.concierge.dto.ParsedExpenseDTO;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
 import com.finance.concierge.entity.Expense;
-import com.finance.concierge.repository.ExpenseRepository;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.CategorySpendProjection;
 import com.finance.concierge.service.BudgetService;
+import com.finance.concierge.service.BudgetSimulationService;
+import com.finance.concierge.service.CategoryService;
 import com.finance.concierge.service.ExpenseService;
 import com.finance.concierge.service.FinanceAgentToolService;
+import com.finance.concierge.service.PeriodSpendService;
+import com.finance.concierge.service.UserService;
+import com.finance.concierge.util.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,9 +26,11 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Currency;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 import com.opencsv.CSVWriter;
 
@@ -33,20 +44,14 @@ import com.opencsv.CSVWriter;
 public class FinanceAgentToolServiceImpl implements FinanceAgentToolService {
 
     private final ExpenseService expenseService;
-    private final ExpenseRepository expenseRepository;
+    private final DailySpendRollupRepository rollupRepository;
     private final BudgetService budgetService;
+    private final CategoryService categoryService;
+    private final PeriodSpendService periodSpendService;
+    private final BudgetSimulationService budgetSimulationService;
+    private final UserService userService;
 
     private static final String CSV_FILE = "expenses.csv";
-    private static final Map<String, Double> BUDGETS = Map.of(
-        "Food", 200.0,
-        "Transport", 100.0,
-        "Entertainment", 150.0,
-        "Bills", 300.0,
-        "Shopping", 250.0,
-        "Health", 200.0,
-        "Education", 150.0,
-        "Other", 100.0
-    );
 
     @Override
     @Transactional
@@ -57,7 +62,7 @@ public class FinanceAgentToolServiceImpl implements FinanceAgentToolService {
             // 1. Save to database using ExpenseService
             ParsedExpenseDTO parsedExpense = ParsedExpenseDTO.success(
                 BigDecimal.valueOf(amount),
-                "USD",
+                userService.getCurrency(userId).getCurrencyCode(),
                 category,
                 description,
                 BigDecimal.valueOf(1.0) // High confidence since it's from agent parsing
@@ -83,7 +88,7 @@ public class FinanceAgentToolServiceImpl implements FinanceAgentToolService {
         log.debug("Getting budget status for category: {} (User: {})", category, userId);
 
         try {
-            // Try to get user's custom budget first
+            // User's own monthly budgets over the category defaults, cached per user
             Map<String, Double> budgetLimits = budgetService.getBudgetLimitsMap(userId);
 
             // Normalize category name
@@ -94,24 +99,22 @@ public class FinanceAgentToolServiceImpl implements FinanceAgentToolService {
 
             if (!budgetLimits.containsKey(normalizedCategory)) {
                 return Map.of("error", "No budget defined for category: " + category +
-                    ". Available categories: Food, Transport, Entertainment, Bills, Shopping, Health, Education, Other");
+                    ". Available categories: " + String.join(", ", new TreeSet<>(budgetLimits.keySet())));
             }
 
-            double budget = budgetLimits.get(normalizedCategory);
+            Currency currency = userService.getCurrency(userId);
+            Money budget = Money.of(BigDecimal.valueOf(budgetLimits.get(normalizedCategory)), currency);
 
-            // Calculate total spent from database
-            LocalDate startOfMonth = YearMonth.now().atDay(1);
-            LocalDate endOfMonth = YearMonth.now().atEndOfMonth();
+            // Current-month spend from the in-memory aggregate
+            Long categoryId = categoryService.findCategoryInfo(normalizedCategory)
+                .map(CategoryService.CategoryInfo::id)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found: " + normalizedCategory));
 
-            BigDecimal totalSpent = expenseService.getTotalSpentByCategoryInDateRange(
-                userId, normalizedCategory, startOfMonth, endOfMonth
-            );
-
-            double spent = totalSpent.doubleValue();
-            double remaining = budget - spent;
+            Money spent = periodSpendService.getSpent(userId, BudgetPeriod.MONTHLY, categoryId, currency);
+            Money remaining = budget.minus(spent);
 
             String result = String.format(
-                "You have spent $%.2f out of $%.2f on %s. Remaining: $%.2f.",
+                "You have spent %s out of %s on %s. Remaining: %s.",
                 spent, budget, normalizedCategory, remaining
             );
 
@@ -130,30 +133,87 @@ public class FinanceAgentToolServiceImpl implements FinanceAgentToolService {
         LocalDate startOfMonth = YearMonth.now().atDay(1);
         LocalDate endOfMonth = YearMonth.now().atEndOfMonth();
 
-        List<Expense> monthlyExpenses = expenseRepository.findByUserIdAndDateBetween(
+        List<CategorySpendProjection> monthlyTotals = rollupRepository.findCategoryTotalsByUserIdAndDateRange(
             userId, startOfMonth, endOfMonth
         );
 
-        Map<String, Double> categoryTotals = new HashMap<>();
-        double grandTotal = 0.0;
+        Map<String, Long> centsByCategory = new HashMap<>();
+        long grandTotalCents = 0;
+        long transactionCount = 0;
 
-        for (Expense expense : monthlyExpenses) {
-            String category = expense.getCategory().getName();
-            double amount = expense.getAmount().doubleValue();
+        for (CategorySpendProjection categoryTotal : monthlyTotals) {
+            String category = categoryService.getCategoryInfo(categoryTotal.categoryId()).name();
 
-            categoryTotals.merge(category, amount, Double::sum);
-            grandTotal += amount;
+            centsByCategory.merge(category, categoryTotal.totalCents(), Long::sum);
+            grandTotalCents += categoryTotal.totalCents();
+            transactionCount += categoryTotal.transactionCount();
         }
 
+        Currency currency = userService.getCurrency(userId);
+        Map<String, BigDecimal> categoryTotals = new HashMap<>();
+        centsByCategory.forEach((category, cents) ->
+            categoryTotals.put(category, Money.ofCents(cents, currency).toBigDecimal()));
+
         Map<String, Object> report = new HashMap<>();
         report.put("month", YearMonth.now().toString());
         report.put("categoryTotals", categoryTotals);
-        report.put("grandTotal", grandTotal);
-        report.put("transactionCount", monthlyExpenses.size());
+        report.put("grandTotal", Money.ofCents(grandTotalCents, currency).toBigDecimal());
+        report.put("transactionCount", (int) transactionCount);
 
         return report;
     }
 
+    @Override
+    public Map<String, String> simulateBudget(String category, double changePercent, Long userId) {
+        log.info("Simulating budgets for user: {} with {} changed by {}%", userId, category, changePercent);
+
+        try {
+            BudgetSimulationRequestDTO request = BudgetSimulationRequestDTO.builder()
+                .spendingChanges(category == null || category.isBlank() ? Map.of() : Map.of(category, changePercent))
+                .build();
+            BudgetSimulationDTO simulation = budgetSimulationService.simulate(userId, request);
+            String currencyCode = userService.getCurrency(userId).getCurrencyCode();
+
+            StringBuilder result = new StringBuilder();
+            if (category != null && !category.isBlank()) {
+                result.append(String.format("With %s spending changed by %+.0f%%, ", category, changePercent));
+            } else {
+                result.append("At your current pace, ");
+            }
+            result.append(String.format("%d simulated months end with about %s %s spent (90%% of them below %s %s). ",
+                simulation.getPaths(), simulation.getTotal().getExpectedSpend().toPlainString(), currencyCode,
+                simulation.getTotal().getP90Spend().toPlainString(), currencyCode));
+
+            BudgetSimulationDTO.TotalOutcome total = simulation.getTotal();
+            if (total.getBudgetLimit() == null) {
+                result.append("No total budget is set. ");
+            } else {
+                result.append(String.format("Chance of going over the total budget of %s %s: %.0f%%",
+                    total.getBudgetLimit().toPlainString(), currencyCode, total.getOverspendProbability() * 100));
+                result.append(total.getLikelyOverspendDate() != null
+                    ? ", with half of the simulations over it by " + total.getLikelyOverspendDate() + ". "
+                    : ". ");
+            }
+
+            // Categories come most at risk first
+            List<String> atRisk = simulation.getCategories().stream()
+                .filter(c -> c.getOverspendProbability() != null && c.getOverspendProbability() > 0)
+                .limit(5)
+                .map(c -> String.format("%s %.0f%% (budget %s %s)", c.getCategoryName(),
+                    c.getOverspendProbability() * 100, c.getBudgetLimit().toPlainString(), currencyCode))
+                .toList();
+            result.append(atRisk.isEmpty()
+                ? "No category budget is likely to be exceeded."
+                : "Chance of going over by category: " + String.join(", ", atRisk) + ".");
+
+            return Map.of("result", result.toString());
+
+        } catch (Exception e) {
+            log.error("Error simulating budgets: {}", e.getMessage(), e);
+            return Map.of("error", "Error simulating budgets: " + e.getMessage());
+        }
+    }
+
     /**
      * Save to CSV for backward compatibility
      */
@@ -0,0 +1,214 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.config.ReadWriteRoutingDataSource;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.CategorySpendProjection;
+import com.finance.concierge.service.PeriodSpendService;
+import com.finance.concierge.util.Money;
+import com.finance.concierge.util.UserCacheUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Implementation of PeriodSpendService
+ *
+ * Reads are lock-free: each (user, period) slot holds an immutable PeriodTotals that is
+ * replaced, never mutated. Writers and loaders of the same user serialize on that user's
+ * entry. A loaded window is only installed if no expense write for the user was in flight
+ * or completed while it was being read, so a load can never miss or double-count a write.
+ */
+@Slf4j
+@Service
+public class PeriodSpendServiceImpl implements PeriodSpendService {
+
+    private static final BudgetPeriod[] PERIODS = BudgetPeriod.values();
+
+    private final DailySpendRollupRepository rollupRepository;
+    private final Clock clock;
+    private final TransactionTemplate loadTransaction;
+    private final Map<Long, UserSpend> users = UserCacheUtil.newCache();
+
+    public PeriodSpendServiceImpl(DailySpendRollupRepository rollupRepository, Clock clock,
+                                  PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.clock = clock;
+        // Loads always read the primary in their own transaction, so replica lag cannot be cached
+        this.loadTransaction = ReadWriteRoutingDataSource.primaryReadTemplate(transactionManager);
+    }
+
+    @Override
+    public Money getSpent(Long userId, BudgetPeriod period, Long categoryId, Currency currency) {
+        return Money.ofCents(totals(userId, period).cents(categoryId), currency);
+    }
+
+    @Override
+    public Optional<Money> findCachedSpent(Long userId, BudgetPeriod period, Long categoryId, Currency currency) {
+        UserSpend user = users.get(userId);
+        PeriodTotals cached = user != null ? user.slots.get(period.ordinal()) : null;
+        if (cached == null || !cached.covers(LocalDate.now(clock))) {
+            return Optional.empty();
+        }
+        return Optional.of(Money.ofCents(cached.cents(categoryId), currency));
+    }
+
+    @Override
+    public Map<Long, Money> getSpentByCategory(Long userId, BudgetPeriod period, Currency currency) {
+        Map<Long, Money> spent = new HashMap<>();
+        totals(userId, period).centsByCategory().forEach((categoryId, cents) ->
+                spent.put(categoryId, Money.ofCents(cents, currency)));
+        return spent;
+    }
+
+    @Override
+    public void evict(Long userId) {
+        UserSpend user = users.get(userId);
+        if (user != null) {
+            clear(user);
+        }
+    }
+
+    private static void clear(UserSpend user) {
+        synchronized (user) {
+            for (int i = 0; i < PERIODS.length; i++) {
+                user.slots.set(i, null);
+            }
+            user.generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Track an expense change from inside its transaction and apply it once committed
+     */
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserSpend user = users.computeIfAbsent(event.userId(), id -> new UserSpend());
+        user.inFlight.incrementAndGet();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(user, event, true);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(user, event, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void complete(UserSpend user, ExpenseChangedEvent event, boolean committed) {
+        try {
+            synchronized (user) {
+                if (committed) {
+                    for (int i = 0; i < PERIODS.length; i++) {
+                        PeriodTotals totals = user.slots.get(i);
+                        if (totals != null) {
+                            user.slots.set(i, totals.apply(event.before(), -1).apply(event.after(), 1));
+                        }
+                    }
+                }
+                user.generation.incrementAndGet();
+            }
+        } finally {
+            user.inFlight.decrementAndGet();
+        }
+
+        // The entry may have expired mid-transaction; a replacement loaded meanwhile cannot have seen this write
+        UserSpend current = users.get(event.userId());
+        if (current != null && current != user) {
+            clear(current);
+        }
+    }
+
+    /**
+     * Current-period totals for a user: the cached window if it still covers today, otherwise a fresh load
+     */
+    private PeriodTotals totals(Long userId, BudgetPeriod period) {
+        LocalDate today = LocalDate.now(clock);
+        UserSpend user = users.computeIfAbsent(userId, id -> new UserSpend());
+
+        PeriodTotals cached = user.slots.get(period.ordinal());
+        if (cached != null && cached.covers(today)) {
+            return cached;
+        }
+
+        long generation = user.generation.get();
+        PeriodTotals loaded = load(userId, period.startOf(today), period.endOf(today));
+
+        synchronized (user) {
+            if (user.inFlight.get() == 0 && user.generation.get() == generation) {
+                user.slots.set(period.ordinal(), loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private PeriodTotals load(Long userId, LocalDate start, LocalDate end) {
+        log.debug("Loading {} to {} spend for user {}", start, end, userId);
+
+        List<CategorySpendProjection> rows = loadTransaction.execute(status ->
+                rollupRepository.findCategoryTotalsByUserIdAndDateRange(userId, start, end));
+
+        Map<Long, Long> centsByCategory = new HashMap<>();
+        long totalCents = 0;
+        for (CategorySpendProjection row : rows) {
+            centsByCategory.put(row.categoryId(), row.totalCents());
+            totalCents += row.totalCents();
+        }
+        return new PeriodTotals(start, end, Map.copyOf(centsByCategory), totalCents);
+    }
+
+    /**
+     * Cached windows and write bookkeeping for one user
+     */
+    private static final class UserSpend {
+        private final AtomicReferenceArray<PeriodTotals> slots = new AtomicReferenceArray<>(PERIODS.length);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong generation = new AtomicLong();
+    }
+
+    /**
+     * Immutable spend totals of one period window
+     */
+    private record PeriodTotals(LocalDate start, LocalDate end, Map<Long, Long> centsByCategory, long totalCents) {
+
+        boolean covers(LocalDate day) {
+            return !day.isBefore(start) && !day.isAfter(end);
+        }
+
+        long cents(Long categoryId) {
+            return categoryId == null ? totalCents : centsByCategory.getOrDefault(categoryId, 0L);
+        }
+
+        PeriodTotals apply(ExpenseChangedEvent.Snapshot snapshot, int sign) {
+            if (snapshot == null || !covers(snapshot.expenseDate())) {
+                return this;
+            }
+
+            long delta = sign * snapshot.cents();
+            Map<Long, Long> updated = new HashMap<>(centsByCategory);
+            updated.merge(snapshot.categoryId(), delta, Long::sum);
+            updated.values().removeIf(cents -> cents == 0L);
+            return new PeriodTotals(start, end, Map.copyOf(updated), totalCents + delta);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.entity.SpendForecastState;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.SpendForecastStateRepository;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.service.SpendForecastService;
+import com.finance.concierge.util.SpendForecastUtil;
+import com.finance.concierge.util.SpendForecastUtil.Prediction;
+import com.finance.concierge.util.SpendForecastUtil.State;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of SpendForecastService
+ * An expense on or after a series' open day is folded in directly. A change to an earlier day
+ * cannot be taken back out of smoothed state, so that series is rebuilt from the last
+ * REBUILD_WINDOW_DAYS of the daily rollup instead. An expense dated after today is only noted
+ * on the series, which is rebuilt the same way once that day arrives
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendForecastServiceImpl implements SpendForecastService {
+
+    static final int REBUILD_WINDOW_DAYS = 180;
+
+    private final SpendForecastStateRepository stateRepository;
+    private final DailySpendRollupRepository rollupRepository;
+    private final Clock clock;
+
+    /**
+     * Apply an expense change to the model in the same transaction as the change itself
+     * Runs after the rollup listener, so a rebuild already sees this change
+     */
+    @EventListener
+    @Order(DailySpendRollupServiceImpl.LISTENER_ORDER + 1)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        LocalDate today = LocalDate.now(clock);
+        Map<Long, SpendForecastState> touched = new LinkedHashMap<>();
+        Set<Long> stale = new HashSet<>();
+
+        if (event.before() != null) {
+            apply(event.userId(), event.before(), -1, today, touched, stale);
+        }
+        if (event.after() != null) {
+            apply(event.userId(), event.after(), 1, today, touched, stale);
+        }
+        if (!stale.isEmpty()) {
+            rebuild(event.userId(), today, windowCells(event.userId(), today), stale, touched);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuildForUser(Long userId) {
+        LocalDate today = LocalDate.now(clock);
+        List<DailyCategorySpendProjection> cells = windowCells(userId, today);
+
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        stateRepository.findByUserId(userId).forEach(row -> categoryIds.add(row.getCategoryId()));
+        cells.forEach(cell -> categoryIds.add(cell.categoryId()));
+
+        Map<Long, SpendForecastState> touched = new LinkedHashMap<>();
+        categoryIds.forEach(categoryId -> touched.put(categoryId, lock(userId, categoryId)));
+        rebuild(userId, today, cells, categoryIds, touched);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Outlook> getOutlook(Long userId, LocalDate today) {
+        List<SpendForecastState> rows = stateRepository.findByUserId(userId);
+        List<DailyCategorySpendProjection> cells = null;
+
+        LocalDate tomorrow = today.plusDays(1);
+        LocalDate monthEnd = today.withDayOfMonth(today.lengthOfMonth());
+        LocalDate yearEnd = today.withDayOfYear(today.lengthOfYear());
+
+        Prediction restOfMonth = Prediction.NONE;
+        Prediction restOfYear = Prediction.NONE;
+        NextSpend nextSpend = null;
+        double highestExpected = 0;
+        boolean built = false;
+
+        // Category series are summed as independent
+        for (SpendForecastState row : rows) {
+            State state = row.getCurrentDay() != null ? toState(row) : null;
+            if (isFutureSpendDue(row, today)) {
+                // Spend dated ahead has come due since the last write: replay the series without saving it
+                if (cells == null) {
+                    cells = windowCells(userId, today);
+                }
+                state = replay(cells, row.getCategoryId());
+            }
+            if (state == null) {
+                continue;
+            }
+
+            built = true;
+            state = SpendForecastUtil.rollTo(state, today);
+            restOfMonth = restOfMonth.plus(SpendForecastUtil.predict(state, today, monthEnd));
+            restOfYear = restOfYear.plus(SpendForecastUtil.predict(state, today, yearEnd));
+
+            double expected = SpendForecastUtil.expectedOn(state, tomorrow);
+            if (expected > highestExpected) {
+                highestExpected = expected;
+                nextSpend = new NextSpend(row.getCategoryId(), Math.round(state.ticketCents()),
+                        SpendForecastUtil.confidence(state, tomorrow));
+            }
+        }
+
+        return built ? Optional.of(new Outlook(restOfMonth, restOfYear, nextSpend)) : Optional.empty();
+    }
+
+    private void apply(Long userId, ExpenseChangedEvent.Snapshot snapshot, int sign, LocalDate today,
+                       Map<Long, SpendForecastState> touched, Set<Long> stale) {
+        Long categoryId = snapshot.categoryId();
+        SpendForecastState row = touched.computeIfAbsent(categoryId, id -> lock(userId, id));
+        if (stale.contains(categoryId)) {
+            return;
+        }
+
+        LocalDate day = snapshot.expenseDate();
+        if (row.getCurrentDay() == null || day.isBefore(row.getCurrentDay()) || isFutureSpendDue(row, today)) {
+            stale.add(categoryId);
+            return;
+        }
+        // Entries dated after today stay out until their day arrives and the series is rebuilt;
+        // removing one that was never folded in needs nothing
+        if (day.isAfter(today)) {
+            if (sign > 0 && (row.getFutureSpendDay() == null || day.isBefore(row.getFutureSpendDay()))) {
+                row.setFutureSpendDay(day);
+            }
+            return;
+        }
+
+        long cents = sign * snapshot.cents();
+        copy(SpendForecastUtil.addExpense(toState(row), day, cents, sign), row);
+    }
+
+    private void rebuild(Long userId, LocalDate today, List<DailyCategorySpendProjection> cells,
+                         Set<Long> categoryIds, Map<Long, SpendForecastState> touched) {
+        for (Long categoryId : categoryIds) {
+            State state = replay(cells, categoryId);
+            LocalDate futureSpendDay = rollupRepository.findFirstSpendDateAfter(userId, categoryId, today);
+
+            SpendForecastState row = touched.get(categoryId);
+            if (state == null && futureSpendDay == null) {
+                stateRepository.delete(row);
+                continue;
+            }
+            if (state != null) {
+                copy(state, row);
+            } else {
+                // Without spend in the window the row stays unbuilt until its spend dated ahead is due
+                reset(row);
+            }
+            row.setFutureSpendDay(futureSpendDay);
+        }
+        log.debug("Rebuilt forecast state for user {} categories {}", userId, categoryIds);
+    }
+
+    private List<DailyCategorySpendProjection> windowCells(Long userId, LocalDate today) {
+        return rollupRepository.findCellsByUserIdAndDateRange(userId, today.minusDays(REBUILD_WINDOW_DAYS - 1), today);
+    }
+
+    /**
+     * State of one category built from rollup cells in date order, or null if it has none
+     */
+    private static State replay(List<DailyCategorySpendProjection> cells, Long categoryId) {
+        State state = null;
+        for (DailyCategorySpendProjection cell : cells) {
+            if (cell.categoryId().equals(categoryId)) {
+                state = SpendForecastUtil.addExpense(state != null ? state : SpendForecastUtil.start(cell.date()),
+                        cell.date(), cell.totalCents(), cell.transactionCount());
+            }
+        }
+        return state;
+    }
+
+    private static boolean isFutureSpendDue(SpendForecastState row, LocalDate today) {
+        return row.getFutureSpendDay() != null && !row.getFutureSpendDay().isAfter(today);
+    }
+
+    private SpendForecastState lock(Long userId, Long categoryId) {
+        stateRepository.ensureExists(userId, categoryId);
+        return stateRepository.findForUpdate(userId, categoryId)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Forecast state missing for user " + userId + ", category " + categoryId));
+    }
+
+    private static State toState(SpendForecastState row) {
+        return new State(row.getCurrentDay(), row.getPendingCents(), row.getLevelCents(),
+                row.getSeasonalCents() != null ? SpendForecastUtil.decodeSeasonal(row.getSeasonalCents()) : new double[7],
+                row.getErrorVariance(), row.getTicketCents(), row.getObservedDays());
+    }
+
+    private static void copy(State state, SpendForecastState row) {
+        row.setCurrentDay(state.currentDay());
+        row.setPendingCents(state.pendingCents());
+        row.setLevelCents(state.level());
+        row.setSeasonalCents(SpendForecastUtil.encodeSeasonal(state.seasonal()));
+        row.setErrorVariance(state.errorVariance());
+        row.setTicketCents(state.ticketCents());
+        row.setObservedDays(state.observedDays());
+    }
+
+    private static void reset(SpendForecastState row) {
+        row.setCurrentDay(null);
+        row.setPendingCents(0L);
+        row.setLevelCents(0.0);
+        row.setSeasonalCents(null);
+        row.setErrorVariance(0.0);
+        row.setTicketCents(0.0);
+        row.setObservedDays(0);
+    }
+}
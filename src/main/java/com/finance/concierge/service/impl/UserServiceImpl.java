@@ -4,10 +4,18 @@ import com.finance.concierge.entity.User;
 import com.finance.concierge.exception.ResourceNotFoundException;
 import com.finance.concierge.repository.UserRepository;
 import com.finance.concierge.repository.CurrencyRepository;
+import com.finance.concierge.service.DataVersionService;
 import com.finance.concierge.service.UserService;
+import com.finance.concierge.util.Money;
+import com.finance.concierge.util.UserCacheUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Currency;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +23,9 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final CurrencyRepository currencyRepository;
+    private final DataVersionService dataVersionService;
+
+    private final Map<Long, Currency> currencies = UserCacheUtil.newCache();
 
     @Override
     @Transactional
@@ -25,6 +36,16 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         user.setCurrencyCode(currencyCode);
+
+        // Registered before the version bump, so the new version is never served with the old currency;
+        // budgets are bumped too, since cached limits and alert rules hold amounts in the currency
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                currencies.remove(userId);
+            }
+        });
+        dataVersionService.bumpBudgets(userId);
         return userRepository.save(user);
     }
 
@@ -33,5 +54,10 @@ public class UserServiceImpl implements UserService {
          return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
-}
 
+    @Override
+    public Currency getCurrency(Long userId) {
+        return currencies.computeIfAbsent(userId,
+                id -> Money.currencyOf(userRepository.findCurrencyCodeById(id).orElse(null)));
+    }
+}
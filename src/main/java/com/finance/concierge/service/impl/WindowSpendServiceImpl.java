@@ -0,0 +1,259 @@
+package com.finance.concierge.service.impl;
+
+import com.finance.concierge.config.ReadWriteRoutingDataSource;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.service.WindowSpendService;
+import com.finance.concierge.util.Money;
+import com.finance.concierge.util.UserCacheUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of WindowSpendService
+ *
+ * Each user's spend from horizon-days before today to horizon-days after it is loaded once a day
+ * into prefix-sum arrays, kept current by committed expense writes. Windows reaching outside the
+ * horizon are summed from the rollup instead. Reads are lock-free over an immutable snapshot;
+ * installing a load follows the same in-flight and generation checks as PeriodSpendServiceImpl.
+ */
+@Slf4j
+@Service
+public class WindowSpendServiceImpl implements WindowSpendService {
+
+    private final DailySpendRollupRepository rollupRepository;
+    private final Clock clock;
+    private final TransactionTemplate loadTransaction;
+
+    @Value("${app.budget.window.horizon-days:92}")
+    private int horizonDays;
+
+    private final Map<Long, UserSpend> users = UserCacheUtil.newCache();
+
+    public WindowSpendServiceImpl(DailySpendRollupRepository rollupRepository, Clock clock,
+                                  PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.clock = clock;
+        this.loadTransaction = ReadWriteRoutingDataSource.primaryReadTemplate(transactionManager);
+    }
+
+    @Override
+    public Money getSpent(Long userId, Long categoryId, LocalDate from, LocalDate to, Currency currency) {
+        if (to.isBefore(from)) {
+            return Money.zero(currency);
+        }
+
+        PrefixSums sums = sums(userId);
+        if (sums.covers(from, to)) {
+            return Money.ofCents(sums.sum(categoryId, from, to), currency);
+        }
+
+        log.debug("Window {} to {} of user {} is outside the horizon, summing the rollup", from, to, userId);
+        Long cents = loadTransaction.execute(status -> categoryId == null
+                ? rollupRepository.sumCentsByUserIdAndDateRange(userId, from, to)
+                : rollupRepository.sumCentsByUserIdCategoryAndDateRange(userId, categoryId, from, to));
+        return Money.ofCents(cents, currency);
+    }
+
+    @Override
+    public Optional<Money> findCachedSpent(Long userId, Long categoryId, LocalDate from, LocalDate to,
+                                           Currency currency) {
+        if (to.isBefore(from)) {
+            return Optional.of(Money.zero(currency));
+        }
+
+        UserSpend user = users.get(userId);
+        PrefixSums cached = user != null ? user.sums : null;
+        if (cached == null || !cached.loadedOn().equals(LocalDate.now(clock)) || !cached.covers(from, to)) {
+            return Optional.empty();
+        }
+        return Optional.of(Money.ofCents(cached.sum(categoryId, from, to), currency));
+    }
+
+    @Override
+    public void evict(Long userId) {
+        UserSpend user = users.get(userId);
+        if (user != null) {
+            clear(user);
+        }
+    }
+
+    private static void clear(UserSpend user) {
+        synchronized (user) {
+            user.sums = null;
+            user.generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Track an expense change from inside its transaction and apply it once committed
+     */
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        UserSpend user = users.computeIfAbsent(event.userId(), id -> new UserSpend());
+        user.inFlight.incrementAndGet();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(user, event, true);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(user, event, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void complete(UserSpend user, ExpenseChangedEvent event, boolean committed) {
+        try {
+            synchronized (user) {
+                if (committed && user.sums != null) {
+                    user.sums = user.sums.apply(event.before(), -1).apply(event.after(), 1);
+                }
+                user.generation.incrementAndGet();
+            }
+        } finally {
+            user.inFlight.decrementAndGet();
+        }
+
+        // The entry may have expired mid-transaction; a replacement loaded meanwhile cannot have seen this write
+        UserSpend current = users.get(event.userId());
+        if (current != null && current != user) {
+            clear(current);
+        }
+    }
+
+    /**
+     * Prefix sums around today for a user: the cached ones if loaded today, otherwise a fresh load
+     */
+    private PrefixSums sums(Long userId) {
+        LocalDate today = LocalDate.now(clock);
+        UserSpend user = users.computeIfAbsent(userId, id -> new UserSpend());
+
+        PrefixSums cached = user.sums;
+        if (cached != null && cached.loadedOn().equals(today)) {
+            return cached;
+        }
+
+        long generation = user.generation.get();
+        PrefixSums loaded = load(userId, today);
+
+        synchronized (user) {
+            if (user.inFlight.get() == 0 && user.generation.get() == generation) {
+                user.sums = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private PrefixSums load(Long userId, LocalDate today) {
+        LocalDate first = today.minusDays(horizonDays);
+        LocalDate last = today.plusDays(horizonDays);
+        int days = (int) ChronoUnit.DAYS.between(first, last) + 1;
+        log.debug("Loading {} to {} daily spend for user {}", first, last, userId);
+
+        List<DailyCategorySpendProjection> cells = loadTransaction.execute(status ->
+                rollupRepository.findCellsByUserIdAndDateRange(userId, first, last));
+
+        long[] total = new long[days + 1];
+        Map<Long, long[]> byCategory = new HashMap<>();
+        for (DailyCategorySpendProjection cell : cells) {
+            int day = (int) ChronoUnit.DAYS.between(first, cell.date()) + 1;
+            total[day] += cell.totalCents();
+            byCategory.computeIfAbsent(cell.categoryId(), id -> new long[days + 1])[day] += cell.totalCents();
+        }
+
+        accumulate(total);
+        byCategory.values().forEach(WindowSpendServiceImpl::accumulate);
+        return new PrefixSums(today, first, total, Map.copyOf(byCategory));
+    }
+
+    /**
+     * Turn per-day amounts into running totals in place
+     */
+    private static void accumulate(long[] prefix) {
+        for (int i = 1; i < prefix.length; i++) {
+            prefix[i] += prefix[i - 1];
+        }
+    }
+
+    /**
+     * Cached prefix sums and write bookkeeping for one user
+     */
+    private static final class UserSpend {
+        private volatile PrefixSums sums;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong generation = new AtomicLong();
+    }
+
+    /**
+     * Immutable running totals from the first day of the horizon
+     * Entry i of each array is the spend of the i days starting at first, so the spend of the
+     * days a to b is entry b + 1 minus entry a. Categories without spend have no array
+     */
+    private record PrefixSums(LocalDate loadedOn, LocalDate first, long[] total, Map<Long, long[]> byCategory) {
+
+        boolean covers(LocalDate from, LocalDate to) {
+            return !from.isBefore(first) && index(to) < total.length - 1;
+        }
+
+        long sum(Long categoryId, LocalDate from, LocalDate to) {
+            long[] prefix = categoryId == null ? total : byCategory.get(categoryId);
+            if (prefix == null) {
+                return 0L;
+            }
+            return prefix[(int) index(to) + 1] - prefix[(int) index(from)];
+        }
+
+        PrefixSums apply(ExpenseChangedEvent.Snapshot snapshot, int sign) {
+            if (snapshot == null) {
+                return this;
+            }
+            long day = index(snapshot.expenseDate());
+            if (day < 0 || day >= total.length - 1) {
+                return this;
+            }
+
+            long delta = sign * snapshot.cents();
+            Map<Long, long[]> updated = new HashMap<>(byCategory);
+            long[] category = updated.getOrDefault(snapshot.categoryId(), new long[total.length]);
+            updated.put(snapshot.categoryId(), plus(category, (int) day, delta));
+            return new PrefixSums(loadedOn, first, plus(total, (int) day, delta), Map.copyOf(updated));
+        }
+
+        private long index(LocalDate day) {
+            return ChronoUnit.DAYS.between(first, day);
+        }
+
+        /**
+         * Copy of the running totals with a delta added on one day
+         */
+        private static long[] plus(long[] prefix, int day, long delta) {
+            long[] copy = prefix.clone();
+            for (int i = day + 1; i < copy.length; i++) {
+                copy[i] += delta;
+            }
+            return copy;
+        }
+    }
+}
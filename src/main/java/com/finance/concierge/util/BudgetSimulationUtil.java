@@ -0,0 +1,212 @@
+package com.finance.concierge.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Utility class for Monte Carlo budget simulation
+ * Each path plays out the remaining days of a period by drawing whole historical days at random,
+ * so a day keeps the mix of categories it really had, and adds each category's scaled spend of
+ * that day to what is already spent. All amounts are whole cents; paths are split across a
+ * fork-join pool and every leaf draws from its own generator seeded by its first path, so a
+ * seed gives the same result whatever the parallelism
+ */
+@UtilityClass
+public class BudgetSimulationUtil {
+
+    /**
+     * Paths below which a task runs its range instead of splitting it
+     */
+    private static final int LEAF_PATHS = 512;
+
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Inputs of a simulation; columns are categories in a fixed order
+     *
+     * @param historyCents  Spend per historical day (rows) and category (columns), zero rows included
+     * @param multipliers   Factor applied to each category's historical spend
+     * @param startCents    Spend per category so far in the period
+     * @param limitCents    Budget per category, or 0 for none
+     * @param totalLimitCents Budget over all categories, or 0 for none
+     * @param days          Days left to simulate
+     */
+    public record Model(long[][] historyCents, double[] multipliers, long[] startCents, long[] limitCents,
+                        long totalLimitCents, int days) {
+
+        public int categories() {
+            return startCents.length;
+        }
+    }
+
+    /**
+     * Outcome over all paths; the final array of each column is sorted ascending
+     *
+     * @param finalCents    Spend per category at the end of the period, one entry per path
+     * @param totalCents    Spend over all categories at the end of the period, one entry per path
+     * @param crossedOnDay  Paths whose total first went over the total budget on each simulated day
+     */
+    public record Outcome(int paths, long[][] finalCents, long[] totalCents, int[] crossedOnDay) {
+
+        /**
+         * Share of paths ending over the given limit
+         */
+        public static double overProbability(long[] sortedCents, long limitCents) {
+            int notOver = upperBound(sortedCents, limitCents);
+            return (sortedCents.length - notOver) / (double) sortedCents.length;
+        }
+
+        public static long mean(long[] cents) {
+            long sum = 0;
+            for (long value : cents) {
+                sum += value;
+            }
+            return cents.length == 0 ? 0 : Math.round(sum / (double) cents.length);
+        }
+
+        public static long percentile(long[] sortedCents, int percent) {
+            if (sortedCents.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(sortedCents.length * percent / 100.0) - 1;
+            return sortedCents[Math.max(0, Math.min(index, sortedCents.length - 1))];
+        }
+
+        /**
+         * First simulated day (0-based) by which at least the given share of paths went over the
+         * total budget, or -1 if they never do
+         */
+        public int dayReachedBy(double share) {
+            int crossed = 0;
+            for (int day = 0; day < crossedOnDay.length; day++) {
+                crossed += crossedOnDay[day];
+                if (crossed >= share * paths) {
+                    return day;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Run the given number of paths of a model
+     */
+    public static Outcome simulate(Model model, int paths, long seed, ForkJoinPool pool) {
+        int categories = model.categories();
+
+        // Scaling once up front leaves the path loop with long additions only
+        long[][] scaled = new long[model.historyCents().length][categories];
+        for (int day = 0; day < scaled.length; day++) {
+            for (int c = 0; c < categories; c++) {
+                scaled[day][c] = Math.round(model.historyCents()[day][c] * model.multipliers()[c]);
+            }
+        }
+
+        long[][] finalCents = new long[categories][paths];
+        long[] totalCents = new long[paths];
+        int[] crossedAt = new int[paths];
+
+        pool.invoke(new PathTask(model, scaled, seed, 0, paths, finalCents, totalCents, crossedAt));
+
+        int[] crossedOnDay = new int[Math.max(model.days(), 1)];
+        for (int day : crossedAt) {
+            if (day >= 0) {
+                crossedOnDay[day]++;
+            }
+        }
+        for (long[] column : finalCents) {
+            Arrays.sort(column);
+        }
+        Arrays.sort(totalCents);
+        return new Outcome(paths, finalCents, totalCents, crossedOnDay);
+    }
+
+    /**
+     * Index of the first value greater than the key in a sorted array
+     */
+    private static int upperBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Runs paths [from, to), writing each path's results at its own index
+     */
+    private static final class PathTask extends RecursiveAction {
+
+        private final Model model;
+        private final long[][] scaled;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final long[][] finalCents;
+        private final long[] totalCents;
+        private final int[] crossedAt;
+
+        PathTask(Model model, long[][] scaled, long seed, int from, int to,
+                 long[][] finalCents, long[] totalCents, int[] crossedAt) {
+            this.model = model;
+            this.scaled = scaled;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.finalCents = finalCents;
+            this.totalCents = totalCents;
+            this.crossedAt = crossedAt;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_PATHS) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PathTask(model, scaled, seed, from, mid, finalCents, totalCents, crossedAt),
+                        new PathTask(model, scaled, seed, mid, to, finalCents, totalCents, crossedAt));
+                return;
+            }
+
+            SplittableRandom random = new SplittableRandom(seed ^ (from * SEED_MIX));
+            int categories = model.categories();
+            long[] spent = new long[categories];
+            long startTotal = Arrays.stream(model.startCents()).sum();
+            long totalLimit = model.totalLimitCents();
+
+            for (int path = from; path < to; path++) {
+                System.arraycopy(model.startCents(), 0, spent, 0, categories);
+                long total = startTotal;
+                int crossed = -1;
+
+                if (scaled.length > 0) {
+                    for (int day = 0; day < model.days(); day++) {
+                        long[] drawn = scaled[random.nextInt(scaled.length)];
+                        for (int c = 0; c < categories; c++) {
+                            spent[c] += drawn[c];
+                            total += drawn[c];
+                        }
+                        if (crossed < 0 && totalLimit > 0 && total > totalLimit) {
+                            crossed = day;
+                        }
+                    }
+                }
+
+                for (int c = 0; c < categories; c++) {
+                    finalCents[c][path] = spent[c];
+                }
+                totalCents[path] = total;
+                crossedAt[path] = crossed;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.finance.concierge.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding keyset pagination cursors
+ * A cursor is the (expense_date, id) position of the last row on a page,
+ * serialized as an opaque URL-safe token
+ */
+@UtilityClass
+public class ExpenseCursorUtil {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Position of a row in (expense_date DESC, id DESC) order
+     */
+    public record Position(LocalDate expenseDate, Long id) {
+    }
+
+    /**
+     * Encode a row position into an opaque cursor
+     */
+    public static String encode(LocalDate expenseDate, Long id) {
+        String raw = expenseDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode an opaque cursor back into a row position
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            throw new IllegalArgumentException("Cursor must not be empty");
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+
+            LocalDate expenseDate = LocalDate.parse(raw.substring(0, separatorIndex));
+            long id = Long.parseLong(raw.substring(separatorIndex + 1));
+            return new Position(expenseDate, id);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
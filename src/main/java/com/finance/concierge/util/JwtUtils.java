@@ -1,5 +1,10 @@
 package com.finance.concierge.util;
 
+import com.finance.concierge.config.AuthenticatedUser;
+import com.finance.concierge.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,6 +14,12 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,19 +27,49 @@ import java.util.function.Function;
 
 /**
  * JWT utility class for token generation and validation
+ * The signing key and parser are built once. Verified tokens are cached by their SHA-256 hash
+ * until they expire, so a bearer token sent again skips parsing and signature verification;
+ * the cache is size-bounded and holds claims only, never the tokens themselves
  */
 @Slf4j
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
-
-    @Value("${jwt.refresh-expiration}")
-    private Long refreshExpiration;
+    // Principal claims of access tokens
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_ENABLED = "enabled";
+    private static final String CLAIM_LOCKED = "locked";
+    private static final String CLAIM_CURRENCY = "currency";
+
+    private final Long jwtExpiration;
+    private final Long refreshExpiration;
+    private final Clock clock;
+
+    private final SecretKey signKey;
+    private final JwtParser parser;
+
+    private final Cache<String, Claims> verified;
+
+    public JwtUtils(@Value("${jwt.secret}") String jwtSecret,
+                    @Value("${jwt.expiration}") Long jwtExpiration,
+                    @Value("${jwt.refresh-expiration}") Long refreshExpiration,
+                    @Value("${app.jwt.verified-cache-size:10000}") int verifiedCacheSize,
+                    Clock clock) {
+        this.jwtExpiration = jwtExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(Math.max(verifiedCacheSize, 0))
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(() -> Duration.ofMillis(clock.millis()).toNanos())
+                .build();
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser()
+                .verifyWith(signKey)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+    }
 
     /**
      * Extract username from token
@@ -48,26 +89,60 @@ public class JwtUtils {
      * Extract specific claim from token
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
 
     /**
-     * Extract all claims from token
+     * Claims of a token with a valid signature that has not expired
+     * @throws JwtException if the token is malformed, badly signed or expired
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT string is empty");
+        }
+        String key = hash(token);
+        Claims claims = verified.getIfPresent(key);
+        if (claims == null) {
+            claims = parser.parseSignedClaims(token).getPayload();
+            // A token without an expiry would never leave the cache on its own
+            if (claims.getExpiration() != null) {
+                verified.put(key, claims);
+            }
+        }
+        return claims;
     }
 
     /**
-     * Check if token is expired
+     * Each cached entry lives until its token's exp; an expired entry is never returned, so the
+     * token is parsed again and rejected
      */
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - clock.millis();
+            return Duration.ofMillis(Math.max(millis, 0)).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
@@ -78,6 +153,35 @@ public class JwtUtils {
         return createToken(claims, userDetails.getUsername(), jwtExpiration);
     }
 
+    /**
+     * Generate access token carrying the user's principal, so requests authenticate without a user lookup
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_ENABLED, user.isEnabled());
+        claims.put(CLAIM_LOCKED, !user.isAccountNonLocked());
+        claims.put(CLAIM_CURRENCY, user.getCurrencyCode());
+        return createToken(claims, user.getUsername(), jwtExpiration);
+    }
+
+    /**
+     * Principal carried by verified claims, or null for a token without one
+     * (a refresh token, or an access token issued before tokens carried it)
+     */
+    public AuthenticatedUser principalOf(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), User.Role.valueOf(role),
+                Boolean.TRUE.equals(claims.get(CLAIM_ENABLED, Boolean.class)),
+                !Boolean.TRUE.equals(claims.get(CLAIM_LOCKED, Boolean.class)),
+                claims.get(CLAIM_CURRENCY, String.class));
+    }
+
     /**
      * Generate access token with additional claims
      */
@@ -97,7 +201,7 @@ public class JwtUtils {
      * Create token with claims
      */
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
@@ -105,7 +209,7 @@ public class JwtUtils {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
@@ -114,8 +218,7 @@ public class JwtUtils {
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return userDetails.getUsername().equals(verify(token).getSubject());
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -133,25 +236,14 @@ public class JwtUtils {
      */
     public Boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSignKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
+            verify(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("JWT validation error: {}", e.getMessage());
             return false;
         }
     }
 
-    /**
-     * Get signing key
-     */
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     /**
      * Get expiration time in milliseconds
      */
@@ -0,0 +1,157 @@
+package com.finance.concierge.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Immutable amount of money held as a whole number of minor units (e.g. cents) of one currency
+ * Used for in-memory aggregation and budget math; amounts become BigDecimal only at the API boundary.
+ * All arithmetic is exact or rounds half-up, and fails with ArithmeticException on overflow
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    /**
+     * Currency of users who never chose one
+     */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    /**
+     * Scale of the cent amounts the spend rollups and per-user caches hold, whatever the currency
+     */
+    public static final int CENT_SCALE = 2;
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+    }
+
+    /**
+     * Currency for an ISO 4217 code, e.g. a user's or an expense's; DEFAULT_CURRENCY when the code is null or blank
+     *
+     * @throws IllegalArgumentException if the code is not a known currency
+     */
+    public static Currency currencyOf(String currencyCode) {
+        return currencyCode == null || currencyCode.isBlank() ? DEFAULT_CURRENCY : Currency.getInstance(currencyCode);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0L, currency);
+    }
+
+    /**
+     * Amount in minor units of the given currency
+     */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Amount held in cents (hundredths) by the spend rollups, rounded half-up to the currency's minor unit
+     */
+    public static Money ofCents(long cents, Currency currency) {
+        int scale = scaleOf(currency);
+        if (scale == CENT_SCALE) {
+            return new Money(cents, currency);
+        }
+        return of(BigDecimal.valueOf(cents, CENT_SCALE), currency);
+    }
+
+    /**
+     * Decimal amount in the given currency, rounded half-up to the currency's minor unit; null is treated as zero
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null) {
+            return new Money(0L, currency);
+        }
+        return new Money(amount.setScale(scaleOf(currency), RoundingMode.HALF_UP).unscaledValue().longValueExact(), currency);
+    }
+
+    /**
+     * This amount in cents (hundredths), the unit the spend rollups and per-user caches hold
+     */
+    public long toCents() {
+        return toBigDecimal().setScale(CENT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Decimal amount at the currency's scale, for DTOs and API responses
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scaleOf(currency));
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    /**
+     * This amount scaled by numerator / denominator, e.g. a month-to-date total projected to the full month
+     */
+    public Money prorate(long numerator, long denominator) {
+        return new Money(divideHalfUp(Math.multiplyExact(minorUnits, numerator), denominator), currency);
+    }
+
+    /**
+     * This amount split evenly into the given number of parts, e.g. an average
+     */
+    public Money dividedBy(long parts) {
+        return new Money(divideHalfUp(minorUnits, parts), currency);
+    }
+
+    /**
+     * This amount as a percentage of another, rounded half-up to two decimals; 0 when the other is zero
+     */
+    public double percentOf(Money whole) {
+        if (sameCurrency(whole).minorUnits == 0L) {
+            return 0.0;
+        }
+        return divideHalfUp(Math.multiplyExact(minorUnits, 10_000L), whole.minorUnits) / 100.0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                "Currency mismatch: " + currency.getCurrencyCode() + " vs " + other.currency.getCurrencyCode());
+        }
+        return other;
+    }
+
+    private static int scaleOf(Currency currency) {
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+
+    /**
+     * Integer division rounding half away from zero, matching RoundingMode.HALF_UP
+     */
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= Math.abs(divisor) - remainder) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+}
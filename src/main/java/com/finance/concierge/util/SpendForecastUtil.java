@@ -0,0 +1,222 @@
+package com.finance.concierge.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for the daily spend forecasting model
+ * Each series (one user, one category) is additive exponential smoothing of daily totals in
+ * cents: a level, one seasonal offset per weekday and an exponentially weighted variance of the
+ * one-step error. Expenses for the current day accumulate in pendingCents; the day is folded into
+ * the level and seasonal state once a later day is seen, so each expense costs O(1) plus one
+ * step per elapsed day
+ */
+@UtilityClass
+public class SpendForecastUtil {
+
+    public static final double LEVEL_WEIGHT = 0.1;
+    public static final double SEASONAL_WEIGHT = 0.1;
+    public static final double ERROR_WEIGHT = 0.05;
+    public static final double TICKET_WEIGHT = 0.2;
+
+    /**
+     * Closed days needed before a series' error variance is trusted
+     */
+    public static final int WARMUP_DAYS = 14;
+
+    public static final int INTERVAL_PERCENT = 80;
+    private static final double INTERVAL_Z = 1.2816;
+
+    /**
+     * Model state of one series
+     *
+     * @param currentDay    Open day, whose expenses so far are in pendingCents
+     * @param level         Smoothed daily spend in cents, before the weekday offset
+     * @param seasonal      Offset in cents per weekday, Monday first
+     * @param errorVariance Smoothed squared one-step error in cents squared
+     * @param ticketCents   Smoothed size of a single expense in cents
+     * @param observedDays  Number of days folded into the state
+     */
+    public record State(LocalDate currentDay, long pendingCents, double level, double[] seasonal,
+                        double errorVariance, double ticketCents, int observedDays) {
+    }
+
+    /**
+     * Expected spend over a range of days and the variance of that total
+     */
+    public record Prediction(double meanCents, double varianceCents) {
+
+        public static final Prediction NONE = new Prediction(0, 0);
+
+        /**
+         * Sum of two predictions, treating their errors as independent
+         */
+        public Prediction plus(Prediction other) {
+            return new Prediction(meanCents + other.meanCents, varianceCents + other.varianceCents);
+        }
+
+        /**
+         * Lower bound of the central INTERVAL_PERCENT interval, never below zero
+         */
+        public double lowerCents() {
+            return Math.max(0, meanCents - INTERVAL_Z * Math.sqrt(varianceCents));
+        }
+
+        /**
+         * Upper bound of the central INTERVAL_PERCENT interval
+         */
+        public double upperCents() {
+            return meanCents + INTERVAL_Z * Math.sqrt(varianceCents);
+        }
+    }
+
+    /**
+     * Empty state whose first day is the given one
+     */
+    public static State start(LocalDate day) {
+        return new State(day, 0, 0, new double[7], 0, 0, 0);
+    }
+
+    /**
+     * Add spend on a day on or after the state's open day
+     *
+     * @param cents      Amount in cents, negative to take back spend on the open day
+     * @param countDelta Number of expenses the amount covers, negative when taking back
+     * @throws IllegalArgumentException if the day is before the open day
+     */
+    public static State addExpense(State state, LocalDate day, long cents, int countDelta) {
+        if (day.isBefore(state.currentDay())) {
+            throw new IllegalArgumentException("Day " + day + " is before the open day " + state.currentDay());
+        }
+
+        State rolled = rollTo(state, day);
+        double ticket = rolled.ticketCents();
+        if (countDelta > 0 && cents > 0) {
+            double size = (double) cents / countDelta;
+            ticket = ticket == 0 ? size : ticket + TICKET_WEIGHT * (size - ticket);
+        }
+        return new State(day, rolled.pendingCents() + cents, rolled.level(), rolled.seasonal(),
+                rolled.errorVariance(), ticket, rolled.observedDays());
+    }
+
+    /**
+     * Fold every day before the given one into the state; days without expenses count as zero
+     */
+    public static State rollTo(State state, LocalDate day) {
+        if (!day.isAfter(state.currentDay())) {
+            return state;
+        }
+
+        double level = state.level();
+        double[] seasonal = state.seasonal().clone();
+        double variance = state.errorVariance();
+        int observed = state.observedDays();
+        long spend = state.pendingCents();
+
+        for (LocalDate closing = state.currentDay(); closing.isBefore(day); closing = closing.plusDays(1)) {
+            int weekday = weekday(closing);
+            if (observed == 0) {
+                level = spend;
+            } else {
+                double error = spend - (level + seasonal[weekday]);
+                // Plain mean of squared errors until the smoothing window is filled, to avoid a low start
+                double weight = Math.max(ERROR_WEIGHT, 1.0 / observed);
+                variance += weight * (error * error - variance);
+                level += LEVEL_WEIGHT * error;
+                seasonal[weekday] += SEASONAL_WEIGHT * (spend - level - seasonal[weekday]);
+            }
+            observed++;
+            spend = 0;
+        }
+
+        return new State(day, 0, level, seasonal, variance, state.ticketCents(), observed);
+    }
+
+    /**
+     * Expected spend on one day after the state's open day
+     */
+    public static double expectedOn(State state, LocalDate day) {
+        return Math.max(0, state.level() + state.seasonal()[weekday(day)]);
+    }
+
+    /**
+     * Predict the spend on the days after {@code today} up to and including {@code lastDay}
+     * The state should be rolled to today first. Daily spend is taken as independent noise around
+     * the level and weekday offsets, which are exponentially weighted means: each carries an
+     * estimation error of weight / (2 - weight) times the noise variance, shared by every day it
+     * applies to. The one-step error holds the noise and both estimation errors, so the h-day total
+     * has variance noise * (h + level share * h^2 + seasonal share * sum of squared weekday counts)
+     */
+    public static Prediction predict(State state, LocalDate today, LocalDate lastDay) {
+        long days = ChronoUnit.DAYS.between(today, lastDay);
+        if (days <= 0) {
+            return Prediction.NONE;
+        }
+
+        double mean = 0;
+        long[] weekdays = new long[7];
+        for (LocalDate day = today.plusDays(1); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            mean += expectedOn(state, day);
+            weekdays[weekday(day)]++;
+        }
+
+        double levelShare = LEVEL_WEIGHT / (2 - LEVEL_WEIGHT);
+        double seasonalShare = SEASONAL_WEIGHT / (2 - SEASONAL_WEIGHT);
+        double noiseVariance = state.errorVariance() / (1 + levelShare + seasonalShare);
+        double weekdaySquares = Arrays.stream(weekdays).mapToDouble(n -> (double) n * n).sum();
+        double variance = noiseVariance * (days + levelShare * days * days + seasonalShare * weekdaySquares);
+        return new Prediction(mean, variance);
+    }
+
+    /**
+     * How far the expected spend on a day can be trusted: High, Medium or Low
+     * Based on the series' history length and the error relative to the expected amount
+     */
+    public static String confidence(State state, LocalDate day) {
+        double expected = expectedOn(state, day);
+        if (state.observedDays() < WARMUP_DAYS || expected <= 0) {
+            return "Low";
+        }
+
+        double relativeError = Math.sqrt(state.errorVariance()) / expected;
+        if (relativeError <= 1.0) {
+            return "High";
+        }
+        return relativeError <= 2.0 ? "Medium" : "Low";
+    }
+
+    /**
+     * Encode weekday offsets as comma-separated cents with two decimals
+     */
+    public static String encodeSeasonal(double[] seasonal) {
+        return Arrays.stream(seasonal)
+                .mapToObj(offset -> String.format(Locale.ROOT, "%.2f", offset))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Decode offsets written by encodeSeasonal
+     *
+     * @throws IllegalArgumentException if the value does not hold seven numbers
+     */
+    public static double[] decodeSeasonal(String encoded) {
+        String[] parts = encoded.split(",");
+        if (parts.length != 7) {
+            throw new IllegalArgumentException("Expected 7 weekday offsets: " + encoded);
+        }
+        try {
+            return Arrays.stream(parts).mapToDouble(Double::parseDouble).toArray();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed weekday offsets: " + encoded, e);
+        }
+    }
+
+    private static int weekday(LocalDate day) {
+        return day.getDayOfWeek().getValue() - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.finance.concierge.util;
+
+import com.finance.concierge.repository.projection.MonthlyCategorySpendProjection;
+import lombok.experimental.UtilityClass;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Utility class for dense month-by-category spend matrices
+ * Cells are whole cents in a primitive long[month][category] array; rows are consecutive
+ * calendar months and columns are category IDs in ascending order
+ */
+@UtilityClass
+public class SpendMatrixUtil {
+
+    /**
+     * Spend matrix and the month and category each row and column stands for
+     */
+    public record Matrix(YearMonth firstMonth, long[] categoryIds, long[][] cents) {
+
+        public int months() {
+            return cents.length;
+        }
+
+        public YearMonth month(int row) {
+            return firstMonth.plusMonths(row);
+        }
+    }
+
+    /**
+     * Build the matrix for the given months from monthly category totals
+     * Rows outside the window are ignored; every category with a row in the window gets a column
+     */
+    public static Matrix build(YearMonth firstMonth, int months, List<MonthlyCategorySpendProjection> totals) {
+        long[] categoryIds = totals.stream()
+                .filter(total -> rowOf(firstMonth, months, total) >= 0)
+                .mapToLong(MonthlyCategorySpendProjection::categoryId)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        long[][] cents = new long[months][categoryIds.length];
+        for (MonthlyCategorySpendProjection total : totals) {
+            int row = rowOf(firstMonth, months, total);
+            if (row >= 0) {
+                cents[row][Arrays.binarySearch(categoryIds, total.categoryId())] += total.totalCents();
+            }
+        }
+        return new Matrix(firstMonth, categoryIds, cents);
+    }
+
+    /**
+     * Month-over-month change per cell; the first row has no previous month and is all zero
+     */
+    public static long[][] monthOverMonthDeltas(long[][] cents) {
+        long[][] deltas = new long[cents.length][];
+        for (int month = 0; month < cents.length; month++) {
+            deltas[month] = new long[cents[month].length];
+            if (month == 0) {
+                continue;
+            }
+            for (int category = 0; category < cents[month].length; category++) {
+                deltas[month][category] = cents[month][category] - cents[month - 1][category];
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Total of each row (month) across all categories
+     */
+    public static long[] monthTotals(long[][] cents) {
+        long[] totals = new long[cents.length];
+        for (int month = 0; month < cents.length; month++) {
+            for (long cell : cents[month]) {
+                totals[month] += cell;
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Total of each column (category) across all months
+     */
+    public static long[] categoryTotals(long[][] cents, int categories) {
+        long[] totals = new long[categories];
+        for (long[] row : cents) {
+            for (int category = 0; category < categories; category++) {
+                totals[category] += row[category];
+            }
+        }
+        return totals;
+    }
+
+    private static int rowOf(YearMonth firstMonth, int months, MonthlyCategorySpendProjection total) {
+        int row = (total.year() - firstMonth.getYear()) * 12 + total.month() - firstMonth.getMonthValue();
+        return row >= 0 && row < months ? row : -1;
+    }
+}
@@ -0,0 +1,111 @@
+package com.finance.concierge.util;
+
+import com.finance.concierge.repository.projection.DailySpendProjection;
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for the bounded list of a user's highest daily spend totals
+ * The list holds the top CAPACITY days, highest first (later date first on ties), or every
+ * day with spend when there are fewer. Any day outside a full list ranks below its last entry
+ */
+@UtilityClass
+public class TopDailySpendUtil {
+
+    public static final int CAPACITY = 10;
+
+    /**
+     * Highest first; the later date wins a tie, matching the rollup query
+     */
+    public static final Comparator<DayTotal> RANKING = Comparator
+            .comparingLong(DayTotal::totalCents).reversed()
+            .thenComparing(DayTotal::date, Comparator.reverseOrder());
+
+    /**
+     * Total spent (in cents) on one day
+     */
+    public record DayTotal(LocalDate date, long totalCents) {
+    }
+
+    /**
+     * Fold a day's new total into the list
+     *
+     * @return The updated list, or empty when a day outside the list may now rank higher
+     *         and the list has to be recomputed from the rollup
+     */
+    public static Optional<List<DayTotal>> update(List<DayTotal> top, LocalDate date, long dayCents) {
+        DayTotal updated = new DayTotal(date, dayCents);
+        List<DayTotal> next = new ArrayList<>(top.size() + 1);
+
+        boolean wasMember = false;
+        for (DayTotal day : top) {
+            if (day.date().equals(date)) {
+                wasMember = true;
+            } else {
+                next.add(day);
+            }
+        }
+
+        // A member of a full list that drops below the old last entry may be overtaken by an unseen day
+        if (wasMember && top.size() >= CAPACITY && RANKING.compare(updated, top.get(top.size() - 1)) > 0) {
+            return Optional.empty();
+        }
+
+        if (dayCents > 0) {
+            next.add(updated);
+            next.sort(RANKING);
+        }
+        return Optional.of(next.size() > CAPACITY ? List.copyOf(next.subList(0, CAPACITY)) : List.copyOf(next));
+    }
+
+    /**
+     * Build the list from rollup rows already ordered by the highest total
+     */
+    public static List<DayTotal> fromProjections(List<DailySpendProjection> days) {
+        return days.stream()
+                .limit(CAPACITY)
+                .map(day -> new DayTotal(day.date(), day.totalCents()))
+                .toList();
+    }
+
+    /**
+     * Encode as comma-separated "yyyy-MM-dd:cents" pairs
+     */
+    public static String encode(List<DayTotal> top) {
+        return top.stream()
+                .map(day -> day.date() + ":" + day.totalCents())
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Decode a list written by encode
+     *
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static List<DayTotal> decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return List.of();
+        }
+
+        List<DayTotal> top = new ArrayList<>();
+        for (String entry : encoded.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed daily total: " + entry);
+            }
+            try {
+                top.add(new DayTotal(LocalDate.parse(entry.substring(0, separator)),
+                        Long.parseLong(entry.substring(separator + 1))));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed daily total: " + entry, e);
+            }
+        }
+        return top;
+    }
+}
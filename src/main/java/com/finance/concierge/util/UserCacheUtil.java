@@ -0,0 +1,30 @@
+package com.finance.concierge.util;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.experimental.UtilityClass;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Utility class for per-user in-memory caches
+ * Entries are dropped once a user has been idle for a while, and the least useful ones go first
+ * when the cap is reached, so memory follows the active users rather than everyone seen since startup
+ */
+@UtilityClass
+public class UserCacheUtil {
+
+    public static final long MAXIMUM_USERS = 10_000;
+    public static final Duration EXPIRE_AFTER_ACCESS = Duration.ofMinutes(30);
+
+    /**
+     * Bounded, idle-expiring map keyed by user id; supports the atomic ConcurrentMap operations
+     */
+    public static <V> ConcurrentMap<Long, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_USERS)
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS)
+                .<Long, V>build()
+                .asMap();
+    }
+}
@@ -0,0 +1,22 @@
+-- Covering indexes for expense reads
+-- V12__Add_Covering_Expense_Indexes.sql
+--
+-- Every expense query filters on user_id first, so single-column indexes on
+-- user_id, expense_date and created_at are either prefixes of a composite index
+-- or never usable on their own.
+
+-- Date-range aggregates (totals, daily/monthly trend, category breakdown) read
+-- only these four columns and are answered from the index alone
+CREATE INDEX idx_expenses_user_date_category_amount
+    ON expenses (user_id, expense_date, category_id, amount);
+
+-- Per-category listings and sums (with or without a date range)
+CREATE INDEX idx_expenses_user_category_date_amount
+    ON expenses (user_id, category_id, expense_date, amount);
+
+-- idx_expenses_user_date stays: its implicit primary key suffix orders rows by
+-- (expense_date, id), which keyset pagination relies on to avoid a filesort.
+-- idx_expenses_category_id stays: it backs fk_expense_category.
+ALTER TABLE expenses DROP INDEX idx_expenses_user_id;
+ALTER TABLE expenses DROP INDEX idx_expenses_expense_date;
+ALTER TABLE expenses DROP INDEX idx_expenses_created_at;
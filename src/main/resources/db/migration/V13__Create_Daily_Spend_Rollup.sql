@@ -0,0 +1,24 @@
+-- Daily spend rollup
+-- V13__Create_Daily_Spend_Rollup.sql
+--
+-- One row per (user, day, category) with the amount in cents and the number of
+-- expenses. Maintained in the same transaction as every expense insert, update
+-- and delete; dashboards and analytics aggregate this table instead of expenses.
+
+CREATE TABLE IF NOT EXISTS daily_spend_rollup (
+    user_id BIGINT NOT NULL,
+    spend_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    total_cents BIGINT NOT NULL DEFAULT 0,
+    txn_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, spend_date, category_id),
+    INDEX idx_rollup_user_category_date (user_id, category_id, spend_date),
+    CONSTRAINT fk_rollup_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_rollup_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE RESTRICT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from existing expenses
+INSERT INTO daily_spend_rollup (user_id, spend_date, category_id, total_cents, txn_count)
+SELECT user_id, expense_date, category_id, SUM(amount) * 100, COUNT(*)
+FROM expenses
+GROUP BY user_id, expense_date, category_id;
@@ -0,0 +1,22 @@
+-- Monthly spend rollup
+-- V14__Create_Monthly_Spend_Rollup.sql
+--
+-- One row per (user, calendar month) with the amount in cents and the number of
+-- expenses. month_key is year * 100 + month (e.g. 202603), so a year or any run of
+-- months is a primary-key range. Maintained alongside daily_spend_rollup; year
+-- views and year-end forecasts read at most twelve rows from here.
+
+CREATE TABLE IF NOT EXISTS monthly_spend_rollup (
+    user_id BIGINT NOT NULL,
+    month_key INT NOT NULL,
+    total_cents BIGINT NOT NULL DEFAULT 0,
+    txn_count INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, month_key),
+    CONSTRAINT fk_monthly_rollup_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from the daily rollup
+INSERT INTO monthly_spend_rollup (user_id, month_key, total_cents, txn_count)
+SELECT user_id, YEAR(spend_date) * 100 + MONTH(spend_date), SUM(total_cents), SUM(txn_count)
+FROM daily_spend_rollup
+GROUP BY user_id, YEAR(spend_date) * 100 + MONTH(spend_date);
@@ -0,0 +1,13 @@
+-- Per-user spend summary
+-- V15__Create_User_Spend_Summary.sql
+--
+-- One row per user with the top daily spend totals (highest first), encoded as
+-- "yyyy-MM-dd:cents" pairs. Maintained from expense changes alongside the daily
+-- rollup; a NULL list is rebuilt from the daily rollup on the next change.
+
+CREATE TABLE IF NOT EXISTS user_spend_summary (
+    user_id BIGINT NOT NULL,
+    top_daily_totals VARCHAR(512) NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_spend_summary_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,22 @@
+-- Spend forecast state
+-- V16__Create_Spend_Forecast_State.sql
+--
+-- One row per (user, category) with the exponential smoothing state of that daily
+-- spend series: level, weekday offsets, error variance and typical expense size.
+-- Maintained from expense changes; a row with a NULL current_day is rebuilt from the
+-- daily rollup on the next change. Users without rows get a linear forecast.
+
+CREATE TABLE IF NOT EXISTS spend_forecast_state (
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    current_day DATE NULL,
+    pending_cents BIGINT NOT NULL DEFAULT 0,
+    level_cents DOUBLE NOT NULL DEFAULT 0,
+    seasonal_cents VARCHAR(160) NULL,
+    error_variance DOUBLE NOT NULL DEFAULT 0,
+    ticket_cents DOUBLE NOT NULL DEFAULT 0,
+    observed_days INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, category_id),
+    CONSTRAINT fk_forecast_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_forecast_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,13 @@
+-- Per-user data version
+-- V17__Create_User_Data_Version.sql
+--
+-- A counter per user, bumped in the same transaction as every expense or budget
+-- change. Read endpoints derive their ETag from it; keeping it in the database lets
+-- versions keep increasing across restarts so old ETags never match new data.
+
+CREATE TABLE IF NOT EXISTS user_data_version (
+    user_id BIGINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_data_version_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
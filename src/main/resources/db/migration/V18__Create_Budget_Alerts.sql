@@ -0,0 +1,26 @@
+-- Budget alerts
+-- V18__Create_Budget_Alerts.sql
+--
+-- One row per budget, period and alert type, written in the same transaction as the
+-- expense that crossed the line. The unique key makes each alert fire at most once
+-- per period even when spend dips below the line and crosses it again.
+
+CREATE TABLE IF NOT EXISTS budget_alerts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    budget_id BIGINT NOT NULL,
+    category_id BIGINT NULL,
+    budget_period VARCHAR(20) NOT NULL,
+    period_start DATE NOT NULL,
+    alert_type VARCHAR(20) NOT NULL,
+    budget_amount DECIMAL(10, 2) NOT NULL,
+    spent_amount DECIMAL(12, 2) NOT NULL,
+    alert_threshold DECIMAL(5, 2) NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_budget_alert_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_budget_alert_budget FOREIGN KEY (budget_id) REFERENCES budgets(id) ON DELETE CASCADE,
+
+    UNIQUE KEY uk_budget_alert_period_type (budget_id, period_start, alert_type),
+    INDEX idx_budget_alert_user (user_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,23 @@
+-- Default monthly budget per category
+-- V19__Add_Category_Default_Budget.sql
+--
+-- Used for any category a user has not set a monthly budget for. Kept next to the
+-- category so a migration adding a category sets its default in the same place.
+
+ALTER TABLE categories ADD COLUMN default_monthly_budget DECIMAL(10, 2) NULL;
+
+UPDATE categories SET default_monthly_budget = 200.00 WHERE name = 'Food';
+UPDATE categories SET default_monthly_budget = 100.00 WHERE name = 'Transport';
+UPDATE categories SET default_monthly_budget = 150.00 WHERE name = 'Entertainment';
+UPDATE categories SET default_monthly_budget = 300.00 WHERE name = 'Bills';
+UPDATE categories SET default_monthly_budget = 250.00 WHERE name = 'Shopping';
+UPDATE categories SET default_monthly_budget = 200.00 WHERE name = 'Health';
+UPDATE categories SET default_monthly_budget = 150.00 WHERE name = 'Education';
+UPDATE categories SET default_monthly_budget = 300.00 WHERE name = 'Grocery';
+UPDATE categories SET default_monthly_budget = 500.00 WHERE name = 'Investment';
+UPDATE categories SET default_monthly_budget = 200.00 WHERE name = 'Insurance';
+UPDATE categories SET default_monthly_budget = 500.00 WHERE name = 'Credit Card Bill';
+UPDATE categories SET default_monthly_budget = 150.00 WHERE name = 'Social Expense';
+UPDATE categories SET default_monthly_budget = 250.00 WHERE name = 'Home Repair';
+UPDATE categories SET default_monthly_budget = 400.00 WHERE name = 'Loan';
+UPDATE categories SET default_monthly_budget = 100.00 WHERE name = 'Other';
@@ -0,0 +1,16 @@
+-- Rolling and pay-cycle budget windows
+-- V20__Add_Budget_Windows.sql
+--
+-- ROLLING budgets cover the last window_days days; CUSTOM budgets cover repeating
+-- cycles of window_days days counted from cycle_start_date. Calendar periods keep
+-- window_days at 0. A user may hold several windows of the same kind per category,
+-- so the window length joins the uniqueness key.
+
+ALTER TABLE budgets ADD COLUMN window_days INT NOT NULL DEFAULT 0;
+ALTER TABLE budgets ADD COLUMN cycle_start_date DATE NULL;
+
+CREATE UNIQUE INDEX uk_budget_user_category_period_window
+    ON budgets (user_id, category_id, budget_period, window_days);
+
+-- idx_budget_user_active still backs the user_id foreign key
+ALTER TABLE budgets DROP CONSTRAINT uk_budget_user_category_period;
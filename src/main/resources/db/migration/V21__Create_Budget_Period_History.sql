@@ -0,0 +1,33 @@
+-- Budget period history and carry-over
+-- V21__Create_Budget_Period_History.sql
+--
+-- The period-close job writes one row per budget and closed period with its final
+-- spend, so budget-vs-actual history is read back without summing past expenses.
+-- A budget with carry_over set adds what it left unused in one period to the next;
+-- the amount and the period it applies to are kept on the budget.
+
+ALTER TABLE budgets ADD COLUMN carry_over BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE budgets ADD COLUMN carry_in_amount DECIMAL(10, 2) NOT NULL DEFAULT 0;
+ALTER TABLE budgets ADD COLUMN carry_in_period_start DATE NULL;
+
+CREATE TABLE IF NOT EXISTS budget_period_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    budget_id BIGINT NOT NULL,
+    category_id BIGINT NULL,
+    budget_period VARCHAR(20) NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    budget_amount DECIMAL(10, 2) NOT NULL,
+    carried_in DECIMAL(10, 2) NOT NULL,
+    spent_amount DECIMAL(12, 2) NOT NULL,
+    remaining_amount DECIMAL(12, 2) NOT NULL,
+    carried_out DECIMAL(10, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_budget_history_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_budget_history_budget FOREIGN KEY (budget_id) REFERENCES budgets(id) ON DELETE CASCADE,
+
+    UNIQUE KEY uk_budget_history_period (budget_id, period_start),
+    INDEX idx_budget_history_user_budget (user_id, budget_id, period_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,8 @@
+-- Forecast state: spend dated ahead
+-- V22__Add_Forecast_Future_Spend_Day.sql
+--
+-- An expense dated after today is left out of its series' state when written. The
+-- earliest such day is kept on the row, and the series is rebuilt from the daily
+-- rollup once that day arrives, so the spend is folded in when it becomes due.
+
+ALTER TABLE spend_forecast_state ADD COLUMN future_spend_day DATE NULL;
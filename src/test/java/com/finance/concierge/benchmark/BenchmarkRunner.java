@@ -0,0 +1,56 @@
+package com.finance.concierge.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Minimal in-process latency and allocation probe for database-backed read paths
+ * JMH cannot drive a Spring context with a seeded database, so these benchmarks measure
+ * wall time and bytes allocated by the calling thread around each invocation instead
+ */
+final class BenchmarkRunner {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Result of one measured scenario
+     */
+    record Result(String name, double p50Millis, double p95Millis, double allocatedMegabytesPerOp) {
+
+        @Override
+        public String toString() {
+            return String.format("%-40s p50=%8.2f ms  p95=%8.2f ms  alloc=%8.2f MB/op",
+                    name, p50Millis, p95Millis, allocatedMegabytesPerOp);
+        }
+    }
+
+    /**
+     * Run a scenario for the given number of warmup and measured iterations
+     */
+    static Result measure(String name, int warmupIterations, int measuredIterations, Runnable scenario) {
+        for (int i = 0; i < warmupIterations; i++) {
+            scenario.run();
+        }
+
+        long[] nanos = new long[measuredIterations];
+        long allocatedBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < measuredIterations; i++) {
+            long start = System.nanoTime();
+            scenario.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        Arrays.sort(nanos);
+        Result result = new Result(name,
+                nanos[measuredIterations / 2] / 1_000_000.0,
+                nanos[(int) Math.ceil(measuredIterations * 0.95) - 1] / 1_000_000.0,
+                allocated / (double) measuredIterations / (1024 * 1024));
+        System.out.println(result);
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package com.finance.concierge.benchmark;
+
+import com.finance.concierge.util.BudgetSimulationUtil;
+import com.finance.concierge.util.BudgetSimulationUtil.Model;
+import com.finance.concierge.util.BudgetSimulationUtil.Outcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of a budget what-if simulation: 90 days of history over 15 categories,
+ * a full 30-day month left to play out, on one worker and on one per CPU.
+ * Run after mvn test-compile with
+ * java -cp target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)
+ * org.openjdk.jmh.Main BudgetSimulationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetSimulationBenchmark {
+
+    private static final int CATEGORIES = 15;
+    private static final int HISTORY_DAYS = 90;
+
+    @Param({"10000", "100000"})
+    private int paths;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private Model model;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[][] history = new long[HISTORY_DAYS][CATEGORIES];
+        for (long[] day : history) {
+            for (int c = 0; c < CATEGORIES; c++) {
+                // Most categories see no spend on most days
+                day[c] = random.nextInt(4) == 0 ? 100 + random.nextInt(8_000) : 0;
+            }
+        }
+        double[] multipliers = new double[CATEGORIES];
+        Arrays.fill(multipliers, 1.0);
+        multipliers[0] = 0.8;
+        long[] limits = new long[CATEGORIES];
+        Arrays.fill(limits, 30_000L);
+
+        model = new Model(history, multipliers, new long[CATEGORIES], limits, 300_000L, 30);
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Outcome simulate() {
+        return BudgetSimulationUtil.simulate(model, paths, 7L, pool);
+    }
+}
@@ -0,0 +1,133 @@
+package com.finance.concierge.benchmark;
+
+import com.finance.concierge.dto.DashboardStatsDTO;
+import com.finance.concierge.dto.MonthlyComparisonDTO;
+import com.finance.concierge.entity.Expense;
+import com.finance.concierge.service.DashboardService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latency and allocation comparison of the entity-based dashboard build vs. the rollup fold,
+ * plus the 24-month comparison matrix, on a user with 60k expenses. Not part of the default
+ * test run; execute with mvn test -Dtest=DashboardStatsBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardStatsBenchmark {
+
+    private static final int EXPENSE_COUNT = 60_000;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        userId = HeavyUserFixture.seed(jdbcTemplate, "dashboard-benchmark", EXPENSE_COUNT);
+    }
+
+    @Test
+    void compareEntityAndRollupDashboards() {
+        EntityDashboard entities = transactionTemplate.execute(status -> buildViaEntities());
+        DashboardStatsDTO stats = dashboardService.getDashboardStats(userId);
+        assertEquals(0, entities.totalThisMonth().compareTo(stats.getTotalSpentThisMonth()));
+        assertEquals(0, entities.totalLastMonth().compareTo(stats.getTotalSpentLastMonth()));
+
+        BenchmarkRunner.measure("dashboard: entity lists + stream sums", WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> transactionTemplate.execute(status -> {
+                    EntityDashboard dashboard = buildViaEntities();
+                    entityManager.clear();
+                    return dashboard;
+                }));
+
+        BenchmarkRunner.measure("dashboard: rollup cells + top-5 query", WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> dashboardService.getDashboardStats(userId));
+    }
+
+    @Test
+    void measureMonthlyComparison() {
+        MonthlyComparisonDTO comparison = dashboardService.getMonthlyComparison(userId, 24);
+        assertEquals(24, comparison.getMonths().size());
+
+        BenchmarkRunner.measure("monthly comparison: 24 x category matrix", WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> dashboardService.getMonthlyComparison(userId, 24));
+    }
+
+    /**
+     * The dashboard as it was before the rollup: three overlapping entity loads, BigDecimal
+     * stream sums and a full in-memory sort for the top five
+     */
+    private EntityDashboard buildViaEntities() {
+        LocalDate today = LocalDate.now();
+        YearMonth thisMonth = YearMonth.from(today);
+
+        List<Expense> currentMonth = loadExpenses(thisMonth.atDay(1), thisMonth.atEndOfMonth());
+        List<Expense> lastMonth = loadExpenses(thisMonth.minusMonths(1).atDay(1), thisMonth.minusMonths(1).atEndOfMonth());
+        List<Expense> last30Days = loadExpenses(today.minusDays(30), today);
+
+        BigDecimal totalThisMonth = currentMonth.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalLastMonth = lastMonth.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        Map<String, BigDecimal> byCategory = currentMonth.stream().collect(Collectors.groupingBy(
+                e -> e.getCategory().getName(),
+                Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)));
+        Map<LocalDate, BigDecimal> byDay = last30Days.stream().collect(Collectors.groupingBy(
+                Expense::getExpenseDate,
+                Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)));
+        List<Expense> top = currentMonth.stream()
+                .sorted(Comparator.comparing(Expense::getAmount).reversed())
+                .limit(5)
+                .collect(Collectors.toList());
+
+        return new EntityDashboard(totalThisMonth, totalLastMonth, byCategory, byDay, top);
+    }
+
+    /**
+     * Everything the entity-based build produced, returned so none of it is optimized away
+     */
+    private record EntityDashboard(BigDecimal totalThisMonth, BigDecimal totalLastMonth,
+                                   Map<String, BigDecimal> byCategory, Map<LocalDate, BigDecimal> byDay,
+                                   List<Expense> topExpenses) {
+    }
+
+    private List<Expense> loadExpenses(LocalDate startDate, LocalDate endDate) {
+        return entityManager.createQuery(
+                        "SELECT e FROM Expense e JOIN FETCH e.category WHERE e.user.id = :userId " +
+                        "AND e.expenseDate BETWEEN :startDate AND :endDate ORDER BY e.expenseDate DESC", Expense.class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+    }
+}
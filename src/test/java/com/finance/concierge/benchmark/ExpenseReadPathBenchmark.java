@@ -0,0 +1,104 @@
+package com.finance.concierge.benchmark;
+
+import com.finance.concierge.dto.ExpenseResponseDTO;
+import com.finance.concierge.entity.Expense;
+import com.finance.concierge.service.ExpenseService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Latency and allocation comparison of entity loading vs. DTO projections for expense list reads
+ * on a user with 100k expenses. Not part of the default test run; execute with
+ * mvn test -Dtest=ExpenseReadPathBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpenseReadPathBenchmark {
+
+    private static final int EXPENSE_COUNT = 100_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    private Long userId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @BeforeAll
+    void seed() {
+        userId = HeavyUserFixture.seed(jdbcTemplate, "read-path-benchmark", EXPENSE_COUNT);
+        endDate = LocalDate.now();
+        startDate = endDate.minusYears(3);
+    }
+
+    @Test
+    void compareEntityAndProjectionReads() {
+        int entityRows = transactionTemplate.execute(status -> loadViaEntities().size());
+        int projectionRows = expenseService.getExpensesByDateRange(userId, startDate, endDate).size();
+        assertEquals(entityRows, projectionRows);
+
+        BenchmarkRunner.measure("date range: managed entities + mapping", WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> transactionTemplate.execute(status -> {
+                    List<ExpenseResponseDTO> rows = loadViaEntities();
+                    entityManager.clear();
+                    return rows;
+                }));
+
+        BenchmarkRunner.measure("date range: projection + registry", WARMUP_ITERATIONS, MEASURED_ITERATIONS,
+                () -> expenseService.getExpensesByDateRange(userId, startDate, endDate));
+    }
+
+    /**
+     * The read path as it was before projections: eager category join, managed entities, then DTO copies
+     */
+    private List<ExpenseResponseDTO> loadViaEntities() {
+        List<Expense> expenses = entityManager.createQuery(
+                        "SELECT e FROM Expense e JOIN FETCH e.category WHERE e.user.id = :userId " +
+                        "AND e.expenseDate BETWEEN :startDate AND :endDate ORDER BY e.expenseDate DESC", Expense.class)
+                .setParameter("userId", userId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+
+        return expenses.stream()
+                .map(expense -> ExpenseResponseDTO.builder()
+                        .id(expense.getId())
+                        .amount(expense.getAmount())
+                        .currency(expense.getCurrency())
+                        .categoryName(expense.getCategory().getName())
+                        .categoryIcon(expense.getCategory().getIcon())
+                        .categoryColor(expense.getCategory().getColor())
+                        .description(expense.getDescription())
+                        .expenseDate(expense.getExpenseDate())
+                        .aiParsed(expense.getAiParsed())
+                        .originalMessage(expense.getOriginalMessage())
+                        .createdAt(expense.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
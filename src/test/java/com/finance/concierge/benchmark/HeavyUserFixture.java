@@ -0,0 +1,75 @@
+package com.finance.concierge.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a single user with a large, deterministic expense history for read-path benchmarks
+ */
+final class HeavyUserFixture {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int HISTORY_DAYS = 3 * 365;
+
+    private HeavyUserFixture() {
+    }
+
+    /**
+     * Insert a user with the given number of expenses spread over the last three years
+     *
+     * @return The new user's ID
+     */
+    static Long seed(JdbcTemplate jdbcTemplate, String username, int expenseCount) {
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, 'USER')",
+                username, username + "@example.com", "benchmark");
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < expenseCount; i++) {
+            LocalDate date = today.minusDays(i % HISTORY_DAYS);
+            Long categoryId = categoryIds.get(random.nextInt(categoryIds.size()));
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(20_000), 2);
+
+            batch.add(new Object[]{userId, categoryId, amount, "USD", "Benchmark expense " + i, Date.valueOf(date)});
+            if (batch.size() == BATCH_SIZE) {
+                insert(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(jdbcTemplate, batch);
+        }
+
+        // Rows were inserted behind the service layer, so derive the rollups the same way the rebuild job does
+        jdbcTemplate.update(
+                "INSERT INTO daily_spend_rollup (user_id, spend_date, category_id, total_cents, txn_count) " +
+                "SELECT user_id, expense_date, category_id, SUM(amount) * 100, COUNT(*) FROM expenses " +
+                "WHERE user_id = ? GROUP BY user_id, expense_date, category_id",
+                userId);
+        jdbcTemplate.update(
+                "INSERT INTO monthly_spend_rollup (user_id, month_key, total_cents, txn_count) " +
+                "SELECT user_id, YEAR(spend_date) * 100 + MONTH(spend_date), SUM(total_cents), SUM(txn_count) " +
+                "FROM daily_spend_rollup WHERE user_id = ? GROUP BY user_id, YEAR(spend_date) * 100 + MONTH(spend_date)",
+                userId);
+
+        return userId;
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO expenses (user_id, category_id, amount, currency, description, expense_date, ai_parsed) " +
+                "VALUES (?, ?, ?, ?, ?, ?, FALSE)",
+                batch);
+    }
+}
@@ -0,0 +1,87 @@
+package com.finance.concierge.benchmark;
+
+import com.finance.concierge.config.JwtAuthenticationFilter;
+import com.finance.concierge.entity.User;
+import com.finance.concierge.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of JwtAuthenticationFilter on a repeat bearer token, with the verified-token
+ * cache off (0) and on, next to the token work the filter did before: three parses, each with
+ * its own parser and key. The token carries the principal, so the stubbed user lookup is never hit.
+ * Run after mvn test-compile with
+ * java -cp target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)
+ * org.openjdk.jmh.Main JwtFilterBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    @Param({"0", "10000"})
+    private int verifiedCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        User alice = User.builder().id(1L).username("alice").email("alice@example.com").role(User.Role.USER).build();
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 86_400_000L, 604_800_000L, verifiedCacheSize, Clock.systemUTC());
+        filter = new JwtAuthenticationFilter(jwtUtils, username -> alice);
+        token = jwtUtils.generateToken(alice);
+    }
+
+    @Benchmark
+    public Object filter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    @Benchmark
+    public Object legacyTokenWork() {
+        Claims claims = null;
+        for (int i = 0; i < 3; i++) {
+            claims = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,141 @@
+package com.finance.concierge.benchmark;
+
+import com.finance.concierge.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the aggregation kernels used for dashboard, analytics and budget math:
+ * BigDecimal stream reductions and double averages vs. long minor units and Money.
+ * Run after mvn test-compile with
+ * java -cp target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)
+ * org.openjdk.jmh.Main MoneyAggregationBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    private static final int CATEGORIES = 15;
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Param({"1000", "50000"})
+    private int rows;
+
+    private List<BigDecimal> amounts;
+    private long[] cents;
+    private int[] categoryOfRow;
+    private BigDecimal budgetLimit;
+    private Money budgetLimitMoney;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        BigDecimal[] decimals = new BigDecimal[rows];
+        cents = new long[rows];
+        categoryOfRow = new int[rows];
+
+        for (int i = 0; i < rows; i++) {
+            long amountCents = 100 + random.nextInt(20_000);
+            decimals[i] = BigDecimal.valueOf(amountCents, 2);
+            cents[i] = amountCents;
+            categoryOfRow[i] = random.nextInt(CATEGORIES);
+        }
+        amounts = List.of(decimals);
+        budgetLimit = new BigDecimal("2500.00");
+        budgetLimitMoney = Money.of(budgetLimit, USD);
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimalStream() {
+        return amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Money sumLongMinorUnits() {
+        long total = 0;
+        for (long amount : cents) {
+            total += amount;
+        }
+        return Money.ofMinor(total, USD);
+    }
+
+    @Benchmark
+    public Money sumMoneyPlus() {
+        Money total = Money.zero(USD);
+        for (long amount : cents) {
+            total = total.plus(Money.ofMinor(amount, USD));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void categorySharesBigDecimal(Blackhole blackhole) {
+        BigDecimal[] totals = new BigDecimal[CATEGORIES];
+        Arrays.fill(totals, BigDecimal.ZERO);
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (int i = 0; i < rows; i++) {
+            BigDecimal amount = amounts.get(i);
+            totals[categoryOfRow[i]] = totals[categoryOfRow[i]].add(amount);
+            grandTotal = grandTotal.add(amount);
+        }
+        for (BigDecimal total : totals) {
+            blackhole.consume(total.divide(grandTotal, 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100)).doubleValue());
+            blackhole.consume(total.divide(budgetLimit, 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100)).doubleValue());
+        }
+    }
+
+    @Benchmark
+    public void categorySharesMoney(Blackhole blackhole) {
+        long[] totals = new long[CATEGORIES];
+        long grandTotal = 0;
+        for (int i = 0; i < rows; i++) {
+            totals[categoryOfRow[i]] += cents[i];
+            grandTotal += cents[i];
+        }
+        Money grand = Money.ofMinor(grandTotal, USD);
+        for (long total : totals) {
+            Money amount = Money.ofMinor(total, USD);
+            blackhole.consume(amount.percentOf(grand));
+            blackhole.consume(amount.percentOf(budgetLimitMoney));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal averageDouble() {
+        double average = amounts.stream().mapToDouble(BigDecimal::doubleValue).average().orElse(0.0);
+        return BigDecimal.valueOf(average).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public Money averageMoney() {
+        long total = 0;
+        for (long amount : cents) {
+            total += amount;
+        }
+        return Money.ofMinor(total, USD).dividedBy(rows);
+    }
+}
@@ -0,0 +1,212 @@
+package com.finance.concierge.benchmark;
+
+import com.finance.concierge.util.SpendForecastUtil;
+import com.finance.concierge.util.SpendForecastUtil.Prediction;
+import com.finance.concierge.util.SpendForecastUtil.State;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walk-forward backtest of the spend forecasting model on synthetic users
+ * Each user has categories with Poisson expense counts and log-normal amounts, a monthly bill and
+ * a mid-history change in spending level. Expenses are fed to the model day by day exactly as the
+ * expense listener would; on the 5th, 15th and 25th of every month after a warm-up the
+ * rest-of-month forecast is scored against the actual month total, next to the linear
+ * month-to-date extrapolation it replaces. The interval has no fitted parameters, so its coverage
+ * is checked on two differently shaped generators. Not part of the default test run; execute with
+ * mvn test -Dtest=SpendForecastBacktest
+ */
+@Tag("benchmark")
+class SpendForecastBacktest {
+
+    private static final int USERS = 300;
+    private static final int HISTORY_DAYS = 2 * 365;
+    private static final int WARMUP_DAYS = 120;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void restOfMonth_ModelVsLinearExtrapolation() {
+        Result result = run(new Random(42), Profile.WEEKLY_ROUTINE);
+        report(result);
+
+        assertTrue(result.modelAbsoluteError < result.linearAbsoluteError, "model should beat linear extrapolation");
+        assertCoverage(result);
+    }
+
+    @Test
+    void restOfMonth_HeavyTailedAmountsWithoutWeekdayPattern() {
+        Result result = run(new Random(7), Profile.IRREGULAR);
+        report(result);
+
+        assertCoverage(result);
+    }
+
+    private static void report(Result result) {
+        System.out.printf("%d forecasts over %d synthetic users%n", result.forecasts, USERS);
+        System.out.printf("Mean absolute error   model %8.2f   linear %8.2f%n",
+                result.modelAbsoluteError / result.forecasts / 100, result.linearAbsoluteError / result.forecasts / 100);
+        System.out.printf("%d%% interval coverage %.1f%%%n",
+                SpendForecastUtil.INTERVAL_PERCENT, 100.0 * result.covered / result.forecasts);
+    }
+
+    private static void assertCoverage(Result result) {
+        double coverage = (double) result.covered / result.forecasts;
+        assertTrue(Math.abs(coverage - SpendForecastUtil.INTERVAL_PERCENT / 100.0) <= 0.05,
+                "interval coverage should be close to its nominal level");
+    }
+
+    static Result run(Random random, Profile profile) {
+        Result result = new Result();
+        for (int user = 0; user < USERS; user++) {
+            long[][] spend = SyntheticUser.random(random, profile).generate(random, HISTORY_DAYS);
+            backtestUser(spend, result);
+        }
+        return result;
+    }
+
+    private static void backtestUser(long[][] spend, Result result) {
+        int categories = spend[0].length;
+        State[] states = new State[categories];
+        for (int category = 0; category < categories; category++) {
+            states[category] = SpendForecastUtil.start(FIRST_DAY);
+        }
+
+        long monthToDate = 0;
+        for (int day = 0; day < HISTORY_DAYS; day++) {
+            LocalDate today = FIRST_DAY.plusDays(day);
+            if (today.getDayOfMonth() == 1) {
+                monthToDate = 0;
+            }
+            for (int category = 0; category < categories; category++) {
+                if (spend[day][category] > 0) {
+                    states[category] = SpendForecastUtil.addExpense(states[category], today, spend[day][category], 1);
+                }
+                monthToDate += spend[day][category];
+            }
+
+            LocalDate monthEnd = today.withDayOfMonth(today.lengthOfMonth());
+            int lastDay = day + monthEnd.getDayOfMonth() - today.getDayOfMonth();
+            boolean scored = today.getDayOfMonth() % 10 == 5;
+            if (day < WARMUP_DAYS || !scored || lastDay >= HISTORY_DAYS) {
+                continue;
+            }
+
+            long actual = monthToDate;
+            for (int future = day + 1; future <= lastDay; future++) {
+                for (int category = 0; category < categories; category++) {
+                    actual += spend[future][category];
+                }
+            }
+
+            Prediction restOfMonth = Prediction.NONE;
+            for (State state : states) {
+                restOfMonth = restOfMonth.plus(
+                        SpendForecastUtil.predict(SpendForecastUtil.rollTo(state, today), today, monthEnd));
+            }
+            double model = monthToDate + restOfMonth.meanCents();
+            double linear = (double) monthToDate * today.lengthOfMonth() / today.getDayOfMonth();
+
+            result.forecasts++;
+            result.modelAbsoluteError += Math.abs(model - actual);
+            result.linearAbsoluteError += Math.abs(linear - actual);
+            if (actual >= monthToDate + restOfMonth.lowerCents() && actual <= monthToDate + restOfMonth.upperCents()) {
+                result.covered++;
+            }
+        }
+    }
+
+    static final class Result {
+        int forecasts;
+        int covered;
+        double modelAbsoluteError;
+        double linearAbsoluteError;
+    }
+
+    /**
+     * Shape of a generator: expenses per day, typical amount in cents and weekday multipliers
+     * (Monday first) per category, and the log-normal spread of amounts
+     */
+    enum Profile {
+        WEEKLY_ROUTINE(new double[]{0.6, 0.4, 0.9, 0.1}, new double[]{4_000, 2_500, 800, 8_000}, new double[][]{
+                {0.6, 0.6, 0.7, 0.8, 1.0, 2.2, 1.1},   // groceries
+                {0.4, 0.4, 0.5, 0.7, 1.8, 2.4, 0.8},   // dining
+                {1.3, 1.3, 1.3, 1.3, 1.2, 0.3, 0.3},   // transport
+                {0.7, 0.7, 0.7, 0.8, 1.0, 1.7, 1.4}    // shopping
+        }, 0.6),
+        IRREGULAR(new double[]{0.3, 1.5, 0.05}, new double[]{6_000, 500, 20_000}, new double[][]{
+                {1, 1, 1, 1, 1, 1, 1},
+                {1, 1, 1, 1, 1, 1, 1},
+                {1, 1, 1, 1, 1, 1, 1}
+        }, 1.0);
+
+        private final double[] rates;
+        private final double[] typicalCents;
+        private final double[][] weekdayFactors;
+        private final double amountSpread;
+
+        Profile(double[] rates, double[] typicalCents, double[][] weekdayFactors, double amountSpread) {
+            this.rates = rates;
+            this.typicalCents = typicalCents;
+            this.weekdayFactors = weekdayFactors;
+            this.amountSpread = amountSpread;
+        }
+    }
+
+    /**
+     * Spending profile of one synthetic user
+     *
+     * @param scale    Multiplier on every amount
+     * @param shiftDay Day on which spending changes by shiftFactor
+     */
+    record SyntheticUser(Profile profile, double scale, int shiftDay, double shiftFactor) {
+
+        private static final long MONTHLY_BILL_CENTS = 12_000;
+
+        static SyntheticUser random(Random random, Profile profile) {
+            return new SyntheticUser(profile, 0.5 + 1.5 * random.nextDouble(),
+                    WARMUP_DAYS + random.nextInt(HISTORY_DAYS - WARMUP_DAYS), 0.7 + 0.6 * random.nextDouble());
+        }
+
+        /**
+         * Daily spend in cents per day and category; the last category is the monthly bill
+         */
+        long[][] generate(Random random, int days) {
+            double[] rates = profile.rates;
+            long[][] spend = new long[days][rates.length + 1];
+            for (int day = 0; day < days; day++) {
+                LocalDate date = FIRST_DAY.plusDays(day);
+                int weekday = date.getDayOfWeek().getValue() - 1;
+                double level = scale * (day >= shiftDay ? shiftFactor : 1.0);
+
+                for (int category = 0; category < rates.length; category++) {
+                    int count = poisson(random, rates[category] * profile.weekdayFactors[category][weekday]);
+                    for (int i = 0; i < count; i++) {
+                        // Log-normal amount with the category's typical amount as median
+                        spend[day][category] += Math.round(level * profile.typicalCents[category]
+                                * Math.exp(profile.amountSpread * random.nextGaussian()));
+                    }
+                }
+                if (date.getDayOfMonth() == 1) {
+                    spend[day][rates.length] = Math.round(MONTHLY_BILL_CENTS * scale);
+                }
+            }
+            return spend;
+        }
+
+        private static int poisson(Random random, double mean) {
+            double limit = Math.exp(-mean);
+            double product = random.nextDouble();
+            int count = 0;
+            while (product > limit) {
+                product *= random.nextDouble();
+                count++;
+            }
+            return count;
+        }
+    }
+}
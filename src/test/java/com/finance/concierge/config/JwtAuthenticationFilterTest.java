@@ -0,0 +1,85 @@
+package com.finance.concierge.config;
+
+import com.finance.concierge.entity.User;
+import com.finance.concierge.util.JwtUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Clock;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for authenticating requests from the access token alone
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtUtils jwtUtils;
+    private JwtAuthenticationFilter filter;
+
+    private final User alice = User.builder()
+            .id(7L).username("alice").email("alice@example.com").role(User.Role.PREMIUM).currencyCode("EUR").build();
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 60_000L, 600_000L, 100, Clock.systemUTC());
+        filter = new JwtAuthenticationFilter(jwtUtils, userDetailsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessToken_AuthenticatesWithoutUserLookup() throws Exception {
+        Authentication authentication = filter(jwtUtils.generateToken(alice));
+
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(7L, principal.id());
+        assertEquals("EUR", principal.currencyCode());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_PREMIUM")));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void tokenWithoutPrincipal_LoadsUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(alice);
+
+        Authentication authentication = filter(jwtUtils.generateToken(Map.of(), alice));
+
+        assertEquals(AuthenticatedUser.of(alice), authentication.getPrincipal());
+    }
+
+    @Test
+    void lockedUser_NotAuthenticated() throws Exception {
+        alice.setIsAccountNonLocked(false);
+
+        assertNull(filter(jwtUtils.generateToken(alice)));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/expenses");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,190 @@
+package com.finance.concierge.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing tests against two embedded H2 databases standing in for the primary and the replica
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate primaryRead;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        ReplicationLagGuard lagGuard = new ReplicationLagGuard(Duration.ofSeconds(5), new TestClock(now));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, lagGuard));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        primaryRead = ReadWriteRoutingDataSource.primaryReadTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransaction_RoutesToReplica() {
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readWriteTransaction_RoutesToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void noTransaction_RoutesToPrimary() {
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    void readAfterWrite_SameUser_StaysOnPrimaryUntilLagWindowPasses() {
+        authenticateAs("alice");
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE db_role SET writes = writes + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        now.addAndGet(Duration.ofSeconds(5).toMillis());
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readAfterWrite_OtherUser_RoutesToReplica() {
+        authenticateAs("alice");
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE db_role SET writes = writes + 1"));
+
+        authenticateAs("bob");
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotPinUser() {
+        authenticateAs("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE db_role SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readWriteTransaction_OnlyReads_DoesNotPinUser() {
+        authenticateAs("alice");
+        readWrite.execute(status -> currentDatabase());
+
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readAfterWrite_PlainStatement_PinsUser() {
+        authenticateAs("alice");
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.execute("/* counter */ UPDATE db_role SET writes = writes + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void primaryRead_RoutesToPrimaryWithoutPinningUser() {
+        authenticateAs("alice");
+
+        assertEquals("primary", primaryRead.execute(status -> currentDatabase()));
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void modifiesData_ReadsAndWrites() {
+        assertFalse(ReadWriteRoutingDataSource.modifiesData("  select * from users"));
+        assertFalse(ReadWriteRoutingDataSource.modifiesData("/* load */ WITH t AS (SELECT 1) SELECT * FROM t"));
+        assertTrue(ReadWriteRoutingDataSource.modifiesData("insert into expenses values (1)"));
+        assertTrue(ReadWriteRoutingDataSource.modifiesData("/* update */ UPDATE budgets SET budget_amount = 1"));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM db_role", String.class);
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE db_role (name VARCHAR(20) NOT NULL, writes INT NOT NULL)");
+        jdbc.update("INSERT INTO db_role (name, writes) VALUES (?, 0)", name);
+        return database;
+    }
+
+    private static final class TestClock extends Clock {
+
+        private final AtomicLong millis;
+
+        private TestClock(AtomicLong millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.finance.concierge.controller;
+
+import com.finance.concierge.config.AuthenticatedUser;
+import com.finance.concierge.entity.User;
+import com.finance.concierge.service.DashboardService;
+import com.finance.concierge.service.DashboardStreamService;
+import com.finance.concierge.service.DataVersionService;
+import com.finance.concierge.service.ExpenseExportService;
+import com.finance.concierge.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseControllerTest {
+
+    @Mock
+    private ExpenseService expenseService;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private ExpenseExportService expenseExportService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private DashboardStreamService dashboardStreamService;
+
+    @InjectMocks
+    private ExpenseController expenseController;
+
+    private Authentication authentication;
+
+    private static final String CSV = "\"Id\",\"Date\"\n\"10\",\"2026-01-05\"\n";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(1L, "testuser", User.Role.USER, true, true, "USD");
+        authentication = new UsernamePasswordAuthenticationToken(user, null, List.of());
+
+        lenient().when(expenseExportService.exportExpenses(eq(1L), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(4);
+                    out.write(CSV.getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+    }
+
+    @Test
+    void exportExpenses_Csv_StreamsPlainUtf8Attachment() throws Exception {
+        LocalDate start = LocalDate.of(2026, 1, 1);
+
+        ResponseEntity<StreamingResponseBody> response =
+                expenseController.exportExpenses("csv", start, null, false, authentication);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.parseMediaType("text/csv;charset=UTF-8"), response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).endsWith(".csv\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(CSV, out.toString(StandardCharsets.UTF_8));
+        verify(expenseExportService).exportExpenses(eq(1L), eq(start), isNull(),
+                eq(ExpenseExportService.Format.CSV), any());
+    }
+
+    @Test
+    void exportExpenses_Gzip_BodyDecompressesToExport() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                expenseController.exportExpenses("NDJSON", null, null, true, authentication);
+
+        assertEquals(MediaType.parseMediaType("application/gzip"), response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).endsWith(".ndjson.gz\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(CSV, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        verify(expenseExportService).exportExpenses(eq(1L), isNull(), isNull(),
+                eq(ExpenseExportService.Format.NDJSON), any());
+    }
+
+    @Test
+    void exportExpenses_UnknownFormat_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseController.exportExpenses("xml", null, null, false, authentication));
+        verifyNoInteractions(expenseExportService);
+    }
+}
@@ -1,11 +1,20 @@
 package com.finance.concierge.controller;
 
 import com.finance.concierge.common.ApiResponse;
+import com.finance.concierge.config.AuthenticatedUser;
+import com.finance.concierge.dto.BudgetAlertDTO;
+import com.finance.concierge.dto.BudgetPeriodHistoryDTO;
 import com.finance.concierge.dto.BudgetRequestDTO;
 import com.finance.concierge.dto.BudgetResponseDTO;
+import com.finance.concierge.dto.BudgetSimulationDTO;
+import com.finance.concierge.dto.BudgetSimulationRequestDTO;
 import com.finance.concierge.entity.User;
 import com.finance.concierge.exception.ForbiddenException;
+import com.finance.concierge.service.BudgetAlertService;
+import com.finance.concierge.service.BudgetPeriodService;
 import com.finance.concierge.service.BudgetService;
+import com.finance.concierge.service.BudgetSimulationService;
+import com.finance.concierge.service.DataVersionService;
 import com.finance.concierge.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,11 +24,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,10 +45,25 @@ class UserBudgetControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private BudgetAlertService budgetAlertService;
+
+    @Mock
+    private BudgetSimulationService budgetSimulationService;
+
+    @Mock
+    private BudgetPeriodService budgetPeriodService;
+
+    @Mock
+    private WebRequest webRequest;
+
     @InjectMocks
     private UserBudgetController userBudgetController;
 
-    private User authenticatedUser;
+    private AuthenticatedUser authenticatedUser;
     private User targetUser;
     private BudgetRequestDTO budgetRequest;
     private BudgetResponseDTO budgetResponse;
@@ -45,12 +71,7 @@ class UserBudgetControllerTest {
 
     @BeforeEach
     void setUp() {
-        authenticatedUser = User.builder()
-                .id(1L)
-                .username("testuser")
-                .email("test@example.com")
-                .role(User.Role.USER)
-                .build();
+        authenticatedUser = new AuthenticatedUser(1L, "testuser", User.Role.USER, true, true, "USD");
 
         targetUser = User.builder()
                 .id(1L)
@@ -99,6 +120,76 @@ class UserBudgetControllerTest {
     }
 
 
+    @Test
+    void getBudgetAlerts_SelfAccess_ReturnsRecentAlerts() {
+        BudgetAlertDTO alert = BudgetAlertDTO.builder()
+                .budgetId(1L)
+                .categoryName("Food")
+                .alertType("OVER_BUDGET")
+                .build();
+        when(budgetAlertService.getRecentAlerts(1L, 20)).thenReturn(List.of(alert));
+
+        ResponseEntity<ApiResponse<List<BudgetAlertDTO>>> response =
+                userBudgetController.getBudgetAlerts(1L, 20, authenticatedUser);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(alert), response.getBody().getData());
+    }
+
+    @Test
+    void getBudgetAlerts_OtherUser_Forbidden() {
+        assertThrows(ForbiddenException.class,
+                () -> userBudgetController.getBudgetAlerts(2L, 20, authenticatedUser));
+
+        verifyNoInteractions(budgetAlertService);
+    }
+
+    @Test
+    void simulateBudgets_SelfAccess_ReturnsSimulation() {
+        BudgetSimulationRequestDTO request = BudgetSimulationRequestDTO.builder()
+                .spendingChanges(Map.of("Food", -20.0))
+                .build();
+        BudgetSimulationDTO simulation = BudgetSimulationDTO.builder().paths(10000).build();
+        when(budgetSimulationService.simulate(1L, request)).thenReturn(simulation);
+
+        ResponseEntity<ApiResponse<BudgetSimulationDTO>> response =
+                userBudgetController.simulateBudgets(1L, request, authenticatedUser);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(simulation, response.getBody().getData());
+    }
+
+    @Test
+    void simulateBudgets_OtherUser_Forbidden() {
+        assertThrows(ForbiddenException.class, () -> userBudgetController.simulateBudgets(
+                2L, BudgetSimulationRequestDTO.builder().build(), authenticatedUser));
+
+        verifyNoInteractions(budgetSimulationService);
+    }
+
+    @Test
+    void getBudgetHistory_SelfAccess_ReturnsClosedPeriods() {
+        BudgetPeriodHistoryDTO period = BudgetPeriodHistoryDTO.builder()
+                .budgetId(1L)
+                .spentAmount(new BigDecimal("180.00"))
+                .build();
+        when(budgetPeriodService.getHistory(1L, 1L, 12)).thenReturn(List.of(period));
+
+        ResponseEntity<ApiResponse<List<BudgetPeriodHistoryDTO>>> response =
+                userBudgetController.getBudgetHistory(1L, 1L, 12, authenticatedUser);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(period), response.getBody().getData());
+    }
+
+    @Test
+    void getBudgetHistory_OtherUser_Forbidden() {
+        assertThrows(ForbiddenException.class,
+                () -> userBudgetController.getBudgetHistory(2L, 1L, 12, authenticatedUser));
+
+        verifyNoInteractions(budgetPeriodService);
+    }
+
     @Test
     void setCategoryBudget_SelfAccess_Success() throws Exception {
         // Given
@@ -186,7 +277,7 @@ class UserBudgetControllerTest {
 
         // When
         ResponseEntity<ApiResponse<List<BudgetResponseDTO>>> response =
-                userBudgetController.getAllBudgets(1L, "MONTHLY", authenticatedUser);
+                userBudgetController.getAllBudgets(1L, "MONTHLY", authenticatedUser, webRequest);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -197,6 +288,21 @@ class UserBudgetControllerTest {
         verify(budgetService).getAllBudgets(1L, "MONTHLY");
     }
 
+    @Test
+    void getAllBudgets_ControllerMethod_NotModified_SkipsQueries() {
+        // Given
+        when(dataVersionService.getETag(1L)).thenReturn("W/\"7-2026-03-15\"");
+        when(webRequest.checkNotModified("W/\"7-2026-03-15\"")).thenReturn(true);
+
+        // When
+        ResponseEntity<ApiResponse<List<BudgetResponseDTO>>> response =
+                userBudgetController.getAllBudgets(1L, "MONTHLY", authenticatedUser, webRequest);
+
+        // Then
+        assertNull(response);
+        verifyNoInteractions(userService, budgetService);
+    }
+
     @Test
     void setCategoryBudget_ControllerMethod_SelfAccess_Success() {
         // Given
@@ -281,7 +387,7 @@ class UserBudgetControllerTest {
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
-            userBudgetController.getAllBudgets(1L, "MONTHLY", authenticatedUser));
+            userBudgetController.getAllBudgets(1L, "MONTHLY", authenticatedUser, webRequest));
 
         assertEquals("User not found", exception.getMessage());
         verify(userService).getUserById(1L);
@@ -296,7 +402,7 @@ class UserBudgetControllerTest {
 
         // When
         ResponseEntity<ApiResponse<List<BudgetResponseDTO>>> response =
-                userBudgetController.getAllBudgets(1L, "MONTHLY", authenticatedUser);
+                userBudgetController.getAllBudgets(1L, "MONTHLY", authenticatedUser, webRequest);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
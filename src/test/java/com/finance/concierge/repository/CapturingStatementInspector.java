@@ -0,0 +1,35 @@
+package com.finance.concierge.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate statement inspector that records every SQL statement the session factory prepares,
+ * so tests can EXPLAIN or count exactly what a repository or service call sends to the database
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> CAPTURED = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (CAPTURED) {
+            CAPTURED.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (CAPTURED) {
+            CAPTURED.clear();
+        }
+    }
+
+    public static List<String> captured() {
+        synchronized (CAPTURED) {
+            return List.copyOf(CAPTURED);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.finance.concierge.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Plan-shape regression tests for DailySpendRollupRepository reads
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.finance.concierge.repository.CapturingStatementInspector")
+class DailySpendRollupRepositoryQueryPlanTest {
+
+    private static final String USER_CATEGORY_DATE = "IDX_ROLLUP_USER_CATEGORY_DATE";
+
+    private static final Long USER_ID = 1L;
+    private static final Long CATEGORY_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 31);
+
+    @Autowired
+    private DailySpendRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sumCentsByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> rollupRepository.sumCentsByUserIdAndDateRange(USER_ID, START, END),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "USER_ID", "SPEND_DATE");
+    }
+
+    @Test
+    void sumCentsByUserIdAndCategoryId_SeeksOnUserAndCategory() {
+        assertPlans(() -> rollupRepository.sumCentsByUserIdAndCategoryId(USER_ID, CATEGORY_ID),
+                Set.of(USER_CATEGORY_DATE), "USER_ID", "CATEGORY_ID");
+    }
+
+    @Test
+    void sumCentsByUserIdCategoryAndDateRange_SeeksOnUserCategoryAndDate() {
+        assertPlans(() -> rollupRepository.sumCentsByUserIdCategoryAndDateRange(USER_ID, CATEGORY_ID, START, END),
+                Set.of(USER_CATEGORY_DATE), "USER_ID", "CATEGORY_ID", "SPEND_DATE");
+    }
+
+    @Test
+    void findCategoryTotalsByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, START, END),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "USER_ID", "SPEND_DATE");
+    }
+
+    @Test
+    void findDailyTotalsByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> rollupRepository.findDailyTotalsByUserIdAndDateRange(USER_ID, START, END),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "USER_ID", "SPEND_DATE");
+    }
+
+    @Test
+    void findCellsByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> rollupRepository.findCellsByUserIdAndDateRange(USER_ID, START, END),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "USER_ID", "SPEND_DATE");
+    }
+
+    @Test
+    void findMonthlyCategoryTotalsByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> rollupRepository.findMonthlyCategoryTotalsByUserIdAndDateRange(
+                        USER_ID, START, LocalDate.of(2027, 12, 31)),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "USER_ID", "SPEND_DATE");
+    }
+
+    @Test
+    void findHighestDailyTotalsByUserId_SeeksOnUser() {
+        assertPlans(() -> rollupRepository.findHighestDailyTotalsByUserId(USER_ID, Limit.of(1)),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY, USER_CATEGORY_DATE), "USER_ID");
+    }
+
+    private void assertPlans(Runnable repositoryCall, Set<String> allowedIndexes, String... seekColumns) {
+        new QueryPlanAssertions(jdbcTemplate, "daily_spend_rollup")
+                .assertPlans(repositoryCall, allowedIndexes, seekColumns);
+    }
+}
@@ -0,0 +1,158 @@
+package com.finance.concierge.repository;
+
+import com.finance.concierge.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Plan-shape regression tests for ExpenseRepository
+ * Every query is captured as Hibernate renders it, run through EXPLAIN on the test database
+ * (H2 in MySQL mode, migrated by Flyway) and checked for the index it resolves to and the
+ * columns it can seek on. A non-sargable predicate or a dropped index fails here.
+ * H2's optimizer is not MySQL's: these tests do not show whether MySQL reads an index as
+ * covering, sorts with a filesort or prefers a scan by cost, so only index choice and seek
+ * columns are asserted
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.finance.concierge.repository.CapturingStatementInspector")
+class ExpenseRepositoryQueryPlanTest {
+
+    private static final String USER_DATE = "IDX_EXPENSES_USER_DATE";
+    private static final String USER_DATE_CATEGORY_AMOUNT = "IDX_EXPENSES_USER_DATE_CATEGORY_AMOUNT";
+    private static final String USER_CATEGORY_DATE_AMOUNT = "IDX_EXPENSES_USER_CATEGORY_DATE_AMOUNT";
+
+    private static final Set<String> USER_LEADING = Set.of(USER_DATE, USER_DATE_CATEGORY_AMOUNT, USER_CATEGORY_DATE_AMOUNT);
+    private static final Set<String> USER_DATE_LEADING = Set.of(USER_DATE, USER_DATE_CATEGORY_AMOUNT);
+
+    private static final Long USER_ID = 1L;
+    private static final Long CATEGORY_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 31);
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = testEntityManager.getEntityManager().getReference(User.class, USER_ID);
+    }
+
+    @Test
+    void findByUserOrderByExpenseDateDesc_SeeksOnUser() {
+        assertPlans(() -> expenseRepository.findByUserOrderByExpenseDateDesc(user, PageRequest.of(0, 20)),
+                USER_LEADING, "USER_ID");
+    }
+
+    @Test
+    void findByUserId_SeeksOnUser() {
+        assertPlans(() -> expenseRepository.findByUserId(USER_ID, PageRequest.of(0, 20)),
+                USER_LEADING, "USER_ID");
+    }
+
+    @Test
+    void findPageByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> expenseRepository.findPageByUserIdAndDateRange(
+                        USER_ID, START, END, END, Long.MAX_VALUE, Limit.of(21)),
+                USER_DATE_LEADING, "USER_ID", "EXPENSE_DATE");
+    }
+
+    @Test
+    void findPageByUserIdAndDateRange_NoStartDate_StillSeeksOnUserAndDate() {
+        assertPlans(() -> expenseRepository.findPageByUserIdAndDateRange(
+                        USER_ID, null, END, END, Long.MAX_VALUE, Limit.of(21)),
+                USER_DATE_LEADING, "USER_ID", "EXPENSE_DATE");
+    }
+
+    @Test
+    void findPageByUserIdCategoryAndDateRange_SeeksOnUserCategoryAndDate() {
+        assertPlans(() -> expenseRepository.findPageByUserIdCategoryAndDateRange(
+                        USER_ID, CATEGORY_ID, START, END, END, Long.MAX_VALUE, Limit.of(21)),
+                Set.of(USER_CATEGORY_DATE_AMOUNT), "USER_ID", "CATEGORY_ID", "EXPENSE_DATE");
+    }
+
+    @Test
+    void streamByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> {
+            try (var rows = expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END)) {
+                rows.count();
+            }
+        }, USER_DATE_LEADING, "USER_ID", "EXPENSE_DATE");
+    }
+
+    @Test
+    void streamByUserIdAndDateRange_NoBounds_SeeksOnUser() {
+        assertPlans(() -> {
+            try (var rows = expenseRepository.streamByUserIdAndDateRange(USER_ID, null, null)) {
+                rows.count();
+            }
+        }, USER_LEADING, "USER_ID");
+    }
+
+    @Test
+    void findByUserIdAndCategoryId_SeeksOnUserAndCategory() {
+        assertPlans(() -> expenseRepository.findByUserIdAndCategoryId(USER_ID, CATEGORY_ID),
+                Set.of(USER_CATEGORY_DATE_AMOUNT), "USER_ID", "CATEGORY_ID");
+    }
+
+    @Test
+    void findByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> expenseRepository.findByUserIdAndDateRange(USER_ID, START, END),
+                USER_DATE_LEADING, "USER_ID", "EXPENSE_DATE");
+    }
+
+    @Test
+    void findRecentByUserId_SeeksOnUser() {
+        assertPlans(() -> expenseRepository.findRecentByUserId(USER_ID, Limit.of(50)),
+                USER_LEADING, "USER_ID");
+    }
+
+    @Test
+    void findTopByUserIdAndDateRange_SeeksOnUserAndDate() {
+        assertPlans(() -> expenseRepository.findTopByUserIdAndDateRange(USER_ID, START, END, Limit.of(5)),
+                USER_DATE_LEADING, "USER_ID", "EXPENSE_DATE");
+    }
+
+    @Test
+    void findByIdAndUserId_SeeksOnPrimaryKey() {
+        assertPlans(() -> expenseRepository.findByIdAndUserId(1L, USER_ID),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "ID");
+    }
+
+    @Test
+    void findAIParsedExpensesByUserId_SeeksOnUser() {
+        assertPlans(() -> expenseRepository.findAIParsedExpensesByUserId(USER_ID),
+                USER_LEADING, "USER_ID");
+    }
+
+    @Test
+    void countByUserId_SeeksOnUser() {
+        assertPlans(() -> expenseRepository.countByUserId(USER_ID), USER_LEADING, "USER_ID");
+    }
+
+    private void assertPlans(Runnable repositoryCall, Set<String> allowedIndexes, String... seekColumns) {
+        testEntityManager.flush();
+        new QueryPlanAssertions(jdbcTemplate, "expenses").assertPlans(repositoryCall, allowedIndexes, seekColumns);
+    }
+}
@@ -0,0 +1,48 @@
+package com.finance.concierge.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+
+/**
+ * Plan-shape regression tests for MonthlySpendRollupRepository reads
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.finance.concierge.repository.CapturingStatementInspector")
+class MonthlySpendRollupRepositoryQueryPlanTest {
+
+    private static final Long USER_ID = 1L;
+    private static final int START_MONTH = 202601;
+    private static final int END_MONTH = 202612;
+
+    @Autowired
+    private MonthlySpendRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sumCentsByUserIdAndMonthRange_SeeksOnUserAndMonth() {
+        assertPlans(() -> monthlyRollupRepository.sumCentsByUserIdAndMonthRange(USER_ID, START_MONTH, END_MONTH),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "USER_ID", "MONTH_KEY");
+    }
+
+    @Test
+    void findByUserIdAndMonthRange_SeeksOnUserAndMonth() {
+        assertPlans(() -> monthlyRollupRepository.findByUserIdAndMonthRange(USER_ID, START_MONTH, END_MONTH),
+                Set.of(QueryPlanAssertions.PRIMARY_KEY), "USER_ID", "MONTH_KEY");
+    }
+
+    private void assertPlans(Runnable repositoryCall, Set<String> allowedIndexes, String... seekColumns) {
+        new QueryPlanAssertions(jdbcTemplate, "monthly_spend_rollup")
+                .assertPlans(repositoryCall, allowedIndexes, seekColumns);
+    }
+}
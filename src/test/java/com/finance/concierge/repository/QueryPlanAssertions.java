@@ -0,0 +1,74 @@
+package com.finance.concierge.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAIN-based plan assertions for one table on the embedded H2 (MySQL mode) database
+ * H2 reports the chosen index and its index conditions, which is all that is checked here;
+ * covering reads and sort strategy are MySQL-specific and not visible in its plans.
+ * Requires CapturingStatementInspector to be registered as Hibernate's statement inspector
+ */
+final class QueryPlanAssertions {
+
+    /**
+     * Allowed-index entry matching H2's generated primary key index name
+     */
+    static final String PRIMARY_KEY = "PRIMARY_KEY";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final Pattern accessPath;
+
+    QueryPlanAssertions(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table.toLowerCase(Locale.ROOT);
+        this.accessPath = Pattern.compile("\"?" + table.toUpperCase(Locale.ROOT) +
+                "\"?\\s+\"?\\w+\"?\\s*/\\*\\s*\"?PUBLIC\"?\\.\"?([\\w.]+)\"?(?::([^*]*))?\\*/");
+    }
+
+    /**
+     * Run a repository call, EXPLAIN every statement it issued against the table and check
+     * that each one resolves to an allowed index with the given columns as seek conditions
+     */
+    void assertPlans(Runnable repositoryCall, Set<String> allowedIndexes, String... seekColumns) {
+        CapturingStatementInspector.clear();
+        repositoryCall.run();
+
+        List<String> statements = CapturingStatementInspector.captured().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(table))
+                .toList();
+        assertFalse(statements.isEmpty(), "Repository call issued no statement against " + table);
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher access = accessPath.matcher(plan.toUpperCase(Locale.ROOT));
+            assertTrue(access.find(), () -> "No access path for " + table + " in plan:\n" + plan);
+
+            String index = access.group(1);
+            boolean allowed = allowedIndexes.contains(index)
+                    || (allowedIndexes.contains(PRIMARY_KEY) && index.startsWith(PRIMARY_KEY));
+            assertTrue(allowed, () -> "Expected one of " + allowedIndexes + " but got " + index + " for:\n" + plan);
+
+            String conditions = access.group(2) != null ? access.group(2) : "";
+            for (String column : seekColumns) {
+                assertTrue(conditions.contains(column),
+                        () -> "Expected " + column + " as an index condition, got [" + conditions + "] for:\n" + plan);
+            }
+        }
+    }
+
+    private String explain(String sql) {
+        // Plans are fixed at prepare time, so binding nulls does not change the access path
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+}
@@ -0,0 +1,183 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.AnalyticsDTO;
+import com.finance.concierge.entity.User;
+import com.finance.concierge.entity.UserSpendSummary;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.MonthlySpendRollupRepository;
+import com.finance.concierge.repository.UserSpendSummaryRepository;
+import com.finance.concierge.service.impl.AnalyticsServiceImpl;
+import com.finance.concierge.util.SpendForecastUtil.Prediction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for the combined analytics overview
+ */
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceImplTest {
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private MonthlySpendRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private UserSpendSummaryRepository summaryRepository;
+
+    @Mock
+    private SpendForecastService spendForecastService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnalyticsServiceImpl analyticsService;
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final LocalDate START_OF_MONTH = LocalDate.of(2026, 3, 1);
+
+    private final User user = User.builder().id(1L).username("testuser").role(User.Role.USER).build();
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        analyticsService = new AnalyticsServiceImpl(
+                rollupRepository, monthlyRollupRepository, summaryRepository, spendForecastService,
+                categoryService, transactionManager, clock);
+    }
+
+    @Test
+    void getOverview_SharesMonthToDateTotalBetweenSections() {
+        when(rollupRepository.sumCentsByUserIdAndDateRange(1L, START_OF_MONTH, TODAY)).thenReturn(15_000L);
+        when(monthlyRollupRepository.sumCentsByUserIdAndMonthRange(1L, 202601, 202602)).thenReturn(58_000L);
+        when(rollupRepository.sumCentsByUserIdAndDateRange(1L, TODAY.minusDays(9), TODAY)).thenReturn(4_000L);
+
+        AnalyticsDTO.OverviewDTO overview = analyticsService.getOverview(user, 10, 2026);
+
+        // 150.00 over 15 of 31 days; 730.00 over 74 of 365 days
+        assertEquals(new BigDecimal("310.00"), overview.getSummary().getProjectedMonthlySpend());
+        assertEquals(new BigDecimal("40.00"), overview.getSummary().getTotalSpentLast10Days());
+        assertEquals(new BigDecimal("310.00"), overview.getForecast().getPredictedMonthEndSpend());
+        assertEquals(new BigDecimal("3600.68"), overview.getForecast().getPredictedYearEndSpend());
+        assertEquals(10, overview.getTrend().size());
+        assertEquals(12, overview.getMonthlySpend().size());
+
+        verify(rollupRepository, times(1)).sumCentsByUserIdAndDateRange(1L, START_OF_MONTH, TODAY);
+        verify(monthlyRollupRepository, times(1)).sumCentsByUserIdAndMonthRange(1L, 202601, 202602);
+    }
+
+    @Test
+    void getForecast_InJanuary_SkipsMonthlyRollup() {
+        LocalDate january = LocalDate.of(2026, 1, 10);
+        Clock clock = Clock.fixed(january.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        analyticsService = new AnalyticsServiceImpl(
+                rollupRepository, monthlyRollupRepository, summaryRepository, spendForecastService,
+                categoryService, transactionManager, clock);
+        when(rollupRepository.sumCentsByUserIdAndDateRange(1L, january.withDayOfMonth(1), january))
+                .thenReturn(10_000L);
+
+        AnalyticsDTO.ForecastDTO forecast = analyticsService.getForecast(user);
+
+        // 100.00 over 10 of 365 days
+        assertEquals(new BigDecimal("3650.00"), forecast.getPredictedYearEndSpend());
+        verifyNoInteractions(monthlyRollupRepository);
+    }
+
+    @Test
+    void getForecast_WithModelState_AddsExpectedRemainderToActualSpend() {
+        when(rollupRepository.sumCentsByUserIdAndDateRange(1L, START_OF_MONTH, TODAY)).thenReturn(15_000L);
+        when(monthlyRollupRepository.sumCentsByUserIdAndMonthRange(1L, 202601, 202602)).thenReturn(58_000L);
+        when(spendForecastService.getOutlook(1L, TODAY)).thenReturn(Optional.of(new SpendForecastService.Outlook(
+                new Prediction(16_000, 1_000_000), new Prediction(200_000, 4_000_000),
+                new SpendForecastService.NextSpend(4L, 1_250L, "Medium"))));
+        when(categoryService.getCategoryInfo(4L))
+                .thenReturn(new CategoryService.CategoryInfo(4L, "Food", "🍔", "#FF6B6B", true));
+
+        AnalyticsDTO.ForecastDTO forecast = analyticsService.getForecast(user);
+
+        // 150.00 spent + 160.00 expected; 80% interval is the mean -/+ 1.2816 standard deviations
+        assertEquals(new BigDecimal("310.00"), forecast.getPredictedMonthEndSpend());
+        assertEquals(new BigDecimal("297.18"), forecast.getPredictedMonthEndRange().getLower());
+        assertEquals(new BigDecimal("322.82"), forecast.getPredictedMonthEndRange().getUpper());
+        assertEquals(80, forecast.getPredictedMonthEndRange().getConfidencePercent());
+        assertEquals(new BigDecimal("2730.00"), forecast.getPredictedYearEndSpend());
+        assertEquals("Food", forecast.getNextLikelySpend().getCategory());
+        assertEquals(new BigDecimal("12.50"), forecast.getNextLikelySpend().getEstimatedAmount());
+        assertEquals("Medium", forecast.getNextLikelySpend().getConfidence());
+    }
+
+    @Test
+    void getAnalyticsSummary_ReadsHighestDayFromSummaryRow() {
+        when(summaryRepository.findById(1L)).thenReturn(Optional.of(UserSpendSummary.builder()
+                .userId(1L).topDailyTotals("2026-02-14:25000,2026-03-01:9000").build()));
+
+        AnalyticsDTO.SummaryDTO summary = analyticsService.getAnalyticsSummary(user);
+
+        assertEquals("2026-02-14", summary.getHighestDailySpend().getDate());
+        assertEquals(new BigDecimal("250.00"), summary.getHighestDailySpend().getAmount());
+        verify(rollupRepository, never()).findHighestDailyTotalsByUserId(anyLong(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getOverview_TasksRunReadOnlyAsCaller() {
+        Authentication caller = new UsernamePasswordAuthenticationToken("testuser", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        List<Authentication> seen = new CopyOnWriteArrayList<>();
+        when(rollupRepository.sumCentsByUserIdAndDateRange(anyLong(), any(), any())).thenAnswer(invocation -> {
+            seen.add(SecurityContextHolder.getContext().getAuthentication());
+            return 0L;
+        });
+
+        analyticsService.getOverview(user, 10, 2026);
+
+        assertFalse(seen.isEmpty());
+        assertTrue(seen.stream().allMatch(authentication -> authentication == caller));
+        // Month to date, prior months, trend, monthly spend, summary and forecast
+        verify(transactionManager, times(6)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void getOverview_PropagatesSectionFailure() {
+        when(monthlyRollupRepository.findByUserIdAndMonthRange(anyLong(), anyInt(), anyInt()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        lenient().when(monthlyRollupRepository.sumCentsByUserIdAndMonthRange(anyLong(), anyInt(), anyInt()))
+                .thenReturn(0L);
+        lenient().when(rollupRepository.sumCentsByUserIdAndDateRange(anyLong(), any(), any())).thenReturn(0L);
+        lenient().when(rollupRepository.findDailyTotalsByUserIdAndDateRange(anyLong(), any(), any()))
+                .thenReturn(List.of());
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> analyticsService.getOverview(user, 10, 2026));
+        assertEquals("database unavailable", e.getMessage());
+    }
+}
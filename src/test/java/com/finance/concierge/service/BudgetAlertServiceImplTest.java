@@ -0,0 +1,268 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.BudgetAlertDTO;
+import com.finance.concierge.dto.DashboardDeltaDTO;
+import com.finance.concierge.entity.Budget;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.entity.Category;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.ExpenseChangedEvent.Snapshot;
+import com.finance.concierge.event.UserDataChangedEvent;
+import com.finance.concierge.repository.BudgetAlertRepository;
+import com.finance.concierge.repository.BudgetRepository;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.service.impl.BudgetAlertServiceImpl;
+import com.finance.concierge.util.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for BudgetAlertService write-time evaluation
+ */
+@ExtendWith(MockitoExtension.class)
+class BudgetAlertServiceImplTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetAlertRepository alertRepository;
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private PeriodSpendService periodSpendService;
+
+    @Mock
+    private WindowSpendService windowSpendService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DashboardStreamService dashboardStreamService;
+
+    private BudgetAlertServiceImpl alertService;
+
+    private static final Long USER_ID = 1L;
+    private static final Long FOOD = 2L;
+    private static final Long FOOD_BUDGET = 5L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final LocalDate MONTH_START = LocalDate.of(2026, 3, 1);
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        alertService = new BudgetAlertServiceImpl(
+                budgetRepository, alertRepository, rollupRepository, periodSpendService, windowSpendService, categoryService,
+                userService, dashboardStreamService, clock);
+
+        Budget food = Budget.builder()
+                .id(FOOD_BUDGET)
+                .category(Category.builder().id(FOOD).name("Food").build())
+                .budgetAmount(new BigDecimal("100.00"))
+                .budgetPeriod(BudgetPeriod.MONTHLY)
+                .alertThreshold(new BigDecimal("80.00"))
+                .isTotalBudget(false)
+                .build();
+        lenient().when(budgetRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenReturn(List.of(food));
+        lenient().when(userService.getCurrency(USER_ID)).thenReturn(USD);
+        lenient().when(alertRepository.insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (TransactionSynchronizationManager.hasResource(alertService)) {
+            TransactionSynchronizationManager.unbindResource(alertService);
+        }
+    }
+
+    @Test
+    void onExpenseChanged_CrossesThreshold_RecordsAndPushesOnCommit() {
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD))
+                .thenReturn(Optional.of(Money.ofMinor(7_000, USD)));
+
+        alertService.onExpenseChanged(expense(TODAY, "15.00"));
+
+        verify(alertRepository).insertIfAbsent(USER_ID, FOOD_BUDGET, FOOD, "MONTHLY", MONTH_START,
+                "THRESHOLD_CROSSED", new BigDecimal("100.00"), new BigDecimal("85.00"), new BigDecimal("80.00"));
+        verifyNoInteractions(dashboardStreamService);
+
+        commit();
+
+        ArgumentCaptor<DashboardDeltaDTO> delta = ArgumentCaptor.forClass(DashboardDeltaDTO.class);
+        verify(dashboardStreamService).publish(eq(USER_ID), delta.capture());
+        BudgetAlertDTO alert = delta.getValue().getBudgetAlerts().get(0);
+        assertEquals("THRESHOLD_CROSSED", alert.getAlertType());
+        assertEquals("Food", alert.getCategoryName());
+    }
+
+    @Test
+    void onExpenseChanged_AlreadyRaisedThisPeriod_SkipsInsert() {
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD))
+                .thenReturn(Optional.of(Money.ofMinor(7_000, USD)));
+        alertService.onExpenseChanged(expense(TODAY, "15.00"));
+        commit();
+
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD))
+                .thenReturn(Optional.of(Money.ofMinor(8_500, USD)));
+        alertService.onExpenseChanged(expense(TODAY, "5.00"));
+
+        verify(alertRepository, times(1)).insertIfAbsent(any(), any(), any(), any(), any(),
+                eq("THRESHOLD_CROSSED"), any(), any(), any());
+        verify(budgetRepository, times(1)).findByUserIdAndIsActiveTrue(USER_ID);
+    }
+
+    @Test
+    void onExpenseChanged_RecordedByEarlierWrite_NotPushedAgain() {
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD))
+                .thenReturn(Optional.of(Money.ofMinor(9_000, USD)));
+        when(alertRepository.insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        alertService.onExpenseChanged(expense(TODAY, "20.00"));
+        commit();
+
+        verify(alertRepository, times(2)).insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any());
+        verifyNoInteractions(dashboardStreamService);
+    }
+
+    @Test
+    void onExpenseChanged_SeveralWritesInOneTransaction_AddsPendingSpend() {
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD))
+                .thenReturn(Optional.of(Money.ofMinor(5_000, USD)));
+
+        alertService.onExpenseChanged(expense(TODAY, "20.00"));
+        alertService.onExpenseChanged(expense(TODAY, "20.00"));
+
+        // 50 committed plus 40 pending reaches the 80% threshold only on the second write
+        verify(alertRepository).insertIfAbsent(any(), any(), any(), any(), any(),
+                eq("THRESHOLD_CROSSED"), any(), eq(new BigDecimal("90.00")), any());
+        verify(alertRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(),
+                eq("OVER_BUDGET"), any(), any(), any());
+    }
+
+    @Test
+    void onExpenseChanged_NothingCached_SumsRollupInWritingTransaction() {
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD)).thenReturn(Optional.empty());
+        // Already includes the 15.00 this transaction wrote
+        when(rollupRepository.sumCentsByUserIdCategoryAndDateRange(USER_ID, FOOD, MONTH_START, LocalDate.of(2026, 3, 31)))
+                .thenReturn(8_500L);
+
+        alertService.onExpenseChanged(expense(TODAY, "15.00"));
+
+        verify(alertRepository).insertIfAbsent(USER_ID, FOOD_BUDGET, FOOD, "MONTHLY", MONTH_START,
+                "THRESHOLD_CROSSED", new BigDecimal("100.00"), new BigDecimal("85.00"), new BigDecimal("80.00"));
+        verify(periodSpendService, never()).getSpent(any(), any(), any(), any());
+    }
+
+    @Test
+    void onExpenseChanged_OutsideCurrentPeriod_ChecksNothing() {
+        alertService.onExpenseChanged(expense(TODAY.minusMonths(1), "500.00"));
+
+        verifyNoInteractions(periodSpendService, alertRepository);
+    }
+
+    @Test
+    void onExpenseChanged_RollingBudget_ChecksItsWindow() {
+        Budget lastWeek = Budget.builder()
+                .id(6L)
+                .budgetAmount(new BigDecimal("50.00"))
+                .budgetPeriod(BudgetPeriod.ROLLING)
+                .windowDays(7)
+                .isTotalBudget(true)
+                .build();
+        when(budgetRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenReturn(List.of(lastWeek));
+        when(windowSpendService.findCachedSpent(USER_ID, null, TODAY.minusDays(6), TODAY, USD))
+                .thenReturn(Optional.of(Money.ofMinor(4_500, USD)));
+
+        alertService.onExpenseChanged(expense(TODAY.minusDays(3), "10.00"));
+
+        verify(alertRepository).insertIfAbsent(USER_ID, 6L, null, "ROLLING", TODAY.minusDays(6),
+                "OVER_BUDGET", new BigDecimal("50.00"), new BigDecimal("55.00"), null);
+        verifyNoInteractions(periodSpendService);
+    }
+
+    @Test
+    void onUserDataChanged_BudgetsChanged_ReloadsBudgets() {
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD))
+                .thenReturn(Optional.of(Money.ofMinor(1_000, USD)));
+        alertService.onExpenseChanged(expense(TODAY, "1.00"));
+
+        alertService.onUserDataChanged(new UserDataChangedEvent(USER_ID, false));
+        alertService.onExpenseChanged(expense(TODAY, "1.00"));
+        verify(budgetRepository, times(1)).findByUserIdAndIsActiveTrue(USER_ID);
+
+        alertService.onUserDataChanged(new UserDataChangedEvent(USER_ID, true));
+        alertService.onExpenseChanged(expense(TODAY, "1.00"));
+        verify(budgetRepository, times(2)).findByUserIdAndIsActiveTrue(USER_ID);
+    }
+
+    @Test
+    void onUserDataChanged_DuringLoad_LoadedBudgetsNotCached() {
+        when(periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD))
+                .thenReturn(Optional.of(Money.ofMinor(1_000, USD)));
+        Budget old = Budget.builder()
+                .id(FOOD_BUDGET)
+                .category(Category.builder().id(FOOD).name("Food").build())
+                .budgetAmount(new BigDecimal("100.00"))
+                .budgetPeriod(BudgetPeriod.MONTHLY)
+                .isTotalBudget(false)
+                .build();
+        when(budgetRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenAnswer(invocation -> {
+            // A budget change commits after this read
+            alertService.onUserDataChanged(new UserDataChangedEvent(USER_ID, true));
+            return List.of(old);
+        });
+
+        alertService.onExpenseChanged(expense(TODAY, "1.00"));
+        alertService.onExpenseChanged(expense(TODAY, "1.00"));
+
+        verify(budgetRepository, times(2)).findByUserIdAndIsActiveTrue(USER_ID);
+    }
+
+    private static ExpenseChangedEvent expense(LocalDate date, String amount) {
+        return ExpenseChangedEvent.created(USER_ID, 10L, new Snapshot(FOOD, date, new BigDecimal(amount), "USD"));
+    }
+
+    /**
+     * Run the registered synchronizations as a commit would, then start a fresh transaction
+     */
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
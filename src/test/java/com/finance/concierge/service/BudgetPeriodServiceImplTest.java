@@ -0,0 +1,178 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.BudgetPeriodHistoryDTO;
+import com.finance.concierge.entity.Budget;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.entity.BudgetPeriodHistory;
+import com.finance.concierge.entity.Category;
+import com.finance.concierge.repository.BudgetPeriodHistoryRepository;
+import com.finance.concierge.repository.BudgetRepository;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.service.impl.BudgetPeriodServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for closing budget periods and carrying unused amounts over
+ */
+@ExtendWith(MockitoExtension.class)
+class BudgetPeriodServiceImplTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetPeriodHistoryRepository historyRepository;
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BudgetPeriodServiceImpl periodService;
+
+    private static final Long USER_ID = 1L;
+    private static final Long FOOD = 2L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private Budget food;
+
+    @BeforeEach
+    void setUp() {
+        periodService = new BudgetPeriodServiceImpl(budgetRepository, historyRepository, rollupRepository,
+                dataVersionService, userService, transactionManager,
+                Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+
+        food = Budget.builder()
+                .id(5L)
+                .category(Category.builder().id(FOOD).name("Food").build())
+                .budgetAmount(new BigDecimal("100.00"))
+                .budgetPeriod(BudgetPeriod.MONTHLY)
+                .isTotalBudget(false)
+                .carryOver(true)
+                .createdAt(LocalDate.of(2026, 1, 10).atStartOfDay())
+                .build();
+        lenient().when(budgetRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenReturn(List.of(food));
+        lenient().when(userService.getCurrency(USER_ID)).thenReturn(Currency.getInstance("USD"));
+    }
+
+    @Test
+    void closePeriods_NoHistory_ClosesEndedMonthsAndChainsCarryOver() {
+        when(historyRepository.findFirstByBudgetIdOrderByPeriodStartDesc(5L)).thenReturn(Optional.empty());
+        when(rollupRepository.sumCentsByUserIdCategoryAndDateRange(USER_ID, FOOD,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31))).thenReturn(7_000L);
+        when(rollupRepository.sumCentsByUserIdCategoryAndDateRange(USER_ID, FOOD,
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28))).thenReturn(11_000L);
+
+        assertEquals(2, periodService.closePeriods(USER_ID));
+
+        ArgumentCaptor<BudgetPeriodHistory> saved = ArgumentCaptor.forClass(BudgetPeriodHistory.class);
+        verify(historyRepository, times(2)).save(saved.capture());
+        BudgetPeriodHistory january = saved.getAllValues().get(0);
+        BudgetPeriodHistory february = saved.getAllValues().get(1);
+        assertEquals(new BigDecimal("30.00"), january.getCarriedOut());
+        assertEquals(new BigDecimal("30.00"), february.getCarriedIn());
+        assertEquals(new BigDecimal("110.00"), february.getSpentAmount());
+        assertEquals(new BigDecimal("20.00"), february.getRemainingAmount());
+
+        // The carry-in lands on the budget for March, where it raises the limit
+        assertEquals(LocalDate.of(2026, 3, 1), food.getCarryInPeriodStart());
+        assertEquals(new BigDecimal("120.00"), food.effectiveAmount(TODAY));
+        verify(budgetRepository).save(food);
+        verify(dataVersionService).bumpBudgets(USER_ID);
+    }
+
+    @Test
+    void closePeriods_LastPeriodAlreadyClosed_WritesNothing() {
+        when(historyRepository.findFirstByBudgetIdOrderByPeriodStartDesc(5L)).thenReturn(Optional.of(
+                BudgetPeriodHistory.builder()
+                        .periodStart(LocalDate.of(2026, 2, 1))
+                        .periodEnd(LocalDate.of(2026, 2, 28))
+                        .build()));
+
+        assertEquals(0, periodService.closePeriods(USER_ID));
+
+        verify(historyRepository, never()).save(any());
+        verifyNoInteractions(rollupRepository, dataVersionService);
+    }
+
+    @Test
+    void closePeriods_Overspent_CarriesNothing() {
+        food.setCreatedAt(LocalDate.of(2026, 2, 3).atStartOfDay());
+        when(historyRepository.findFirstByBudgetIdOrderByPeriodStartDesc(5L)).thenReturn(Optional.empty());
+        when(rollupRepository.sumCentsByUserIdCategoryAndDateRange(any(), any(), any(), any())).thenReturn(12_500L);
+
+        periodService.closePeriods(USER_ID);
+
+        ArgumentCaptor<BudgetPeriodHistory> saved = ArgumentCaptor.forClass(BudgetPeriodHistory.class);
+        verify(historyRepository).save(saved.capture());
+        assertEquals(new BigDecimal("-25.00"), saved.getValue().getRemainingAmount());
+        assertEquals(new BigDecimal("0.00"), saved.getValue().getCarriedOut());
+        assertNull(food.getCarryInPeriodStart());
+        assertEquals(new BigDecimal("100.00"), food.effectiveAmount(TODAY));
+    }
+
+    @Test
+    void closePeriods_RollingBudget_Skipped() {
+        Budget lastWeek = Budget.builder()
+                .id(6L)
+                .budgetAmount(new BigDecimal("50.00"))
+                .budgetPeriod(BudgetPeriod.ROLLING)
+                .windowDays(7)
+                .isTotalBudget(true)
+                .build();
+        when(budgetRepository.findByUserIdAndIsActiveTrue(USER_ID)).thenReturn(List.of(lastWeek));
+
+        assertEquals(0, periodService.closePeriods(USER_ID));
+
+        verifyNoInteractions(historyRepository, rollupRepository);
+    }
+
+    @Test
+    void getHistory_OldestFirst() {
+        when(historyRepository.findByUserIdAndBudgetIdOrderByPeriodStartDesc(USER_ID, 5L, Limit.of(2))).thenReturn(List.of(
+                period(LocalDate.of(2026, 2, 1), "-5.00"),
+                period(LocalDate.of(2026, 1, 1), "30.00")));
+
+        List<BudgetPeriodHistoryDTO> history = periodService.getHistory(USER_ID, 5L, 2);
+
+        assertEquals(LocalDate.of(2026, 1, 1), history.get(0).getPeriodStart());
+        assertFalse(history.get(0).getIsOverBudget());
+        assertTrue(history.get(1).getIsOverBudget());
+    }
+
+    private static BudgetPeriodHistory period(LocalDate start, String remaining) {
+        return BudgetPeriodHistory.builder()
+                .budgetId(5L)
+                .budgetPeriod(BudgetPeriod.MONTHLY)
+                .periodStart(start)
+                .periodEnd(start.plusMonths(1).minusDays(1))
+                .remainingAmount(new BigDecimal(remaining))
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.config.ClockConfig;
+import com.finance.concierge.dto.BudgetResponseDTO;
+import com.finance.concierge.repository.CapturingStatementInspector;
+import com.finance.concierge.service.impl.BudgetServiceImpl;
+import com.finance.concierge.service.impl.CategoryServiceImpl;
+import com.finance.concierge.service.impl.PeriodSpendServiceImpl;
+import com.finance.concierge.service.impl.WindowSpendServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statement-count regression tests for budget listing
+ * Runs BudgetService against the embedded database with every statement Hibernate prepares
+ * captured, so a lazy association or a per-budget query shows up as extra statements
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.finance.concierge.repository.CapturingStatementInspector")
+@Import({BudgetServiceImpl.class, CategoryServiceImpl.class, PeriodSpendServiceImpl.class, WindowSpendServiceImpl.class,
+        ClockConfig.class})
+class BudgetServiceImplQueryCountTest {
+
+    private static final int CATEGORY_BUDGETS = 15;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private DataVersionService dataVersionService;
+
+    // The currency is read once per user and then held in memory, so it is left out of the counts
+    @MockitoBean
+    private UserService userService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role) VALUES (?, ?, ?, 'USER')",
+                "budget-count", "budget-count@example.com", "test");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, "budget-count");
+        when(userService.getCurrency(any())).thenReturn(Currency.getInstance("USD"));
+
+        List<Long> categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+        for (int i = categoryIds.size(); i < CATEGORY_BUDGETS; i++) {
+            jdbcTemplate.update("INSERT INTO categories (name, icon, color) VALUES (?, '📦', '#999999')", "Extra " + i);
+        }
+        categoryIds = jdbcTemplate.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+
+        for (Long categoryId : categoryIds.subList(0, CATEGORY_BUDGETS)) {
+            jdbcTemplate.update(
+                    "INSERT INTO budgets (user_id, category_id, budget_amount, budget_period, is_total_budget, alert_threshold) " +
+                    "VALUES (?, ?, 200.00, 'MONTHLY', FALSE, 80.00)",
+                    userId, categoryId);
+        }
+        jdbcTemplate.update(
+                "INSERT INTO budgets (user_id, category_id, budget_amount, budget_period, is_total_budget) " +
+                "VALUES (?, NULL, 2000.00, 'MONTHLY', TRUE)",
+                userId);
+        // A budget of another period must not be loaded at all
+        jdbcTemplate.update(
+                "INSERT INTO budgets (user_id, category_id, budget_amount, budget_period, is_total_budget) " +
+                "VALUES (?, NULL, 100.00, 'DAILY', TRUE)",
+                userId);
+    }
+
+    /**
+     * Rows of the test that runs outside the test transaction are committed, so they are removed here
+     */
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM budgets WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM categories WHERE name LIKE 'Extra %'");
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void getAllBudgets_SixteenBudgets_AtMostTwoStatements() {
+        CapturingStatementInspector.clear();
+
+        List<BudgetResponseDTO> budgets = budgetService.getAllBudgets(userId, "MONTHLY");
+
+        List<String> statements = CapturingStatementInspector.captured();
+        assertEquals(CATEGORY_BUDGETS + 1, budgets.size());
+        assertTrue(budgets.stream().allMatch(b -> b.getIsTotalBudget() || b.getCategoryName() != null));
+        assertTrue(statements.size() <= 2, "Expected at most 2 statements but got " + statements);
+    }
+
+    // Limits load in their own transaction on the primary, so the budgets must be committed first
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getBudgetLimitsMap_LoadedOnceThenServedFromMemory() {
+        CapturingStatementInspector.clear();
+        Map<String, Double> limits = budgetService.getBudgetLimitsMap(userId);
+
+        // The user's budgets, plus the category registry on its first use in the process
+        assertTrue(CapturingStatementInspector.captured().size() <= 2,
+                "Expected at most 2 statements but got " + CapturingStatementInspector.captured());
+        assertEquals(200.0, limits.get("Food"));
+
+        CapturingStatementInspector.clear();
+        assertSame(limits, budgetService.getBudgetLimitsMap(userId));
+        assertEquals(List.of(), CapturingStatementInspector.captured());
+    }
+}
@@ -0,0 +1,204 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.BudgetRequestDTO;
+import com.finance.concierge.dto.BudgetResponseDTO;
+import com.finance.concierge.entity.Budget;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.entity.Category;
+import com.finance.concierge.entity.User;
+import com.finance.concierge.event.UserDataChangedEvent;
+import com.finance.concierge.repository.BudgetRepository;
+import com.finance.concierge.repository.CategoryRepository;
+import com.finance.concierge.repository.UserRepository;
+import com.finance.concierge.service.impl.BudgetServiceImpl;
+import com.finance.concierge.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for the cached budget limits and their invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+class BudgetServiceImplTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PeriodSpendService periodSpendService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private WindowSpendService windowSpendService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BudgetServiceImpl budgetService;
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private final Category food = Category.builder().id(2L).name("Food").build();
+
+    @BeforeEach
+    void setUp() {
+        budgetService = new BudgetServiceImpl(budgetRepository, categoryRepository, userRepository,
+                periodSpendService, dataVersionService, categoryService, windowSpendService, userService,
+                Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC), transactionManager);
+
+        lenient().when(categoryService.getDefaultMonthlyBudgets()).thenReturn(Map.of(
+                "Food", new BigDecimal("200.00"),
+                "Loan", new BigDecimal("400.00")));
+        lenient().when(budgetRepository.findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY)).thenReturn(List.of(
+                Budget.builder().id(5L).category(food).budgetAmount(new BigDecimal("350.00"))
+                        .budgetPeriod(BudgetPeriod.MONTHLY).build()));
+        lenient().when(userRepository.findById(USER_ID)).thenReturn(Optional.of(User.builder().id(USER_ID).build()));
+        lenient().when(categoryRepository.findByName("Food")).thenReturn(Optional.of(food));
+        lenient().when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(userService.getCurrency(USER_ID)).thenReturn(USD);
+        lenient().when(periodSpendService.getSpent(anyLong(), any(), any(), any())).thenReturn(Money.zero(USD));
+    }
+
+    @Test
+    void getBudgetLimitsMap_UserBudgetsOverCategoryDefaults() {
+        Map<String, Double> limits = budgetService.getBudgetLimitsMap(USER_ID);
+
+        assertEquals(Map.of("Food", 350.0, "Loan", 400.0), limits);
+        assertThrows(UnsupportedOperationException.class, () -> limits.put("Other", 1.0));
+    }
+
+    @Test
+    void getBudgetLimitsMap_CachedPerUser() {
+        budgetService.getBudgetLimitsMap(USER_ID);
+        budgetService.getBudgetLimitsMap(USER_ID);
+
+        verify(budgetRepository, times(1)).findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY);
+    }
+
+    @Test
+    void getBudgetLimitsMap_IncludesThisMonthsCarryIn() {
+        when(budgetRepository.findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY)).thenReturn(List.of(
+                carriedInto(LocalDate.of(2026, 3, 1))));
+
+        assertEquals(400.0, budgetService.getBudgetLimitsMap(USER_ID).get("Food"));
+    }
+
+    @Test
+    void getBudgetLimitsMap_NewMonth_ReloadsWithoutEndedCarryIn() {
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(
+                TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                TODAY.plusMonths(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        budgetService = new BudgetServiceImpl(budgetRepository, categoryRepository, userRepository,
+                periodSpendService, dataVersionService, categoryService, windowSpendService, userService, clock,
+                transactionManager);
+        when(budgetRepository.findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY)).thenReturn(List.of(
+                carriedInto(LocalDate.of(2026, 3, 1))));
+
+        assertEquals(400.0, budgetService.getBudgetLimitsMap(USER_ID).get("Food"));
+        assertEquals(350.0, budgetService.getBudgetLimitsMap(USER_ID).get("Food"));
+        verify(budgetRepository, times(2)).findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY);
+    }
+
+    @Test
+    void setBudget_BumpsVersionWithBudgets() {
+        budgetService.setBudget(USER_ID, BudgetRequestDTO.builder()
+                .categoryName("Food").budgetAmount(new BigDecimal("500.00")).budgetPeriod("MONTHLY").build());
+
+        verify(dataVersionService).bumpBudgets(USER_ID);
+    }
+
+    @Test
+    void onUserDataChanged_BudgetsChanged_ReloadsLimits() {
+        budgetService.getBudgetLimitsMap(USER_ID);
+
+        budgetService.onUserDataChanged(new UserDataChangedEvent(USER_ID, false));
+        budgetService.getBudgetLimitsMap(USER_ID);
+        verify(budgetRepository, times(1)).findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY);
+
+        budgetService.onUserDataChanged(new UserDataChangedEvent(USER_ID, true));
+        budgetService.getBudgetLimitsMap(USER_ID);
+        verify(budgetRepository, times(2)).findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY);
+    }
+
+    @Test
+    void getBudgetLimitsMap_EvictedWhileLoading_NotCached() {
+        when(budgetRepository.findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY)).thenAnswer(invocation -> {
+            // A budget change commits after this read
+            budgetService.onUserDataChanged(new UserDataChangedEvent(USER_ID, true));
+            return List.of();
+        });
+
+        budgetService.getBudgetLimitsMap(USER_ID);
+        budgetService.getBudgetLimitsMap(USER_ID);
+
+        verify(budgetRepository, times(2)).findCategoryBudgets(USER_ID, BudgetPeriod.MONTHLY);
+    }
+
+    @Test
+    void setBudget_PayCycle_SpendOfCurrentCycle() {
+        when(windowSpendService.getSpent(USER_ID, 2L, LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 19), USD))
+                .thenReturn(Money.ofMinor(12_000, USD));
+
+        BudgetResponseDTO response = budgetService.setBudget(USER_ID, BudgetRequestDTO.builder()
+                .categoryName("Food").budgetAmount(new BigDecimal("300.00")).budgetPeriod("CUSTOM")
+                .windowDays(14).cycleStartDate(LocalDate.of(2026, 1, 9)).build());
+
+        verify(budgetRepository).findByUserIdAndCategoryIdAndBudgetPeriodAndWindowDaysAndIsActiveTrue(
+                USER_ID, 2L, BudgetPeriod.CUSTOM, 14);
+        assertEquals(LocalDate.of(2026, 3, 6), response.getWindowStart());
+        assertEquals(LocalDate.of(2026, 3, 19), response.getWindowEnd());
+        assertEquals(new BigDecimal("120.00"), response.getCurrentSpending());
+        verifyNoInteractions(periodSpendService);
+    }
+
+    @Test
+    void setBudget_RollingWithoutWindow_Rejected() {
+        BudgetRequestDTO request = BudgetRequestDTO.builder()
+                .categoryName("Food").budgetAmount(new BigDecimal("50.00")).budgetPeriod("ROLLING").build();
+
+        assertThrows(IllegalArgumentException.class, () -> budgetService.setBudget(USER_ID, request));
+        verify(budgetRepository, never()).save(any());
+    }
+
+    private Budget carriedInto(LocalDate periodStart) {
+        return Budget.builder().id(5L).category(food).budgetAmount(new BigDecimal("350.00"))
+                .budgetPeriod(BudgetPeriod.MONTHLY).carryOver(true)
+                .carryInAmount(new BigDecimal("50.00")).carryInPeriodStart(periodStart).build();
+    }
+}
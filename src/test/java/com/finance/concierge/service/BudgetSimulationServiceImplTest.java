@@ -0,0 +1,135 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.BudgetResponseDTO;
+import com.finance.concierge.dto.BudgetSimulationDTO;
+import com.finance.concierge.dto.BudgetSimulationRequestDTO;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.service.impl.BudgetSimulationServiceImpl;
+import com.finance.concierge.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for BudgetSimulationService
+ */
+@ExtendWith(MockitoExtension.class)
+class BudgetSimulationServiceImplTest {
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private PeriodSpendService periodSpendService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    private BudgetSimulationServiceImpl simulationService;
+
+    private static final Long USER_ID = 1L;
+    private static final Long FOOD = 2L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 21);
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        simulationService = new BudgetSimulationServiceImpl(
+                budgetService, categoryService, periodSpendService, userService, rollupRepository, clock, 2);
+
+        CategoryService.CategoryInfo food = new CategoryService.CategoryInfo(FOOD, "Food", "🍔", "#FF6B6B", true);
+        lenient().when(categoryService.findCategoryInfo("Food")).thenReturn(Optional.of(food));
+        lenient().when(categoryService.getCategoryInfo(FOOD)).thenReturn(food);
+        lenient().when(budgetService.getBudgetLimitsMap(USER_ID)).thenReturn(Map.of("Food", 200.0));
+        lenient().when(budgetService.getTotalBudget(USER_ID, "MONTHLY")).thenReturn(
+                BudgetResponseDTO.builder().budgetAmount(new BigDecimal("240.00")).build());
+        lenient().when(userService.getCurrency(USER_ID)).thenReturn(USD);
+        lenient().when(periodSpendService.getSpentByCategory(USER_ID, BudgetPeriod.MONTHLY, USD))
+                .thenReturn(Map.of(FOOD, Money.ofMinor(15_000, USD)));
+
+        // 10.00 on Food every day of the last two weeks
+        List<DailyCategorySpendProjection> history = IntStream.rangeClosed(1, 14)
+                .mapToObj(i -> new DailyCategorySpendProjection(TODAY.minusDays(i), FOOD, 1000L, 1))
+                .toList();
+        lenient().when(rollupRepository.findCellsByUserIdAndDateRange(USER_ID, TODAY.minusDays(14), TODAY.minusDays(1)))
+                .thenReturn(history);
+    }
+
+    @Test
+    void simulate_CurrentHabits_OverBudget() {
+        BudgetSimulationDTO simulation = simulationService.simulate(USER_ID, request(Map.of()));
+
+        BudgetSimulationDTO.CategoryOutcome food = simulation.getCategories().get(0);
+        assertEquals("Food", food.getCategoryName());
+        assertEquals(new BigDecimal("250.00"), food.getExpectedSpend());
+        assertEquals(1.0, food.getOverspendProbability());
+        assertEquals(1.0, simulation.getTotal().getOverspendProbability());
+        // 150.00 + 10.00 a day reaches 240.00 on the 30th and passes it on the 31st
+        assertEquals(LocalDate.of(2026, 3, 31), simulation.getTotal().getLikelyOverspendDate());
+        assertEquals(LocalDate.of(2026, 3, 31), simulation.getSimulatedTo());
+    }
+
+    @Test
+    void simulate_HalvedFood_StaysWithinBudget() {
+        BudgetSimulationDTO simulation = simulationService.simulate(USER_ID, request(Map.of("Food", -50.0)));
+
+        BudgetSimulationDTO.CategoryOutcome food = simulation.getCategories().get(0);
+        assertEquals(new BigDecimal("200.00"), food.getExpectedSpend());
+        assertEquals(0.0, food.getOverspendProbability());
+        assertNull(simulation.getTotal().getLikelyOverspendDate());
+    }
+
+    @Test
+    void simulate_TotalBudgetWithCarryIn_LimitIncludesIt() {
+        when(budgetService.getTotalBudget(USER_ID, "MONTHLY")).thenReturn(BudgetResponseDTO.builder()
+                .budgetAmount(new BigDecimal("200.00")).carriedIn(new BigDecimal("50.00")).build());
+
+        BudgetSimulationDTO simulation = simulationService.simulate(USER_ID, request(Map.of()));
+
+        // 150.00 + 10.00 a day ends the month at 250.00, exactly the carried-over limit
+        assertEquals(new BigDecimal("250.00"), simulation.getTotal().getBudgetLimit());
+        assertEquals(0.0, simulation.getTotal().getOverspendProbability());
+        assertNull(simulation.getTotal().getLikelyOverspendDate());
+    }
+
+    @Test
+    void simulate_UnknownCategory_Rejected() {
+        when(categoryService.findCategoryInfo("Yachts")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(USER_ID, request(Map.of("Yachts", -10.0))));
+    }
+
+    private static BudgetSimulationRequestDTO request(Map<String, Double> changes) {
+        return BudgetSimulationRequestDTO.builder()
+                .spendingChanges(changes)
+                .historyDays(14)
+                .paths(1000)
+                .seed(1L)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.entity.UserSpendSummary;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.ExpenseChangedEvent.Snapshot;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.MonthlySpendRollupRepository;
+import com.finance.concierge.repository.UserRepository;
+import com.finance.concierge.repository.UserSpendSummaryRepository;
+import com.finance.concierge.repository.projection.DailySpendProjection;
+import com.finance.concierge.service.impl.DailySpendRollupServiceImpl;
+import com.finance.concierge.util.TopDailySpendUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for DailySpendRollupService delta maintenance
+ */
+@ExtendWith(MockitoExtension.class)
+class DailySpendRollupServiceImplTest {
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private MonthlySpendRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private UserSpendSummaryRepository summaryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PeriodSpendService periodSpendService;
+
+    @Mock
+    private SpendForecastService spendForecastService;
+
+    @InjectMocks
+    private DailySpendRollupServiceImpl rollupService;
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 5);
+
+    private final UserSpendSummary summary = UserSpendSummary.builder().userId(1L).topDailyTotals("").build();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(summaryRepository.findByUserIdForUpdate(1L)).thenReturn(Optional.of(summary));
+    }
+
+    @Test
+    void onExpenseChanged_Created_AddsAmountAndCount() {
+        rollupService.onExpenseChanged(ExpenseChangedEvent.created(
+                1L, 10L, new Snapshot(2L, DAY, new BigDecimal("15.50"), "USD")));
+
+        verify(rollupRepository).applyDelta(1L, DAY, 2L, 1550L, 1);
+        verify(monthlyRollupRepository).applyDelta(1L, 202601, 1550L, 1);
+        verifyNoMoreInteractions(monthlyRollupRepository);
+    }
+
+    @Test
+    void onExpenseChanged_Created_AddsDayToTopDays() {
+        when(rollupRepository.sumCentsByUserIdAndDateRange(1L, DAY, DAY)).thenReturn(1550L);
+
+        rollupService.onExpenseChanged(ExpenseChangedEvent.created(
+                1L, 10L, new Snapshot(2L, DAY, new BigDecimal("15.50"), "USD")));
+
+        verify(summaryRepository).ensureExists(1L);
+        assertEquals("2026-01-05:1550", summary.getTopDailyTotals());
+        verify(rollupRepository, never()).findHighestDailyTotalsByUserId(anyLong(), any());
+    }
+
+    @Test
+    void onExpenseChanged_NotYetComputed_LoadsTopDaysFromRollup() {
+        summary.setTopDailyTotals(null);
+        when(rollupRepository.findHighestDailyTotalsByUserId(1L, Limit.of(TopDailySpendUtil.CAPACITY)))
+                .thenReturn(List.of(new DailySpendProjection(DAY, 4000L, 2L)));
+
+        rollupService.onExpenseChanged(ExpenseChangedEvent.created(
+                1L, 10L, new Snapshot(2L, DAY, new BigDecimal("15.50"), "USD")));
+
+        assertEquals("2026-01-05:4000", summary.getTopDailyTotals());
+        verify(rollupRepository, never()).sumCentsByUserIdAndDateRange(anyLong(), any(), any());
+    }
+
+    @Test
+    void onExpenseChanged_Deleted_SubtractsAndRemovesEmptyCell() {
+        rollupService.onExpenseChanged(ExpenseChangedEvent.deleted(
+                1L, 10L, new Snapshot(2L, DAY, new BigDecimal("15.50"), "USD")));
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).applyDelta(1L, DAY, 2L, -1550L, -1);
+        inOrder.verify(rollupRepository).deleteIfEmpty(1L, DAY, 2L);
+        verify(monthlyRollupRepository).applyDelta(1L, 202601, -1550L, -1);
+        verify(monthlyRollupRepository).deleteIfEmpty(1L, 202601);
+    }
+
+    @Test
+    void onExpenseChanged_Updated_MovesAmountBetweenCells() {
+        LocalDate nextDay = DAY.plusDays(1);
+
+        rollupService.onExpenseChanged(ExpenseChangedEvent.updated(1L, 10L,
+                new Snapshot(2L, DAY, new BigDecimal("15.50"), "USD"),
+                new Snapshot(3L, nextDay, new BigDecimal("20.00"), "USD")));
+
+        verify(rollupRepository).applyDelta(1L, DAY, 2L, -1550L, -1);
+        verify(rollupRepository).deleteIfEmpty(1L, DAY, 2L);
+        verify(rollupRepository).applyDelta(1L, nextDay, 3L, 2000L, 1);
+        verify(monthlyRollupRepository).applyDelta(1L, 202601, -1550L, -1);
+        verify(monthlyRollupRepository).applyDelta(1L, 202601, 2000L, 1);
+    }
+
+    @Test
+    void rebuildForUser_ReplacesUserCells() {
+        when(rollupRepository.rebuildForUser(1L)).thenReturn(42);
+
+        int cells = rollupService.rebuildForUser(1L);
+
+        assertEquals(42, cells);
+        InOrder inOrder = inOrder(rollupRepository, monthlyRollupRepository, spendForecastService);
+        inOrder.verify(rollupRepository).deleteByUserId(1L);
+        inOrder.verify(rollupRepository).rebuildForUser(1L);
+        inOrder.verify(monthlyRollupRepository).deleteByUserId(1L);
+        inOrder.verify(monthlyRollupRepository).rebuildForUser(1L);
+        inOrder.verify(spendForecastService).rebuildForUser(1L);
+        verify(rollupRepository).findHighestDailyTotalsByUserId(1L, Limit.of(TopDailySpendUtil.CAPACITY));
+        verify(periodSpendService).evict(1L);
+    }
+}
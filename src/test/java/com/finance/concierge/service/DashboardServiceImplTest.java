@@ -0,0 +1,125 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.DashboardStatsDTO;
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.event.UserDataChangedEvent;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.ExpenseRepository;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.service.CategoryService.CategoryInfo;
+import com.finance.concierge.service.impl.DashboardServiceImpl;
+import com.finance.concierge.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for DashboardService section endpoints and the per-user page-load memo
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private PeriodSpendService periodSpendService;
+
+    @Mock
+    private UserService userService;
+
+    private DashboardServiceImpl dashboardService;
+
+    private static final Long USER_ID = 1L;
+    private static final Long FOOD = 2L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        dashboardService = new DashboardServiceImpl(
+                expenseRepository, rollupRepository, categoryService, budgetService, periodSpendService, userService, clock);
+        ReflectionTestUtils.setField(dashboardService, "memoTtl", Duration.ofSeconds(3));
+
+        lenient().when(rollupRepository.findCellsByUserIdAndDateRange(anyLong(), any(), any())).thenReturn(List.of(
+                new DailyCategorySpendProjection(TODAY, FOOD, 1250L, 2),
+                new DailyCategorySpendProjection(TODAY.minusMonths(1), FOOD, 4000L, 1)));
+        lenient().when(budgetService.getBudgetLimitsMap(USER_ID)).thenReturn(Map.of("Food", 200.0));
+        lenient().when(userService.getCurrency(USER_ID)).thenReturn(USD);
+        lenient().when(periodSpendService.getSpentByCategory(USER_ID, BudgetPeriod.MONTHLY, USD))
+                .thenReturn(Map.of(FOOD, Money.ofMinor(1250L, USD)));
+        lenient().when(categoryService.getCategoryInfo(FOOD))
+                .thenReturn(new CategoryInfo(FOOD, "Food", "🍔", "#FF6B6B", true));
+        lenient().when(categoryService.findCategoryInfo(anyString()))
+                .thenReturn(Optional.of(new CategoryInfo(FOOD, "Food", "🍔", "#FF6B6B", true)));
+    }
+
+    @Test
+    void pageLoad_AllSectionsShareOneRead() {
+        DashboardStatsDTO stats = dashboardService.getDashboardStats(USER_ID);
+        List<DashboardStatsDTO.CategorySummary> breakdown = dashboardService.getCategoryBreakdown(USER_ID);
+        List<DashboardStatsDTO.DailySpending> daily = dashboardService.getDailySpending(USER_ID);
+        List<DashboardStatsDTO.BudgetStatus> budgetStatus = dashboardService.getBudgetStatus(USER_ID);
+
+        assertEquals(new BigDecimal("12.50"), stats.getTotalSpentThisMonth());
+        assertEquals(new BigDecimal("40.00"), stats.getTotalSpentLastMonth());
+        assertEquals(stats.getCategoryBreakdown(), breakdown);
+        assertEquals(stats.getDailySpending(), daily);
+        assertEquals(stats.getBudgetStatus(), budgetStatus);
+        assertEquals(31, daily.size());
+
+        // Three queries per page load: rollup cells, budget limits and the top-5 expenses
+        verify(rollupRepository, times(1)).findCellsByUserIdAndDateRange(anyLong(), any(), any());
+        verify(budgetService, times(1)).getBudgetLimitsMap(USER_ID);
+        verify(expenseRepository, times(1)).findTopByUserIdAndDateRange(anyLong(), any(), any(), any());
+        verifyNoMoreInteractions(rollupRepository, expenseRepository);
+    }
+
+    @Test
+    void sectionsAloneDoNotLoadTopExpenses() {
+        dashboardService.getCategoryBreakdown(USER_ID);
+        dashboardService.getDailySpending(USER_ID);
+
+        verify(rollupRepository, times(1)).findCellsByUserIdAndDateRange(
+                USER_ID, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 31));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void onUserDataChanged_EvictsMemo() {
+        dashboardService.getCategoryBreakdown(USER_ID);
+        dashboardService.onUserDataChanged(new UserDataChangedEvent(USER_ID, false));
+        dashboardService.getCategoryBreakdown(USER_ID);
+
+        verify(rollupRepository, times(2)).findCellsByUserIdAndDateRange(anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,190 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.dto.DashboardDeltaDTO;
+import com.finance.concierge.dto.DashboardStatsDTO;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.ExpenseChangedEvent.Snapshot;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.CategorySpendProjection;
+import com.finance.concierge.repository.projection.DailySpendProjection;
+import com.finance.concierge.service.CategoryService.CategoryInfo;
+import com.finance.concierge.service.impl.DashboardStreamServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for DashboardStreamService subscriptions, backpressure and delta building
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardStreamServiceImplTest {
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardStreamServiceImpl streamService;
+
+    private static final Long USER_ID = 1L;
+    private static final Long FOOD = 2L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        streamService = new DashboardStreamServiceImpl(
+                rollupRepository, categoryService, budgetService, userService, clock, transactionManager);
+        ReflectionTestUtils.setField(streamService, "bufferSize", 2);
+        ReflectionTestUtils.setField(streamService, "heartbeat", Duration.ofHours(1));
+
+        lenient().when(categoryService.getCategoryInfo(FOOD))
+                .thenReturn(new CategoryInfo(FOOD, "Food", "🍔", "#FF6B6B", true));
+        lenient().when(userService.getCurrency(USER_ID)).thenReturn(Currency.getInstance("USD"));
+    }
+
+    @Test
+    void subscribe_RegistersUntilDisposed() {
+        List<ServerSentEvent<DashboardDeltaDTO>> events = new ArrayList<>();
+        Disposable subscription = streamService.subscribe(USER_ID).subscribe(events::add);
+        DashboardDeltaDTO delta = DashboardDeltaDTO.builder().transactionCount(1).build();
+
+        streamService.publish(USER_ID, delta);
+        streamService.publish(9L, DashboardDeltaDTO.builder().build());
+        subscription.dispose();
+        streamService.publish(USER_ID, delta);
+
+        assertEquals(1, events.size());
+        assertEquals("delta", events.get(0).event());
+        assertSame(delta, events.get(0).data());
+        assertEquals(0, streamService.getSubscriberCount(USER_ID));
+    }
+
+    @Test
+    void publish_SlowSubscriber_DropsOldestDeltas() {
+        List<DashboardDeltaDTO> received = new ArrayList<>();
+        ManualSubscriber subscriber = new ManualSubscriber(received);
+        streamService.subscribe(USER_ID).subscribe(subscriber);
+
+        List<DashboardDeltaDTO> deltas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            DashboardDeltaDTO delta = DashboardDeltaDTO.builder().transactionCount(i).build();
+            deltas.add(delta);
+            streamService.publish(USER_ID, delta);
+        }
+        subscriber.request(10);
+
+        // The two newest survive; the ones pushed out of the two-slot buffer are gone
+        assertEquals(deltas.subList(3, 5), received.subList(received.size() - 2, received.size()));
+        assertFalse(received.contains(deltas.get(1)));
+        assertFalse(received.contains(deltas.get(2)));
+        subscriber.dispose();
+    }
+
+    @Test
+    void onExpenseChanged_NoSubscribers_ReadsNothing() {
+        streamService.onExpenseChanged(ExpenseChangedEvent.created(
+                USER_ID, 10L, new Snapshot(FOOD, TODAY, new BigDecimal("12.50"), "USD")));
+
+        verifyNoInteractions(rollupRepository, budgetService, transactionManager);
+    }
+
+    @Test
+    void onExpenseChanged_PushesTouchedCategoryDayAndBudget() {
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, TODAY.withDayOfMonth(1), TODAY.withDayOfMonth(31)))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 15_000L, 3L),
+                        new CategorySpendProjection(9L, 5_000L, 1L)));
+        when(rollupRepository.findDailyTotalsByUserIdAndDateRange(USER_ID, TODAY, TODAY))
+                .thenReturn(List.of(new DailySpendProjection(TODAY, 2_500L, 2L)));
+        when(budgetService.getBudgetLimitsMap(USER_ID)).thenReturn(Map.of("Food", 100.0));
+
+        List<ServerSentEvent<DashboardDeltaDTO>> events = new ArrayList<>();
+        Disposable subscription = streamService.subscribe(USER_ID).subscribe(events::add);
+
+        streamService.onExpenseChanged(ExpenseChangedEvent.created(
+                USER_ID, 10L, new Snapshot(FOOD, TODAY, new BigDecimal("12.50"), "USD")));
+
+        DashboardDeltaDTO delta = events.get(0).data();
+        assertEquals(0, new BigDecimal("200.00").compareTo(delta.getTotalSpentThisMonth()));
+        assertEquals(4, delta.getTransactionCount());
+
+        DashboardStatsDTO.CategorySummary food = delta.getCategoryTotals().get(0);
+        assertEquals(1, delta.getCategoryTotals().size());
+        assertEquals(0, new BigDecimal("150.00").compareTo(food.getTotalAmount()));
+        assertEquals(75.0, food.getPercentage(), 0.01);
+
+        DashboardStatsDTO.DailySpending day = delta.getDailySpending().get(0);
+        assertEquals(TODAY.toString(), day.getDate());
+        assertEquals(0, new BigDecimal("25.00").compareTo(day.getAmount()));
+
+        DashboardStatsDTO.BudgetStatus budget = delta.getBudgetStatus().get(0);
+        assertTrue(budget.getIsOverBudget());
+        assertEquals(0, new BigDecimal("-50.00").compareTo(budget.getRemaining()));
+        subscription.dispose();
+    }
+
+    @Test
+    void onExpenseChanged_OutsideDashboardWindow_PushesNothing() {
+        List<ServerSentEvent<DashboardDeltaDTO>> events = new ArrayList<>();
+        Disposable subscription = streamService.subscribe(USER_ID).subscribe(events::add);
+
+        streamService.onExpenseChanged(ExpenseChangedEvent.deleted(
+                USER_ID, 10L, new Snapshot(FOOD, TODAY.minusYears(1), new BigDecimal("12.50"), "USD")));
+
+        assertTrue(events.isEmpty());
+        verifyNoInteractions(rollupRepository, budgetService);
+        subscription.dispose();
+    }
+
+    /**
+     * Subscriber that requests nothing until told to
+     */
+    private static final class ManualSubscriber extends BaseSubscriber<ServerSentEvent<DashboardDeltaDTO>> {
+
+        private final List<DashboardDeltaDTO> received;
+
+        ManualSubscriber(List<DashboardDeltaDTO> received) {
+            this.received = received;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<DashboardDeltaDTO> event) {
+            received.add(event.data());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.ExpenseChangedEvent.Snapshot;
+import com.finance.concierge.event.UserDataChangedEvent;
+import com.finance.concierge.repository.UserDataVersionRepository;
+import com.finance.concierge.service.impl.DataVersionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for DataVersionService
+ */
+@ExtendWith(MockitoExtension.class)
+class DataVersionServiceImplTest {
+
+    @Mock
+    private UserDataVersionRepository versionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DataVersionServiceImpl dataVersionService;
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        dataVersionService = new DataVersionServiceImpl(versionRepository, eventPublisher, clock);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void getVersion_ReadsDatabaseOncePerUser() {
+        when(versionRepository.findVersionByUserId(1L)).thenReturn(Optional.of(5L));
+
+        assertEquals(5L, dataVersionService.getVersion(1L));
+        assertEquals(5L, dataVersionService.getVersion(1L));
+        verify(versionRepository, times(1)).findVersionByUserId(1L);
+    }
+
+    @Test
+    void getETag_IsWeakAndIncludesDate() {
+        when(versionRepository.findVersionByUserId(1L)).thenReturn(Optional.empty());
+
+        assertEquals("W/\"0-2026-03-15\"", dataVersionService.getETag(1L));
+    }
+
+    @Test
+    void onExpenseChanged_PublishesNewVersionOnlyAfterCommit() {
+        when(versionRepository.findVersionByUserId(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertEquals(3L, dataVersionService.getVersion(1L));
+
+        dataVersionService.onExpenseChanged(ExpenseChangedEvent.created(
+                1L, 10L, new Snapshot(2L, TODAY, new BigDecimal("5.00"), "USD")));
+
+        verify(versionRepository).increment(1L);
+        assertEquals(3L, dataVersionService.getVersion(1L));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(4L, dataVersionService.getVersion(1L));
+    }
+
+    @Test
+    void bumpBudgets_DropsCachesBeforeVersionAdvances() {
+        when(versionRepository.findVersionByUserId(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertEquals(3L, dataVersionService.getVersion(1L));
+        doAnswer(invocation -> {
+            assertEquals(3L, dataVersionService.getVersion(1L));
+            return null;
+        }).when(eventPublisher).publishEvent(new UserDataChangedEvent(1L, true));
+
+        dataVersionService.bumpBudgets(1L);
+        verifyNoInteractions(eventPublisher);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(1L, true));
+        assertEquals(4L, dataVersionService.getVersion(1L));
+    }
+
+    @Test
+    void bump_RolledBack_KeepsOldVersion() {
+        when(versionRepository.findVersionByUserId(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        assertEquals(3L, dataVersionService.getVersion(1L));
+
+        dataVersionService.bump(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(3L, dataVersionService.getVersion(1L));
+    }
+}
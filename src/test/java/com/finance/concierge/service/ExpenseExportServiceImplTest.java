@@ -0,0 +1,180 @@
+package com.finance.concierge.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance.concierge.repository.ExpenseRepository;
+import com.finance.concierge.repository.projection.ExpenseProjection;
+import com.finance.concierge.service.ExpenseExportService.Format;
+import com.finance.concierge.service.impl.ExpenseExportServiceImpl;
+import com.opencsv.CSVReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Output tests for the CSV and NDJSON expense exports
+ */
+@ExtendWith(MockitoExtension.class)
+class ExpenseExportServiceImplTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ExpenseExportServiceImpl exportService;
+
+    private static final Long USER_ID = 1L;
+    private static final Long FOOD = 2L;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExpenseExportServiceImpl(expenseRepository, categoryService, objectMapper);
+        lenient().when(categoryService.getCategoryInfo(FOOD))
+                .thenReturn(new CategoryService.CategoryInfo(FOOD, "Food", "🍔", "#FF6B6B", true));
+    }
+
+    @Test
+    void exportExpenses_Csv_HeaderAndQuotedRows() throws Exception {
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END))
+                .thenReturn(Stream.of(row(10L, "12.50", "Coffee"), row(11L, "3.00", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportExpenses(USER_ID, START, END, Format.CSV, out);
+
+        assertEquals(2, rows);
+        assertEquals("""
+                "Id","Date","Category","Amount","Currency","Description"
+                "10","2026-01-05","Food","12.50","USD","Coffee"
+                "11","2026-01-05","Food","3.00","USD",
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportExpenses_Csv_EscapesSeparatorsQuotesAndNewlines() throws Exception {
+        String description = "Lunch, \"team\" day\nsecond line – café";
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END))
+                .thenReturn(Stream.of(row(10L, "12.50", description)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportExpenses(USER_ID, START, END, Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("\"Lunch, \"\"team\"\" day\nsecond line – café\""));
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            List<String[]> lines = reader.readAll();
+            assertEquals(2, lines.size());
+            assertArrayEquals(new String[]{"10", "2026-01-05", "Food", "12.50", "USD", description}, lines.get(1));
+        }
+    }
+
+    @Test
+    void exportExpenses_Ndjson_OneObjectPerLine() throws Exception {
+        String description = "Lunch, \"team\" day\nsecond line";
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END))
+                .thenReturn(Stream.of(row(10L, "12.50", description), row(11L, "3.00", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportExpenses(USER_ID, START, END, Format.NDJSON, out);
+
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2, rows);
+        assertTrue(ndjson.endsWith("}\n"));
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(10L, first.get("id").asLong());
+        assertEquals("2026-01-05", first.get("date").asText());
+        assertEquals("Food", first.get("category").asText());
+        assertTrue(lines[0].contains("\"amount\":12.50"));
+        assertEquals("USD", first.get("currency").asText());
+        assertEquals(description, first.get("description").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("description").isNull());
+    }
+
+    @Test
+    void exportExpenses_NoRows_CsvHeaderOnlyAndNdjsonEmpty() throws Exception {
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END)).thenReturn(Stream.empty());
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exportService.exportExpenses(USER_ID, START, END, Format.CSV, csv);
+
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END)).thenReturn(Stream.empty());
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long rows = exportService.exportExpenses(USER_ID, START, END, Format.NDJSON, ndjson);
+
+        assertEquals("\"Id\",\"Date\",\"Category\",\"Amount\",\"Currency\",\"Description\"\n",
+                csv.toString(StandardCharsets.UTF_8));
+        assertEquals(0, rows);
+        assertEquals(0, ndjson.size());
+    }
+
+    @Test
+    void exportExpenses_NoDateBounds_RangeLeftOpen() throws Exception {
+        LocalDate early = LocalDate.of(1965, 3, 1);
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, null, null))
+                .thenReturn(Stream.of(new ExpenseProjection(9L, FOOD, early, new BigDecimal("4.00"), "USD", null,
+                        null, false, LocalDateTime.of(1965, 3, 1, 12, 0))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(1, exportService.exportExpenses(USER_ID, null, null, Format.CSV, out));
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"9\",\"1965-03-01\""));
+    }
+
+    @Test
+    void exportExpenses_Csv_HeaderReachesClientBeforeFirstRowIsRead() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicBoolean closed = new AtomicBoolean();
+        // Rows are produced lazily, as a database stream would deliver them
+        Stream<ExpenseProjection> rows = Stream.of(10L, 11L)
+                .map(id -> {
+                    assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("\"Id\""), "header not flushed yet");
+                    return row(id, "1.00", "Row " + id);
+                })
+                .onClose(() -> closed.set(true));
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END)).thenReturn(rows);
+
+        assertEquals(2, exportService.exportExpenses(USER_ID, START, END, Format.CSV, out));
+        assertTrue(closed.get(), "database stream should be closed");
+    }
+
+    @Test
+    void exportExpenses_Ndjson_FirstRecordReachesClientBeforeSecondIsRead() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Stream<ExpenseProjection> rows = Stream.of(10L, 11L)
+                .map(id -> {
+                    if (id == 11L) {
+                        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"id\":10"), "first record not flushed");
+                    }
+                    return row(id, "1.00", "Row " + id);
+                });
+        when(expenseRepository.streamByUserIdAndDateRange(USER_ID, START, END)).thenReturn(rows);
+
+        assertEquals(2, exportService.exportExpenses(USER_ID, START, END, Format.NDJSON, out));
+    }
+
+    private static ExpenseProjection row(Long id, String amount, String description) {
+        return new ExpenseProjection(id, FOOD, LocalDate.of(2026, 1, 5), new BigDecimal(amount), "USD", description,
+                null, false, LocalDateTime.of(2026, 1, 5, 12, 0));
+    }
+}
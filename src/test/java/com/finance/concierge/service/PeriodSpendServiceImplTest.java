@@ -0,0 +1,225 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.entity.Budget.BudgetPeriod;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.ExpenseChangedEvent.Snapshot;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.CategorySpendProjection;
+import com.finance.concierge.service.impl.PeriodSpendServiceImpl;
+import com.finance.concierge.util.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for PeriodSpendService caching and delta maintenance
+ */
+@ExtendWith(MockitoExtension.class)
+class PeriodSpendServiceImplTest {
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private PeriodSpendServiceImpl periodSpendService;
+
+    private static final Long USER_ID = 1L;
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Long FOOD = 2L;
+    private static final Long TRANSPORT = 3L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+    private static final LocalDate MONTH_START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate MONTH_END = LocalDate.of(2026, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY);
+        periodSpendService = new PeriodSpendServiceImpl(rollupRepository, clock, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getSpent_LoadsWindowOnceThenServesFromMemory() {
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L),
+                        new CategorySpendProjection(TRANSPORT, 700L, 1L)));
+
+        assertEquals(Money.ofMinor(1500L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+        assertEquals(Money.ofMinor(2200L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, null, USD));
+        assertEquals(Map.of(FOOD, Money.ofMinor(1500L, USD), TRANSPORT, Money.ofMinor(700L, USD)),
+                periodSpendService.getSpentByCategory(USER_ID, BudgetPeriod.MONTHLY, USD));
+
+        verify(rollupRepository, times(1)).findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END);
+    }
+
+    @Test
+    void findCachedSpent_NeverLoads() {
+        assertEquals(Optional.empty(), periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+        verifyNoInteractions(rollupRepository);
+
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L)));
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, null, USD);
+
+        assertEquals(Optional.of(Money.ofMinor(1500L, USD)),
+                periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+        assertEquals(Optional.empty(), periodSpendService.findCachedSpent(USER_ID, BudgetPeriod.WEEKLY, FOOD, USD));
+    }
+
+    @Test
+    void onExpenseChanged_AppliesDeltaInsideWindowOnly() {
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L)));
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, null, USD);
+
+        periodSpendService.onExpenseChanged(ExpenseChangedEvent.updated(USER_ID, 10L,
+                new Snapshot(FOOD, TODAY, new BigDecimal("5.00"), "USD"),
+                new Snapshot(TRANSPORT, TODAY, new BigDecimal("8.25"), "USD")));
+        periodSpendService.onExpenseChanged(ExpenseChangedEvent.created(USER_ID, 11L,
+                new Snapshot(FOOD, MONTH_START.minusDays(1), new BigDecimal("99.00"), "USD")));
+
+        assertEquals(Money.ofMinor(1000L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+        assertEquals(Money.ofMinor(825L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, TRANSPORT, USD));
+        assertEquals(Money.ofMinor(1825L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, null, USD));
+        verify(rollupRepository, times(1)).findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END);
+    }
+
+    @Test
+    void onExpenseChanged_RolledBackWriteIsNotApplied() {
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L)));
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD);
+
+        TransactionSynchronizationManager.initSynchronization();
+        periodSpendService.onExpenseChanged(ExpenseChangedEvent.created(USER_ID, 10L,
+                new Snapshot(FOOD, TODAY, new BigDecimal("5.00"), "USD")));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(Money.ofMinor(1500L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+    }
+
+    @Test
+    void getSpent_LoadDuringPendingWriteIsNotCached() {
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        periodSpendService.onExpenseChanged(ExpenseChangedEvent.created(USER_ID, 10L,
+                new Snapshot(FOOD, TODAY, new BigDecimal("5.00"), "USD")));
+
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD);
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD);
+
+        verify(rollupRepository, times(2)).findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END);
+    }
+
+    @Test
+    void onExpenseChanged_EntryExpiredMidTransaction_ReplacementReloads() {
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L)))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 2000L, 3L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        periodSpendService.onExpenseChanged(ExpenseChangedEvent.created(USER_ID, 10L,
+                new Snapshot(FOOD, TODAY, new BigDecimal("5.00"), "USD")));
+
+        // Idle expiry drops the entry; a read caches a window without the pending write
+        ((Map<?, ?>) ReflectionTestUtils.getField(periodSpendService, "users")).clear();
+        assertEquals(Money.ofMinor(1500L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(Money.ofMinor(2000L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+    }
+
+    @Test
+    void getSpent_ReloadsWhenPeriodRollsOver() {
+        LocalDate nextMonthStart = LocalDate.of(2026, 2, 1);
+        LocalDate nextMonthEnd = LocalDate.of(2026, 2, 28);
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L)));
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, nextMonthStart, nextMonthEnd))
+                .thenReturn(List.of());
+
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD);
+        clock.setDate(nextMonthStart);
+
+        assertEquals(Money.ofMinor(0L, USD), periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD));
+        verify(rollupRepository).findCategoryTotalsByUserIdAndDateRange(USER_ID, nextMonthStart, nextMonthEnd);
+    }
+
+    @Test
+    void evict_ForcesReload() {
+        when(rollupRepository.findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END))
+                .thenReturn(List.of(new CategorySpendProjection(FOOD, 1500L, 2L)));
+
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD);
+        periodSpendService.evict(USER_ID);
+        periodSpendService.getSpent(USER_ID, BudgetPeriod.MONTHLY, FOOD, USD);
+
+        verify(rollupRepository, times(2)).findCategoryTotalsByUserIdAndDateRange(USER_ID, MONTH_START, MONTH_END);
+    }
+
+    /**
+     * Clock whose date can be moved forward between calls
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.entity.SpendForecastState;
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.ExpenseChangedEvent.Snapshot;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.SpendForecastStateRepository;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.service.impl.SpendForecastServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for SpendForecastService state maintenance and outlook
+ */
+@ExtendWith(MockitoExtension.class)
+class SpendForecastServiceImplTest {
+
+    @Mock
+    private SpendForecastStateRepository stateRepository;
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    private SpendForecastServiceImpl forecastService;
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+    private static final Long FOOD = 2L;
+
+    private SpendForecastState foodState;
+
+    @BeforeEach
+    void setUp() {
+        forecastService = serviceOn(TODAY);
+
+        foodState = SpendForecastState.builder()
+                .userId(1L).categoryId(FOOD)
+                .currentDay(TODAY.minusDays(1)).pendingCents(3_000L)
+                .levelCents(2_000.0).seasonalCents("0.00,0.00,0.00,0.00,0.00,0.00,0.00")
+                .errorVariance(250_000.0).ticketCents(1_500.0).observedDays(40)
+                .build();
+        lenient().when(stateRepository.findForUpdate(1L, FOOD)).thenReturn(Optional.of(foodState));
+    }
+
+    @Test
+    void onExpenseChanged_Today_FoldsInWithoutReadingRollup() {
+        forecastService.onExpenseChanged(ExpenseChangedEvent.created(
+                1L, 10L, new Snapshot(FOOD, TODAY, new BigDecimal("12.00"), "USD")));
+
+        assertEquals(TODAY, foodState.getCurrentDay());
+        assertEquals(1_200L, foodState.getPendingCents());
+        assertEquals(41, foodState.getObservedDays());
+        verify(stateRepository).ensureExists(1L, FOOD);
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void onExpenseChanged_EarlierDay_RebuildsSeriesFromRollup() {
+        when(rollupRepository.findCellsByUserIdAndDateRange(1L, TODAY.minusDays(179), TODAY)).thenReturn(List.of(
+                new DailyCategorySpendProjection(TODAY.minusDays(3), FOOD, 2_000L, 1),
+                new DailyCategorySpendProjection(TODAY.minusDays(3), 9L, 7_000L, 1),
+                new DailyCategorySpendProjection(TODAY.minusDays(2), FOOD, 1_000L, 2)));
+
+        forecastService.onExpenseChanged(ExpenseChangedEvent.deleted(
+                1L, 10L, new Snapshot(FOOD, TODAY.minusDays(5), new BigDecimal("30.00"), "USD")));
+
+        assertEquals(TODAY.minusDays(2), foodState.getCurrentDay());
+        assertEquals(1_000L, foodState.getPendingCents());
+        assertEquals(1, foodState.getObservedDays());
+        assertEquals(2_000.0, foodState.getLevelCents());
+    }
+
+    @Test
+    void onExpenseChanged_NoSpendLeftInWindow_DeletesSeries() {
+        foodState.setCurrentDay(null);
+
+        forecastService.onExpenseChanged(ExpenseChangedEvent.deleted(
+                1L, 10L, new Snapshot(FOOD, TODAY, new BigDecimal("30.00"), "USD")));
+
+        verify(stateRepository).delete(foodState);
+    }
+
+    @Test
+    void onExpenseChanged_FutureDayCreatedThenDeletedOnceDue_RebuildsSeries() {
+        LocalDate payday = TODAY.plusDays(2);
+        forecastService.onExpenseChanged(ExpenseChangedEvent.created(
+                1L, 10L, new Snapshot(FOOD, payday, new BigDecimal("80.00"), "USD")));
+
+        assertEquals(payday, foodState.getFutureSpendDay());
+        assertEquals(TODAY.minusDays(1), foodState.getCurrentDay());
+        assertEquals(3_000L, foodState.getPendingCents());
+        verifyNoInteractions(rollupRepository);
+
+        // Three days on the expense is deleted; the rollup no longer has it
+        LocalDate later = TODAY.plusDays(3);
+        when(rollupRepository.findCellsByUserIdAndDateRange(1L, later.minusDays(179), later)).thenReturn(List.of(
+                new DailyCategorySpendProjection(TODAY.minusDays(1), FOOD, 3_000L, 2)));
+        serviceOn(later).onExpenseChanged(ExpenseChangedEvent.deleted(
+                1L, 10L, new Snapshot(FOOD, payday, new BigDecimal("80.00"), "USD")));
+
+        assertEquals(TODAY.minusDays(1), foodState.getCurrentDay());
+        assertEquals(3_000L, foodState.getPendingCents());
+        assertNull(foodState.getFutureSpendDay());
+        verify(rollupRepository).findFirstSpendDateAfter(1L, FOOD, later);
+    }
+
+    @Test
+    void getOutlook_FutureSpendDue_ReplaysSeriesFromRollup() {
+        foodState.setFutureSpendDay(TODAY);
+        when(stateRepository.findByUserId(1L)).thenReturn(List.of(foodState));
+        when(rollupRepository.findCellsByUserIdAndDateRange(1L, TODAY.minusDays(179), TODAY)).thenReturn(List.of(
+                new DailyCategorySpendProjection(TODAY.minusDays(1), FOOD, 3_000L, 2),
+                new DailyCategorySpendProjection(TODAY, FOOD, 8_000L, 1)));
+
+        SpendForecastService.Outlook outlook = forecastService.getOutlook(1L, TODAY).orElseThrow();
+
+        // Replayed from two days of spend, the second of which had been dated ahead
+        assertTrue(outlook.restOfMonth().meanCents() > 0);
+        assertEquals(TODAY.minusDays(1), foodState.getCurrentDay());
+        verify(stateRepository, never()).save(any());
+    }
+
+    @Test
+    void rebuildForUser_RebuildsEverySeries() {
+        SpendForecastState travel = SpendForecastState.builder().userId(1L).categoryId(9L).build();
+        when(stateRepository.findByUserId(1L)).thenReturn(List.of(foodState, travel));
+        when(stateRepository.findForUpdate(1L, 9L)).thenReturn(Optional.of(travel));
+        when(rollupRepository.findCellsByUserIdAndDateRange(1L, TODAY.minusDays(179), TODAY)).thenReturn(List.of(
+                new DailyCategorySpendProjection(TODAY.minusDays(3), FOOD, 2_000L, 1)));
+
+        forecastService.rebuildForUser(1L);
+
+        assertEquals(TODAY.minusDays(3), foodState.getCurrentDay());
+        assertEquals(2_000L, foodState.getPendingCents());
+        verify(stateRepository).delete(travel);
+    }
+
+    @Test
+    void getOutlook_NoState_IsEmpty() {
+        when(stateRepository.findByUserId(1L)).thenReturn(List.of());
+
+        assertTrue(forecastService.getOutlook(1L, TODAY).isEmpty());
+    }
+
+    @Test
+    void getOutlook_PredictsRestOfMonthAndNextSpend() {
+        when(stateRepository.findByUserId(1L)).thenReturn(List.of(foodState));
+
+        SpendForecastService.Outlook outlook = forecastService.getOutlook(1L, TODAY).orElseThrow();
+
+        // Yesterday's 30.00 is folded in first, nudging the 20.00 level up; 16 days remain in March
+        assertTrue(outlook.restOfMonth().meanCents() > 16 * 2_000);
+        assertTrue(outlook.restOfYear().meanCents() > outlook.restOfMonth().meanCents());
+        assertTrue(outlook.restOfMonth().upperCents() > outlook.restOfMonth().meanCents());
+        assertEquals(FOOD, outlook.nextSpend().categoryId());
+        assertEquals(1_500L, outlook.nextSpend().ticketCents());
+        verify(stateRepository, never()).save(any());
+    }
+
+    private SpendForecastServiceImpl serviceOn(LocalDate today) {
+        Clock clock = Clock.fixed(today.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        return new SpendForecastServiceImpl(stateRepository, rollupRepository, clock);
+    }
+}
@@ -0,0 +1,85 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.entity.User;
+import com.finance.concierge.repository.CurrencyRepository;
+import com.finance.concierge.repository.UserRepository;
+import com.finance.concierge.service.impl.UserServiceImpl;
+import com.finance.concierge.util.Money;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Currency;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for the user's currency and its in-memory copy
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CurrencyRepository currencyRepository;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    private UserServiceImpl userService;
+
+    private static final Long USER_ID = 1L;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, currencyRepository, dataVersionService);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void getCurrency_ReadsDatabaseOncePerUser() {
+        when(userRepository.findCurrencyCodeById(USER_ID)).thenReturn(Optional.of("EUR"));
+
+        assertEquals(Currency.getInstance("EUR"), userService.getCurrency(USER_ID));
+        assertEquals(Currency.getInstance("EUR"), userService.getCurrency(USER_ID));
+        verify(userRepository, times(1)).findCurrencyCodeById(USER_ID);
+    }
+
+    @Test
+    void getCurrency_NoneSet_Default() {
+        when(userRepository.findCurrencyCodeById(USER_ID)).thenReturn(Optional.empty());
+
+        assertEquals(Money.DEFAULT_CURRENCY, userService.getCurrency(USER_ID));
+    }
+
+    @Test
+    void updateCurrency_NewCurrencyServedAfterCommit() {
+        User user = User.builder().id(USER_ID).currencyCode("USD").build();
+        when(userRepository.findCurrencyCodeById(USER_ID)).thenReturn(Optional.of("USD"), Optional.of("JPY"));
+        when(currencyRepository.existsByCode("JPY")).thenReturn(true);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        assertEquals(Currency.getInstance("USD"), userService.getCurrency(USER_ID));
+
+        userService.updateCurrency(USER_ID, "JPY");
+
+        verify(dataVersionService).bumpBudgets(USER_ID);
+        assertEquals(Currency.getInstance("USD"), userService.getCurrency(USER_ID));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(Currency.getInstance("JPY"), userService.getCurrency(USER_ID));
+    }
+}
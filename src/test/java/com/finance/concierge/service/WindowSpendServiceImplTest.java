@@ -0,0 +1,107 @@
+package com.finance.concierge.service;
+
+import com.finance.concierge.event.ExpenseChangedEvent;
+import com.finance.concierge.event.ExpenseChangedEvent.Snapshot;
+import com.finance.concierge.repository.DailySpendRollupRepository;
+import com.finance.concierge.repository.projection.DailyCategorySpendProjection;
+import com.finance.concierge.service.impl.WindowSpendServiceImpl;
+import com.finance.concierge.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for WindowSpendService prefix sums and delta maintenance
+ */
+@ExtendWith(MockitoExtension.class)
+class WindowSpendServiceImplTest {
+
+    @Mock
+    private DailySpendRollupRepository rollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WindowSpendServiceImpl windowSpendService;
+
+    private static final Long USER_ID = 1L;
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Long FOOD = 2L;
+    private static final Long TRANSPORT = 3L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+    private static final LocalDate HORIZON_START = LocalDate.of(2026, 1, 5);
+    private static final LocalDate HORIZON_END = LocalDate.of(2026, 1, 25);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        windowSpendService = new WindowSpendServiceImpl(rollupRepository, clock, transactionManager);
+        ReflectionTestUtils.setField(windowSpendService, "horizonDays", 10);
+
+        lenient().when(rollupRepository.findCellsByUserIdAndDateRange(USER_ID, HORIZON_START, HORIZON_END))
+                .thenReturn(List.of(
+                        new DailyCategorySpendProjection(HORIZON_START, FOOD, 100L, 1),
+                        new DailyCategorySpendProjection(TODAY.minusDays(6), FOOD, 1500L, 2),
+                        new DailyCategorySpendProjection(TODAY.minusDays(6), TRANSPORT, 700L, 1),
+                        new DailyCategorySpendProjection(TODAY, FOOD, 250L, 1),
+                        new DailyCategorySpendProjection(HORIZON_END, TRANSPORT, 50L, 1)));
+    }
+
+    @Test
+    void getSpent_AnyWindowInsideHorizon_OneLoad() {
+        assertEquals(Money.ofMinor(1750L, USD), windowSpendService.getSpent(USER_ID, FOOD, TODAY.minusDays(6), TODAY, USD));
+        assertEquals(Money.ofMinor(2450L, USD), windowSpendService.getSpent(USER_ID, null, TODAY.minusDays(6), TODAY, USD));
+        assertEquals(Money.ofMinor(250L, USD), windowSpendService.getSpent(USER_ID, FOOD, TODAY.minusDays(5), TODAY, USD));
+        assertEquals(Money.ofMinor(2600L, USD), windowSpendService.getSpent(USER_ID, null, HORIZON_START, HORIZON_END, USD));
+        assertEquals(Money.zero(USD), windowSpendService.getSpent(USER_ID, 99L, HORIZON_START, HORIZON_END, USD));
+
+        verify(rollupRepository, times(1)).findCellsByUserIdAndDateRange(USER_ID, HORIZON_START, HORIZON_END);
+    }
+
+    @Test
+    void getSpent_WindowBeyondHorizon_SumsRollup() {
+        LocalDate from = TODAY.minusDays(29);
+        when(rollupRepository.sumCentsByUserIdCategoryAndDateRange(USER_ID, FOOD, from, TODAY)).thenReturn(9000L);
+
+        assertEquals(Money.ofMinor(9000L, USD), windowSpendService.getSpent(USER_ID, FOOD, from, TODAY, USD));
+    }
+
+    @Test
+    void onExpenseChanged_ShiftsRunningTotalsFromTheChangedDay() {
+        windowSpendService.getSpent(USER_ID, null, TODAY, TODAY, USD);
+
+        windowSpendService.onExpenseChanged(ExpenseChangedEvent.updated(USER_ID, 10L,
+                new Snapshot(FOOD, TODAY.minusDays(6), new BigDecimal("5.00"), "USD"),
+                new Snapshot(TRANSPORT, TODAY.minusDays(1), new BigDecimal("8.25"), "USD")));
+        windowSpendService.onExpenseChanged(ExpenseChangedEvent.created(USER_ID, 11L,
+                new Snapshot(FOOD, HORIZON_START.minusDays(1), new BigDecimal("99.00"), "USD")));
+
+        assertEquals(Money.ofMinor(1250L, USD), windowSpendService.getSpent(USER_ID, FOOD, TODAY.minusDays(6), TODAY, USD));
+        assertEquals(Money.ofMinor(825L, USD), windowSpendService.getSpent(USER_ID, TRANSPORT, TODAY.minusDays(2), TODAY, USD));
+        assertEquals(Money.ofMinor(2775L, USD), windowSpendService.getSpent(USER_ID, null, TODAY.minusDays(6), TODAY, USD));
+        verify(rollupRepository, times(1)).findCellsByUserIdAndDateRange(USER_ID, HORIZON_START, HORIZON_END);
+    }
+
+    @Test
+    void evict_ReloadsOnNextRead() {
+        windowSpendService.getSpent(USER_ID, null, TODAY, TODAY, USD);
+        windowSpendService.evict(USER_ID);
+        windowSpendService.getSpent(USER_ID, null, TODAY, TODAY, USD);
+
+        verify(rollupRepository, times(2)).findCellsByUserIdAndDateRange(USER_ID, HORIZON_START, HORIZON_END);
+    }
+}
@@ -0,0 +1,54 @@
+package com.finance.concierge.util;
+
+import com.finance.concierge.util.BudgetSimulationUtil.Model;
+import com.finance.concierge.util.BudgetSimulationUtil.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetSimulationUtilTest {
+
+    @Test
+    void simulate_ConstantHistory_IsDeterministic() {
+        // Every historical day spent 10.00 on the first category and nothing on the second
+        long[][] history = {{1000L, 0L}, {1000L, 0L}, {1000L, 0L}};
+        Model model = new Model(history, new double[]{0.8, 1.0}, new long[]{5000L, 300L},
+                new long[]{12000L, 0L}, 12000L, 10);
+
+        Outcome outcome = BudgetSimulationUtil.simulate(model, 1000, 7L, ForkJoinPool.commonPool());
+
+        // 50.00 spent plus ten days of 8.00
+        assertEquals(13000L, outcome.finalCents()[0][0]);
+        assertEquals(13000L, outcome.finalCents()[0][999]);
+        assertEquals(1.0, Outcome.overProbability(outcome.finalCents()[0], 12000L));
+        assertEquals(13300L, Outcome.mean(outcome.totalCents()));
+        // 53.00 + 8.00 per day passes 120.00 on the ninth simulated day
+        assertEquals(8, outcome.dayReachedBy(0.5));
+    }
+
+    @Test
+    void simulate_SameSeed_SameResultWhateverThePool() {
+        long[][] history = {{0L, 2500L}, {4000L, 0L}, {0L, 0L}, {1200L, 800L}};
+        Model model = new Model(history, new double[]{1.0, 1.0}, new long[]{0L, 0L},
+                new long[]{20000L, 10000L}, 25000L, 20);
+
+        Outcome single = BudgetSimulationUtil.simulate(model, 5000, 42L, new ForkJoinPool(1));
+        Outcome parallel = BudgetSimulationUtil.simulate(model, 5000, 42L, new ForkJoinPool(4));
+
+        assertArrayEquals(single.totalCents(), parallel.totalCents());
+        assertArrayEquals(single.crossedOnDay(), parallel.crossedOnDay());
+        double probability = Outcome.overProbability(single.finalCents()[0], 20000L);
+        assertTrue(probability > 0 && probability < 1, "Expected a spread of outcomes but got " + probability);
+    }
+
+    @Test
+    void percentile_PicksNearestRank() {
+        long[] sorted = {1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L};
+
+        assertEquals(9L, Outcome.percentile(sorted, 90));
+        assertEquals(10L, Outcome.percentile(sorted, 100));
+        assertEquals(0.3, Outcome.overProbability(sorted, 7L));
+    }
+}
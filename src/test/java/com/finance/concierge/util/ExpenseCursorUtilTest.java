@@ -0,0 +1,43 @@
+package com.finance.concierge.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseCursorUtilTest {
+
+    @Test
+    void encodeDecode_RoundTrip() {
+        LocalDate date = LocalDate.of(2026, 1, 5);
+
+        String cursor = ExpenseCursorUtil.encode(date, 12345L);
+        ExpenseCursorUtil.Position position = ExpenseCursorUtil.decode(cursor);
+
+        assertEquals(date, position.expenseDate());
+        assertEquals(12345L, position.id());
+    }
+
+    @Test
+    void encode_IsUrlSafeAndOpaque() {
+        String cursor = ExpenseCursorUtil.encode(LocalDate.of(2026, 1, 5), Long.MAX_VALUE);
+
+        assertFalse(cursor.contains("2026"));
+        assertFalse(cursor.contains("="));
+        assertFalse(cursor.contains("+"));
+        assertFalse(cursor.contains("/"));
+    }
+
+    @Test
+    void decode_Blank_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> ExpenseCursorUtil.decode(" "));
+        assertThrows(IllegalArgumentException.class, () -> ExpenseCursorUtil.decode(null));
+    }
+
+    @Test
+    void decode_Garbage_ThrowsIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> ExpenseCursorUtil.decode("not-a-cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> ExpenseCursorUtil.decode("Zm9vOmJhcg"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.finance.concierge.util;
+
+import com.finance.concierge.config.AuthenticatedUser;
+import com.finance.concierge.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private final MovableClock clock = new MovableClock(Instant.parse("2026-03-15T10:00:00Z"));
+
+    private JwtUtils jwtUtils;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 60_000L, 600_000L, 100, clock);
+        alice = User.builder().id(1L).username("alice").email("alice@example.com").role(User.Role.USER).build();
+    }
+
+    @Test
+    void verify_RepeatToken_ServedFromCache() {
+        String token = jwtUtils.generateToken(alice);
+
+        Claims first = jwtUtils.verify(token);
+
+        assertEquals("alice", first.getSubject());
+        assertSame(first, jwtUtils.verify(token));
+        assertTrue(jwtUtils.validateToken(token, alice));
+    }
+
+    @Test
+    void verify_TamperedToken_RejectedEvenWhenOriginalCached() {
+        String token = jwtUtils.generateToken(alice);
+        jwtUtils.verify(token);
+
+        // Another user's claims under alice's signature
+        String[] parts = token.split("\\.");
+        String[] other = jwtUtils.generateToken(User.builder().username("mallory").build()).split("\\.");
+        String tampered = parts[0] + "." + other[1] + "." + parts[2];
+
+        assertThrows(JwtException.class, () -> jwtUtils.verify(tampered));
+        assertFalse(jwtUtils.validateToken(tampered));
+    }
+
+    @Test
+    void verify_CachedTokenPastExpiry_Rejected() {
+        String token = jwtUtils.generateToken(alice);
+        jwtUtils.verify(token);
+
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtils.verify(token));
+        assertFalse(jwtUtils.validateToken(token, alice));
+    }
+
+    @Test
+    void verify_CacheFull_StillVerifiesNewTokens() {
+        for (int i = 0; i < 150; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            assertEquals("alice", jwtUtils.verify(jwtUtils.generateToken(alice)).getSubject());
+        }
+    }
+
+    @Test
+    void principalOf_AccessToken_CarriesUser() {
+        AuthenticatedUser principal = jwtUtils.principalOf(jwtUtils.verify(jwtUtils.generateToken(alice)));
+
+        assertEquals(new AuthenticatedUser(1L, "alice", User.Role.USER, true, true, "USD"), principal);
+    }
+
+    @Test
+    void principalOf_RefreshToken_None() {
+        assertNull(jwtUtils.principalOf(jwtUtils.verify(jwtUtils.generateRefreshToken(alice))));
+    }
+
+    @Test
+    void verify_EmptyToken_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> jwtUtils.verify(" "));
+        assertFalse(jwtUtils.validateToken(""));
+    }
+
+    /**
+     * Fixed clock that a test can move forward
+     */
+    private static final class MovableClock extends Clock {
+
+        private Instant now;
+
+        MovableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
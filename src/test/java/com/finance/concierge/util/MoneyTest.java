@@ -0,0 +1,80 @@
+package com.finance.concierge.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final Currency BHD = Currency.getInstance("BHD");
+
+    @Test
+    void of_UsesCurrencyScale() {
+        assertEquals(1551L, Money.of(new BigDecimal("15.505"), USD).minorUnits());
+        assertEquals(1235L, Money.of(new BigDecimal("1234.5"), JPY).minorUnits());
+        assertEquals(1500L, Money.of(new BigDecimal("1.5"), BHD).minorUnits());
+        assertEquals(0L, Money.of(null, USD).minorUnits());
+    }
+
+    @Test
+    void toBigDecimal_HasCurrencyScale() {
+        assertEquals(new BigDecimal("15.50"), Money.ofMinor(1550L, USD).toBigDecimal());
+        assertEquals(new BigDecimal("1235"), Money.ofMinor(1235L, JPY).toBigDecimal());
+        assertEquals(new BigDecimal("1.500"), Money.ofMinor(1500L, BHD).toBigDecimal());
+    }
+
+    @Test
+    void cents_RescaleToCurrencyMinorUnit() {
+        assertEquals(Money.ofMinor(1550L, USD), Money.ofCents(1550L, USD));
+        assertEquals(Money.ofMinor(1235L, JPY), Money.ofCents(123_450L, JPY));
+        assertEquals(Money.ofMinor(1500L, BHD), Money.ofCents(150L, BHD));
+        assertEquals(-250L, Money.of(new BigDecimal("-2.50"), USD).toCents());
+        assertEquals(123_500L, Money.ofMinor(1235L, JPY).toCents());
+        assertEquals(151L, Money.ofMinor(1505L, BHD).toCents());
+    }
+
+    @Test
+    void currencyOf_FallsBackToDefault() {
+        assertEquals(JPY, Money.currencyOf("JPY"));
+        assertEquals(Money.DEFAULT_CURRENCY, Money.currencyOf(null));
+        assertThrows(IllegalArgumentException.class, () -> Money.currencyOf("XYZ1"));
+    }
+
+    @Test
+    void plusAndMinus_AreExact() {
+        assertEquals(Money.ofMinor(30L, USD), Money.ofMinor(10L, USD).plus(Money.ofMinor(20L, USD)));
+        assertEquals(Money.ofMinor(-10L, USD), Money.ofMinor(10L, USD).minus(Money.ofMinor(20L, USD)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE, USD).plus(Money.ofMinor(1L, USD)));
+    }
+
+    @Test
+    void mixedCurrencies_AreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(1L, USD).plus(Money.ofMinor(1L, JPY)));
+    }
+
+    @Test
+    void percentOf_MatchesBigDecimalHalfUp() {
+        long[][] cases = {{1L, 3L}, {2L, 3L}, {1250L, 20000L}, {-1L, 3L}, {12345L, 67L}, {5L, 80000L}};
+        for (long[] c : cases) {
+            double expected = BigDecimal.valueOf(c[0]).divide(BigDecimal.valueOf(c[1]), 4, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(100)).doubleValue();
+            assertEquals(expected, Money.ofMinor(c[0], USD).percentOf(Money.ofMinor(c[1], USD)), 0.0);
+        }
+        assertEquals(0.0, Money.ofMinor(100L, USD).percentOf(Money.zero(USD)));
+    }
+
+    @Test
+    void prorateAndDividedBy_RoundHalfUp() {
+        assertEquals(Money.ofMinor(3100L, USD), Money.ofMinor(1500L, USD).prorate(31, 15));
+        assertEquals(Money.ofMinor(1L, USD), Money.ofMinor(1L, USD).prorate(1, 2));
+        assertEquals(Money.ofMinor(-1L, USD), Money.ofMinor(-1L, USD).prorate(1, 2));
+        assertEquals(Money.ofMinor(333L, USD), Money.ofMinor(1000L, USD).dividedBy(3));
+        assertEquals(Money.ofMinor(667L, USD), Money.ofMinor(2000L, USD).dividedBy(3));
+    }
+}
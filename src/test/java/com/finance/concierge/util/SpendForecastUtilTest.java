@@ -0,0 +1,131 @@
+package com.finance.concierge.util;
+
+import com.finance.concierge.util.SpendForecastUtil.Prediction;
+import com.finance.concierge.util.SpendForecastUtil.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpendForecastUtilTest {
+
+    // A Monday
+    private static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void addExpense_SameDay_AccumulatesWithoutClosingDay() {
+        State state = SpendForecastUtil.start(START);
+        state = SpendForecastUtil.addExpense(state, START, 1_000, 1);
+        state = SpendForecastUtil.addExpense(state, START, 500, 1);
+
+        assertEquals(1_500, state.pendingCents());
+        assertEquals(0, state.observedDays());
+    }
+
+    @Test
+    void addExpense_LaterDay_ClosesPendingDayAndGap() {
+        State state = SpendForecastUtil.addExpense(SpendForecastUtil.start(START), START, 1_000, 1);
+
+        state = SpendForecastUtil.addExpense(state, START.plusDays(3), 200, 1);
+
+        // The first day sets the level; the two empty days pull it down
+        assertEquals(3, state.observedDays());
+        assertEquals(200, state.pendingCents());
+        assertTrue(state.level() < 1_000);
+        assertTrue(state.errorVariance() > 0);
+    }
+
+    @Test
+    void addExpense_NegativeOnOpenDay_TakesSpendBack() {
+        State state = SpendForecastUtil.addExpense(SpendForecastUtil.start(START), START, 1_000, 1);
+
+        state = SpendForecastUtil.addExpense(state, START, -1_000, -1);
+
+        assertEquals(0, state.pendingCents());
+        assertEquals(1_000, state.ticketCents());
+    }
+
+    @Test
+    void addExpense_BeforeOpenDay_Throws() {
+        State state = SpendForecastUtil.start(START);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> SpendForecastUtil.addExpense(state, START.minusDays(1), 100, 1));
+    }
+
+    @Test
+    void rollTo_ConstantSpend_ConvergesOnLevel() {
+        State state = SpendForecastUtil.start(START);
+        for (int day = 0; day < 200; day++) {
+            state = SpendForecastUtil.addExpense(state, START.plusDays(day), 2_000, 1);
+        }
+        state = SpendForecastUtil.rollTo(state, START.plusDays(200));
+
+        assertEquals(2_000, SpendForecastUtil.expectedOn(state, START.plusDays(201)), 1.0);
+        assertEquals(0, state.errorVariance(), 1.0);
+    }
+
+    @Test
+    void rollTo_WeeklyPattern_LearnsWeekdayOffsets() {
+        State state = SpendForecastUtil.start(START);
+        for (int day = 0; day < 365; day++) {
+            LocalDate date = START.plusDays(day);
+            long cents = date.getDayOfWeek() == DayOfWeek.SATURDAY ? 10_000 : 1_000;
+            state = SpendForecastUtil.addExpense(state, date, cents, 1);
+        }
+        state = SpendForecastUtil.rollTo(state, START.plusDays(365));
+
+        LocalDate saturday = START.plusDays(365).with(DayOfWeek.SATURDAY);
+        LocalDate tuesday = START.plusDays(365).with(DayOfWeek.TUESDAY);
+        assertTrue(SpendForecastUtil.expectedOn(state, saturday) > 5 * SpendForecastUtil.expectedOn(state, tuesday));
+    }
+
+    @Test
+    void predict_SumsExpectedDaysAndWidensWithHorizon() {
+        State state = new State(START, 0, 1_000, new double[7], 10_000, 500, 30);
+
+        Prediction week = SpendForecastUtil.predict(state, START, START.plusDays(7));
+        Prediction month = SpendForecastUtil.predict(state, START, START.plusDays(30));
+
+        assertEquals(7_000, week.meanCents(), 1e-9);
+        assertEquals(30_000, month.meanCents(), 1e-9);
+        // Shares of 0.1 / 1.9 = 1/19: (7 + 49/19 + 7 * 1/19) / (1 + 2/19) = 9 one-step variances
+        assertEquals(10_000 * 9, week.varianceCents(), 1e-6);
+        assertTrue(month.upperCents() - month.lowerCents() > week.upperCents() - week.lowerCents());
+        assertEquals(Prediction.NONE, SpendForecastUtil.predict(state, START, START));
+    }
+
+    @Test
+    void predict_IntervalIsSymmetricAndFloorsAtZero() {
+        Prediction prediction = new Prediction(1_000, 10_000);
+
+        assertEquals(1_000 - 128.16, prediction.lowerCents(), 1e-9);
+        assertEquals(1_000 + 128.16, prediction.upperCents(), 1e-9);
+        assertEquals(0, new Prediction(10, 10_000).lowerCents());
+    }
+
+    @Test
+    void confidence_ShortHistoryIsLow() {
+        double[] seasonal = new double[7];
+        State fresh = new State(START, 0, 1_000, seasonal, 100, 500, 5);
+        State steady = new State(START, 0, 1_000, seasonal, 100, 500, 60);
+        State noisy = new State(START, 0, 1_000, seasonal, 2_250_000, 500, 60);
+
+        assertEquals("Low", SpendForecastUtil.confidence(fresh, START.plusDays(1)));
+        assertEquals("High", SpendForecastUtil.confidence(steady, START.plusDays(1)));
+        assertEquals("Medium", SpendForecastUtil.confidence(noisy, START.plusDays(1)));
+    }
+
+    @Test
+    void encodeDecodeSeasonal_RoundTripsToCents() {
+        double[] seasonal = {1.234, -5, 0, 0, 0, 0, 1200.5};
+
+        String encoded = SpendForecastUtil.encodeSeasonal(seasonal);
+
+        assertEquals("1.23,-5.00,0.00,0.00,0.00,0.00,1200.50", encoded);
+        assertArrayEquals(new double[]{1.23, -5, 0, 0, 0, 0, 1200.5}, SpendForecastUtil.decodeSeasonal(encoded));
+        assertThrows(IllegalArgumentException.class, () -> SpendForecastUtil.decodeSeasonal("1,2,3"));
+    }
+}
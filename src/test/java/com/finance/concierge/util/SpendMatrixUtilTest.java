@@ -0,0 +1,57 @@
+package com.finance.concierge.util;
+
+import com.finance.concierge.repository.projection.MonthlyCategorySpendProjection;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpendMatrixUtilTest {
+
+    private static final YearMonth NOV_2025 = YearMonth.of(2025, 11);
+
+    @Test
+    void build_PlacesTotalsAcrossYearBoundary() {
+        SpendMatrixUtil.Matrix matrix = SpendMatrixUtil.build(NOV_2025, 3, List.of(
+                new MonthlyCategorySpendProjection(2025, 11, 5L, 1000L),
+                new MonthlyCategorySpendProjection(2026, 1, 2L, 250L),
+                new MonthlyCategorySpendProjection(2026, 1, 5L, 400L)));
+
+        assertArrayEquals(new long[]{2L, 5L}, matrix.categoryIds());
+        assertArrayEquals(new long[]{0L, 1000L}, matrix.cents()[0]);
+        assertArrayEquals(new long[]{0L, 0L}, matrix.cents()[1]);
+        assertArrayEquals(new long[]{250L, 400L}, matrix.cents()[2]);
+        assertEquals(YearMonth.of(2026, 1), matrix.month(2));
+    }
+
+    @Test
+    void build_IgnoresTotalsOutsideWindow() {
+        SpendMatrixUtil.Matrix matrix = SpendMatrixUtil.build(NOV_2025, 2, List.of(
+                new MonthlyCategorySpendProjection(2025, 10, 7L, 999L),
+                new MonthlyCategorySpendProjection(2026, 1, 8L, 999L),
+                new MonthlyCategorySpendProjection(2025, 12, 3L, 10L)));
+
+        assertArrayEquals(new long[]{3L}, matrix.categoryIds());
+        assertEquals(2, matrix.months());
+        assertArrayEquals(new long[]{10L}, matrix.cents()[1]);
+    }
+
+    @Test
+    void monthOverMonthDeltas_FirstRowIsZero() {
+        long[][] deltas = SpendMatrixUtil.monthOverMonthDeltas(new long[][]{{100L, 0L}, {50L, 30L}, {80L, 30L}});
+
+        assertArrayEquals(new long[]{0L, 0L}, deltas[0]);
+        assertArrayEquals(new long[]{-50L, 30L}, deltas[1]);
+        assertArrayEquals(new long[]{30L, 0L}, deltas[2]);
+    }
+
+    @Test
+    void totals_SumRowsAndColumns() {
+        long[][] cents = {{100L, 0L}, {50L, 30L}};
+
+        assertArrayEquals(new long[]{100L, 80L}, SpendMatrixUtil.monthTotals(cents));
+        assertArrayEquals(new long[]{150L, 30L}, SpendMatrixUtil.categoryTotals(cents, 2));
+    }
+}
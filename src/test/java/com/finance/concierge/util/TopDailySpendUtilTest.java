@@ -0,0 +1,91 @@
+package com.finance.concierge.util;
+
+import com.finance.concierge.util.TopDailySpendUtil.DayTotal;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopDailySpendUtilTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Test
+    void update_InsertsInRankOrder() {
+        List<DayTotal> top = List.of(new DayTotal(DAY, 500L), new DayTotal(DAY.plusDays(1), 100L));
+
+        List<DayTotal> updated = TopDailySpendUtil.update(top, DAY.plusDays(2), 300L).orElseThrow();
+
+        assertEquals(List.of(DAY, DAY.plusDays(2), DAY.plusDays(1)), updated.stream().map(DayTotal::date).toList());
+    }
+
+    @Test
+    void update_TieRanksLaterDateFirst() {
+        List<DayTotal> updated = TopDailySpendUtil.update(
+                List.of(new DayTotal(DAY, 500L)), DAY.plusDays(1), 500L).orElseThrow();
+
+        assertEquals(DAY.plusDays(1), updated.get(0).date());
+    }
+
+    @Test
+    void update_FullList_DropsLowestWhenNewDayRanksHigher() {
+        List<DayTotal> updated = TopDailySpendUtil.update(fullList(), DAY.plusDays(30), 10_000L).orElseThrow();
+
+        assertEquals(TopDailySpendUtil.CAPACITY, updated.size());
+        assertEquals(10_000L, updated.get(0).totalCents());
+        assertTrue(updated.stream().noneMatch(day -> day.totalCents() == 100L));
+    }
+
+    @Test
+    void update_FullList_MemberDroppingBelowLastEntry_NeedsRecompute() {
+        // The day outside the list could now rank higher than the reduced entry
+        assertEquals(Optional.empty(), TopDailySpendUtil.update(fullList(), DAY, 50L));
+        assertEquals(Optional.empty(), TopDailySpendUtil.update(fullList(), DAY.plusDays(5), 0L));
+    }
+
+    @Test
+    void update_FullList_MemberStayingAboveLastEntry_UpdatesInPlace() {
+        List<DayTotal> updated = TopDailySpendUtil.update(fullList(), DAY.plusDays(9), 150L).orElseThrow();
+
+        assertEquals(new DayTotal(DAY.plusDays(9), 150L), updated.get(9));
+        assertEquals(TopDailySpendUtil.CAPACITY, updated.size());
+    }
+
+    @Test
+    void update_PartialList_RemovesDayWithoutRecompute() {
+        List<DayTotal> top = List.of(new DayTotal(DAY, 500L), new DayTotal(DAY.plusDays(1), 100L));
+
+        assertEquals(List.of(new DayTotal(DAY.plusDays(1), 100L)),
+                TopDailySpendUtil.update(top, DAY, 0L).orElseThrow());
+    }
+
+    @Test
+    void encodeDecode_RoundTrips() {
+        List<DayTotal> top = List.of(new DayTotal(DAY, 123_456L), new DayTotal(DAY.minusDays(1), 7L));
+
+        assertEquals("2026-03-01:123456,2026-02-28:7", TopDailySpendUtil.encode(top));
+        assertEquals(top, TopDailySpendUtil.decode(TopDailySpendUtil.encode(top)));
+        assertEquals(List.of(), TopDailySpendUtil.decode(""));
+    }
+
+    @Test
+    void decode_Malformed_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> TopDailySpendUtil.decode("2026-03-01"));
+        assertThrows(IllegalArgumentException.class, () -> TopDailySpendUtil.decode("yesterday:5"));
+    }
+
+    /**
+     * Days DAY .. DAY+9 with totals 1000, 900, ... 100
+     */
+    private static List<DayTotal> fullList() {
+        List<DayTotal> top = new ArrayList<>();
+        for (int i = 0; i < TopDailySpendUtil.CAPACITY; i++) {
+            top.add(new DayTotal(DAY.plusDays(i), 1000L - 100L * i));
+        }
+        return top;
+    }
+}